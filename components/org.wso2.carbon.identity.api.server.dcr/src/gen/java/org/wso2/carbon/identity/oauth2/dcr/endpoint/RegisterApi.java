@@ -8,6 +8,8 @@ import io.swagger.annotations.ApiParam;
 
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.ErrorDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.ApplicationDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationRequestDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationResponseDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.RegistrationRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.UpdateRequestDTO;
 
@@ -78,6 +80,22 @@ public class RegisterApi  {
     {
     return delegate.registerApplication(registrationRequest);
     }
+    @POST
+    @Path("/bulk")
+    @Consumes({ "application/json" })
+    @Produces({ "application/json" })
+    @io.swagger.annotations.ApiOperation(value = "Registers a batch of OAuth2 applications\n", notes = "This API is used to create multiple OAuth2 applications in a single request. The result of each registration is reported individually.\n", response = BulkRegistrationResponseDTO.class)
+    @io.swagger.annotations.ApiResponses(value = { 
+        @io.swagger.annotations.ApiResponse(code = 200, message = "Processed"),
+        
+        @io.swagger.annotations.ApiResponse(code = 400, message = "Bad Request"),
+        
+        @io.swagger.annotations.ApiResponse(code = 500, message = "Server Error") })
+
+    public Response registerApplications(@ApiParam(value = "Information of the applications to register." ,required=true ) BulkRegistrationRequestDTO bulkRegistrationRequest)
+    {
+    return delegate.registerApplications(bulkRegistrationRequest);
+    }
     @PUT
     @Path("/{client_id}")
     @Consumes({ "application/json" })
@@ -5,6 +5,7 @@ import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.*;
 
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.ErrorDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.ApplicationDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.RegistrationRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.UpdateRequestDTO;
 
@@ -19,6 +20,7 @@ public abstract class RegisterApiService {
     public abstract Response deleteApplication(String clientId);
     public abstract Response getApplication(String clientId);
     public abstract Response registerApplication(RegistrationRequestDTO registrationRequest);
+    public abstract Response registerApplications(BulkRegistrationRequestDTO bulkRegistrationRequest);
     public abstract Response updateApplication(UpdateRequestDTO updateRequest,String clientId);
     public abstract Response getApplicationByName(String clientName);
 }
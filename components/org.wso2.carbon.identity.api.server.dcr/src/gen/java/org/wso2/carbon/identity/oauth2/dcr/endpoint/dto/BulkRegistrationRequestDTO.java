@@ -0,0 +1,36 @@
+package org.wso2.carbon.identity.oauth2.dcr.endpoint.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.validation.constraints.NotNull;
+
+
+@ApiModel
+public class BulkRegistrationRequestDTO  {
+
+  @NotNull
+  private List<RegistrationRequestDTO> applications = new ArrayList<>();
+
+  @ApiModelProperty(required = true)
+  @JsonProperty("applications")
+  public List<RegistrationRequestDTO> getApplications() {
+    return applications;
+  }
+  public void setApplications(List<RegistrationRequestDTO> applications) {
+    this.applications = applications;
+  }
+
+  @Override
+  public String toString()  {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class BulkRegistrationRequestDTO {\n");
+    sb.append("  applications: ").append(applications).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+}
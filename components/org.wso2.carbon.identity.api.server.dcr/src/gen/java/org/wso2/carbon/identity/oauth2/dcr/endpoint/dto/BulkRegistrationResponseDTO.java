@@ -0,0 +1,33 @@
+package org.wso2.carbon.identity.oauth2.dcr.endpoint.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+
+@ApiModel
+public class BulkRegistrationResponseDTO  {
+
+  private List<BulkRegistrationResultDTO> results = new ArrayList<>();
+
+  @ApiModelProperty
+  @JsonProperty("results")
+  public List<BulkRegistrationResultDTO> getResults() {
+    return results;
+  }
+  public void setResults(List<BulkRegistrationResultDTO> results) {
+    this.results = results;
+  }
+
+  @Override
+  public String toString()  {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class BulkRegistrationResponseDTO {\n");
+    sb.append("  results: ").append(results).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,63 @@
+package org.wso2.carbon.identity.oauth2.dcr.endpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+
+
+@ApiModel
+public class BulkRegistrationResultDTO  {
+
+  private Integer index = null;
+  private String clientName = null;
+  private ApplicationDTO application = null;
+  private ErrorDTO error = null;
+
+  @ApiModelProperty
+  @JsonProperty("index")
+  public Integer getIndex() {
+    return index;
+  }
+  public void setIndex(Integer index) {
+    this.index = index;
+  }
+
+  @ApiModelProperty
+  @JsonProperty("client_name")
+  public String getClientName() {
+    return clientName;
+  }
+  public void setClientName(String clientName) {
+    this.clientName = clientName;
+  }
+
+  @ApiModelProperty
+  @JsonProperty("application")
+  public ApplicationDTO getApplication() {
+    return application;
+  }
+  public void setApplication(ApplicationDTO application) {
+    this.application = application;
+  }
+
+  @ApiModelProperty
+  @JsonProperty("error")
+  public ErrorDTO getError() {
+    return error;
+  }
+  public void setError(ErrorDTO error) {
+    this.error = error;
+  }
+
+  @Override
+  public String toString()  {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class BulkRegistrationResultDTO {\n");
+    sb.append("  index: ").append(index).append("\n");
+    sb.append("  client_name: ").append(clientName).append("\n");
+    sb.append("  application: ").append(application).append("\n");
+    sb.append("  error: ").append(error).append("\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+}
@@ -20,15 +20,20 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.oauth.dcr.DCRMConstants;
 import org.wso2.carbon.identity.oauth.dcr.bean.Application;
+import org.wso2.carbon.identity.oauth.dcr.bean.BulkRegistrationResult;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMClientException;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMException;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMServerException;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.RegisterApiService;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.ApplicationDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationRequestDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationResponseDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.RegistrationRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.UpdateRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.util.DCRMUtils;
 
+import java.util.List;
+
 import javax.ws.rs.core.Response;
 
 /**
@@ -106,6 +111,34 @@ public class RegisterApiServiceImpl extends RegisterApiService {
         return Response.status(Response.Status.CREATED).entity(applicationDTO).build();
     }
 
+    @Override
+    public Response registerApplications(BulkRegistrationRequestDTO bulkRegistrationRequest) {
+
+        if (bulkRegistrationRequest == null) {
+            DCRMException dcrmException = new DCRMException(
+                    DCRMConstants.ErrorMessages.BAD_REQUEST_INSUFFICIENT_DATA.getMessage());
+            DCRMUtils.handleErrorResponse(Response.Status.BAD_REQUEST, dcrmException, false, LOG);
+        }
+
+        BulkRegistrationResponseDTO bulkRegistrationResponseDTO = null;
+        try {
+            List<BulkRegistrationResult> results = DCRMUtils.getOAuth2DCRMService()
+                    .registerApplications(DCRMUtils.getApplicationRegistrationRequests(bulkRegistrationRequest));
+            bulkRegistrationResponseDTO = DCRMUtils.getBulkRegistrationResponseDTO(results);
+        } catch (DCRMClientException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Client error while registering applications in bulk", e);
+            }
+            DCRMUtils.handleErrorResponse(e, LOG);
+        } catch (DCRMServerException e) {
+            DCRMUtils.handleErrorResponse(Response.Status.INTERNAL_SERVER_ERROR, e, true, LOG);
+
+        } catch (Throwable throwable) {
+            DCRMUtils.handleErrorResponse(Response.Status.INTERNAL_SERVER_ERROR, throwable, true, LOG);
+        }
+        return Response.status(Response.Status.OK).entity(bulkRegistrationResponseDTO).build();
+    }
+
     @Override
     public Response updateApplication(UpdateRequestDTO updateRequest, String clientId) {
 
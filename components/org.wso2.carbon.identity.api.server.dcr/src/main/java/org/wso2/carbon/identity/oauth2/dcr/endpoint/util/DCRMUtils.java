@@ -24,14 +24,21 @@ import org.wso2.carbon.identity.oauth.dcr.DCRMConstants;
 import org.wso2.carbon.identity.oauth.dcr.bean.Application;
 import org.wso2.carbon.identity.oauth.dcr.bean.ApplicationRegistrationRequest;
 import org.wso2.carbon.identity.oauth.dcr.bean.ApplicationUpdateRequest;
+import org.wso2.carbon.identity.oauth.dcr.bean.BulkRegistrationResult;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMException;
 import org.wso2.carbon.identity.oauth.dcr.service.DCRMService;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.ApplicationDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationRequestDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationResponseDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationResultDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.ErrorDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.RegistrationRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.UpdateRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.exceptions.DCRMEndpointException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.ws.rs.core.Response;
 
 /**
@@ -104,6 +111,27 @@ public class DCRMUtils {
 
     }
 
+    /**
+     * Convert the applications of a bulk registration request to application registration requests.
+     *
+     * @param bulkRegistrationRequestDTO Bulk registration request.
+     * @return Registration request of each application, in the order of the bulk request.
+     */
+    public static List<ApplicationRegistrationRequest> getApplicationRegistrationRequests(
+            BulkRegistrationRequestDTO bulkRegistrationRequestDTO) {
+
+        List<ApplicationRegistrationRequest> registrationRequests = new ArrayList<>();
+        if (bulkRegistrationRequestDTO.getApplications() == null) {
+            return registrationRequests;
+        }
+        for (RegistrationRequestDTO registrationRequestDTO : bulkRegistrationRequestDTO.getApplications()) {
+            // A missing entry is kept so that it is reported against its own index.
+            registrationRequests.add(registrationRequestDTO == null ? null :
+                    getApplicationRegistrationRequest(registrationRequestDTO));
+        }
+        return registrationRequests;
+    }
+
     public static ApplicationUpdateRequest getApplicationUpdateRequest(UpdateRequestDTO updateRequestDTO) {
 
         ApplicationUpdateRequest applicationUpdateRequest = new ApplicationUpdateRequest();
@@ -250,6 +278,55 @@ public class DCRMUtils {
         return applicationDTO;
     }
 
+    /**
+     * Convert the results of a bulk registration to the BulkRegistrationResponseDTO object.
+     * <p>
+     * The description of an error is only exposed for client errors, as done for single registrations.
+     *
+     * @param results Registration result of each application.
+     * @return Instance of @see BulkRegistrationResponseDTO
+     */
+    public static BulkRegistrationResponseDTO getBulkRegistrationResponseDTO(List<BulkRegistrationResult> results) {
+
+        List<BulkRegistrationResultDTO> resultDTOs = new ArrayList<>(results.size());
+        for (BulkRegistrationResult result : results) {
+            BulkRegistrationResultDTO resultDTO = new BulkRegistrationResultDTO();
+            resultDTO.setIndex(result.getIndex());
+            resultDTO.setClientName(result.getClientName());
+            if (result.isSuccess()) {
+                resultDTO.setApplication(getApplicationDTOFromApplication(result.getApplication()));
+            } else {
+                resultDTO.setError(getBulkRegistrationErrorDTO(result.getErrorCode(), result.getErrorMessage()));
+            }
+            resultDTOs.add(resultDTO);
+        }
+        BulkRegistrationResponseDTO responseDTO = new BulkRegistrationResponseDTO();
+        responseDTO.setResults(resultDTOs);
+        return responseDTO;
+    }
+
+    private static ErrorDTO getBulkRegistrationErrorDTO(String code, String description) {
+
+        ErrorDTO errorDTO = new ErrorDTO();
+        if (code != null && (code.startsWith(CONFLICT_STATUS) || code.startsWith(BAD_REQUEST_STATUS) ||
+                code.startsWith(DCRMConstants.ErrorCodes.INVALID_CLIENT_METADATA) ||
+                code.startsWith(DCRMConstants.ErrorCodes.INVALID_SOFTWARE_STATEMENT))) {
+            String error = DCRMConstants.ErrorCodes.INVALID_CLIENT_METADATA;
+            if (DCRMConstants.ErrorMessages.BAD_REQUEST_INVALID_REDIRECT_URI.toString().equals(code)) {
+                error = DCRMConstants.ErrorCodes.INVALID_REDIRECT_URI;
+            } else if (DCRMConstants.ErrorCodes.INVALID_SOFTWARE_STATEMENT.equals(code)) {
+                error = DCRMConstants.ErrorCodes.INVALID_SOFTWARE_STATEMENT;
+            }
+            errorDTO.setError(error);
+            errorDTO.setErrorDescription(description);
+        } else {
+            errorDTO.setError(DCRMConstants.ErrorMessages.ERROR_CODE_UNEXPECTED.toString());
+            errorDTO.setErrorDescription(DCRMConstants.ErrorMessages.ERROR_CODE_UNEXPECTED.getMessage());
+        }
+        errorDTO.setRef(getCorrelation());
+        return errorDTO;
+    }
+
     /**
      * Check whether correlation id present in the log MDC.
      *
@@ -29,18 +29,24 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.context.internal.OSGiDataHolder;
+import org.wso2.carbon.identity.oauth.dcr.DCRMConstants;
 import org.wso2.carbon.identity.oauth.dcr.bean.Application;
 import org.wso2.carbon.identity.oauth.dcr.bean.ApplicationUpdateRequest;
+import org.wso2.carbon.identity.oauth.dcr.bean.BulkRegistrationResult;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMException;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMServerException;
 import org.wso2.carbon.identity.oauth.dcr.service.DCRMService;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.TestUtil;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationRequestDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationResponseDTO;
+import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.BulkRegistrationResultDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.RegistrationRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.dto.UpdateRequestDTO;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.exceptions.DCRMEndpointException;
 import org.wso2.carbon.identity.oauth2.dcr.endpoint.util.DCRMUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.ws.rs.core.Response;
@@ -150,6 +156,37 @@ public class RegisterApiServiceImplTest extends PowerMockTestCase {
 
     }
 
+    @Test
+    public void testRegisterApplications() throws Exception {
+
+        RegistrationRequestDTO registrationRequestDTO1 = new RegistrationRequestDTO();
+        registrationRequestDTO1.setClientName("app1");
+        RegistrationRequestDTO registrationRequestDTO2 = new RegistrationRequestDTO();
+        registrationRequestDTO2.setClientName("app2");
+        BulkRegistrationRequestDTO bulkRegistrationRequestDTO = new BulkRegistrationRequestDTO();
+        bulkRegistrationRequestDTO.setApplications(Arrays.asList(registrationRequestDTO1, registrationRequestDTO2));
+
+        BulkRegistrationResult successResult = new BulkRegistrationResult(0, "app1");
+        successResult.setApplication(application);
+        BulkRegistrationResult failedResult = new BulkRegistrationResult(1, "app2");
+        failedResult.setErrorCode(DCRMConstants.ErrorMessages.CONFLICT_EXISTING_APPLICATION.toString());
+        failedResult.setErrorMessage("Application with the name app2 already exist in the system");
+
+        DCRMUtils.setOAuth2DCRMService(dcrmService);
+        when(dcrmService.registerApplications(any(List.class))).thenReturn(Arrays.asList(successResult,
+                failedResult));
+        Response response = registerApiService.registerApplications(bulkRegistrationRequestDTO);
+        Assert.assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+
+        List<BulkRegistrationResultDTO> results = ((BulkRegistrationResponseDTO) response.getEntity()).getResults();
+        Assert.assertEquals(results.size(), 2);
+        Assert.assertEquals(results.get(0).getApplication().getClientId(), application.getClientId());
+        Assert.assertNull(results.get(0).getError());
+        Assert.assertNull(results.get(1).getApplication());
+        Assert.assertEquals(results.get(1).getError().getError(),
+                DCRMConstants.ErrorCodes.INVALID_CLIENT_METADATA);
+    }
+
     @Test
     public void testUpdateApplicationServerException() throws Exception {
 
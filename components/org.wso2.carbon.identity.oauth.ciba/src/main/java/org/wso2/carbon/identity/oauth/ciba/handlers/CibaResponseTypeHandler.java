@@ -33,6 +33,7 @@ import org.wso2.carbon.identity.oauth2.authz.OAuthAuthzReqMessageContext;
 import org.wso2.carbon.identity.oauth2.authz.handlers.AbstractResponseTypeHandler;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeRespDTO;
+import org.wso2.carbon.identity.oauth2.model.AppPolicy;
 import org.wso2.carbon.identity.oauth2.model.OAuth2Parameters;
 
 /**
@@ -140,7 +141,7 @@ public class CibaResponseTypeHandler extends AbstractResponseTypeHandler {
             return false;
         }
 
-        if (!oAuthAppDO.getGrantTypes().contains(grantType)) {
+        if (!AppPolicy.of(oAuthAppDO).isGrantTypeAllowed(grantType)) {
             if (log.isDebugEnabled()) {
                 // Do not change this log format as these logs use by external applications.
                 log.debug("Unsupported Grant Type: " + grantType + " for client id: " + consumerKey);
@@ -57,7 +57,10 @@ public class DCRMConstants {
         FAILED_TO_VALIDATE_TENANT_DOMAIN("Error occurred during validating tenant domain for consumer key: %s"),
         FAILED_TO_GET_TENANT_ADMIN("Error occurred during white getting tenant admin."),
         SIGNATURE_VALIDATION_FAILED("Signature validation failed for the software statement"),
-        MANDATORY_SOFTWARE_STATEMENT("Mandatory software statement is missing");
+        MANDATORY_SOFTWARE_STATEMENT("Mandatory software statement is missing"),
+        BAD_REQUEST_BULK_REGISTRATION_LIMIT_EXCEEDED("Number of applications in the request exceeds the limit: %s"),
+        CONFLICT_DUPLICATE_APPLICATION_IN_REQUEST("Application with the name %s is repeated in the request"),
+        CONFLICT_DUPLICATE_CLIENT_ID_IN_REQUEST("Client id %s is repeated in the request");
 
         private final String message;
         private final String errorCode;
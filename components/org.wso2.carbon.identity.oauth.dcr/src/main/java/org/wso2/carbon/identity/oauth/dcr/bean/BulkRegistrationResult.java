@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth.dcr.bean;
+
+import java.io.Serializable;
+
+/**
+ * This object contains the outcome of a single application registration within a bulk registration request.
+ */
+public class BulkRegistrationResult implements Serializable {
+
+    private static final long serialVersionUID = -2297306178530482115L;
+
+    private final int index;
+    private final String clientName;
+    private Application application = null;
+    private String errorCode = null;
+    private String errorMessage = null;
+
+    public BulkRegistrationResult(int index, String clientName) {
+
+        this.index = index;
+        this.clientName = clientName;
+    }
+
+    public int getIndex() {
+
+        return index;
+    }
+
+    public String getClientName() {
+
+        return clientName;
+    }
+
+    public Application getApplication() {
+
+        return application;
+    }
+
+    public void setApplication(Application application) {
+
+        this.application = application;
+    }
+
+    public String getErrorCode() {
+
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorMessage() {
+
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+
+        this.errorMessage = errorMessage;
+    }
+
+    public boolean isSuccess() {
+
+        return application != null;
+    }
+}
@@ -93,6 +93,7 @@ public class DCRServiceComponent {
     @SuppressWarnings("unused")
     protected void deactivate(ComponentContext componentContext) {
 
+        DCRMService.shutdownBulkRegistrationExecutor();
         if (log.isDebugEnabled()) {
             log.debug("Stopping DCRServiceComponent");
         }
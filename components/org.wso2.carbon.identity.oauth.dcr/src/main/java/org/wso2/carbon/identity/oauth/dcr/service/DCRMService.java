@@ -24,6 +24,7 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.slf4j.MDC;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
@@ -47,6 +48,7 @@ import org.wso2.carbon.identity.oauth.dcr.DCRMConstants;
 import org.wso2.carbon.identity.oauth.dcr.bean.Application;
 import org.wso2.carbon.identity.oauth.dcr.bean.ApplicationRegistrationRequest;
 import org.wso2.carbon.identity.oauth.dcr.bean.ApplicationUpdateRequest;
+import org.wso2.carbon.identity.oauth.dcr.bean.BulkRegistrationResult;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMClientException;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMException;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMServerException;
@@ -60,15 +62,28 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.util.JWTSignatureValidationUtils;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.user.api.UserRealm;
 import org.wso2.carbon.user.api.UserStoreException;
 
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import static org.wso2.carbon.identity.oauth.Error.INVALID_OAUTH_CLIENT;
@@ -87,7 +102,14 @@ public class DCRMService {
     private static final String APP_DISPLAY_NAME = "DisplayName";
     private static Pattern clientIdRegexPattern = null;
     private static final String SSA_VALIDATION_JWKS = "OAuth.DCRM.SoftwareStatementJWKS";
-
+    private static final String BULK_REGISTRATION_PARALLELISM = "OAuth.DCRM.BulkRegistration.Parallelism";
+    private static final String BULK_REGISTRATION_MAX_BATCH_SIZE = "OAuth.DCRM.BulkRegistration.MaxBatchSize";
+    private static final int DEFAULT_BULK_REGISTRATION_PARALLELISM = 1;
+    private static final int DEFAULT_BULK_REGISTRATION_MAX_BATCH_SIZE = 100;
+    private static final String BULK_REGISTRATION_QUEUE_SIZE = "OAuth.DCRM.BulkRegistration.QueueSize";
+    private static final int DEFAULT_BULK_REGISTRATION_QUEUE_SIZE = 1000;
+    private static final AtomicInteger bulkRegistrationThreadCount = new AtomicInteger();
+    private static volatile ExecutorService bulkRegistrationExecutor;
 
     /**
      * Get OAuth2/OIDC application information with client_id.
@@ -162,6 +184,66 @@ public class DCRMService {
         return createOAuthApplication(registrationRequest);
     }
 
+    /**
+     * Create a batch of OAuth2/OIDC applications.
+     * <p>
+     * The whole batch is validated before any application is created, so that requests which are invalid, clash
+     * with an existing application or repeat a name or client id within the batch are rejected without touching the
+     * application store. The remaining requests are registered by the number of concurrent workers configured with
+     * OAuth.DCRM.BulkRegistration.Parallelism, which are shared by all bulk requests. The outcome of each request is
+     * reported individually, in the order of the given requests, and an unexpected failure of a request does not
+     * abort the others.
+     *
+     * @param registrationRequests Application registration requests.
+     * @return Registration result of each request.
+     * @throws DCRMException If the batch is empty or exceeds the configured limit.
+     */
+    public List<BulkRegistrationResult> registerApplications(List<ApplicationRegistrationRequest> registrationRequests)
+            throws DCRMException {
+
+        if (registrationRequests == null || registrationRequests.isEmpty()) {
+            throw DCRMUtils.generateClientException(
+                    DCRMConstants.ErrorMessages.BAD_REQUEST_INSUFFICIENT_DATA, null);
+        }
+        int maxBatchSize = getBulkRegistrationConfig(BULK_REGISTRATION_MAX_BATCH_SIZE,
+                DEFAULT_BULK_REGISTRATION_MAX_BATCH_SIZE);
+        if (registrationRequests.size() > maxBatchSize) {
+            throw DCRMUtils.generateClientException(
+                    DCRMConstants.ErrorMessages.BAD_REQUEST_BULK_REGISTRATION_LIMIT_EXCEEDED,
+                    String.valueOf(maxBatchSize));
+        }
+
+        String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        BulkRegistrationResult[] results = new BulkRegistrationResult[registrationRequests.size()];
+        List<Integer> validRequestIndexes = validateRegistrationRequests(registrationRequests, tenantDomain,
+                results);
+
+        int parallelism = getBulkRegistrationConfig(BULK_REGISTRATION_PARALLELISM,
+                DEFAULT_BULK_REGISTRATION_PARALLELISM);
+        if (Math.min(parallelism, validRequestIndexes.size()) <= 1) {
+            for (int index : validRequestIndexes) {
+                results[index] = registerBulkApplicationSafely(index, registrationRequests.get(index),
+                        tenantDomain);
+            }
+        } else {
+            registerBulkApplicationsInParallel(registrationRequests, validRequestIndexes, tenantDomain, parallelism,
+                    results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Shut down the worker threads used to register the applications of bulk requests in parallel. Called when the
+     * DCR component is deactivated.
+     */
+    public static synchronized void shutdownBulkRegistrationExecutor() {
+
+        if (bulkRegistrationExecutor != null) {
+            bulkRegistrationExecutor.shutdownNow();
+            bulkRegistrationExecutor = null;
+        }
+    }
+
     /**
      * Delete OAuth2/OIDC application with client_id.
      *
@@ -449,34 +531,23 @@ public class DCRMService {
     private Application createOAuthApplication(ApplicationRegistrationRequest registrationRequest)
             throws DCRMException {
 
-        String applicationOwner = StringUtils.isNotBlank(registrationRequest.getExtApplicationOwner()) ?
-                registrationRequest.getExtApplicationOwner() :
-                PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
-
         String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        validateRegistrationRequest(registrationRequest, tenantDomain);
+        validateSoftwareStatement(registrationRequest, isSSAMandated());
+        return createValidatedOAuthApplication(registrationRequest, tenantDomain);
+    }
 
-        /*
-         * ApplicationOwner will be null and a server error is thrown when creating an app, if the api authentication/
-         * api security is disabled for DCR endpoint. In such cases, we set the tenant admin as the application owner.
-         */
-        if (StringUtils.isBlank(applicationOwner)) {
-            DCRConfiguration dcrConfiguration = dcrConfigurationMgtService.getDCRConfiguration();
-            boolean isClientAuthenticationRequired = dcrConfiguration.getAuthenticationRequired() != null ?
-                    dcrConfiguration.getAuthenticationRequired() : true;
-            if (!isClientAuthenticationRequired) {
-                try {
-                    applicationOwner = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUserRealm()
-                            .getRealmConfiguration().getAdminUserName();
-                } catch (UserStoreException e) {
-                    throw new DCRMServerException(String.format(DCRMConstants.ErrorMessages.FAILED_TO_GET_TENANT_ADMIN
-                            .getMessage()), e);
-                }
-            }
-        }
+    /**
+     * Validate an application registration request before any of the application artifacts are created.
+     *
+     * @param registrationRequest Application registration request.
+     * @param tenantDomain        Tenant domain of the application.
+     * @throws DCRMException If the request is not valid.
+     */
+    private void validateRegistrationRequest(ApplicationRegistrationRequest registrationRequest, String tenantDomain)
+            throws DCRMException {
 
         String spName = registrationRequest.getClientName();
-        String templateName = registrationRequest.getSpTemplateName();
-        boolean isManagementApp = registrationRequest.isManagementApp();
 
         // Regex validation of the application name.
         if (!DCRMUtils.isRegexValidated(spName)) {
@@ -494,9 +565,13 @@ public class DCRMService {
             throw DCRMUtils.generateClientException(DCRMConstants.ErrorMessages.CONFLICT_EXISTING_CLIENT_ID,
                     registrationRequest.getConsumerKey());
         }
+    }
+
+    private void validateSoftwareStatement(ApplicationRegistrationRequest registrationRequest, boolean isSSAMandated)
+            throws DCRMException {
 
         // Check whether the software statement is mandatory and throw error if it is not provided.
-        if (isSSAMandated() && StringUtils.isEmpty(registrationRequest.getSoftwareStatement())) {
+        if (isSSAMandated && StringUtils.isEmpty(registrationRequest.getSoftwareStatement())) {
             throw new DCRMClientException(DCRMConstants.ErrorCodes.INVALID_SOFTWARE_STATEMENT,
                     DCRMConstants.ErrorMessages.MANDATORY_SOFTWARE_STATEMENT.getMessage());
         }
@@ -510,6 +585,37 @@ public class DCRMService {
                         DCRMConstants.ErrorMessages.SIGNATURE_VALIDATION_FAILED.getMessage(), e);
             }
         }
+    }
+
+    private Application createValidatedOAuthApplication(ApplicationRegistrationRequest registrationRequest,
+                                                        String tenantDomain) throws DCRMException {
+
+        String applicationOwner = StringUtils.isNotBlank(registrationRequest.getExtApplicationOwner()) ?
+                registrationRequest.getExtApplicationOwner() :
+                PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
+
+        /*
+         * ApplicationOwner will be null and a server error is thrown when creating an app, if the api authentication/
+         * api security is disabled for DCR endpoint. In such cases, we set the tenant admin as the application owner.
+         */
+        if (StringUtils.isBlank(applicationOwner)) {
+            DCRConfiguration dcrConfiguration = dcrConfigurationMgtService.getDCRConfiguration();
+            boolean isClientAuthenticationRequired = dcrConfiguration.getAuthenticationRequired() != null ?
+                    dcrConfiguration.getAuthenticationRequired() : true;
+            if (!isClientAuthenticationRequired) {
+                try {
+                    applicationOwner = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUserRealm()
+                            .getRealmConfiguration().getAdminUserName();
+                } catch (UserStoreException e) {
+                    throw new DCRMServerException(String.format(DCRMConstants.ErrorMessages.FAILED_TO_GET_TENANT_ADMIN
+                            .getMessage()), e);
+                }
+            }
+        }
+
+        String spName = registrationRequest.getClientName();
+        String templateName = registrationRequest.getSpTemplateName();
+        boolean isManagementApp = registrationRequest.isManagementApp();
 
         // Create a service provider.
         ServiceProvider serviceProvider = createServiceProvider(applicationOwner, tenantDomain, spName, templateName,
@@ -549,6 +655,204 @@ public class DCRMService {
         return application;
     }
 
+    /**
+     * Validate all requests of a bulk registration and record a failed result for each invalid request.
+     *
+     * @return Indexes of the requests which passed the validation.
+     */
+    private List<Integer> validateRegistrationRequests(List<ApplicationRegistrationRequest> registrationRequests,
+                                                       String tenantDomain, BulkRegistrationResult[] results)
+            throws DCRMException {
+
+        // The DCR configuration is resolved once for the whole batch.
+        boolean isSSAMandated = isSSAMandated();
+        Set<String> clientNames = new HashSet<>();
+        Set<String> consumerKeys = new HashSet<>();
+        List<Integer> validRequestIndexes = new ArrayList<>(registrationRequests.size());
+        for (int index = 0; index < registrationRequests.size(); index++) {
+            ApplicationRegistrationRequest registrationRequest = registrationRequests.get(index);
+            try {
+                if (registrationRequest == null || StringUtils.isEmpty(registrationRequest.getClientName())) {
+                    throw DCRMUtils.generateClientException(
+                            DCRMConstants.ErrorMessages.BAD_REQUEST_INSUFFICIENT_DATA, null);
+                }
+                if (!clientNames.add(registrationRequest.getClientName())) {
+                    throw DCRMUtils.generateClientException(
+                            DCRMConstants.ErrorMessages.CONFLICT_DUPLICATE_APPLICATION_IN_REQUEST,
+                            registrationRequest.getClientName());
+                }
+                if (StringUtils.isNotEmpty(registrationRequest.getConsumerKey()) &&
+                        !consumerKeys.add(registrationRequest.getConsumerKey())) {
+                    throw DCRMUtils.generateClientException(
+                            DCRMConstants.ErrorMessages.CONFLICT_DUPLICATE_CLIENT_ID_IN_REQUEST,
+                            registrationRequest.getConsumerKey());
+                }
+                validateRegistrationRequest(registrationRequest, tenantDomain);
+                validateSoftwareStatement(registrationRequest, isSSAMandated);
+                validRequestIndexes.add(index);
+            } catch (DCRMClientException e) {
+                results[index] = buildFailedBulkRegistrationResult(index, registrationRequest, e);
+            }
+        }
+        return validRequestIndexes;
+    }
+
+    private void registerBulkApplicationsInParallel(List<ApplicationRegistrationRequest> registrationRequests,
+                                                    List<Integer> validRequestIndexes, String tenantDomain,
+                                                    int parallelism, BulkRegistrationResult[] results)
+            throws DCRMServerException {
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        int tenantId = carbonContext.getTenantId();
+        String username = carbonContext.getUsername();
+        UserRealm userRealm = carbonContext.getUserRealm();
+        // The log correlation id and the request scoped properties are thread local, so they are handed to the workers.
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        Map<String, Object> threadLocalProperties = new HashMap<>(IdentityUtil.threadLocalProperties.get());
+
+        ExecutorService executorService = getBulkRegistrationExecutor(parallelism);
+        Map<Integer, Future<BulkRegistrationResult>> futures = new LinkedHashMap<>();
+        try {
+            for (int index : validRequestIndexes) {
+                ApplicationRegistrationRequest registrationRequest = registrationRequests.get(index);
+                try {
+                    futures.put(index, executorService.submit(() -> {
+                        // Worker threads do not inherit the carbon context of the caller.
+                        PrivilegedCarbonContext.startTenantFlow();
+                        try {
+                            PrivilegedCarbonContext workerContext =
+                                    PrivilegedCarbonContext.getThreadLocalCarbonContext();
+                            workerContext.setTenantDomain(tenantDomain);
+                            workerContext.setTenantId(tenantId);
+                            workerContext.setUsername(username);
+                            workerContext.setUserRealm(userRealm);
+                            if (mdcContext != null) {
+                                MDC.setContextMap(mdcContext);
+                            }
+                            IdentityUtil.threadLocalProperties.get().putAll(threadLocalProperties);
+                            return registerBulkApplicationSafely(index, registrationRequest, tenantDomain);
+                        } finally {
+                            MDC.clear();
+                            IdentityUtil.threadLocalProperties.remove();
+                            PrivilegedCarbonContext.endTenantFlow();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    // The shared workers are saturated, so the request is registered by the calling thread.
+                    results[index] = registerBulkApplicationSafely(index, registrationRequest, tenantDomain);
+                }
+            }
+            for (Map.Entry<Integer, Future<BulkRegistrationResult>> future : futures.entrySet()) {
+                int index = future.getKey();
+                try {
+                    results[index] = future.getValue().get();
+                } catch (ExecutionException | CancellationException e) {
+                    Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                    log.error("Unexpected error while registering application: " +
+                            registrationRequests.get(index).getClientName(), cause);
+                    results[index] = buildUnexpectedErrorBulkRegistrationResult(index,
+                            registrationRequests.get(index));
+                }
+            }
+        } catch (InterruptedException e) {
+            for (Future<BulkRegistrationResult> future : futures.values()) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new DCRMServerException("Interrupted while registering the applications of the bulk request.", e);
+        }
+    }
+
+    private BulkRegistrationResult registerBulkApplicationSafely(int index,
+                                                                 ApplicationRegistrationRequest registrationRequest,
+                                                                 String tenantDomain) {
+
+        try {
+            return registerBulkApplication(index, registrationRequest, tenantDomain);
+        } catch (RuntimeException e) {
+            // A failure of one request must not abort the registration of the rest of the batch.
+            log.error("Unexpected error while registering application: " + registrationRequest.getClientName(), e);
+            return buildUnexpectedErrorBulkRegistrationResult(index, registrationRequest);
+        }
+    }
+
+    private BulkRegistrationResult registerBulkApplication(int index,
+                                                           ApplicationRegistrationRequest registrationRequest,
+                                                           String tenantDomain) {
+
+        try {
+            BulkRegistrationResult result = new BulkRegistrationResult(index, registrationRequest.getClientName());
+            result.setApplication(createValidatedOAuthApplication(registrationRequest, tenantDomain));
+            return result;
+        } catch (DCRMException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Registration of application: " + registrationRequest.getClientName() +
+                        " in the bulk request failed.", e);
+            }
+            return buildFailedBulkRegistrationResult(index, registrationRequest, e);
+        }
+    }
+
+    private BulkRegistrationResult buildUnexpectedErrorBulkRegistrationResult(
+            int index, ApplicationRegistrationRequest registrationRequest) {
+
+        BulkRegistrationResult result = new BulkRegistrationResult(index, registrationRequest.getClientName());
+        result.setErrorCode(DCRMConstants.ErrorMessages.ERROR_CODE_UNEXPECTED.toString());
+        result.setErrorMessage(DCRMConstants.ErrorMessages.ERROR_CODE_UNEXPECTED.getMessage());
+        return result;
+    }
+
+    /**
+     * Get the workers shared by all bulk requests. The number of workers is fixed by the parallelism configured when
+     * the first bulk request is registered in parallel, and requests wait in a bounded queue for a free worker.
+     */
+    private static ExecutorService getBulkRegistrationExecutor(int parallelism) {
+
+        if (bulkRegistrationExecutor == null) {
+            synchronized (DCRMService.class) {
+                if (bulkRegistrationExecutor == null) {
+                    bulkRegistrationExecutor = new ThreadPoolExecutor(parallelism, parallelism, 0L,
+                            TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(getBulkRegistrationConfig(
+                            BULK_REGISTRATION_QUEUE_SIZE, DEFAULT_BULK_REGISTRATION_QUEUE_SIZE)), runnable -> {
+                                Thread thread = new Thread(runnable, "dcrm-bulk-registration-" +
+                                        bulkRegistrationThreadCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                }
+            }
+        }
+        return bulkRegistrationExecutor;
+    }
+
+    private BulkRegistrationResult buildFailedBulkRegistrationResult(int index,
+                                                                     ApplicationRegistrationRequest registrationRequest,
+                                                                     DCRMException e) {
+
+        BulkRegistrationResult result = new BulkRegistrationResult(index,
+                registrationRequest != null ? registrationRequest.getClientName() : null);
+        result.setErrorCode(e.getErrorCode());
+        result.setErrorMessage(e.getMessage());
+        return result;
+    }
+
+    private static int getBulkRegistrationConfig(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int configuredValue = Integer.parseInt(value.trim());
+                if (configuredValue > 0) {
+                    return configuredValue;
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                        defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     private boolean isSSAMandated() throws DCRMServerException {
 
         DCRConfiguration dcrConfiguration = dcrConfigurationMgtService.getDCRConfiguration();
@@ -24,6 +24,7 @@ import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.FieldSetter;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.testng.PowerMockTestCase;
+import org.slf4j.MDC;
 import org.testng.Assert;
 import org.testng.IObjectFactory;
 import org.testng.annotations.BeforeMethod;
@@ -49,6 +50,7 @@ import org.wso2.carbon.identity.oauth.dcr.DCRMConstants;
 import org.wso2.carbon.identity.oauth.dcr.bean.Application;
 import org.wso2.carbon.identity.oauth.dcr.bean.ApplicationRegistrationRequest;
 import org.wso2.carbon.identity.oauth.dcr.bean.ApplicationUpdateRequest;
+import org.wso2.carbon.identity.oauth.dcr.bean.BulkRegistrationResult;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMClientException;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMException;
 import org.wso2.carbon.identity.oauth.dcr.exception.DCRMServerException;
@@ -67,9 +69,11 @@ import org.wso2.carbon.user.core.common.AbstractUserStoreManager;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -94,6 +98,7 @@ import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OAuth10AParam
         OAuth2Util.class, OAuthServerConfiguration.class, JWTSignatureValidationUtils.class, IdentityUtil.class})
 public class DCRMServiceTest extends PowerMockTestCase {
 
+    private static final String BULK_REQUEST_PROPERTY = "bulkRequestProperty";
     private final String dummyConsumerKey = "dummyConsumerKey";
     private final String dummyClientName = "dummyClientName";
     private final String dummyInvalidClientName = "dummy@ClientName";
@@ -719,6 +724,168 @@ public class DCRMServiceTest extends PowerMockTestCase {
         fail("Expected IdentityException was not thrown by registerApplication method");
     }
 
+    @Test
+    public void registerApplicationsTestWithInvalidRequests() throws Exception {
+
+        startTenantFlow();
+        String existingClientName = "existingClientName";
+        when(mockApplicationManagementService.getServiceProvider(existingClientName, dummyTenantDomain))
+                .thenReturn(new ServiceProvider());
+
+        ApplicationRegistrationRequest invalidNameRequest = new ApplicationRegistrationRequest();
+        invalidNameRequest.setClientName(dummyInvalidClientName);
+        ApplicationRegistrationRequest existingAppRequest = new ApplicationRegistrationRequest();
+        existingAppRequest.setClientName(existingClientName);
+        ApplicationRegistrationRequest duplicateAppRequest = new ApplicationRegistrationRequest();
+        duplicateAppRequest.setClientName(existingClientName);
+
+        List<BulkRegistrationResult> results = dcrmService.registerApplications(
+                Arrays.asList(invalidNameRequest, existingAppRequest, duplicateAppRequest, null));
+
+        assertEquals(results.size(), 4);
+        for (int index = 0; index < results.size(); index++) {
+            assertEquals(results.get(index).getIndex(), index);
+            assertFalse(results.get(index).isSuccess());
+        }
+        assertEquals(results.get(0).getErrorCode(), DCRMConstants.ErrorMessages.BAD_REQUEST_INVALID_SP_NAME.toString());
+        assertEquals(results.get(1).getErrorCode(),
+                DCRMConstants.ErrorMessages.CONFLICT_EXISTING_APPLICATION.toString());
+        assertEquals(results.get(2).getErrorCode(),
+                DCRMConstants.ErrorMessages.CONFLICT_DUPLICATE_APPLICATION_IN_REQUEST.toString());
+        assertEquals(results.get(3).getErrorCode(),
+                DCRMConstants.ErrorMessages.BAD_REQUEST_INSUFFICIENT_DATA.toString());
+        Mockito.verify(mockApplicationManagementService, Mockito.never())
+                .createApplicationWithTemplate(any(ServiceProvider.class), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void registerApplicationsTestWithBatchLimitExceeded() throws Exception {
+
+        startTenantFlow();
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty("OAuth.DCRM.BulkRegistration.MaxBatchSize")).thenReturn("1");
+
+        try {
+            dcrmService.registerApplications(Arrays.asList(applicationRegistrationRequest,
+                    new ApplicationRegistrationRequest()));
+        } catch (IdentityException ex) {
+            assertEquals(ex.getErrorCode(),
+                    DCRMConstants.ErrorMessages.BAD_REQUEST_BULK_REGISTRATION_LIMIT_EXCEEDED.toString());
+            return;
+        }
+        fail("Expected IdentityException was not thrown by registerApplications method");
+    }
+
+    @Test
+    public void registerApplicationsTest() throws Exception {
+
+        startTenantFlow();
+        Map<String, String> correlationIds = new ConcurrentHashMap<>();
+        Map<String, String> requestProperties = new ConcurrentHashMap<>();
+        List<ApplicationRegistrationRequest> registrationRequests = prepareBulkRegistration(correlationIds,
+                requestProperties, "bulkApp1", "bulkApp2");
+
+        List<BulkRegistrationResult> results = dcrmService.registerApplications(registrationRequests);
+
+        assertEquals(results.size(), 2);
+        for (int index = 0; index < results.size(); index++) {
+            assertEquals(results.get(index).getIndex(), index);
+            assertTrue(results.get(index).isSuccess());
+            assertEquals(results.get(index).getApplication().getClientId(), "bulkApp" + (index + 1) + "ClientId");
+        }
+    }
+
+    @Test
+    public void registerApplicationsTestInParallel() throws Exception {
+
+        startTenantFlow();
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty("OAuth.DCRM.BulkRegistration.Parallelism")).thenReturn("3");
+        Map<String, String> correlationIds = new ConcurrentHashMap<>();
+        Map<String, String> requestProperties = new ConcurrentHashMap<>();
+        List<ApplicationRegistrationRequest> registrationRequests = prepareBulkRegistration(correlationIds,
+                requestProperties, "bulkApp1", "bulkApp2", "bulkApp3");
+
+        MDC.put(DCRMConstants.CORRELATION_ID_MDC, "dummyCorrelationId");
+        IdentityUtil.threadLocalProperties.get().put(BULK_REQUEST_PROPERTY, "dummyValue");
+        List<BulkRegistrationResult> results;
+        try {
+            results = dcrmService.registerApplications(registrationRequests);
+        } finally {
+            MDC.remove(DCRMConstants.CORRELATION_ID_MDC);
+            IdentityUtil.threadLocalProperties.get().remove(BULK_REQUEST_PROPERTY);
+            DCRMService.shutdownBulkRegistrationExecutor();
+        }
+
+        assertEquals(results.size(), 3);
+        for (int index = 0; index < results.size(); index++) {
+            String clientName = "bulkApp" + (index + 1);
+            assertEquals(results.get(index).getIndex(), index);
+            assertTrue(results.get(index).isSuccess());
+            assertEquals(results.get(index).getApplication().getClientId(), clientName + "ClientId");
+            assertEquals(correlationIds.get(clientName), "dummyCorrelationId");
+            assertEquals(requestProperties.get(clientName), "dummyValue");
+        }
+    }
+
+    @Test
+    public void registerApplicationsTestWithUnexpectedFailure() throws Exception {
+
+        startTenantFlow();
+        List<ApplicationRegistrationRequest> registrationRequests = prepareBulkRegistration(new ConcurrentHashMap<>(),
+                new ConcurrentHashMap<>(), "bulkApp1", "bulkApp2", "bulkApp3");
+        when(mockOAuthAdminService.registerAndRetrieveOAuthApplicationData(any(OAuthConsumerAppDTO.class)))
+                .thenAnswer(invocation -> {
+                    OAuthConsumerAppDTO app = (OAuthConsumerAppDTO) invocation.getArguments()[0];
+                    if ("bulkApp2".equals(app.getApplicationName())) {
+                        throw new IllegalStateException("Unexpected failure");
+                    }
+                    app.setOauthConsumerKey(app.getApplicationName() + "ClientId");
+                    return app;
+                });
+
+        // The failure of the second request does not abort the sequential registration of the batch.
+        List<BulkRegistrationResult> results = dcrmService.registerApplications(registrationRequests);
+
+        assertEquals(results.size(), 3);
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(results.get(1).getErrorCode(), DCRMConstants.ErrorMessages.ERROR_CODE_UNEXPECTED.toString());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(results.get(2).getApplication().getClientId(), "bulkApp3ClientId");
+    }
+
+    private List<ApplicationRegistrationRequest> prepareBulkRegistration(Map<String, String> correlationIds,
+                                                                         Map<String, String> requestProperties,
+                                                                         String... clientNames) throws Exception {
+
+        FieldSetter.setField(dcrmService,
+                dcrmService.getClass().getDeclaredField("oAuthAdminService"), mockOAuthAdminService);
+        List<ApplicationRegistrationRequest> registrationRequests = new ArrayList<>();
+        for (String clientName : clientNames) {
+            ServiceProvider serviceProvider = new ServiceProvider();
+            serviceProvider.setApplicationName(clientName);
+            when(mockApplicationManagementService.getServiceProvider(clientName, dummyTenantDomain))
+                    .thenReturn(null, serviceProvider);
+
+            ApplicationRegistrationRequest registrationRequest = new ApplicationRegistrationRequest();
+            registrationRequest.setClientName(clientName);
+            registrationRequest.setGrantTypes(Collections.singletonList("client_credentials"));
+            registrationRequests.add(registrationRequest);
+        }
+        when(mockOAuthAdminService.registerAndRetrieveOAuthApplicationData(any(OAuthConsumerAppDTO.class)))
+                .thenAnswer(invocation -> {
+                    OAuthConsumerAppDTO app = (OAuthConsumerAppDTO) invocation.getArguments()[0];
+                    app.setOauthConsumerKey(app.getApplicationName() + "ClientId");
+                    correlationIds.put(app.getApplicationName(),
+                            String.valueOf(MDC.get(DCRMConstants.CORRELATION_ID_MDC)));
+                    requestProperties.put(app.getApplicationName(),
+                            String.valueOf(IdentityUtil.threadLocalProperties.get().get(BULK_REQUEST_PROPERTY)));
+                    return app;
+                });
+        return registrationRequests;
+    }
+
     @Test(dataProvider = "redirectUriProvider")
     public void registerApplicationTestWithDeleteCreatedSP(List<String> redirectUri) throws Exception {
 
@@ -38,7 +38,7 @@ import javax.ws.rs.core.MultivaluedMap;
 public class OAuthRequestWrapper extends HttpServletRequestWrapper {
 
     private Map<String, List<String>> form;
-    private Enumeration<String> parameterNames;
+    private Set<String> parameterNames;
 
     private boolean isInternalRequest = false;
 
@@ -52,17 +52,6 @@ public class OAuthRequestWrapper extends HttpServletRequestWrapper {
 
         super(request);
         this.form = form;
-
-        Set<String> parameterNameSet = new HashSet<>();
-        // Add post parameters
-        parameterNameSet.addAll(form.keySet());
-        // Add servlet request parameters
-        Enumeration<String> requestParameterNames = request.getParameterNames();
-        while (requestParameterNames.hasMoreElements()) {
-            parameterNameSet.add(requestParameterNames.nextElement());
-        }
-
-        this.parameterNames = Collections.enumeration(parameterNameSet);
     }
 
     @Override
@@ -80,7 +69,19 @@ public class OAuthRequestWrapper extends HttpServletRequestWrapper {
     @Override
     public Enumeration<String> getParameterNames() {
 
-        return parameterNames;
+        // The names are collected on first use, as most requests never ask for them.
+        if (parameterNames == null) {
+            Set<String> parameterNameSet = new HashSet<>();
+            // Add post parameters
+            parameterNameSet.addAll(form.keySet());
+            // Add servlet request parameters
+            Enumeration<String> requestParameterNames = super.getParameterNames();
+            while (requestParameterNames.hasMoreElements()) {
+                parameterNameSet.add(requestParameterNames.nextElement());
+            }
+            parameterNames = parameterNameSet;
+        }
+        return Collections.enumeration(parameterNames);
     }
 
     /**
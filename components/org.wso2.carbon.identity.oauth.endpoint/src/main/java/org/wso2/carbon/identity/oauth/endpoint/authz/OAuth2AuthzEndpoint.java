@@ -22,7 +22,6 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.nimbusds.jwt.SignedJWT;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections.CollectionUtils;
@@ -111,8 +110,7 @@ import org.wso2.carbon.identity.oauth.endpoint.exception.InvalidRequestParentExc
 import org.wso2.carbon.identity.oauth.endpoint.message.OAuthMessage;
 import org.wso2.carbon.identity.oauth.endpoint.util.EndpointUtil;
 import org.wso2.carbon.identity.oauth.endpoint.util.OpenIDConnectUserRPStore;
-import org.wso2.carbon.identity.oauth.extension.engine.JSEngine;
-import org.wso2.carbon.identity.oauth.extension.utils.EngineUtils;
+import org.wso2.carbon.identity.oauth.extension.engine.ScriptExecutionService;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2ClientException;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2ScopeException;
@@ -1936,24 +1934,21 @@ public class OAuth2AuthzEndpoint {
                     serviceProvider.getLocalAndOutBoundAuthenticationConfig().getAuthenticationScriptConfig() == null) {
                 return null;
             }
-            Gson gson = new Gson();
-            JSEngine jsEngine = EngineUtils.getEngineFromConfig();
             JsLogger jsLogger = new JsLogger();
             Map<String, Object> bindings = new HashMap<>();
             bindings.put(FrameworkConstants.JSAttributes.JS_LOG, jsLogger);
             List<String> accessTokenJSObject = new ArrayList<>();
-            Map<String, Object> parameterMap = gson.fromJson(gson.toJson(oAuthMessage.getRequest().getParameterMap()),
-                    new TypeToken<Map<String, Object>>() {
-                    }.getType());
+            Map<String, Object> parameterMap = new HashMap<>();
+            for (Map.Entry<String, String[]> parameter : oAuthMessage.getRequest().getParameterMap().entrySet()) {
+                parameterMap.put(parameter.getKey(), parameter.getValue() == null ? null :
+                        new ArrayList<>(Arrays.asList(parameter.getValue())));
+            }
             accessTokenJSObject.add(ACCESS_TOKEN_JS_OBJECT);
-            Map<String, Object> result = jsEngine
-                    .createEngine()
-                    .addBindings(bindings)
-                    .evalScript(
-                            serviceProvider.getLocalAndOutBoundAuthenticationConfig().getAuthenticationScriptConfig()
-                                    .getContent())
-                    .invokeFunction(DYNAMIC_TOKEN_DATA_FUNCTION, parameterMap)
-                    .getJSObjects(accessTokenJSObject);
+            Map<String, Object> result = ScriptExecutionService.getInstance().execute(
+                    serviceProvider.getApplicationResourceId(),
+                    serviceProvider.getLocalAndOutBoundAuthenticationConfig().getAuthenticationScriptConfig()
+                            .getContent(), bindings, DYNAMIC_TOKEN_DATA_FUNCTION, accessTokenJSObject, parameterMap);
+            Gson gson = new Gson();
             AccessTokenExtendedAttributes accessTokenExtendedAttributes =
                     gson.fromJson(gson.toJson(result.get(ACCESS_TOKEN_JS_OBJECT)), AccessTokenExtendedAttributes.class);
             if (accessTokenExtendedAttributes != null) {
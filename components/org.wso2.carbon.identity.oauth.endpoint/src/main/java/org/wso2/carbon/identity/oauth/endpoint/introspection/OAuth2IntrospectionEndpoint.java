@@ -25,6 +25,7 @@ import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.central.log.mgt.utils.LogConstants;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.core.handler.AbstractIdentityHandler;
+import org.wso2.carbon.identity.oauth.cache.IntrospectionResponseCache;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.IntrospectionDataProvider;
@@ -32,6 +33,7 @@ import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.OAuth2TokenValidationService;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2IntrospectionResponseDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationRequestDTO;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.utils.DiagnosticLog;
 
 import java.util.List;
@@ -100,6 +102,21 @@ public class OAuth2IntrospectionEndpoint {
                     entity("{\"error\": \"" + INVALID_INPUT + "\"}").build();
         }
 
+        boolean responseCacheEnabled = IntrospectionResponseCache.isEnabled();
+        String responseCacheKey = null;
+        long startTime = 0;
+        if (responseCacheEnabled) {
+            responseCacheKey = buildResponseCacheKey(tokenTypeHint, requiredClaims);
+            String cachedResponse = IntrospectionResponseCache.getInstance().getResponse(token, responseCacheKey);
+            if (cachedResponse != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Introspection response served from the introspection response cache.");
+                }
+                return Response.ok(cachedResponse, MediaType.APPLICATION_JSON).status(Response.Status.OK).build();
+            }
+            startTime = System.nanoTime();
+        }
+
         String[] claimsUris = null;
         if (StringUtils.isNotEmpty(requiredClaims)) {
             claimsUris = requiredClaims.split(",");
@@ -216,7 +233,14 @@ public class OAuth2IntrospectionEndpoint {
         }
 
         try {
-            return Response.ok(respBuilder.build(), MediaType.APPLICATION_JSON).status(Response.Status.OK).build();
+            String response = respBuilder.build();
+            if (responseCacheEnabled && introspectionResponse.isActive()) {
+                // Only the responses of tokens with a known id are cached, so that they can be evicted on revocation.
+                String tokenId = (String) introspectionResponse.getProperties().get(OAuth2Util.INTROSPECTED_TOKEN_ID);
+                IntrospectionResponseCache.getInstance().addResponse(token, tokenId, responseCacheKey, response,
+                        introspectionResponse.getExp(), System.nanoTime() - startTime);
+            }
+            return Response.ok(response, MediaType.APPLICATION_JSON).status(Response.Status.OK).build();
         } catch (JSONException e) {
             if (LoggerUtils.isDiagnosticLogsEnabled()) {
                 LoggerUtils.triggerDiagnosticLogEvent(new DiagnosticLog.DiagnosticLogBuilder(
@@ -232,4 +256,19 @@ public class OAuth2IntrospectionEndpoint {
                     .entity("{\"error\": \"Error occurred while building the json response.\"}").build();
         }
     }
+
+    /**
+     * Build the key used to cache the introspection response, which identifies the requesting client and the
+     * request parameters that affect the response.
+     *
+     * @param tokenTypeHint  Hint for the type of the token.
+     * @param requiredClaims Comma separated list of claims to be returned in JWT.
+     * @return Introspection response cache key.
+     */
+    private String buildResponseCacheKey(String tokenTypeHint, String requiredClaims) {
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        return carbonContext.getUsername() + "@" + carbonContext.getTenantDomain() + ":" + tokenTypeHint + ":" +
+                requiredClaims;
+    }
 }
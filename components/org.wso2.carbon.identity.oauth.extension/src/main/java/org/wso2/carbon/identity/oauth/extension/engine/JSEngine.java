@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.oauth.extension.engine;
 import java.util.List;
 import java.util.Map;
 
+import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
 /**
@@ -71,4 +72,28 @@ public interface JSEngine {
      * @return A map of key-value pairs representing the JavaScript objects from the specified bindings.
      */
     Map<String, Object> getJSObjects(List<String> bindings);
+
+    /**
+     * Creates a new sandboxed script engine that is not shared with the other users of this JavaScript engine.
+     * JavaScript engines that cannot provide one keep this default, and their scripts are run through
+     * {@link #createEngine()} instead.
+     *
+     * @return The new script engine.
+     * @throws UnsupportedOperationException If this JavaScript engine cannot create a script engine of its own.
+     */
+    default ScriptEngine createScriptEngine() {
+
+        throw new UnsupportedOperationException("JavaScript engine: " + getClass().getName() +
+                " does not support creating a sandboxed script engine.");
+    }
+
+    /**
+     * Returns the script that replaces the restricted functions in a new script context.
+     *
+     * @return The script that replaces the restricted functions.
+     */
+    default String getRestrictedFunctionsScript() {
+
+        return "";
+    }
 }
@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth.extension.engine;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.extension.utils.Constants;
+import org.wso2.carbon.identity.oauth.extension.utils.EngineUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+/**
+ * Executes functions of scripts in a bounded pool of sandboxed script engines.
+ * <p>
+ * Every worker thread of the pool owns a script engine created by the configured {@link JSEngine}, so an engine is
+ * never used by two executions at the same time. Scripts are compiled once per engine and kept in a bounded cache
+ * keyed by the script owner and the hash of the script. Every execution runs in a new script context, so bindings and
+ * variables of one execution are not visible to others.
+ * <p>
+ * Executions that do not complete within the configured time are abandoned. A script engine cannot be interrupted,
+ * so the worker running an abandoned execution is retired along with its engine: the pool it belongs to is shut down
+ * and replaced by a new pool, and the worker thread ends once the script returns. Executions are rejected without
+ * waiting when the queue of the pool is full, or when as many abandoned executions as the pool size are still
+ * running.
+ * <p>
+ * A {@link JSEngine} that cannot create a script engine of its own is used through {@link JSEngine#createEngine()}
+ * instead. Such engines share a single script engine, so their executions are run one at a time and their scripts
+ * are not compiled ahead.
+ */
+public class ScriptExecutionService {
+
+    private static final Log log = LogFactory.getLog(ScriptExecutionService.class);
+    private static final Pattern FUNCTION_NAME_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+    private static final String ARGUMENT_BINDING_PREFIX = "__invocationArgument";
+    private static final String INVOKER_CACHE_KEY_PREFIX = "invoker:";
+    private static final String RESTRICTED_FUNCTIONS_CACHE_KEY = "restricted-functions";
+    private static volatile ScriptExecutionService instance;
+
+    private final JSEngine jsEngine;
+    private final int poolSize;
+    private final long timeoutInMillis;
+    private final int compiledScriptCacheSize;
+    private final int queueSize;
+    private final ThreadLocal<EngineContext> engineContext = new ThreadLocal<>();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger abandonedExecutionCount = new AtomicInteger();
+    private volatile ExecutorService executor;
+    private volatile boolean scriptEngineUnsupported;
+
+    private final AtomicLong executionCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong rejectionCount = new AtomicLong();
+    private final AtomicLong compilationCount = new AtomicLong();
+    private final AtomicLong totalExecutionTimeInMillis = new AtomicLong();
+
+    ScriptExecutionService(JSEngine jsEngine, int poolSize, long timeoutInMillis, int compiledScriptCacheSize,
+                           int queueSize) {
+
+        this.jsEngine = jsEngine;
+        this.poolSize = poolSize;
+        this.timeoutInMillis = timeoutInMillis;
+        this.compiledScriptCacheSize = compiledScriptCacheSize;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Get the script execution service of the configured JavaScript engine.
+     *
+     * @return Script execution service.
+     */
+    public static ScriptExecutionService getInstance() {
+
+        if (instance == null) {
+            synchronized (ScriptExecutionService.class) {
+                if (instance == null) {
+                    instance = new ScriptExecutionService(EngineUtils.getEngineFromConfig(),
+                            (int) getPositiveLong(Constants.SCRIPT_EXECUTION_POOL_SIZE,
+                                    Constants.DEFAULT_SCRIPT_EXECUTION_POOL_SIZE),
+                            getPositiveLong(Constants.SCRIPT_EXECUTION_TIMEOUT,
+                                    Constants.DEFAULT_SCRIPT_EXECUTION_TIMEOUT),
+                            (int) getPositiveLong(Constants.SCRIPT_EXECUTION_COMPILED_SCRIPT_CACHE_SIZE,
+                                    Constants.DEFAULT_SCRIPT_EXECUTION_COMPILED_SCRIPT_CACHE_SIZE),
+                            (int) getPositiveLong(Constants.SCRIPT_EXECUTION_QUEUE_SIZE,
+                                    Constants.DEFAULT_SCRIPT_EXECUTION_QUEUE_SIZE));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Evaluate a script in a new script context, invoke a function of the script and get the objects defined by the
+     * script.
+     *
+     * @param scriptOwner  Identifier of the owner of the script, such as the service provider id.
+     * @param script       Script.
+     * @param bindings     Bindings of the execution.
+     * @param functionName Name of the function to invoke.
+     * @param objectNames  Names of the objects to get after the function is invoked.
+     * @param args         Arguments of the function.
+     * @return Objects defined by the script, by name.
+     * @throws ScriptException If the script failed, did not complete in time or could not be queued.
+     */
+    public Map<String, Object> execute(String scriptOwner, String script, Map<String, Object> bindings,
+                                       String functionName, List<String> objectNames, Object... args)
+            throws ScriptException {
+
+        if (!FUNCTION_NAME_PATTERN.matcher(functionName).matches()) {
+            throw new ScriptException("Invalid function name: " + functionName);
+        }
+        if (abandonedExecutionCount.get() >= poolSize) {
+            rejectionCount.incrementAndGet();
+            throw new ScriptException("Rejected the execution of the script of: " + scriptOwner + " since " +
+                    poolSize + " abandoned script executions are still running.");
+        }
+        long startTime = System.currentTimeMillis();
+        executionCount.incrementAndGet();
+        Execution execution = new Execution();
+        ExecutorService currentExecutor;
+        Future<Map<String, Object>> future = null;
+        do {
+            currentExecutor = getExecutor();
+            try {
+                future = currentExecutor.submit(() -> execution.run(
+                        () -> executeInEngine(scriptOwner, script, bindings, functionName, objectNames, args)));
+            } catch (RejectedExecutionException e) {
+                // A pool retired in the meantime rejects the execution, which is then submitted to the new pool.
+                if (!currentExecutor.isShutdown()) {
+                    rejectionCount.incrementAndGet();
+                    throw new ScriptException("Rejected the execution of the script of: " + scriptOwner +
+                            " since " + queueSize + " script executions are already waiting.");
+                }
+            }
+        } while (future == null);
+        try {
+            return future.get(timeoutInMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(currentExecutor, execution, future);
+            timeoutCount.incrementAndGet();
+            throw new ScriptException("Execution of the function: " + functionName + " of the script of: " +
+                    scriptOwner + " did not complete within " + timeoutInMillis + " ms.");
+        } catch (InterruptedException e) {
+            abandon(currentExecutor, execution, future);
+            Thread.currentThread().interrupt();
+            failureCount.incrementAndGet();
+            throw new ScriptException("Interrupted while executing the script of: " + scriptOwner);
+        } catch (ExecutionException e) {
+            failureCount.incrementAndGet();
+            if (e.getCause() instanceof ScriptException) {
+                throw (ScriptException) e.getCause();
+            }
+            ScriptException scriptException = new ScriptException("Error while executing the script of: " +
+                    scriptOwner);
+            scriptException.initCause(e.getCause());
+            throw scriptException;
+        } finally {
+            long executionTime = System.currentTimeMillis() - startTime;
+            totalExecutionTimeInMillis.addAndGet(executionTime);
+            if (log.isDebugEnabled()) {
+                log.debug("Executed the function: " + functionName + " of the script of: " + scriptOwner + " in " +
+                        executionTime + " ms.");
+            }
+        }
+    }
+
+    public long getExecutionCount() {
+
+        return executionCount.get();
+    }
+
+    public long getFailureCount() {
+
+        return failureCount.get();
+    }
+
+    public long getTimeoutCount() {
+
+        return timeoutCount.get();
+    }
+
+    public long getRejectionCount() {
+
+        return rejectionCount.get();
+    }
+
+    public long getCompilationCount() {
+
+        return compilationCount.get();
+    }
+
+    public long getTotalExecutionTimeInMillis() {
+
+        return totalExecutionTimeInMillis.get();
+    }
+
+    private Map<String, Object> executeInEngine(String scriptOwner, String script, Map<String, Object> bindings,
+                                                String functionName, List<String> objectNames, Object[] args)
+            throws ScriptException {
+
+        if (scriptEngineUnsupported) {
+            return executeInSharedEngine(script, bindings, functionName, objectNames, args);
+        }
+        EngineContext context = engineContext.get();
+        if (context == null) {
+            ScriptEngine scriptEngine;
+            try {
+                scriptEngine = jsEngine.createScriptEngine();
+            } catch (UnsupportedOperationException e) {
+                scriptEngineUnsupported = true;
+                log.warn(e.getMessage() + " Scripts are executed one at a time in the engine of the JavaScript " +
+                        "engine.");
+                return executeInSharedEngine(script, bindings, functionName, objectNames, args);
+            }
+            context = new EngineContext(scriptEngine, compiledScriptCacheSize);
+            engineContext.set(context);
+        }
+
+        ScriptContext scriptContext = new SimpleScriptContext();
+        Bindings engineBindings = context.engine.createBindings();
+        scriptContext.setBindings(engineBindings, ScriptContext.ENGINE_SCOPE);
+        if (bindings != null) {
+            engineBindings.putAll(bindings);
+        }
+        context.getCompiledScript(RESTRICTED_FUNCTIONS_CACHE_KEY, jsEngine.getRestrictedFunctionsScript())
+                .eval(scriptContext);
+        context.getCompiledScript(scriptOwner + ":" + hash(script), script).eval(scriptContext);
+
+        int argCount = args == null ? 0 : args.length;
+        for (int i = 0; i < argCount; i++) {
+            engineBindings.put(ARGUMENT_BINDING_PREFIX + i, args[i]);
+        }
+        Object invoked = context.getCompiledScript(INVOKER_CACHE_KEY_PREFIX + functionName + ":" + argCount,
+                buildInvocationScript(functionName, argCount)).eval(scriptContext);
+        for (int i = 0; i < argCount; i++) {
+            engineBindings.remove(ARGUMENT_BINDING_PREFIX + i);
+        }
+        if (!Boolean.TRUE.equals(invoked)) {
+            log.warn(String.format("Function %s is not defined in the script.", functionName));
+        }
+
+        Map<String, Object> jsObjects = new HashMap<>();
+        for (String objectName : objectNames) {
+            Object jsObject = engineBindings.get(objectName);
+            if (jsObject != null) {
+                jsObjects.put(objectName, jsObject);
+            }
+        }
+        return jsObjects;
+    }
+
+    /**
+     * Execute a script through {@link JSEngine#createEngine()}, for JavaScript engines that cannot create a script
+     * engine per worker. The engine created that way is shared, hence executions are serialized on it.
+     */
+    private Map<String, Object> executeInSharedEngine(String script, Map<String, Object> bindings,
+                                                      String functionName, List<String> objectNames, Object[] args)
+            throws ScriptException {
+
+        synchronized (jsEngine) {
+            JSEngine engine = jsEngine.createEngine();
+            if (bindings != null) {
+                engine.addBindings(bindings);
+            }
+            try {
+                engine.evalScript(script).invokeFunction(functionName, args == null ? new Object[0] : args);
+            } catch (NoSuchMethodException e) {
+                log.warn(String.format("Function %s is not defined in the script.", functionName));
+            }
+            return engine.getJSObjects(objectNames);
+        }
+    }
+
+    private static String buildInvocationScript(String functionName, int argCount) {
+
+        StringBuilder invocation = new StringBuilder("typeof ").append(functionName)
+                .append(" === 'function' ? (").append(functionName).append("(");
+        for (int i = 0; i < argCount; i++) {
+            if (i > 0) {
+                invocation.append(", ");
+            }
+            invocation.append(ARGUMENT_BINDING_PREFIX).append(i);
+        }
+        return invocation.append("), true) : false;").toString();
+    }
+
+    /**
+     * Shut down the worker threads. Executions that are already queued are completed, and a later execution starts
+     * a new pool.
+     */
+    public synchronized void shutdown() {
+
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Shut down the worker threads of the script execution service, if the service has been used.
+     */
+    public static void shutdownInstance() {
+
+        ScriptExecutionService service = instance;
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * Abandon an execution that did not complete in time. If the execution has started, its worker is stuck in the
+     * script engine, so the pool of the worker is retired and the worker thread ends together with its engine once
+     * the script returns. The executions already queued in the retired pool are still completed by its other workers.
+     */
+    private void abandon(ExecutorService executionExecutor, Execution execution, Future<?> future) {
+
+        future.cancel(true);
+        if (!execution.abandon()) {
+            return;
+        }
+        abandonedExecutionCount.incrementAndGet();
+        synchronized (this) {
+            if (executor == executionExecutor) {
+                executor = null;
+            }
+        }
+        executionExecutor.shutdown();
+        if (log.isDebugEnabled()) {
+            log.debug("Retired the script execution pool of a worker which did not complete in time.");
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize), runnable -> {
+                        Thread thread = new Thread(runnable, "oauth-script-execution-" +
+                                threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return executor;
+    }
+
+    private static String hash(String script) {
+
+        return DigestUtils.sha256Hex(script);
+    }
+
+    private static long getPositiveLong(String property, long defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                long longValue = Long.parseLong(value.trim());
+                if (longValue > 0) {
+                    return longValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value.
+            }
+            log.warn("Invalid value: " + value + " configured for: " + property + ". Using the default value: " +
+                    defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Operation run in a script engine.
+     *
+     * @param <T> Type of the result.
+     */
+    private interface EngineCall<T> {
+
+        T call() throws ScriptException;
+    }
+
+    /**
+     * State of an execution, shared by the caller waiting for it and the worker running it.
+     */
+    private class Execution {
+
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int COMPLETED = 2;
+        private static final int ABANDONED = 3;
+
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private <T> T run(EngineCall<T> call) throws ScriptException {
+
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                // The caller stopped waiting before the execution started.
+                return null;
+            }
+            try {
+                return call.call();
+            } finally {
+                if (state.getAndSet(COMPLETED) == ABANDONED) {
+                    // Discard the engine of the worker, which may have been left in any state by the script.
+                    engineContext.remove();
+                    abandonedExecutionCount.decrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Mark the execution as abandoned.
+         *
+         * @return True if the execution is running, i.e. its worker is stuck in the script engine.
+         */
+        private boolean abandon() {
+
+            return !state.compareAndSet(QUEUED, ABANDONED) && state.compareAndSet(RUNNING, ABANDONED);
+        }
+    }
+
+    /**
+     * Script engine owned by a worker thread, with the scripts compiled in it.
+     */
+    private class EngineContext {
+
+        private final ScriptEngine engine;
+        private final Map<String, CompiledScript> compiledScripts;
+
+        private EngineContext(ScriptEngine engine, int maxEntries) {
+
+            this.engine = engine;
+            this.compiledScripts = new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 4395724611226315562L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        private CompiledScript getCompiledScript(String key, String script) throws ScriptException {
+
+            CompiledScript compiledScript = compiledScripts.get(key);
+            if (compiledScript == null) {
+                compiledScript = ((Compilable) engine).compile(script);
+                compiledScripts.put(key, compiledScript);
+                compilationCount.incrementAndGet();
+            }
+            return compiledScript;
+        }
+    }
+}
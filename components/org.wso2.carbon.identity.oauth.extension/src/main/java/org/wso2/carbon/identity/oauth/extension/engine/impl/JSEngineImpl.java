@@ -74,6 +74,19 @@ public class JSEngineImpl implements JSEngine {
         return JS_ENGINE_INSTANCE;
     }
 
+    @Override
+    public ScriptEngine createScriptEngine() {
+
+        NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+        return factory.getScriptEngine(NASHORN_ARGS, getClassLoader(), classFilter);
+    }
+
+    @Override
+    public String getRestrictedFunctionsScript() {
+
+        return REMOVE_FUNCTIONS;
+    }
+
     @Override
     public JSEngine createEngine() throws ScriptException {
 
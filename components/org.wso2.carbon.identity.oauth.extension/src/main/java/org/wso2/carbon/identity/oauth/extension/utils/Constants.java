@@ -25,4 +25,15 @@ public class Constants {
 
     public static final String OPENJDK_SCRIPT_CLASS_NAME = "org.openjdk.nashorn.api.scripting.ScriptObjectMirror";
     public static final String JDK_SCRIPT_CLASS_NAME = "jdk.nashorn.api.scripting.ScriptObjectMirror";
+
+    // Configurations of the script execution service.
+    public static final String SCRIPT_EXECUTION_POOL_SIZE = "OAuth.ScriptExecution.PoolSize";
+    public static final String SCRIPT_EXECUTION_TIMEOUT = "OAuth.ScriptExecution.TimeoutInMillis";
+    public static final String SCRIPT_EXECUTION_COMPILED_SCRIPT_CACHE_SIZE =
+            "OAuth.ScriptExecution.CompiledScriptCacheSize";
+    public static final String SCRIPT_EXECUTION_QUEUE_SIZE = "OAuth.ScriptExecution.QueueSize";
+    public static final int DEFAULT_SCRIPT_EXECUTION_POOL_SIZE = 4;
+    public static final long DEFAULT_SCRIPT_EXECUTION_TIMEOUT = 2000;
+    public static final int DEFAULT_SCRIPT_EXECUTION_COMPILED_SCRIPT_CACHE_SIZE = 100;
+    public static final int DEFAULT_SCRIPT_EXECUTION_QUEUE_SIZE = 100;
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth.extension.engine;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.extension.engine.impl.OpenJdkJSEngineImpl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.script.ScriptException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test class for ScriptExecutionService.
+ */
+public class ScriptExecutionServiceTest {
+
+    private static final String SCRIPT = "function getData(params) { person = {name: name, id: params.id}; }";
+    private static final String LOOP_SCRIPT =
+            "function loop() { var end = Date.now() + 1000; while (Date.now() < end) {} }";
+    private static final List<String> OBJECT_NAMES = Collections.singletonList("person");
+
+    private ScriptExecutionService scriptExecutionService;
+
+    @BeforeMethod
+    public void setUp() {
+
+        scriptExecutionService = new ScriptExecutionService(OpenJdkJSEngineImpl.getInstance(), 1, 5000, 10, 10);
+    }
+
+    @Test
+    public void testExecute() throws ScriptException {
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", "1");
+        Map<String, Object> result = scriptExecutionService.execute("sp1", SCRIPT,
+                Collections.singletonMap("name", "John"), "getData", OBJECT_NAMES, params);
+
+        assertEquals(((Map<?, ?>) result.get("person")).get("name"), "John");
+        assertEquals(((Map<?, ?>) result.get("person")).get("id"), "1");
+        assertEquals(scriptExecutionService.getExecutionCount(), 1);
+    }
+
+    @Test
+    public void testExecuteWithEngineWithoutScriptEngineSupport() throws ScriptException {
+
+        JSEngine delegate = OpenJdkJSEngineImpl.getInstance();
+        // Implements only the methods that existed before script engines were created per worker.
+        JSEngine legacyEngine = new JSEngine() {
+
+            @Override
+            public JSEngine createEngine() throws ScriptException {
+
+                delegate.createEngine();
+                return this;
+            }
+
+            @Override
+            public JSEngine addBindings(Map<String, Object> bindings) {
+
+                delegate.addBindings(bindings);
+                return this;
+            }
+
+            @Override
+            public JSEngine evalScript(String script) throws ScriptException {
+
+                delegate.evalScript(script);
+                return this;
+            }
+
+            @Override
+            public JSEngine invokeFunction(String functionName, Object... args)
+                    throws NoSuchMethodException, ScriptException {
+
+                delegate.invokeFunction(functionName, args);
+                return this;
+            }
+
+            @Override
+            public Map<String, Object> getJSObjects(List<String> bindings) {
+
+                return delegate.getJSObjects(bindings);
+            }
+        };
+        ScriptExecutionService legacyService = new ScriptExecutionService(legacyEngine, 1, 5000, 10, 10);
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", "2");
+        Map<String, Object> result = legacyService.execute("sp1", SCRIPT, Collections.singletonMap("name", "Jane"),
+                "getData", OBJECT_NAMES, params);
+
+        assertEquals(((Map<?, ?>) result.get("person")).get("name"), "Jane");
+        assertEquals(((Map<?, ?>) result.get("person")).get("id"), "2");
+        assertEquals(legacyService.getCompilationCount(), 0);
+        legacyService.shutdown();
+    }
+
+    @Test
+    public void testCompiledScriptIsReused() throws ScriptException {
+
+        Map<String, Object> params = new HashMap<>();
+        scriptExecutionService.execute("sp1", SCRIPT, Collections.singletonMap("name", "John"), "getData",
+                OBJECT_NAMES, params);
+        long compilationCount = scriptExecutionService.getCompilationCount();
+        scriptExecutionService.execute("sp1", SCRIPT, Collections.singletonMap("name", "Jane"), "getData",
+                OBJECT_NAMES, params);
+
+        assertEquals(scriptExecutionService.getCompilationCount(), compilationCount);
+        assertEquals(scriptExecutionService.getExecutionCount(), 2);
+    }
+
+    @Test
+    public void testExecutionsAreIsolated() throws ScriptException {
+
+        scriptExecutionService.execute("sp1", "function define() { shared = 1; }", null, "define",
+                Collections.singletonList("shared"));
+        Map<String, Object> result = scriptExecutionService.execute("sp1", "function read() { }", null, "read",
+                Collections.singletonList("shared"));
+
+        assertFalse(result.containsKey("shared"));
+    }
+
+    @Test
+    public void testExecutionTimeout() {
+
+        ScriptExecutionService timedService = new ScriptExecutionService(OpenJdkJSEngineImpl.getInstance(), 2, 100,
+                10, 10);
+        try {
+            timedService.execute("sp1", LOOP_SCRIPT, null, "loop", OBJECT_NAMES);
+        } catch (ScriptException e) {
+            assertEquals(timedService.getTimeoutCount(), 1);
+            return;
+        }
+        fail("Script execution should have timed out.");
+    }
+
+    @Test
+    public void testStuckWorkerIsReplaced() throws ScriptException {
+
+        ScriptExecutionService timedService = new ScriptExecutionService(OpenJdkJSEngineImpl.getInstance(), 2, 100,
+                10, 10);
+        try {
+            timedService.execute("sp1", LOOP_SCRIPT, null, "loop", OBJECT_NAMES);
+            fail("Script execution should have timed out.");
+        } catch (ScriptException e) {
+            assertEquals(timedService.getTimeoutCount(), 1);
+        }
+
+        // The stuck worker is abandoned, hence the next execution is served by a new worker right away.
+        Map<String, Object> result = timedService.execute("sp1", SCRIPT, Collections.singletonMap("name", "John"),
+                "getData", OBJECT_NAMES, new HashMap<>());
+        assertEquals(((Map<?, ?>) result.get("person")).get("name"), "John");
+        timedService.shutdown();
+    }
+
+    @Test
+    public void testExecutionIsRejectedWhileAbandonedWorkersRun() {
+
+        ScriptExecutionService timedService = new ScriptExecutionService(OpenJdkJSEngineImpl.getInstance(), 1, 100,
+                10, 10);
+        try {
+            timedService.execute("sp1", LOOP_SCRIPT, null, "loop", OBJECT_NAMES);
+            fail("Script execution should have timed out.");
+        } catch (ScriptException e) {
+            assertEquals(timedService.getTimeoutCount(), 1);
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            timedService.execute("sp1", SCRIPT, null, "getData", OBJECT_NAMES, new HashMap<>());
+            fail("Script execution should have been rejected.");
+        } catch (ScriptException e) {
+            assertEquals(timedService.getRejectionCount(), 1);
+            assertTrue(System.currentTimeMillis() - startTime < 100, "Execution should be rejected without waiting.");
+        }
+        timedService.shutdown();
+    }
+
+    @Test(expectedExceptions = ScriptException.class)
+    public void testInvalidFunctionName() throws ScriptException {
+
+        scriptExecutionService.execute("sp1", SCRIPT, null, "getData()", OBJECT_NAMES);
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.commons.lang.ArrayUtils;
 import org.wso2.carbon.identity.oauth.stub.OAuthAdminServiceIdentityOAuthAdminException;
 import org.wso2.carbon.identity.oauth.stub.OAuthAdminServiceStub;
 import org.wso2.carbon.identity.oauth.stub.dto.OAuthConsumerAppDTO;
+import org.wso2.carbon.identity.oauth.stub.dto.OAuthConsumerAppPageDTO;
 import org.wso2.carbon.identity.oauth.stub.dto.OAuthIDTokenAlgorithmDTO;
 import org.wso2.carbon.identity.oauth.stub.dto.OAuthRevocationRequestDTO;
 import org.wso2.carbon.identity.oauth.stub.dto.OAuthRevocationResponseDTO;
@@ -69,6 +70,12 @@ public class OAuthAdminClient {
         return stub.getAllOAuthApplicationData();
     }
 
+    public OAuthConsumerAppPageDTO getPaginatedOAuthApplicationData(int cursor, int limit, String appNamePrefix,
+                                                                    String grantType) throws Exception {
+
+        return stub.getPaginatedOAuthApplicationData(cursor, limit, appNamePrefix, grantType);
+    }
+
     public OAuthConsumerAppDTO getOAuthApplicationData(String consumerkey) throws Exception {
 
         return stub.getOAuthApplicationData(consumerkey);
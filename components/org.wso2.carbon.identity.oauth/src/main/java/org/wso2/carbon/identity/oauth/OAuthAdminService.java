@@ -22,6 +22,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.core.AbstractAdmin;
 import org.wso2.carbon.identity.oauth.dto.OAuthConsumerAppDTO;
+import org.wso2.carbon.identity.oauth.dto.OAuthConsumerAppPageDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthIDTokenAlgorithmDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthRevocationRequestDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthRevocationResponseDTO;
@@ -72,6 +73,27 @@ public class OAuthAdminService extends AbstractAdmin {
         }
     }
 
+    /**
+     * Get a page of the registered OAuth applications of the logged in user.
+     *
+     * @param cursor        Cursor returned with the previous page, or 0 for the first page.
+     * @param limit         Maximum number of applications in the page.
+     * @param appNamePrefix Prefix of the application names to return, or null to return all.
+     * @param grantType     Grant type the returned applications should allow, or null to return all.
+     * @return <code>OAuthConsumerAppPageDTO</code> with the applications of the page and the cursor of the next page.
+     * @throws IdentityOAuthAdminException Error when reading the data from the persistence store.
+     */
+    public OAuthConsumerAppPageDTO getPaginatedOAuthApplicationData(int cursor, int limit, String appNamePrefix,
+                                                                    String grantType)
+            throws IdentityOAuthAdminException {
+
+        try {
+            return oAuthAdminServiceImpl.getPaginatedOAuthApplicationData(cursor, limit, appNamePrefix, grantType);
+        } catch (IdentityOAuthAdminException ex) {
+            throw handleError(ex);
+        }
+    }
+
     /**
      * Get OAuth application data by the consumer key.
      *
@@ -349,6 +371,23 @@ public class OAuthAdminService extends AbstractAdmin {
         }
     }
 
+    /**
+     * Get a page of the apps that are authorized by the given user, ordered by application name.
+     *
+     * @param offset Number of apps to skip.
+     * @param limit  Maximum number of apps to return.
+     * @return OAuth applications authorized by the user that have tokens in ACTIVE or EXPIRED state
+     */
+    public OAuthConsumerAppDTO[] getPaginatedAppsAuthorizedByUser(int offset, int limit)
+            throws IdentityOAuthAdminException {
+
+        try {
+            return oAuthAdminServiceImpl.getAppsAuthorizedByUser(offset, limit);
+        } catch (IdentityOAuthAdminException ex) {
+            throw handleError(ex);
+        }
+    }
+
     /**
      * Revoke authorization for OAuth apps by resource owners
      *
@@ -27,6 +27,9 @@ import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.json.JSONObject;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
@@ -52,6 +55,7 @@ import org.wso2.carbon.identity.oauth.dao.OAuthAppDAO;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth.dto.OAuthAppRevocationRequestDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthConsumerAppDTO;
+import org.wso2.carbon.identity.oauth.dto.OAuthConsumerAppPageDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthIDTokenAlgorithmDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthRevocationRequestDTO;
 import org.wso2.carbon.identity.oauth.dto.OAuthRevocationResponseDTO;
@@ -71,7 +75,9 @@ import org.wso2.carbon.identity.oauth2.authz.handlers.ResponseTypeHandler;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.model.AuthorizedClientDO;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
+import org.wso2.carbon.identity.oauth2.util.HttpClientUtil;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.validators.OAuth2ScopeValidator;
 import org.wso2.carbon.identity.openidconnect.OIDCClaimUtil;
@@ -194,6 +200,55 @@ public class OAuthAdminServiceImpl {
         return dtos;
     }
 
+    /**
+     * Get a page of the registered OAuth applications of the logged in user, ordered by the application id.
+     *
+     * @param cursor        Cursor returned with the previous page, or 0 for the first page.
+     * @param limit         Maximum number of applications in the page. Limits above the configured maximum items per
+     *                      page are reduced to that maximum.
+     * @param appNamePrefix Prefix of the application names to return, or null to return all.
+     * @param grantType     Grant type the returned applications should allow, or null to return all.
+     * @return <code>OAuthConsumerAppPageDTO</code> with the applications of the page and the cursor of the next page.
+     * @throws IdentityOAuthAdminException Error when reading the data from the persistence store.
+     */
+    public OAuthConsumerAppPageDTO getPaginatedOAuthApplicationData(int cursor, int limit, String appNamePrefix,
+                                                                    String grantType)
+            throws IdentityOAuthAdminException {
+
+        if (cursor < 0 || limit <= 0 || limit == Integer.MAX_VALUE) {
+            throw handleClientError(INVALID_REQUEST, "Invalid pagination parameters. Cursor: " + cursor +
+                    ", limit: " + limit);
+        }
+        limit = Math.min(limit, IdentityUtil.getMaximumItemPerPage());
+        String userName;
+        try {
+            String tenantDomain = CarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+            userName = OAuthUtil.getUsername(tenantDomain);
+        } catch (IdentityApplicationManagementException e) {
+            String msg = "User not logged in to get registered OAuth Applications.";
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(msg);
+            }
+            throw handleClientError(AUTHENTICATED_USER_NOT_FOUND, msg, e);
+        }
+
+        int tenantId = CarbonContext.getThreadLocalCarbonContext().getTenantId();
+        List<OAuthAppDO> apps = new OAuthAppDAO().getOAuthConsumerAppsOfUser(userName, tenantId, cursor, limit,
+                appNamePrefix, grantType);
+        OAuthConsumerAppPageDTO page = new OAuthConsumerAppPageDTO();
+        page.setHasMore(apps.size() > limit);
+        if (page.isHasMore()) {
+            apps = apps.subList(0, limit);
+        }
+        OAuthConsumerAppDTO[] dtos = new OAuthConsumerAppDTO[apps.size()];
+        for (int i = 0; i < apps.size(); i++) {
+            dtos[i] = OAuthUtil.buildConsumerAppDTO(apps.get(i));
+        }
+        page.setApps(dtos);
+        page.setNextCursor(apps.isEmpty() ? cursor : apps.get(apps.size() - 1).getId());
+        return page;
+    }
+
     /**
      * Get OAuth application data by the consumer key.
      *
@@ -1499,6 +1554,23 @@ public class OAuthAdminServiceImpl {
      */
     public OAuthConsumerAppDTO[] getAppsAuthorizedByUser() throws IdentityOAuthAdminException {
 
+        return getAppsAuthorizedByUser(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get a page of the apps that are authorized by the given user, ordered by application name.
+     *
+     * @param offset Number of apps to skip.
+     * @param limit  Maximum number of apps to return.
+     * @return OAuth applications authorized by the user that have tokens in ACTIVE or EXPIRED state
+     */
+    public OAuthConsumerAppDTO[] getAppsAuthorizedByUser(int offset, int limit) throws IdentityOAuthAdminException {
+
+        if (offset < 0 || limit <= 0) {
+            throw handleClientError(INVALID_REQUEST, "Invalid pagination parameters. Offset: " + offset +
+                    ", limit: " + limit);
+        }
+
         String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
         String tenantAwareLoggedInUserName = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
         AuthenticatedUser loggedInUser = null;
@@ -1516,60 +1588,21 @@ public class OAuthAdminServiceImpl {
         }
 
         String username = loggedInUser.getUsernameAsSubjectIdentifier(true, true);
-        String userStoreDomain = null;
-        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
-            try {
-                userStoreDomain = OAuth2Util.getUserStoreForFederatedUser(loggedInUser);
-            } catch (IdentityOAuth2Exception e) {
-                String errorMsg = "Error occurred while getting user store domain for User ID : " + loggedInUser;
-                throw handleError(errorMsg, e);
-            }
-        }
-
-        Set<String> clientIds;
+        List<AuthorizedClientDO> authorizedClients;
         try {
-            clientIds = OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
-                    .getAllTimeAuthorizedClientIds(loggedInUser);
+            authorizedClients = OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
+                    .getAuthorizedClients(loggedInUser, offset, limit);
         } catch (IdentityOAuth2Exception e) {
             String errorMsg = "Error occurred while retrieving apps authorized by User ID : " + username;
             throw handleError(errorMsg, e);
         }
-        Set<OAuthConsumerAppDTO> appDTOs = new HashSet<OAuthConsumerAppDTO>();
-        for (String clientId : clientIds) {
-            Set<AccessTokenDO> accessTokenDOs;
-            try {
-                accessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
-                        .getAccessTokenDAO().getAccessTokens(
-                                clientId, loggedInUser, userStoreDomain, true);
-            } catch (IdentityOAuth2Exception e) {
-                String errorMsg = "Error occurred while retrieving access tokens issued for " +
-                        "Client ID : " + clientId + ", User ID : " + username;
-                throw handleError(errorMsg, e);
-            }
-            if (!accessTokenDOs.isEmpty()) {
-                Set<String> distinctClientUserScopeCombo = new HashSet<String>();
-                for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                    AccessTokenDO scopedToken;
-                    String scopeString = buildScopeString(accessTokenDO.getScope());
-                    try {
-                        scopedToken = OAuthTokenPersistenceFactory.getInstance().
-                                getAccessTokenDAO().getLatestAccessToken(clientId, loggedInUser, userStoreDomain,
-                                scopeString, true);
-                        if (scopedToken != null && !distinctClientUserScopeCombo.contains(clientId + ":" + username)) {
-                            OAuthAppDO appDO = getOAuthAppDO(scopedToken.getConsumerKey(), tenantDomain);
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Found App: " + appDO.getApplicationName() + " for user: " + username);
-                            }
-                            appDTOs.add(OAuthUtil.buildConsumerAppDTO(appDO));
-                            distinctClientUserScopeCombo.add(clientId + ":" + username);
-                        }
-                    } catch (IdentityOAuth2Exception e) {
-                        String errorMsg = "Error occurred while retrieving latest access token issued for Client ID :" +
-                                " " + clientId + ", User ID : " + username + " and Scope : " + scopeString;
-                        throw handleError(errorMsg, e);
-                    }
-                }
+        List<OAuthConsumerAppDTO> appDTOs = new ArrayList<>(authorizedClients.size());
+        for (AuthorizedClientDO authorizedClient : authorizedClients) {
+            OAuthAppDO appDO = getOAuthAppDO(authorizedClient.getConsumerKey(), tenantDomain);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Found App: " + appDO.getApplicationName() + " for user: " + username);
             }
+            appDTOs.add(OAuthUtil.buildConsumerAppDTO(appDO));
         }
         return appDTOs.toArray(new OAuthConsumerAppDTO[0]);
     }
@@ -2578,7 +2611,16 @@ public class OAuthAdminServiceImpl {
             try {
                 List<String> fetchedRedirectURI = new ArrayList<>();
                 ObjectMapper mapper = new ObjectMapper();
-                JsonNode redirectURIArray = mapper.readTree(uri.toURL());
+                JsonNode redirectURIArray;
+                // Fetched through the pooled client, bounded by its configured connect and socket timeouts.
+                try (CloseableHttpResponse response = HttpClientUtil.getSharedHttpClient().execute(
+                        new HttpGet(uri))) {
+                    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK ||
+                            response.getEntity() == null) {
+                        throw handleClientError(INVALID_REQUEST, "Invalid sector identifier URI");
+                    }
+                    redirectURIArray = mapper.readTree(response.getEntity().getContent());
+                }
                 if (redirectURIArray.isArray()) {
                     Iterator<JsonNode> itr = redirectURIArray.iterator();
                     while (itr.hasNext()) {
@@ -39,8 +39,11 @@ import org.wso2.carbon.identity.base.IdentityConstants;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.AuthorizationContextTokenCache;
+import org.wso2.carbon.identity.oauth.cache.IntrospectionResponseCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
+import org.wso2.carbon.identity.oauth.cache.TokenReuseIndex;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth.dto.OAuthConsumerAppDTO;
@@ -55,7 +58,9 @@ import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dao.SharedAppResolveDAO;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
+import org.wso2.carbon.identity.oauth2.token.TokenIssuanceCoalescer;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.jwt.RevokedJWTRegistry;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.identity.organization.management.service.util.OrganizationManagementUtil;
 import org.wso2.carbon.identity.role.v2.mgt.core.RoleConstants;
@@ -420,12 +425,21 @@ public final class OAuthUtil {
 
         OAuthCacheKey cacheKey = new OAuthCacheKey(oauthCacheKey);
         OAuthCache.getInstance().clearCacheEntry(cacheKey);
+        if (TokenIssuanceCoalescer.isEnabled()) {
+            TokenIssuanceCoalescer.getInstance().clearIssuedToken(oauthCacheKey);
+        }
+        if (TokenReuseIndex.isEnabled()) {
+            TokenReuseIndex.getInstance().clearEntry(oauthCacheKey);
+        }
     }
 
     public static void clearOAuthCacheByTenant(String oauthCacheKey, String tenantDomain) {
 
         OAuthCacheKey cacheKey = new OAuthCacheKey(oauthCacheKey);
         OAuthCache.getInstance().clearCacheEntry(cacheKey, tenantDomain);
+        if (TokenReuseIndex.isEnabled()) {
+            TokenReuseIndex.getInstance().clearEntry(oauthCacheKey);
+        }
     }
 
     public static void clearOAuthCache(AccessTokenDO accessTokenDO) {
@@ -437,6 +451,40 @@ public final class OAuthUtil {
         OAuthCacheKey cacheKey = new OAuthCacheKey(accessTokenDO.getAccessToken());
         String tenantDomain = accessTokenDO.getAuthzUser().getTenantDomain();
         OAuthCache.getInstance().clearCacheEntry(cacheKey,  tenantDomain);
+        clearOAuthCacheByTokenId(accessTokenDO.getTokenId());
+    }
+
+    /**
+     * Clear the caches which are keyed by the id of an access token. Called once the token is revoked or its state
+     * is otherwise changed.
+     *
+     * @param tokenId Id of the access token.
+     */
+    public static void clearOAuthCacheByTokenId(String tokenId) {
+
+        if (StringUtils.isBlank(tokenId)) {
+            return;
+        }
+        if (IntrospectionResponseCache.isEnabled()) {
+            IntrospectionResponseCache.getInstance().clearResponses(tokenId);
+        }
+        if (AuthorizationContextTokenCache.isEnabled()) {
+            AuthorizationContextTokenCache.getInstance().clearContextTokens(tokenId);
+        }
+        if (TokenIssuanceCoalescer.isEnabled()) {
+            TokenIssuanceCoalescer.getInstance().clearIssuedTokenById(tokenId);
+        }
+    }
+
+    /**
+     * Check whether any of the caches keyed by the id of an access token is enabled.
+     *
+     * @return True if a cache keyed by token id is enabled.
+     */
+    public static boolean isTokenIdKeyedCacheEnabled() {
+
+        return IntrospectionResponseCache.isEnabled() || AuthorizationContextTokenCache.isEnabled() ||
+                TokenIssuanceCoalescer.isEnabled();
     }
 
     public static AuthenticatedUser getAuthenticatedUser(String fullyQualifiedUserName) {
@@ -1023,6 +1071,17 @@ public final class OAuthUtil {
             LOG.debug("The number of distinct client IDs for the user: " + username + " is " + clientIds.size());
         }
 
+        if (RevokedJWTRegistry.isDenylistEnabled()) {
+            // Tokens of the user that are not persisted can only be revoked through the denylist.
+            try {
+                RevokedJWTRegistry.getInstance().revokeTokensOfUser(authenticatedUser.getUserId());
+            } catch (UserIdNotFoundException | IdentityOAuth2Exception e) {
+                LOG.error("Error occurred while adding the tokens of User ID : " + authenticatedUser +
+                        " to the revoked token denylist.", e);
+                throw new UserStoreException(e);
+            }
+        }
+
         boolean isErrorOnRevokingTokens;
         isErrorOnRevokingTokens = processTokenRevocation(clientIds, authenticatedUser, userStoreDomain, username);
 
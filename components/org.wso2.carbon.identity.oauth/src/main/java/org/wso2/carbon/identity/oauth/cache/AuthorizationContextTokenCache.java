@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+/**
+ * Caches the authorization context JWTs generated for access tokens during token validation.
+ * <p>
+ * A context JWT is built, and usually signed, from the token, the configured claim dialect and the claims requested
+ * by the validating party, all of which stay the same while the same token is validated over and over. The JWTs are
+ * cached against the id of the access token, so that they can be dropped together by
+ * {@link org.wso2.carbon.identity.oauth.OAuthUtil#clearOAuthCacheByTokenId(String)} when the token is revoked, and
+ * are further keyed by the claim dialect and the requested claims. Token ids are unique across tenants, hence all
+ * the entries are kept in the super tenant's cache. The cache is disabled by default.
+ */
+public class AuthorizationContextTokenCache extends BaseCache<String, AuthorizationContextTokenCacheEntry> {
+
+    private static final String AUTHORIZATION_CONTEXT_TOKEN_CACHE = "AuthorizationContextTokenCache";
+    private static final AuthorizationContextTokenCache instance = new AuthorizationContextTokenCache();
+
+    private AuthorizationContextTokenCache() {
+
+        super(AUTHORIZATION_CONTEXT_TOKEN_CACHE);
+    }
+
+    public static AuthorizationContextTokenCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether the authorization context token cache is enabled.
+     *
+     * @return True if enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                OAuth2Constants.AUTHORIZATION_CONTEXT_TOKEN_CACHE_ENABLE));
+    }
+
+    /**
+     * Get the cached authorization context JWT of an access token.
+     *
+     * @param tokenId    Id of the access token.
+     * @param contextKey Key identifying the claim dialect and the requested claims.
+     * @return Serialized JWT, or null if there is no cached JWT.
+     */
+    public String getContextToken(String tokenId, String contextKey) {
+
+        if (StringUtils.isBlank(tokenId)) {
+            return null;
+        }
+        AuthorizationContextTokenCacheEntry entry = super.getValueFromCache(tokenId,
+                MultitenantConstants.SUPER_TENANT_ID);
+        return entry == null ? null : entry.getContextToken(contextKey);
+    }
+
+    /**
+     * Cache the authorization context JWT of an access token.
+     *
+     * @param tokenId      Id of the access token.
+     * @param contextKey   Key identifying the claim dialect and the requested claims.
+     * @param contextToken Serialized JWT.
+     * @param expiryTime   Time the JWT stops being served from the cache, in milliseconds.
+     */
+    public void addContextToken(String tokenId, String contextKey, String contextToken, long expiryTime) {
+
+        if (StringUtils.isBlank(tokenId) || contextToken == null || expiryTime <= System.currentTimeMillis()) {
+            return;
+        }
+        AuthorizationContextTokenCacheEntry entry = super.getValueFromCache(tokenId,
+                MultitenantConstants.SUPER_TENANT_ID);
+        if (entry == null) {
+            entry = new AuthorizationContextTokenCacheEntry();
+        }
+        entry.addContextToken(contextKey, contextToken, expiryTime);
+        super.addToCache(tokenId, entry, MultitenantConstants.SUPER_TENANT_ID);
+    }
+
+    /**
+     * Remove all the cached authorization context JWTs of an access token.
+     *
+     * @param tokenId Id of the access token.
+     */
+    public void clearContextTokens(String tokenId) {
+
+        if (StringUtils.isBlank(tokenId)) {
+            return;
+        }
+        super.clearCacheEntry(tokenId, MultitenantConstants.SUPER_TENANT_ID);
+    }
+}
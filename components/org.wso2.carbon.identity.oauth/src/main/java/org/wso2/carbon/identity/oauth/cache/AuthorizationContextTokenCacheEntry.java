@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Authorization context token cache entry. Holds the context JWTs generated for a single access token, one for each
+ * combination of claim dialect and requested claims, along with the time each JWT stops being served.
+ */
+public class AuthorizationContextTokenCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 4470632985133190527L;
+
+    private final Map<String, ContextToken> contextTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Get the cached context JWT for the given claim dialect and requested claims.
+     *
+     * @param contextKey Key identifying the claim dialect and the requested claims.
+     * @return Serialized JWT, or null if there is no unexpired JWT.
+     */
+    public String getContextToken(String contextKey) {
+
+        ContextToken contextToken = contextTokens.get(contextKey);
+        if (contextToken == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > contextToken.expiryTime) {
+            contextTokens.remove(contextKey, contextToken);
+            return null;
+        }
+        return contextToken.jwt;
+    }
+
+    /**
+     * Add the context JWT for the given claim dialect and requested claims.
+     *
+     * @param contextKey Key identifying the claim dialect and the requested claims.
+     * @param jwt        Serialized JWT.
+     * @param expiryTime Time the JWT stops being served, in milliseconds.
+     */
+    public void addContextToken(String contextKey, String jwt, long expiryTime) {
+
+        contextTokens.put(contextKey, new ContextToken(jwt, expiryTime));
+    }
+
+    /**
+     * Serialized context JWT along with the time it stops being served.
+     */
+    private static class ContextToken implements Serializable {
+
+        private static final long serialVersionUID = -1804417203567294760L;
+
+        private final String jwt;
+        private final long expiryTime;
+
+        private ContextToken(String jwt, long expiryTime) {
+
+            this.jwt = jwt;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
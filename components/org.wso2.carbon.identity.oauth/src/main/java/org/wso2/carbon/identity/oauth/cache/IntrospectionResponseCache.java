@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the serialized responses of the token introspection endpoint.
+ * <p>
+ * Responses are cached against the id of the introspected token, so that all the responses of a token can be dropped
+ * at once by the token revocation paths, which know the token id but not always the token itself. They are further
+ * keyed by the requesting client and the request parameters. The id of a token is looked up from the SHA-256 hash of
+ * the token through a separate cache, whose entries never go stale since the id of a token never changes. A response
+ * is kept until the token expires or until the configured timeout elapses, whichever comes first. Token ids and token
+ * hashes are unique across tenants, hence all the entries are kept in the super tenant's caches. The cache is
+ * disabled by default.
+ */
+public class IntrospectionResponseCache extends BaseCache<String, IntrospectionResponseCacheEntry> {
+
+    private static final Log log = LogFactory.getLog(IntrospectionResponseCache.class);
+    private static final String INTROSPECTION_RESPONSE_CACHE = "IntrospectionResponseCache";
+    private static final String INTROSPECTED_TOKEN_ID_CACHE = "IntrospectedTokenIdCache";
+    private static final IntrospectionResponseCache instance = new IntrospectionResponseCache();
+
+    private final TokenIdCache tokenIdCache = new TokenIdCache();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong missLatencyNanos = new AtomicLong();
+
+    private IntrospectionResponseCache() {
+
+        super(INTROSPECTION_RESPONSE_CACHE);
+    }
+
+    public static IntrospectionResponseCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether the introspection response cache is enabled.
+     *
+     * @return True if enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.INTROSPECTION_RESPONSE_CACHE_ENABLE));
+    }
+
+    /**
+     * Get the cached introspection response of a token.
+     *
+     * @param token      Introspected token.
+     * @param requestKey Key identifying the requesting client and the request parameters.
+     * @return Serialized introspection response, or null if there is no cached response.
+     */
+    public String getResponse(String token, String requestKey) {
+
+        if (StringUtils.isBlank(token)) {
+            return null;
+        }
+        String response = null;
+        TokenIdCacheEntry tokenIdEntry = tokenIdCache.getValueFromCache(hash(token),
+                MultitenantConstants.SUPER_TENANT_ID);
+        if (tokenIdEntry != null) {
+            IntrospectionResponseCacheEntry entry = super.getValueFromCache(tokenIdEntry.getTokenId(),
+                    MultitenantConstants.SUPER_TENANT_ID);
+            response = entry == null ? null : entry.getResponse(requestKey);
+        }
+        if (response != null) {
+            hitCount.incrementAndGet();
+            if (log.isDebugEnabled()) {
+                log.debug("Introspection response served from the cache. Hit ratio: " + getHitRatio() +
+                        ", estimated time saved: " + getSavedLatencyMillis() + " ms.");
+            }
+        } else {
+            missCount.incrementAndGet();
+        }
+        return response;
+    }
+
+    /**
+     * Cache the introspection response of a token.
+     *
+     * @param token        Introspected token.
+     * @param tokenId      Id of the introspected token.
+     * @param requestKey   Key identifying the requesting client and the request parameters.
+     * @param response     Serialized introspection response.
+     * @param tokenExpiry  Expiry time of the token in seconds since the epoch, or 0 if not known.
+     * @param buildLatency Time taken to build the response, in nanoseconds.
+     */
+    public void addResponse(String token, String tokenId, String requestKey, String response, long tokenExpiry,
+                            long buildLatency) {
+
+        if (StringUtils.isBlank(token) || StringUtils.isBlank(tokenId) || response == null) {
+            return;
+        }
+        missLatencyNanos.addAndGet(buildLatency);
+
+        long expiryTime = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(getTimeout());
+        if (tokenExpiry > 0) {
+            expiryTime = Math.min(expiryTime, TimeUnit.SECONDS.toMillis(tokenExpiry));
+        }
+        if (expiryTime <= System.currentTimeMillis()) {
+            return;
+        }
+
+        tokenIdCache.addToCache(hash(token), new TokenIdCacheEntry(tokenId), MultitenantConstants.SUPER_TENANT_ID);
+        IntrospectionResponseCacheEntry entry = super.getValueFromCache(tokenId, MultitenantConstants.SUPER_TENANT_ID);
+        if (entry == null) {
+            entry = new IntrospectionResponseCacheEntry();
+        }
+        entry.addResponse(requestKey, response, expiryTime);
+        super.addToCache(tokenId, entry, MultitenantConstants.SUPER_TENANT_ID);
+    }
+
+    /**
+     * Remove all the cached introspection responses of a token.
+     *
+     * @param tokenId Id of the token.
+     */
+    public void clearResponses(String tokenId) {
+
+        if (StringUtils.isBlank(tokenId)) {
+            return;
+        }
+        super.clearCacheEntry(tokenId, MultitenantConstants.SUPER_TENANT_ID);
+    }
+
+    /**
+     * Get the ratio of introspection requests served from the cache.
+     *
+     * @return Hit ratio, or 0 if there were no lookups.
+     */
+    public double getHitRatio() {
+
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Get the estimated time saved by serving introspection requests from the cache, based on the average time
+     * taken to build a response on a miss.
+     *
+     * @return Estimated time saved in milliseconds.
+     */
+    public long getSavedLatencyMillis() {
+
+        long misses = missCount.get();
+        if (misses == 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(missLatencyNanos.get() / misses * hitCount.get());
+    }
+
+    private static String hash(String token) {
+
+        return DigestUtils.sha256Hex(token);
+    }
+
+    private static long getTimeout() {
+
+        String timeout = IdentityUtil.getProperty(OAuth2Constants.INTROSPECTION_RESPONSE_CACHE_TIMEOUT);
+        if (StringUtils.isNotBlank(timeout)) {
+            try {
+                return Long.parseLong(timeout.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid introspection response cache timeout: " + timeout + ". Using the default " +
+                        "value: " + OAuth2Constants.DEFAULT_INTROSPECTION_RESPONSE_CACHE_TIMEOUT);
+            }
+        }
+        return OAuth2Constants.DEFAULT_INTROSPECTION_RESPONSE_CACHE_TIMEOUT;
+    }
+
+    /**
+     * Cache of the ids of the introspected tokens, keyed by the SHA-256 hash of the token.
+     */
+    private static class TokenIdCache extends BaseCache<String, TokenIdCacheEntry> {
+
+        private TokenIdCache() {
+
+            super(INTROSPECTED_TOKEN_ID_CACHE);
+        }
+    }
+
+    /**
+     * Id of an introspected token.
+     */
+    private static class TokenIdCacheEntry extends CacheEntry {
+
+        private static final long serialVersionUID = 4087129512390215538L;
+
+        private final String tokenId;
+
+        private TokenIdCacheEntry(String tokenId) {
+
+            this.tokenId = tokenId;
+        }
+
+        private String getTokenId() {
+
+            return tokenId;
+        }
+    }
+}
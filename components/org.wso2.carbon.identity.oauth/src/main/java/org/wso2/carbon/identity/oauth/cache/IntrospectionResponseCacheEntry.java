@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Introspection response cache entry. Holds the serialized introspection responses of a single token, one for each
+ * combination of requesting client and request parameters, along with the time each response expires.
+ */
+public class IntrospectionResponseCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -2385530726485618402L;
+
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    /**
+     * Get the cached response for the given request.
+     *
+     * @param requestKey Key identifying the requesting client and the request parameters.
+     * @return Serialized introspection response, or null if there is no unexpired response.
+     */
+    public String getResponse(String requestKey) {
+
+        CachedResponse response = responses.get(requestKey);
+        if (response == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > response.expiryTime) {
+            responses.remove(requestKey, response);
+            return null;
+        }
+        return response.body;
+    }
+
+    /**
+     * Add the response for the given request.
+     *
+     * @param requestKey Key identifying the requesting client and the request parameters.
+     * @param body       Serialized introspection response.
+     * @param expiryTime Time the response expires, in milliseconds.
+     */
+    public void addResponse(String requestKey, String body, long expiryTime) {
+
+        responses.put(requestKey, new CachedResponse(body, expiryTime));
+    }
+
+    /**
+     * Serialized introspection response along with the time it expires.
+     */
+    private static class CachedResponse implements Serializable {
+
+        private static final long serialVersionUID = 6514337081723690341L;
+
+        private final String body;
+        private final long expiryTime;
+
+        private CachedResponse(String body, long expiryTime) {
+
+            this.body = body;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
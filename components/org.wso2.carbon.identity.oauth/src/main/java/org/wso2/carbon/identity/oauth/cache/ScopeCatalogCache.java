@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2ScopeServerException;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.model.ScopeCatalog;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the {@link ScopeCatalog} of each tenant.
+ * <p>
+ * The catalog of a tenant is loaded on first use and replaced with a freshly loaded catalog whenever a scope of the
+ * tenant is added, updated or deleted. The current version of each tenant's catalog is kept in a separate cache, and
+ * a new version is put there on every scope change. Since putting an entry invalidates it on the other nodes of the
+ * cluster, a catalog is only cached if the version it was loaded for is still the current version once loading is
+ * done. Hence a catalog loaded on one node while the scopes were changed on another node is never cached. The catalog
+ * is disabled by default.
+ */
+public class ScopeCatalogCache extends BaseCache<Integer, ScopeCatalog> {
+
+    private static final Log log = LogFactory.getLog(ScopeCatalogCache.class);
+    private static final String SCOPE_CATALOG_CACHE = "ScopeCatalogCache";
+    private static final String SCOPE_CATALOG_VERSION_CACHE = "ScopeCatalogVersionCache";
+    private static final ScopeCatalogCache instance = new ScopeCatalogCache();
+
+    private final VersionCache versionCache = new VersionCache();
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final Map<Integer, Object> locks = new ConcurrentHashMap<>();
+
+    private ScopeCatalogCache() {
+
+        super(SCOPE_CATALOG_CACHE);
+    }
+
+    public static ScopeCatalogCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether the scope catalog is enabled.
+     *
+     * @return True if enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.SCOPE_CATALOG_ENABLE));
+    }
+
+    /**
+     * Get the scope catalog of a tenant, loading it if it is not available.
+     *
+     * @param tenantId Tenant id.
+     * @return Scope catalog of the tenant.
+     * @throws IdentityOAuth2ScopeServerException If failed to load the scope catalog.
+     */
+    public ScopeCatalog getScopeCatalog(int tenantId) throws IdentityOAuth2ScopeServerException {
+
+        ScopeCatalog scopeCatalog = super.getValueFromCache(tenantId, tenantId);
+        if (scopeCatalog != null) {
+            return scopeCatalog;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Scope catalog not found in the cache for tenant: " + tenantId);
+        }
+        long version;
+        synchronized (getLock(tenantId)) {
+            VersionCacheEntry versionEntry = versionCache.getValueFromCache(tenantId, tenantId);
+            if (versionEntry != null) {
+                version = versionEntry.getVersion();
+            } else {
+                version = nextVersion();
+                versionCache.addToCache(tenantId, new VersionCacheEntry(version), tenantId);
+            }
+        }
+        return loadScopeCatalog(tenantId, version);
+    }
+
+    /**
+     * Replace the scope catalog of a tenant with a freshly loaded one. This should be called after the scopes of
+     * the tenant are changed. If the catalog cannot be loaded, the cached catalog is removed so that it is loaded
+     * again on the next lookup.
+     *
+     * @param tenantId Tenant id.
+     */
+    public void refreshScopeCatalog(int tenantId) {
+
+        if (!isEnabled()) {
+            return;
+        }
+        long version = nextVersion();
+        synchronized (getLock(tenantId)) {
+            versionCache.addToCache(tenantId, new VersionCacheEntry(version), tenantId);
+        }
+        try {
+            loadScopeCatalog(tenantId, version);
+        } catch (IdentityOAuth2ScopeServerException e) {
+            synchronized (getLock(tenantId)) {
+                super.clearCacheEntry(tenantId, tenantId);
+            }
+            log.error("Error while refreshing the scope catalog of tenant: " + tenantId, e);
+        }
+    }
+
+    private ScopeCatalog loadScopeCatalog(int tenantId, long version) throws IdentityOAuth2ScopeServerException {
+
+        ScopeCatalog scopeCatalog = OAuthTokenPersistenceFactory.getInstance().getOAuthScopeDAO()
+                .getScopeCatalog(tenantId, version);
+        synchronized (getLock(tenantId)) {
+            // Scopes may have changed on this or on another node while loading. In that case the version entry was
+            // replaced or invalidated, and a newer catalog is loaded on the next lookup.
+            VersionCacheEntry versionEntry = versionCache.getValueFromCache(tenantId, tenantId);
+            if (versionEntry != null && versionEntry.getVersion() == version) {
+                super.addToCache(tenantId, scopeCatalog, tenantId);
+            } else if (log.isDebugEnabled()) {
+                log.debug("Scope catalog of tenant: " + tenantId + " with version: " + version + " is not cached " +
+                        "since the scopes were changed while loading.");
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Loaded the scope catalog of tenant: " + tenantId + " with " + scopeCatalog.size() +
+                    " scopes. Version: " + version);
+        }
+        return scopeCatalog;
+    }
+
+    /**
+     * Versions are based on the current time so that versions created on different nodes increase as well.
+     */
+    private long nextVersion() {
+
+        return lastVersion.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+    }
+
+    private Object getLock(int tenantId) {
+
+        return locks.computeIfAbsent(tenantId, key -> new Object());
+    }
+
+    /**
+     * Cache of the current catalog version of each tenant.
+     */
+    private static class VersionCache extends BaseCache<Integer, VersionCacheEntry> {
+
+        private VersionCache() {
+
+            super(SCOPE_CATALOG_VERSION_CACHE);
+        }
+    }
+
+    /**
+     * Current catalog version of a tenant.
+     */
+    private static class VersionCacheEntry extends CacheEntry {
+
+        private static final long serialVersionUID = -2318530127472019164L;
+
+        private final long version;
+
+        private VersionCacheEntry(long version) {
+
+            this.version = version;
+        }
+
+        private long getVersion() {
+
+            return version;
+        }
+    }
+}
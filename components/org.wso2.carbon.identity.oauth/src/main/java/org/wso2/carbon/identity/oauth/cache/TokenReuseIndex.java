@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+/**
+ * Indexes the latest access token issued for a client, user, scope, identity provider, token binding and
+ * organization by the token metadata, without the token itself.
+ * <p>
+ * The OAuthCache keeps the latest token against the same key, but only when token hashing is disabled, as the
+ * plaintext token cannot be recovered from the database afterwards. This index keeps the id, state and validity of
+ * the latest token instead, so that the latest token can be expired by its id when a new token is persisted in hash
+ * mode, rather than failing the unique constraint on the active token and recovering by looking the token up. The
+ * entries are kept against the SHA-256 hash of the cache key in the super tenant's cache, and are cleared along with
+ * the matching OAuthCache entries. The index is disabled by default.
+ */
+public class TokenReuseIndex extends BaseCache<String, TokenReuseIndexEntry> {
+
+    private static final String TOKEN_REUSE_INDEX_CACHE = "TokenReuseIndexCache";
+    private static final TokenReuseIndex instance = new TokenReuseIndex();
+
+    private TokenReuseIndex() {
+
+        super(TOKEN_REUSE_INDEX_CACHE);
+    }
+
+    public static TokenReuseIndex getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether the token reuse index is enabled.
+     *
+     * @return True if enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.TOKEN_REUSE_INDEX_ENABLE));
+    }
+
+    /**
+     * Get the metadata of the latest token indexed against a cache key.
+     *
+     * @param cacheKey Cache key built from the client, scope, user, identity provider, token binding and
+     *                 organization.
+     * @return Token metadata, or null if no token is indexed.
+     */
+    public TokenReuseIndexEntry getEntry(String cacheKey) {
+
+        if (StringUtils.isBlank(cacheKey)) {
+            return null;
+        }
+        return super.getValueFromCache(hash(cacheKey), MultitenantConstants.SUPER_TENANT_ID);
+    }
+
+    /**
+     * Index a newly persisted token against a cache key.
+     *
+     * @param cacheKey      Cache key built from the client, scope, user, identity provider, token binding and
+     *                      organization.
+     * @param accessTokenDO Persisted token.
+     */
+    public void addEntry(String cacheKey, AccessTokenDO accessTokenDO) {
+
+        if (StringUtils.isBlank(cacheKey) || accessTokenDO == null || accessTokenDO.getTokenId() == null) {
+            return;
+        }
+        super.addToCache(hash(cacheKey), new TokenReuseIndexEntry(accessTokenDO),
+                MultitenantConstants.SUPER_TENANT_ID);
+    }
+
+    /**
+     * Remove the token indexed against a cache key.
+     *
+     * @param cacheKey Cache key.
+     */
+    public void clearEntry(String cacheKey) {
+
+        if (StringUtils.isBlank(cacheKey)) {
+            return;
+        }
+        super.clearCacheEntry(hash(cacheKey), MultitenantConstants.SUPER_TENANT_ID);
+    }
+
+    private static String hash(String cacheKey) {
+
+        return DigestUtils.sha256Hex(cacheKey);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.sql.Timestamp;
+
+/**
+ * Token reuse index entry. Holds the metadata of the latest token issued for a cache key, i.e. the token id, grant
+ * type, consent and validity, but never the access or refresh token.
+ */
+public class TokenReuseIndexEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -3087412283591750262L;
+
+    private final String tokenId;
+    private final String grantType;
+    private final String tokenType;
+    private final boolean consentedToken;
+    private final long issuedTime;
+    private final long validityPeriodInMillis;
+
+    public TokenReuseIndexEntry(AccessTokenDO accessTokenDO) {
+
+        this.tokenId = accessTokenDO.getTokenId();
+        this.grantType = accessTokenDO.getGrantType();
+        this.tokenType = accessTokenDO.getTokenType();
+        this.consentedToken = accessTokenDO.isConsentedToken();
+        this.issuedTime = accessTokenDO.getIssuedTime() == null ? System.currentTimeMillis() :
+                accessTokenDO.getIssuedTime().getTime();
+        this.validityPeriodInMillis = accessTokenDO.getValidityPeriodInMillis();
+    }
+
+    public String getTokenId() {
+
+        return tokenId;
+    }
+
+    public String getGrantType() {
+
+        return grantType;
+    }
+
+    public boolean isConsentedToken() {
+
+        return consentedToken;
+    }
+
+    /**
+     * Get the time the token expires.
+     *
+     * @return Expiry time in milliseconds, or a negative value if the token never expires.
+     */
+    public long getExpiryTime() {
+
+        if (validityPeriodInMillis < 0) {
+            return -1;
+        }
+        return issuedTime + validityPeriodInMillis;
+    }
+
+    /**
+     * Check whether the token has expired.
+     *
+     * @return True if the token has expired.
+     */
+    public boolean isExpired() {
+
+        long expiryTime = getExpiryTime();
+        return expiryTime >= 0 && expiryTime <= System.currentTimeMillis();
+    }
+
+    /**
+     * Build an access token data object holding the indexed metadata, to be used as the existing token when a new
+     * token is persisted. The object does not hold the access or refresh token.
+     *
+     * @return Access token data object.
+     */
+    public AccessTokenDO toAccessTokenDO() {
+
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setTokenId(tokenId);
+        accessTokenDO.setGrantType(grantType);
+        accessTokenDO.setTokenType(tokenType);
+        accessTokenDO.setIsConsentedToken(consentedToken);
+        accessTokenDO.setTokenState(OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+        accessTokenDO.setIssuedTime(new Timestamp(issuedTime));
+        accessTokenDO.setValidityPeriodInMillis(validityPeriodInMillis);
+        return accessTokenDO;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.exception.UserIdNotFoundException;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the roles and permissions of users resolved during scope validation and role based scope issuance.
+ * <p>
+ * Lookups are served from a tenant scoped cache shared across requests, so that the same user's roles are fetched
+ * once until they expire. Users are identified by their user id. Entries expire after the configured timeout and the
+ * tenant's entries are cleared when roles are assigned, unassigned or deleted, through the user store listener and
+ * the role events. The cache is disabled by default.
+ */
+public class UserRoleCache extends BaseCache<UserRoleCacheKey, UserRoleCacheEntry> {
+
+    public static final String ROLES = "roles";
+    public static final String USER_STORE_ROLES = "userStoreRoles";
+    public static final String HYBRID_ROLES = "hybridRoles";
+    public static final String PERMISSIONS = "permissions";
+
+    private static final Log log = LogFactory.getLog(UserRoleCache.class);
+    private static final String USER_ROLE_CACHE = "UserRoleCache";
+    private static final UserRoleCache instance = new UserRoleCache();
+
+    private final AtomicLong cacheHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private UserRoleCache() {
+
+        super(USER_ROLE_CACHE);
+    }
+
+    public static UserRoleCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Loads the roles or permissions of a user on a cache miss.
+     *
+     * @param <E> Type of the exception thrown by the loader.
+     */
+    @FunctionalInterface
+    public interface Loader<E extends Exception> {
+
+        String[] load() throws E;
+    }
+
+    /**
+     * Get the roles or permissions of a user, loading them on a miss.
+     *
+     * @param userIdentifier User id of the user, as given by {@link #getUserIdentifier(AuthenticatedUser)}. The value
+     *                       is loaded without caching if this is blank.
+     * @param lookupType     Type of the lookup, such as {@link #ROLES} or {@link #PERMISSIONS}.
+     * @param tenantId       Tenant of the user.
+     * @param loader         Loader used on a miss.
+     * @param <E>            Type of the exception thrown by the loader.
+     * @return Roles or permissions of the user.
+     * @throws E If the loader fails.
+     */
+    public <E extends Exception> String[] getValue(String userIdentifier, String lookupType, int tenantId,
+                                                   Loader<E> loader) throws E {
+
+        if (!isEnabled() || StringUtils.isBlank(userIdentifier)) {
+            return loader.load();
+        }
+
+        UserRoleCacheKey key = new UserRoleCacheKey(userIdentifier, lookupType);
+        UserRoleCacheEntry entry = super.getValueFromCache(key, tenantId);
+        if (entry != null && !entry.isExpired()) {
+            cacheHitCount.incrementAndGet();
+            return entry.getValues();
+        }
+
+        missCount.incrementAndGet();
+        String[] values = loader.load();
+        entry = new UserRoleCacheEntry(values, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(getTimeout()));
+        super.addToCache(key, entry, tenantId);
+        if (log.isDebugEnabled()) {
+            log.debug("Added " + lookupType + " of user: " + userIdentifier + " in tenant: " + tenantId +
+                    " to the user role cache. Hit ratio: " + getHitRatio());
+        }
+        return values;
+    }
+
+    /**
+     * Clear the cached roles and permissions of all the users of a tenant.
+     *
+     * @param tenantId Tenant id.
+     */
+    public void clearCacheEntries(int tenantId) {
+
+        super.clear(tenantId);
+        if (log.isDebugEnabled()) {
+            log.debug("Cleared the user role cache of tenant: " + tenantId);
+        }
+    }
+
+    /**
+     * Get the number of lookups served from the cache.
+     *
+     * @return Cache hit count.
+     */
+    public long getCacheHitCount() {
+
+        return cacheHitCount.get();
+    }
+
+    /**
+     * Get the number of lookups that had to load the roles or permissions.
+     *
+     * @return Miss count.
+     */
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    /**
+     * Get the ratio of lookups served from the cache.
+     *
+     * @return Hit ratio, or 0 if there were no lookups.
+     */
+    public double getHitRatio() {
+
+        long hits = cacheHitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Check whether the user role cache is enabled.
+     *
+     * @return True if enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.USER_ROLE_CACHE_ENABLE));
+    }
+
+    /**
+     * Get the identifier used to cache the roles of the given user.
+     *
+     * @param user Authenticated user.
+     * @return User id of the user, or null if it cannot be resolved.
+     */
+    public static String getUserIdentifier(AuthenticatedUser user) {
+
+        try {
+            return user.getUserId();
+        } catch (UserIdNotFoundException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("User id not available for user: " + user.getLoggableUserId() + ". Roles of the user " +
+                        "will not be cached.");
+            }
+            return null;
+        }
+    }
+
+    private static long getTimeout() {
+
+        String timeout = IdentityUtil.getProperty(OAuth2Constants.USER_ROLE_CACHE_TIMEOUT);
+        if (StringUtils.isNotBlank(timeout)) {
+            try {
+                return Long.parseLong(timeout.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid user role cache timeout: " + timeout + ". Using the default value: " +
+                        OAuth2Constants.DEFAULT_USER_ROLE_CACHE_TIMEOUT);
+            }
+        }
+        return OAuth2Constants.DEFAULT_USER_ROLE_CACHE_TIMEOUT;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+/**
+ * User role cache entry. Holds the roles or permissions of a user along with the time the entry expires.
+ */
+public class UserRoleCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 3409811672239541045L;
+
+    private final String[] values;
+    private final long expiryTime;
+
+    public UserRoleCacheEntry(String[] values, long expiryTime) {
+
+        this.values = values == null ? null : values.clone();
+        this.expiryTime = expiryTime;
+    }
+
+    public String[] getValues() {
+
+        return values == null ? null : values.clone();
+    }
+
+    public long getExpiryTime() {
+
+        return expiryTime;
+    }
+
+    public boolean isExpired() {
+
+        return System.currentTimeMillis() > expiryTime;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import java.util.Objects;
+
+/**
+ * User role cache key. Identifies the roles or permissions of a user fetched through a particular lookup, since the
+ * scope validators resolve roles from different sources.
+ */
+public class UserRoleCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = -2284911402389166517L;
+
+    private final String userIdentifier;
+    private final String lookupType;
+
+    public UserRoleCacheKey(String userIdentifier, String lookupType) {
+
+        this.userIdentifier = userIdentifier;
+        this.lookupType = lookupType;
+    }
+
+    public String getUserIdentifier() {
+
+        return userIdentifier;
+    }
+
+    public String getLookupType() {
+
+        return lookupType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (!(o instanceof UserRoleCacheKey)) {
+            return false;
+        }
+        UserRoleCacheKey other = (UserRoleCacheKey) o;
+        return Objects.equals(userIdentifier, other.getUserIdentifier()) &&
+                Objects.equals(lookupType, other.getLookupType());
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hash(userIdentifier, lookupType);
+    }
+}
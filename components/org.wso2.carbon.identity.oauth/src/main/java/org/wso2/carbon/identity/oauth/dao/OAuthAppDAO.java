@@ -66,6 +66,7 @@ import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -132,6 +133,7 @@ public class OAuthAppDAO {
     private static final String REFRESH_TOKEN_EXPIRE_TIME = "REFRESH_TOKEN_EXPIRE_TIME";
     private static final String ID_TOKEN_EXPIRE_TIME = "ID_TOKEN_EXPIRE_TIME";
 
+    private static final int MAX_IN_CLAUSE_SIZE = 1000;
     private static final String CONSUMER_APPS_TABLE_NAME = "IDN_OAUTH_CONSUMER_APPS";
 
     private TokenPersistenceProcessor persistenceProcessor;
@@ -320,46 +322,10 @@ public class OAuthAppDAO {
                     List<OAuthAppDO> oauthApps = new ArrayList<>();
                     while (rSet.next()) {
                         if (rSet.getString(3) != null && rSet.getString(3).length() > 0) {
-                            OAuthAppDO oauthApp = new OAuthAppDO();
-                            String preprocessedClientId = persistenceProcessor.getPreprocessedClientId(rSet.getString
-                                    (1));
-
-                            oauthApp.setOauthConsumerKey(preprocessedClientId);
-                            oauthApp.setOauthConsumerKey(persistenceProcessor.getPreprocessedClientId(rSet.getString
-                                    (1)));
-                            if (isHashDisabled) {
-                                oauthApp.setOauthConsumerSecret(persistenceProcessor.getPreprocessedClientSecret(rSet
-                                        .getString(2)));
-                            }
-                            oauthApp.setApplicationName(rSet.getString(3));
-                            oauthApp.setOauthVersion(rSet.getString(4));
-
-                            oauthApp.setCallbackUrl(rSet.getString(5));
-                            if (ApplicationMgtUtil.isConsoleOrMyAccount(oauthApp.getApplicationName())) {
-                                oauthApp.setCallbackUrl(
-                                        ApplicationMgtUtil.resolveOriginUrlFromPlaceholders(rSet.getString(5),
-                                                oauthApp.getApplicationName()));
-                                if (isRootOrganization(tenantId)) {
-                                    resolveCallbackFromServerConfigForSystemApps(tenantDomain, oauthApp);
-                                }
-                            }
-
-                            oauthApp.setGrantTypes(rSet.getString(6));
-                            oauthApp.setId(rSet.getInt(7));
-                            AuthenticatedUser authenticatedUser = new AuthenticatedUser();
-                            authenticatedUser.setUserName(rSet.getString(8));
-                            authenticatedUser.setTenantDomain(IdentityTenantUtil.getTenantDomain(rSet.getInt(9)));
-                            authenticatedUser.setUserStoreDomain(rSet.getString(10));
-                            oauthApp.setPkceMandatory(!"0".equals(rSet.getString(11)));
-                            oauthApp.setPkceSupportPlain(!"0".equals(rSet.getString(12)));
-                            oauthApp.setUserAccessTokenExpiryTime(rSet.getLong(13));
-                            oauthApp.setApplicationAccessTokenExpiryTime(rSet.getLong(14));
-                            oauthApp.setRefreshTokenExpiryTime(rSet.getLong(15));
-                            oauthApp.setIdTokenExpiryTime(rSet.getLong(16));
-                            oauthApp.setUser(authenticatedUser);
-                            oauthApp.setState(rSet.getString(17));
-                            String spTenantDomain = authenticatedUser.getTenantDomain();
-                            handleSpOIDCProperties(connection, preprocessedClientId, spTenantDomain, oauthApp);
+                            OAuthAppDO oauthApp = buildOAuthAppOfUser(rSet, tenantDomain, tenantId);
+                            String spTenantDomain = oauthApp.getUser().getTenantDomain();
+                            handleSpOIDCProperties(connection, oauthApp.getOauthConsumerKey(), spTenantDomain,
+                                    oauthApp);
                             oauthApp.setScopeValidators(getScopeValidators(connection, oauthApp.getId()));
                             oauthApps.add(oauthApp);
                         }
@@ -381,6 +347,192 @@ public class OAuthAppDAO {
         return oauthAppsOfUser;
     }
 
+    /**
+     * Get a page of the OAuth consumer applications of a user, ordered by the application id. The OIDC properties
+     * and scope validators of the applications in the page are loaded in bulk.
+     *
+     * @param username      Username of the application owner.
+     * @param tenantId      Tenant id.
+     * @param afterId       Id of the last application of the previous page, or 0 for the first page.
+     * @param limit         Maximum number of applications to return.
+     * @param appNamePrefix Prefix of the application names to return, or null to return all.
+     * @param grantType     Grant type the returned applications should allow, or null to return all.
+     * @return OAuth consumer applications of the page. One application more than the limit is returned if there are
+     * more applications after the page.
+     * @throws IdentityOAuthAdminException Error when reading the applications.
+     */
+    public List<OAuthAppDO> getOAuthConsumerAppsOfUser(String username, int tenantId, int afterId, int limit,
+                                                       String appNamePrefix, String grantType)
+            throws IdentityOAuthAdminException {
+
+        List<OAuthAppDO> oauthApps = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            RealmService realmService = OAuthComponentServiceHolder.getInstance().getRealmService();
+            String tenantDomain = realmService.getTenantManager().getDomain(tenantId);
+            String tenantAwareUserName = MultitenantUtils.getTenantAwareUsername(username);
+            String tenantQualifiedUsername = UserCoreUtil.addTenantDomainToEntry(tenantAwareUserName, tenantDomain);
+            boolean isUsernameCaseSensitive = isUsernameCaseSensitive(tenantQualifiedUsername);
+
+            String sql = SQLQueries.OAuthAppDAOSQLQueries.GET_CONSUMER_APPS_OF_USER_WITH_PKCE + " AND ID > ?";
+            if (StringUtils.isNotEmpty(appNamePrefix)) {
+                sql += SQLQueries.OAuthAppDAOSQLQueries.APP_NAME_PREFIX_FILTER;
+            }
+            if (StringUtils.isNotEmpty(grantType)) {
+                sql += SQLQueries.OAuthAppDAOSQLQueries.GRANT_TYPE_FILTER;
+            }
+            sql += SQLQueries.OAuthAppDAOSQLQueries.ORDER_BY_APP_ID;
+            if (!isUsernameCaseSensitive) {
+                sql = sql.replace(USERNAME, LOWER_USERNAME);
+            }
+            try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+                if (isUsernameCaseSensitive) {
+                    prepStmt.setString(1, UserCoreUtil.removeDomainFromName(tenantAwareUserName));
+                } else {
+                    prepStmt.setString(1,
+                            UserCoreUtil.removeDomainFromName(tenantAwareUserName).toLowerCase());
+                }
+                prepStmt.setString(2, IdentityUtil.extractDomainFromName(tenantAwareUserName));
+                prepStmt.setInt(3, tenantId);
+                int parameterIndex = 5;
+                if (StringUtils.isNotEmpty(appNamePrefix)) {
+                    prepStmt.setString(parameterIndex++, escapeLikePattern(appNamePrefix) + "%");
+                }
+                if (StringUtils.isNotEmpty(grantType)) {
+                    String escapedGrantType = escapeLikePattern(grantType);
+                    prepStmt.setString(parameterIndex++, grantType);
+                    prepStmt.setString(parameterIndex++, escapedGrantType + " %");
+                    prepStmt.setString(parameterIndex++, "% " + escapedGrantType);
+                    prepStmt.setString(parameterIndex, "% " + escapedGrantType + " %");
+                }
+                prepStmt.setMaxRows(limit + 1);
+                prepStmt.setFetchSize(limit + 1);
+
+                // Rows of applications without a name are skipped, so chunks are read until the page is full.
+                int lastId = afterId;
+                boolean hasMoreRows = true;
+                while (oauthApps.size() <= limit && hasMoreRows) {
+                    prepStmt.setInt(4, lastId);
+                    int rowCount = 0;
+                    try (ResultSet rSet = prepStmt.executeQuery()) {
+                        while (oauthApps.size() <= limit && rSet.next()) {
+                            rowCount++;
+                            lastId = rSet.getInt(7);
+                            if (StringUtils.isEmpty(rSet.getString(3))) {
+                                continue;
+                            }
+                            oauthApps.add(buildOAuthAppOfUser(rSet, tenantDomain, tenantId));
+                        }
+                    }
+                    hasMoreRows = rowCount > limit;
+                }
+            }
+            loadOAuthAppPropertiesInBulk(connection, oauthApps, tenantId);
+        } catch (SQLException e) {
+            throw handleError("Error occurred while retrieving OAuth consumer apps of user", e);
+        } catch (UserStoreException e) {
+            throw handleError("Error while retrieving Tenant Domain for tenant ID : " + tenantId, e);
+        } catch (IdentityOAuth2Exception e) {
+            throw handleError("Error occurred while processing client id and client secret by " +
+                    "TokenPersistenceProcessor", e);
+        } catch (URLBuilderException e) {
+            throw handleError(
+                    "Error occurred when replacing origin of the access URL with placeholders", e);
+        }
+        return oauthApps;
+    }
+
+    private OAuthAppDO buildOAuthAppOfUser(ResultSet rSet, String tenantDomain, int tenantId)
+            throws SQLException, IdentityOAuth2Exception, URLBuilderException {
+
+        OAuthAppDO oauthApp = new OAuthAppDO();
+        oauthApp.setOauthConsumerKey(persistenceProcessor.getPreprocessedClientId(rSet.getString(1)));
+        if (isHashDisabled) {
+            oauthApp.setOauthConsumerSecret(persistenceProcessor.getPreprocessedClientSecret(rSet.getString(2)));
+        }
+        oauthApp.setApplicationName(rSet.getString(3));
+        oauthApp.setOauthVersion(rSet.getString(4));
+
+        oauthApp.setCallbackUrl(rSet.getString(5));
+        if (ApplicationMgtUtil.isConsoleOrMyAccount(oauthApp.getApplicationName())) {
+            oauthApp.setCallbackUrl(ApplicationMgtUtil.resolveOriginUrlFromPlaceholders(rSet.getString(5),
+                    oauthApp.getApplicationName()));
+            if (isRootOrganization(tenantId)) {
+                resolveCallbackFromServerConfigForSystemApps(tenantDomain, oauthApp);
+            }
+        }
+
+        oauthApp.setGrantTypes(rSet.getString(6));
+        oauthApp.setId(rSet.getInt(7));
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser();
+        authenticatedUser.setUserName(rSet.getString(8));
+        authenticatedUser.setTenantDomain(IdentityTenantUtil.getTenantDomain(rSet.getInt(9)));
+        authenticatedUser.setUserStoreDomain(rSet.getString(10));
+        oauthApp.setPkceMandatory(!"0".equals(rSet.getString(11)));
+        oauthApp.setPkceSupportPlain(!"0".equals(rSet.getString(12)));
+        oauthApp.setUserAccessTokenExpiryTime(rSet.getLong(13));
+        oauthApp.setApplicationAccessTokenExpiryTime(rSet.getLong(14));
+        oauthApp.setRefreshTokenExpiryTime(rSet.getLong(15));
+        oauthApp.setIdTokenExpiryTime(rSet.getLong(16));
+        oauthApp.setUser(authenticatedUser);
+        oauthApp.setState(rSet.getString(17));
+        return oauthApp;
+    }
+
+    private void loadOAuthAppPropertiesInBulk(Connection connection, List<OAuthAppDO> oauthApps, int tenantId)
+            throws SQLException {
+
+        Map<String, Map<String, List<String>>> spOIDCProperties = new HashMap<>();
+        Map<Integer, List<String>> scopeValidators = new HashMap<>();
+        // Some databases limit the number of entries of an IN list, so the applications are read in chunks.
+        for (int from = 0; from < oauthApps.size(); from += MAX_IN_CLAUSE_SIZE) {
+            List<OAuthAppDO> chunk = oauthApps.subList(from, Math.min(from + MAX_IN_CLAUSE_SIZE, oauthApps.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+
+            String oidcPropertiesSql = SQLQueries.OAuthAppDAOSQLQueries.GET_ALL_SP_OIDC_PROPERTIES_OF_CONSUMER_KEYS
+                    .replace(SQLQueries.OAuthAppDAOSQLQueries.IN_CLAUSE_PLACEHOLDER, placeholders);
+            try (PreparedStatement prepStmt = connection.prepareStatement(oidcPropertiesSql)) {
+                prepStmt.setInt(1, tenantId);
+                int index = 2;
+                for (OAuthAppDO oauthApp : chunk) {
+                    prepStmt.setString(index++, oauthApp.getOauthConsumerKey());
+                }
+                try (ResultSet rSet = prepStmt.executeQuery()) {
+                    while (rSet.next()) {
+                        spOIDCProperties.computeIfAbsent(rSet.getString(1), k -> new HashMap<>())
+                                .computeIfAbsent(rSet.getString(2), k -> new ArrayList<>()).add(rSet.getString(3));
+                    }
+                }
+            }
+
+            String scopeValidatorsSql = SQLQueries.OAuthAppDAOSQLQueries.GET_APP_SCOPE_VALIDATORS_OF_APPS
+                    .replace(SQLQueries.OAuthAppDAOSQLQueries.IN_CLAUSE_PLACEHOLDER, placeholders);
+            try (PreparedStatement prepStmt = connection.prepareStatement(scopeValidatorsSql)) {
+                int index = 1;
+                for (OAuthAppDO oauthApp : chunk) {
+                    prepStmt.setInt(index++, oauthApp.getId());
+                }
+                try (ResultSet rSet = prepStmt.executeQuery()) {
+                    while (rSet.next()) {
+                        scopeValidators.computeIfAbsent(rSet.getInt(1), k -> new ArrayList<>())
+                                .add(rSet.getString(2));
+                    }
+                }
+            }
+        }
+
+        for (OAuthAppDO oauthApp : oauthApps) {
+            setSpOIDCProperties(spOIDCProperties.getOrDefault(oauthApp.getOauthConsumerKey(), new HashMap<>()),
+                    oauthApp);
+            oauthApp.setScopeValidators(scopeValidators.getOrDefault(oauthApp.getId(), Collections.emptyList())
+                    .toArray(new String[0]));
+        }
+    }
+
+    private static String escapeLikePattern(String value) {
+
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     /**
      * Get the OAuth consumer application for the given consumer key. Internally it uses the
      * tenant present in the carbon context.
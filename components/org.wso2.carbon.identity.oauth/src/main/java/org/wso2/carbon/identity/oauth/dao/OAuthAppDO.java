@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.common.model.InboundConfigurationProtocol;
+import org.wso2.carbon.identity.oauth2.model.AppPolicy;
 
 import java.io.Serializable;
 
@@ -92,6 +93,9 @@ public class OAuthAppDO extends InboundConfigurationProtocol implements Serializ
     private boolean fapiConformanceEnabled;
     private boolean subjectTokenEnabled;
     private int subjectTokenExpiryTime;
+    @XmlTransient
+    @JsonIgnore
+    private transient volatile AppPolicy appPolicy;
 
     public AuthenticatedUser getAppOwner() {
 
@@ -150,6 +154,7 @@ public class OAuthAppDO extends InboundConfigurationProtocol implements Serializ
 
     public void setCallbackUrl(String callbackUrl) {
         this.callbackUrl = callbackUrl;
+        this.appPolicy = null;
     }
 
     public String getOauthVersion() {
@@ -166,6 +171,7 @@ public class OAuthAppDO extends InboundConfigurationProtocol implements Serializ
 
     public void setGrantTypes(String grantTypes) {
         this.grantTypes = grantTypes;
+        this.appPolicy = null;
     }
 
     public String[] getScopeValidators() {
@@ -494,4 +500,21 @@ public class OAuthAppDO extends InboundConfigurationProtocol implements Serializ
 
         this.subjectTokenExpiryTime = subjectTokenExpiryTime;
     }
+
+    /**
+     * Get the compiled request policy of the application. Use {@link AppPolicy#of(OAuthAppDO)} instead, which
+     * compiles the policy if it is not available.
+     *
+     * @return Compiled request policy, or null if it is not compiled yet.
+     */
+    @JsonIgnore
+    public AppPolicy getAppPolicy() {
+
+        return appPolicy;
+    }
+
+    public void setAppPolicy(AppPolicy appPolicy) {
+
+        this.appPolicy = appPolicy;
+    }
 }
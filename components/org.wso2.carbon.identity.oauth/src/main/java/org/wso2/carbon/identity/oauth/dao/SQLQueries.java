@@ -85,6 +85,14 @@ public class SQLQueries {
                 "FROM IDN_OAUTH_CONSUMER_APPS" +
                 " WHERE USERNAME=? AND USER_DOMAIN=? AND TENANT_ID=?";
 
+        public static final String APP_NAME_PREFIX_FILTER = " AND APP_NAME LIKE ? ESCAPE '!'";
+
+        // Grant types are stored separated by a space, so the grant type is matched as a whole word of the list.
+        public static final String GRANT_TYPE_FILTER = " AND (GRANT_TYPES = ? OR GRANT_TYPES LIKE ? ESCAPE '!' OR " +
+                "GRANT_TYPES LIKE ? ESCAPE '!' OR GRANT_TYPES LIKE ? ESCAPE '!')";
+
+        public static final String ORDER_BY_APP_ID = " ORDER BY ID";
+
         public static final String GET_APP_INFO = "SELECT CONSUMER_SECRET, USERNAME, APP_NAME, OAUTH_VERSION, " +
                 "CALLBACK_URL, TENANT_ID, USER_DOMAIN, GRANT_TYPES, ID, USER_ACCESS_TOKEN_EXPIRE_TIME," +
                 " APP_ACCESS_TOKEN_EXPIRE_TIME, REFRESH_TOKEN_EXPIRE_TIME, ID_TOKEN_EXPIRE_TIME," +
@@ -110,6 +118,12 @@ public class SQLQueries {
         public static final String GET_ALL_SP_OIDC_PROPERTIES =
                 "SELECT PROPERTY_KEY, PROPERTY_VALUE FROM IDN_OIDC_PROPERTY WHERE CONSUMER_KEY = ? AND TENANT_ID = ?";
 
+        public static final String IN_CLAUSE_PLACEHOLDER = "$IN_CLAUSE";
+
+        public static final String GET_ALL_SP_OIDC_PROPERTIES_OF_CONSUMER_KEYS = "SELECT CONSUMER_KEY, " +
+                "PROPERTY_KEY, PROPERTY_VALUE FROM IDN_OIDC_PROPERTY WHERE TENANT_ID = ? AND CONSUMER_KEY IN (" +
+                IN_CLAUSE_PLACEHOLDER + ")";
+
         public static final String GET_SP_OIDC_PROPERTY =
                 "SELECT PROPERTY_VALUE FROM IDN_OIDC_PROPERTY WHERE CONSUMER_KEY = ? AND TENANT_ID = ? " +
                         "AND PROPERTY_KEY = ?";
@@ -209,6 +223,9 @@ public class SQLQueries {
         public static final String GET_APP_SCOPE_VALIDATORS = "SELECT SCOPE_VALIDATOR " +
                 "FROM IDN_OAUTH2_SCOPE_VALIDATORS WHERE APP_ID=?";
 
+        public static final String GET_APP_SCOPE_VALIDATORS_OF_APPS = "SELECT APP_ID, SCOPE_VALIDATOR " +
+                "FROM IDN_OAUTH2_SCOPE_VALIDATORS WHERE APP_ID IN (" + IN_CLAUSE_PLACEHOLDER + ")";
+
         public static final String REMOVE_APP_SCOPE_VALIDATORS = "DELETE FROM IDN_OAUTH2_SCOPE_VALIDATORS " +
                 "WHERE APP_ID=?";
 
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth.dto;
+
+/**
+ * A page of OAuth consumer applications, with the cursor to retrieve the next page.
+ */
+public class OAuthConsumerAppPageDTO {
+
+    private OAuthConsumerAppDTO[] apps = new OAuthConsumerAppDTO[0];
+    private int nextCursor;
+    private boolean hasMore;
+
+    public OAuthConsumerAppDTO[] getApps() {
+        return apps;
+    }
+
+    public void setApps(OAuthConsumerAppDTO[] apps) {
+        this.apps = apps;
+    }
+
+    public int getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(int nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -31,6 +31,7 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCache;
 import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCacheKey;
+import org.wso2.carbon.identity.oauth.cache.UserRoleCache;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.util.ClaimCache;
 import org.wso2.carbon.identity.oauth.util.ClaimMetaDataCache;
@@ -188,6 +189,7 @@ public class IdentityOathEventListener extends AbstractIdentityUserOperationEven
     public boolean doPostUpdateRoleListOfUser(String userName, String[] deletedRoles, String[] newRoles,
                                               UserStoreManager userStoreManager) throws UserStoreException {
 
+        clearUserRoleCache(userStoreManager);
         if (!isEnable()) {
             return true;
         }
@@ -204,6 +206,7 @@ public class IdentityOathEventListener extends AbstractIdentityUserOperationEven
                                                       String[] newInternalRoles, UserStoreManager userStoreManager)
             throws UserStoreException {
 
+        clearUserRoleCache(userStoreManager);
         if (!isEnable()) {
             return true;
         }
@@ -285,6 +288,7 @@ public class IdentityOathEventListener extends AbstractIdentityUserOperationEven
     private boolean postUpdateUserListOfRole(String[] deletedUsers, String[] newUsers,
                                              UserStoreManager userStoreManager) throws UserStoreException {
 
+        clearUserRoleCache(userStoreManager);
         if (!isEnable()) {
             return true;
         }
@@ -302,6 +306,24 @@ public class IdentityOathEventListener extends AbstractIdentityUserOperationEven
         return true;
     }
 
+    @Override
+    public boolean doPostDeleteRole(String roleName, UserStoreManager userStoreManager) throws UserStoreException {
+
+        clearUserRoleCache(userStoreManager);
+        return true;
+    }
+
+    /**
+     * Clear the cached roles of the users of the tenant of the user store. The cache is cleared regardless of whether
+     * this listener is enabled, as it is not revoking anything.
+     */
+    private void clearUserRoleCache(UserStoreManager userStoreManager) throws UserStoreException {
+
+        if (UserRoleCache.isEnabled()) {
+            UserRoleCache.getInstance().clearCacheEntries(userStoreManager.getTenantId());
+        }
+    }
+
     private boolean revokeTokensOfLockedUser(String userName, UserStoreManager userStoreManager)
             throws UserStoreException {
 
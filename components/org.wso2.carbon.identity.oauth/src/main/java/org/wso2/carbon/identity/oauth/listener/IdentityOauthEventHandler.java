@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.oauth.listener;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.context.CarbonContext;
@@ -38,6 +39,7 @@ import org.wso2.carbon.identity.event.IdentityEventException;
 import org.wso2.carbon.identity.event.event.Event;
 import org.wso2.carbon.identity.event.handler.AbstractEventHandler;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
+import org.wso2.carbon.identity.oauth.cache.UserRoleCache;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
@@ -128,6 +130,7 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
             String tenantDomain = (String) event.getEventProperties()
                     .get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
             List<String> deletedUserIDList;
+            clearUserRoleCache(tenantDomain);
 
             if (userIdList instanceof List<?>) {
                 deletedUserIDList = (List<String>) userIdList;
@@ -141,6 +144,7 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
             // To resolve the users affected by the update, we need to fetch all the users assigned with these group.
             String tenantDomain = (String) event.getEventProperties()
                     .get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
+            clearUserRoleCache(tenantDomain);
             List<String> deletedGroups = (ArrayList) event.getEventProperties().get(DELETE_GROUP_ID_LIST);
             List<User> userListOfDeletedGroups = new ArrayList<>();
             for (String groupId : deletedGroups) {
@@ -160,6 +164,7 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
                     .get(IdentityEventConstants.EventProperty.ROLE_ID);
             String tenantDomain = (String) event.getEventProperties()
                     .get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
+            clearUserRoleCache(tenantDomain);
             try {
                 RoleManagementService roleManagementService =
                         OAuthComponentServiceHolder.getInstance().getRoleManagementService();
@@ -196,6 +201,7 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
                     .get(IdentityEventConstants.EventProperty.ROLE_ID);
             String tenantDomain = (String) event.getEventProperties()
                     .get(IdentityEventConstants.EventProperty.TENANT_DOMAIN);
+            clearUserRoleCache(tenantDomain);
             try {
                 // Terminate sessions associated with the primary role.
                 terminateSessionsForRole(roleId, tenantDomain);
@@ -205,6 +211,7 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
                 for (RoleDTO roleDTO : roleDTOList) {
                     tenantDomain = IdentityTenantUtil.getTenantDomain(roleDTO.getTenantId());
                     roleId = roleDTO.getId();
+                    clearUserRoleCache(tenantDomain);
                     // Terminate sessions associated with the given shared role.
                     terminateSessionsForRole(roleId, tenantDomain);
                 }
@@ -302,6 +309,19 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
         terminateSession(userIdList, roleId, tenantDomain);
     }
 
+    /**
+     * Clear the cached roles and permissions of the users of the given tenant.
+     *
+     * @param tenantDomain Tenant domain of the updated role.
+     */
+    private void clearUserRoleCache(String tenantDomain) {
+
+        if (StringUtils.isBlank(tenantDomain) || !UserRoleCache.isEnabled()) {
+            return;
+        }
+        UserRoleCache.getInstance().clearCacheEntries(IdentityTenantUtil.getTenantId(tenantDomain));
+    }
+
     /**
      * Get the users associated to a group and update the list object.
      *
@@ -42,6 +42,43 @@ public class OAuth2Constants {
     public static final String OAUTH_TOKEN_PERSISTENCE_ENABLE = "OAuth.TokenPersistence.Enable";
     public static final String OAUTH_CODE_PERSISTENCE_ENABLE = "OAuth.EnableAuthCodePersistence";
     public static final String OAUTH_ENABLE_REVOKE_TOKEN_HEADERS = "OAuth.EnableRevokeTokenHeadersInResponse";
+    public static final String RESOURCE_SCOPE_MATCHER_ENABLE = "OAuth.ScopeValidator.ResourceScopeMatcher.Enable";
+    public static final String RESOURCE_SCOPE_MATCHER_REFRESH_INTERVAL =
+            "OAuth.ScopeValidator.ResourceScopeMatcher.RefreshInterval";
+    public static final long DEFAULT_RESOURCE_SCOPE_MATCHER_REFRESH_INTERVAL = 300;
+    public static final String RESOURCE_SCOPE_MATCHER_RETRY_INTERVAL =
+            "OAuth.ScopeValidator.ResourceScopeMatcher.RetryInterval";
+    public static final long DEFAULT_RESOURCE_SCOPE_MATCHER_RETRY_INTERVAL = 5;
+    public static final String USER_ROLE_CACHE_ENABLE = "OAuth.UserRoleCache.Enable";
+    public static final String USER_ROLE_CACHE_TIMEOUT = "OAuth.UserRoleCache.Timeout";
+    public static final long DEFAULT_USER_ROLE_CACHE_TIMEOUT = 60;
+    public static final String SCOPE_CATALOG_ENABLE = "OAuth.ScopeCatalog.Enable";
+    public static final String INTROSPECTION_RESPONSE_CACHE_ENABLE = "OAuth.IntrospectionResponseCache.Enable";
+    public static final String INTROSPECTION_RESPONSE_CACHE_TIMEOUT = "OAuth.IntrospectionResponseCache.Timeout";
+    public static final long DEFAULT_INTROSPECTION_RESPONSE_CACHE_TIMEOUT = 60;
+    public static final String TOKEN_SHARDING_ENABLE = "OAuth.TokenSharding.Enable";
+    public static final String TOKEN_SHARDING_SHARD_COUNT = "OAuth.TokenSharding.ShardCount";
+    public static final String TOKEN_SHARDING_FAN_OUT_THREADS = "OAuth.TokenSharding.FanOutThreads";
+    public static final String JWT_LOCAL_INTROSPECTION_ENABLE = "OAuth.JWTLocalIntrospection.Enable";
+    public static final String JWT_LOCAL_INTROSPECTION_REVOKED_TOKEN_RETENTION =
+            "OAuth.JWTLocalIntrospection.RevokedTokenRetention";
+    public static final long DEFAULT_JWT_LOCAL_INTROSPECTION_REVOKED_TOKEN_RETENTION = 86400;
+    public static final String REVOKED_TOKEN_DENYLIST_ENABLE = "OAuth.RevokedTokenDenylist.Enable";
+    public static final String REVOKED_TOKEN_DENYLIST_SYNC_INTERVAL = "OAuth.RevokedTokenDenylist.SyncInterval";
+    public static final long DEFAULT_REVOKED_TOKEN_DENYLIST_SYNC_INTERVAL = 10;
+    public static final String AUTHORIZATION_CONTEXT_TOKEN_CACHE_ENABLE = "OAuth.AuthorizationContextTokenCache.Enable";
+    public static final String TOKEN_ISSUANCE_COALESCING_ENABLE = "OAuth.TokenIssuanceCoalescing.Enable";
+    public static final String TOKEN_ISSUANCE_COALESCING_RESULT_TIMEOUT = "OAuth.TokenIssuanceCoalescing.ResultTimeout";
+    public static final long DEFAULT_TOKEN_ISSUANCE_COALESCING_RESULT_TIMEOUT = 2;
+    public static final String TOKEN_REUSE_INDEX_ENABLE = "OAuth.TokenReuseIndex.Enable";
+    public static final String TOKEN_ID_INDEX_ENABLE = "OAuth.TokenIdIndex.Enable";
+    public static final String TOKEN_ID_INDEX_MAX_ENTRIES = "OAuth.TokenIdIndex.MaxEntries";
+    public static final int DEFAULT_TOKEN_ID_INDEX_MAX_ENTRIES = 10000;
+    public static final String SESSION_TOKEN_INDEX_ENABLE = "OAuth.SessionTokenIndex.Enable";
+    public static final String SESSION_TOKEN_INDEX_MAX_ENTRIES = "OAuth.SessionTokenIndex.MaxEntries";
+    public static final int DEFAULT_SESSION_TOKEN_INDEX_MAX_ENTRIES = 10000;
+    public static final String AUTHZ_CODE_SINGLE_TRANSACTION_REDEMPTION_ENABLE =
+            "OAuth.AuthorizationCode.SingleTransactionRedemption.Enable";
     public static final String CONSOLE_CALLBACK_URL_FROM_SERVER_CONFIGS = "Console.CallbackURL";
     public static final String MY_ACCOUNT_CALLBACK_URL_FROM_SERVER_CONFIGS = "MyAccount.CallbackURL";
     public static final String TENANT_DOMAIN_PLACEHOLDER = "{TENANT_DOMAIN}";
@@ -26,6 +26,7 @@ import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.oauth.cache.OAuthScopeCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthScopeCacheKey;
+import org.wso2.carbon.identity.oauth.cache.ScopeCatalogCache;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
@@ -38,10 +39,12 @@ import org.wso2.carbon.identity.oauth2.scopeservice.ScopeMetadata;
 import org.wso2.carbon.identity.oauth2.scopeservice.ScopeMetadataService;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.util.Oauth2ScopeUtils;
+import org.wso2.carbon.identity.oauth2.validators.ResourceScopeResolver;
 import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCache;
 import org.wso2.carbon.utils.DiagnosticLog;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -97,6 +100,8 @@ public class OAuth2ScopeService implements ScopeMetadataService {
         }
 
         OAuthScopeCache.getInstance().addToCache(new OAuthScopeCacheKey(scope.getName()), scope, tenantID);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantID);
+        ResourceScopeResolver.getInstance().invalidate();
         return scope;
     }
 
@@ -180,7 +185,15 @@ public class OAuth2ScopeService implements ScopeMetadataService {
         boolean includeOIDCScopesState = BooleanUtils.isTrue(includeOIDCScopes);
 
         // If the requested scopes are provided we won't honour pagination. Will return requested scopes only.
-        if (StringUtils.isNotBlank(requestedScopes)) {
+        if (StringUtils.isNotBlank(requestedScopes) && ScopeCatalogCache.isEnabled()) {
+            try {
+                scopes = ScopeCatalogCache.getInstance().getScopeCatalog(tenantId)
+                        .getScopes(Arrays.asList(requestedScopes.split("\\s+")), includeOIDCScopesState);
+            } catch (IdentityOAuth2ScopeServerException e) {
+                throw Oauth2ScopeUtils.generateServerException(Oauth2ScopeConstants.ErrorMessages.
+                        ERROR_CODE_FAILED_TO_GET_REQUESTED_SCOPES, e);
+            }
+        } else if (StringUtils.isNotBlank(requestedScopes)) {
             try {
                 scopes = OAuthTokenPersistenceFactory.getInstance().getOAuthScopeDAO()
                         .getRequestedScopesOnly(tenantId, includeOIDCScopesState,
@@ -193,8 +206,13 @@ public class OAuth2ScopeService implements ScopeMetadataService {
             // Check for pagination query params.
             if (startIndex == null && count == null) {
                 try {
-                    scopes = OAuthTokenPersistenceFactory.getInstance().getOAuthScopeDAO()
-                            .getAllScopes(tenantId, includeOIDCScopesState);
+                    if (ScopeCatalogCache.isEnabled()) {
+                        scopes = ScopeCatalogCache.getInstance().getScopeCatalog(tenantId)
+                                .getScopes(includeOIDCScopesState);
+                    } else {
+                        scopes = OAuthTokenPersistenceFactory.getInstance().getOAuthScopeDAO()
+                                .getAllScopes(tenantId, includeOIDCScopesState);
+                    }
                 } catch (IdentityOAuth2ScopeServerException e) {
                     throw Oauth2ScopeUtils.generateServerException(Oauth2ScopeConstants.ErrorMessages.
                             ERROR_CODE_FAILED_TO_GET_ALL_SCOPES, e);
@@ -219,6 +237,15 @@ public class OAuth2ScopeService implements ScopeMetadataService {
 
         validateScopeName(name);
 
+        if (ScopeCatalogCache.isEnabled()) {
+            scope = getScopeFromCatalog(name, false, tenantID);
+            if (scope == null) {
+                throw Oauth2ScopeUtils.generateClientException(Oauth2ScopeConstants.ErrorMessages.
+                        ERROR_CODE_NOT_FOUND_SCOPE, name);
+            }
+            return scope;
+        }
+
         scope = OAuthScopeCache.getInstance().getValueFromCache(new OAuthScopeCacheKey(name), tenantID);
 
         if (scope == null) {
@@ -262,6 +289,10 @@ public class OAuth2ScopeService implements ScopeMetadataService {
                     ERROR_CODE_BAD_REQUEST_SCOPE_NAME_NOT_SPECIFIED, null);
         }
 
+        if (ScopeCatalogCache.isEnabled()) {
+            return getScopeFromCatalog(name, false, tenantID) != null;
+        }
+
         Scope scopeFromCache = OAuthScopeCache.getInstance()
                 .getValueFromCache(new OAuthScopeCacheKey(name), tenantID);
 
@@ -298,6 +329,10 @@ public class OAuth2ScopeService implements ScopeMetadataService {
                     ERROR_CODE_BAD_REQUEST_SCOPE_NAME_NOT_SPECIFIED, null);
         }
 
+        if (ScopeCatalogCache.isEnabled()) {
+            return getScopeFromCatalog(name, includeOIDCScopes, tenantID) != null;
+        }
+
         Scope scopeFromCache = OAuthScopeCache.getInstance()
                 .getValueFromCache(new OAuthScopeCacheKey(name), tenantID);
 
@@ -340,6 +375,9 @@ public class OAuth2ScopeService implements ScopeMetadataService {
             throw Oauth2ScopeUtils.generateServerException(Oauth2ScopeConstants.ErrorMessages.
                     ERROR_CODE_FAILED_TO_DELETE_SCOPE_BY_NAME, name, e);
         }
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantID);
+        // Resources protected by the deleted scope are removed along with it.
+        ResourceScopeResolver.getInstance().invalidate();
     }
 
     /**
@@ -366,6 +404,8 @@ public class OAuth2ScopeService implements ScopeMetadataService {
         OAuthScopeCache.getInstance().addToCache(new OAuthScopeCacheKey(updatedScope.getName()), updatedScope,
                 tenantID);
         OIDCScopeClaimCache.getInstance().clearScopeClaimMap(tenantID);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantID);
+        ResourceScopeResolver.getInstance().invalidate();
         return updatedScope;
     }
 
@@ -699,6 +739,26 @@ public class OAuth2ScopeService implements ScopeMetadataService {
         return scopes;
     }
 
+    /**
+     * Get a scope from the scope catalog of the tenant.
+     *
+     * @param name              Name of the scope.
+     * @param includeOIDCScopes Include OIDC scopes as well.
+     * @param tenantID          Tenant ID.
+     * @return Scope, or null if the scope does not exist.
+     * @throws IdentityOAuth2ScopeServerException If failed to load the scope catalog.
+     */
+    private Scope getScopeFromCatalog(String name, boolean includeOIDCScopes, int tenantID)
+            throws IdentityOAuth2ScopeServerException {
+
+        try {
+            return ScopeCatalogCache.getInstance().getScopeCatalog(tenantID).getScope(name, includeOIDCScopes);
+        } catch (IdentityOAuth2ScopeServerException e) {
+            throw Oauth2ScopeUtils.generateServerException(Oauth2ScopeConstants.ErrorMessages.
+                    ERROR_CODE_FAILED_TO_GET_SCOPE_BY_NAME, name, e);
+        }
+    }
+
     /**
      * Scope validation before adding the scope.
      *
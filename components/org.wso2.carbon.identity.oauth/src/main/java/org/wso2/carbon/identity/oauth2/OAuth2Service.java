@@ -55,6 +55,7 @@ import org.wso2.carbon.identity.oauth2.dto.OAuthRevocationRequestDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuthRevocationResponseDTO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.model.AppPolicy;
 import org.wso2.carbon.identity.oauth2.model.OAuth2Parameters;
 import org.wso2.carbon.identity.oauth2.model.RefreshTokenValidationDataDO;
 import org.wso2.carbon.identity.oauth2.model.SubjectTokenDO;
@@ -62,6 +63,7 @@ import org.wso2.carbon.identity.oauth2.token.AccessTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.SubjectTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.jwt.RevokedJWTRegistry;
 import org.wso2.carbon.identity.openidconnect.model.Constants;
 import org.wso2.carbon.user.api.Claim;
 import org.wso2.carbon.user.core.UserStoreManager;
@@ -379,16 +381,11 @@ public class OAuth2Service extends AbstractAdmin {
      * Or check weather callback urls are equal
      */
     private boolean validateCallbackURI(String callbackURI, OAuthAppDO oauthApp) {
-        String regexp = null;
-        String registeredCallbackUrl = oauthApp.getCallbackUrl();
-        if (registeredCallbackUrl.startsWith(OAuthConstants.CALLBACK_URL_REGEXP_PREFIX)) {
-            regexp = registeredCallbackUrl.substring(OAuthConstants.CALLBACK_URL_REGEXP_PREFIX.length());
-        }
         if (log.isDebugEnabled()) {
             log.debug("Comparing provided callback URL: " + callbackURI + " with configured callback: " +
-                    registeredCallbackUrl);
+                    oauthApp.getCallbackUrl());
         }
-        return (regexp != null && callbackURI.matches(regexp)) || registeredCallbackUrl.equals(callbackURI);
+        return AppPolicy.of(oauthApp).isValidCallbackUri(callbackURI);
     }
 
     /**
@@ -719,6 +716,10 @@ public class OAuth2Service extends AbstractAdmin {
                         synchronized ((revokeRequestDTO.getConsumerKey() + ":" + userId + ":" + scope + ":"
                                 + tokenBindingReference).intern()) {
                             getRevocationProcessor().revokeAccessToken(revokeRequestDTO, accessTokenDO);
+                            if (RevokedJWTRegistry.isDenylistEnabled() && !OAuth2Util.isTokenPersistenceEnabled()) {
+                                // Tokens that are not persisted can only be revoked through the denylist.
+                                RevokedJWTRegistry.getInstance().addRevokedToken(accessTokenDO);
+                            }
                         }
                         addRevokeResponseHeaders(revokeResponseDTO,
                                 revokeRequestDTO.getToken(),
@@ -1043,7 +1044,7 @@ public class OAuth2Service extends AbstractAdmin {
             InvalidOAuthClientException {
 
         OAuthAppDO oAuthAppDO = OAuth2Util.getAppInformationByClientId(consumerKey);
-        return (oAuthAppDO != null && oAuthAppDO.getGrantTypes().contains(OAuthConstants.GrantTypes.IMPLICIT));
+        return (oAuthAppDO != null && AppPolicy.of(oAuthAppDO).isGrantTypeAllowed(OAuthConstants.GrantTypes.IMPLICIT));
     }
 
     private String getErrorMessage(OAuthClientAuthnContext oAuthClientAuthnContext) {
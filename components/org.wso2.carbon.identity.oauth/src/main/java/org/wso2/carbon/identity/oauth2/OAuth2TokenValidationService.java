@@ -30,7 +30,9 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationResponseDTO;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.validators.TokenValidationHandler;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.triggerOnIntrospectionExceptionListeners;
@@ -72,6 +74,59 @@ public class OAuth2TokenValidationService extends AbstractAdmin {
         return responseDTO;
     }
 
+    /**
+     * Validate a batch of access tokens in a single call. The pre and post validation listeners are triggered for
+     * each token as in {@link #validate(OAuth2TokenValidationRequestDTO)}.
+     *
+     * @param validationReqDTOs Token validation requests.
+     * @return Token validation responses, in the order of the requests.
+     */
+    public OAuth2TokenValidationResponseDTO[] validateTokens(OAuth2TokenValidationRequestDTO[] validationReqDTOs) {
+
+        if (validationReqDTOs == null) {
+            return new OAuth2TokenValidationResponseDTO[0];
+        }
+        OAuth2TokenValidationResponseDTO[] responseDTOs =
+                new OAuth2TokenValidationResponseDTO[validationReqDTOs.length];
+        List<Integer> validatedIndexes = new ArrayList<>();
+        List<OAuth2TokenValidationRequestDTO> requestsToValidate = new ArrayList<>();
+        for (int i = 0; i < validationReqDTOs.length; i++) {
+            try {
+                triggerPreValidationListeners(validationReqDTOs[i]);
+                validatedIndexes.add(i);
+                requestsToValidate.add(validationReqDTOs[i]);
+            } catch (IdentityOAuth2Exception e) {
+                OAuth2TokenValidationResponseDTO errRespDTO = new OAuth2TokenValidationResponseDTO();
+                errRespDTO.setValid(false);
+                errRespDTO.setErrorMsg(e.getMessage());
+                responseDTOs[i] = errRespDTO;
+            }
+        }
+        if (requestsToValidate.isEmpty()) {
+            return responseDTOs;
+        }
+
+        try {
+            List<OAuth2TokenValidationResponseDTO> validatedResponseDTOs =
+                    TokenValidationHandler.getInstance().validate(requestsToValidate);
+            for (int i = 0; i < validatedIndexes.size(); i++) {
+                responseDTOs[validatedIndexes.get(i)] = validatedResponseDTOs.get(i);
+            }
+        } catch (IdentityOAuth2Exception e) {
+            log.error("Error occurred while validating the batch of OAuth2 access tokens", e);
+            for (int index : validatedIndexes) {
+                OAuth2TokenValidationResponseDTO errRespDTO = new OAuth2TokenValidationResponseDTO();
+                errRespDTO.setValid(false);
+                errRespDTO.setErrorMsg("Server error occurred while validating the OAuth2 access token");
+                responseDTOs[index] = errRespDTO;
+            }
+        }
+        for (int index : validatedIndexes) {
+            triggerPostValidationListeners(validationReqDTOs[index], responseDTOs[index]);
+        }
+        return responseDTOs;
+    }
+
     /**
      * @param validationReqDTO
      * @return
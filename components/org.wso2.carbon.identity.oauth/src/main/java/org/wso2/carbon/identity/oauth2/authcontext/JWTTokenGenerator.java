@@ -20,7 +20,9 @@ package org.wso2.carbon.identity.oauth2.authcontext;
 
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.PlainJWT;
@@ -37,6 +39,7 @@ import org.wso2.carbon.identity.base.IdentityException;
 import org.wso2.carbon.identity.core.util.IdentityCoreConstants;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.AuthorizationContextTokenCache;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDAO;
@@ -69,6 +72,7 @@ import java.security.cert.Certificate;
 import java.security.interfaces.RSAPrivateKey;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
@@ -78,6 +82,7 @@ import java.util.StringTokenizer;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents the JSON Web Token generator.
@@ -97,6 +102,9 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
 
     private static volatile long ttl = -1L;
 
+    // The key store is read again for a tenant's certificate at most this often, to pick up rotated certificates.
+    private static final long CERTIFICATE_RECHECK_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
     private ClaimsRetriever claimsRetriever;
 
     private JWSAlgorithm signatureAlgorithm = new JWSAlgorithm(JWSAlgorithm.RS256.getName());
@@ -106,7 +114,9 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
     private boolean enableSigning = true;
 
     private static Map<Integer, Key> privateKeys = new ConcurrentHashMap<Integer, Key>();
-    private static Map<Integer, Certificate> publicCerts = new ConcurrentHashMap<Integer, Certificate>();
+
+    private final Map<Integer, TenantSigner> tenantSigners = new ConcurrentHashMap<>();
+    private final Map<Integer, TenantCertificate> tenantCertificates = new ConcurrentHashMap<>();
 
     private ClaimCache claimsLocalCache;
 
@@ -173,6 +183,21 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
         long validityPeriodInMillis = accessTokenDO.getValidityPeriodInMillis();
         String authzUser = messageContext.getResponseDTO().getAuthorizedUser();
         int tenantId = accessTokenDO.getTenantID();
+
+        String contextKey = null;
+        if (AuthorizationContextTokenCache.isEnabled() && StringUtils.isNotBlank(accessTokenDO.getTokenId())) {
+            contextKey = getContextKey(messageContext.getRequestDTO().getRequiredClaimURIs());
+            String cachedJWT = AuthorizationContextTokenCache.getInstance()
+                    .getContextToken(accessTokenDO.getTokenId(), contextKey);
+            if (cachedJWT != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Authorization context token of client: " + clientId + " served from the cache.");
+                }
+                messageContext.getResponseDTO().setAuthorizationContextToken(
+                        messageContext.getResponseDTO().new AuthorizationContextToken("JWT", cachedJWT));
+                return;
+            }
+        }
         String tenantDomain = OAuth2Util.getTenantDomain(tenantId);
         boolean isExistingUser = false;
         String tenantAwareUsername = null;
@@ -291,17 +316,94 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
         JWTClaimsSet claimsSet = claimsSetBuilder.build();
         JWT jwt = null;
         if (!JWSAlgorithm.NONE.equals(signatureAlgorithm)) {
-            jwt = OAuth2Util.signJWT(claimsSet, signatureAlgorithm, tenantDomain);
+            jwt = signContextJWT(claimsSet, tenantDomain);
         } else {
             jwt = new PlainJWT(claimsSet);
         }
+        String serializedJWT = jwt.serialize();
 
         if (log.isDebugEnabled()) {
-            log.debug("JWT Assertion Value : " + jwt.serialize());
+            log.debug("JWT Assertion Value : " + serializedJWT);
         }
         OAuth2TokenValidationResponseDTO.AuthorizationContextToken token;
-        token = messageContext.getResponseDTO().new AuthorizationContextToken("JWT", jwt.serialize());
+        token = messageContext.getResponseDTO().new AuthorizationContextToken("JWT", serializedJWT);
         messageContext.getResponseDTO().setAuthorizationContextToken(token);
+
+        if (contextKey != null) {
+            // The JWT is served until the token expires or the authorization context TTL elapses.
+            long cacheExpiryTime = currentTime + TimeUnit.MINUTES.toMillis(getTTL());
+            if (validityPeriodInMillis >= 0 && expireIn > 0) {
+                cacheExpiryTime = Math.min(cacheExpiryTime, expireIn);
+            }
+            AuthorizationContextTokenCache.getInstance().addContextToken(accessTokenDO.getTokenId(), contextKey,
+                    serializedJWT, cacheExpiryTime);
+        }
+    }
+
+    /**
+     * Get the key of the cached authorization context token, which identifies the claim dialect, the signature
+     * algorithm and the requested claims.
+     *
+     * @param requestedClaims Requested claim URIs, or null if all the default claims are requested.
+     * @return Key of the cached token.
+     */
+    private String getContextKey(String[] requestedClaims) {
+
+        String claims = "*";
+        if (requestedClaims != null) {
+            String[] sortedClaims = requestedClaims.clone();
+            Arrays.sort(sortedClaims);
+            claims = StringUtils.join(sortedClaims, ",");
+        }
+        return OAuthServerConfiguration.getInstance().getConsumerDialectURI() + ":" + signatureAlgorithm.getName() +
+                ":" + claims;
+    }
+
+    /**
+     * Sign the authorization context JWT. The JWS header and signer of a tenant are built on first use and reused
+     * for the later tokens of the tenant.
+     *
+     * @param claimsSet    Claims of the JWT.
+     * @param tenantDomain Tenant domain of the signing key.
+     * @return Signed JWT.
+     * @throws IdentityOAuth2Exception If the JWT could not be signed.
+     */
+    private JWT signContextJWT(JWTClaimsSet claimsSet, String tenantDomain) throws IdentityOAuth2Exception {
+
+        if (!(JWSAlgorithm.RS256.equals(signatureAlgorithm) || JWSAlgorithm.RS384.equals(signatureAlgorithm) ||
+                JWSAlgorithm.RS512.equals(signatureAlgorithm) || JWSAlgorithm.PS256.equals(signatureAlgorithm))) {
+            return OAuth2Util.signJWT(claimsSet, signatureAlgorithm, tenantDomain);
+        }
+        if (StringUtils.isBlank(tenantDomain)) {
+            tenantDomain = MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+        }
+        int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+        Certificate certificate;
+        try {
+            certificate = getCertificate(tenantDomain, tenantId);
+        } catch (IdentityOAuth2Exception e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IdentityOAuth2Exception("Error in obtaining certificate for tenant " + tenantDomain, e);
+        }
+        TenantSigner tenantSigner = tenantSigners.get(tenantId);
+        if (tenantSigner == null || !tenantSigner.certificate.equals(certificate)) {
+            // The signer is rebuilt when the tenant's signing certificate is rotated in the key store.
+            JWSHeader.Builder headerBuilder = new JWSHeader.Builder(signatureAlgorithm);
+            headerBuilder.keyID(OAuth2Util.getKID(certificate, signatureAlgorithm, tenantDomain));
+            headerBuilder.x509CertThumbprint(new Base64URL(OAuth2Util.getThumbPrintWithPrevAlgorithm(certificate,
+                    false)));
+            tenantSigner = new TenantSigner(certificate, headerBuilder.build(), OAuth2Util.createJWSSigner(
+                    (RSAPrivateKey) getPrivateKey(tenantDomain, tenantId)));
+            tenantSigners.put(tenantId, tenantSigner);
+        }
+        try {
+            SignedJWT signedJWT = new SignedJWT(tenantSigner.header, claimsSet);
+            signedJWT.sign(tenantSigner.signer);
+            return signedJWT;
+        } catch (JOSEException e) {
+            throw new IdentityOAuth2Exception("Error occurred while signing JWT", e);
+        }
     }
 
     /**
@@ -388,10 +490,13 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
                 return ttl;
             }
             String ttlValue = OAuthServerConfiguration.getInstance().getAuthorizationContextTTL();
+            ttl = 15L;
             if (ttlValue != null) {
-                ttl = Long.parseLong(ttlValue);
-            } else {
-                ttl = 15L;
+                try {
+                    ttl = Long.parseLong(StringUtils.removeEndIgnoreCase(ttlValue.trim(), "L"));
+                } catch (NumberFormatException e) {
+                    log.warn("Invalid authorization context TTL: " + ttlValue + ". Using the default value: " + ttl);
+                }
             }
             return ttl;
         }
@@ -406,11 +511,18 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
      */
     private String getThumbPrint(String tenantDomain, int tenantId) throws IdentityOAuth2Exception {
 
+        if (tenantId == 0) {
+            tenantId = OAuth2Util.getTenantId(tenantDomain == null ? MultitenantConstants.SUPER_TENANT_DOMAIN_NAME :
+                    tenantDomain);
+        }
         try {
 
             Certificate certificate = getCertificate(tenantDomain, tenantId);
-
-            // TODO: maintain a hashmap with tenants' pubkey thumbprints after first initialization
+            TenantCertificate tenantCertificate = tenantCertificates.get(tenantId);
+            if (tenantCertificate != null && tenantCertificate.certificate.equals(certificate) &&
+                    tenantCertificate.thumbPrint != null) {
+                return tenantCertificate.thumbPrint;
+            }
 
             //generate the SHA-1 thumbprint of the certificate
             MessageDigest digestValue = MessageDigest.getInstance("SHA-1");
@@ -421,6 +533,9 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
             String publicCertThumbprint = hexify(digestInBytes);
             String base64EncodedThumbPrint = new String(new Base64(0, null, true).encode(publicCertThumbprint
                     .getBytes(Charsets.UTF_8)), Charsets.UTF_8);
+            if (tenantCertificate != null && tenantCertificate.certificate.equals(certificate)) {
+                tenantCertificate.thumbPrint = base64EncodedThumbPrint;
+            }
             return base64EncodedThumbPrint;
 
         } catch (Exception e) {
@@ -439,6 +554,15 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
             tenantId = OAuth2Util.getTenantId(tenantDomain);
         }
 
+        try {
+            // Drops the cached key if the tenant's signing certificate has been rotated in the key store.
+            getCertificate(tenantDomain, tenantId);
+        } catch (IdentityOAuth2Exception e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IdentityOAuth2Exception("Error in obtaining certificate for tenant " + tenantDomain, e);
+        }
+
         Key privateKey = null;
 
         if (!(privateKeys.containsKey(tenantId))) {
@@ -485,38 +609,61 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
             tenantId = OAuth2Util.getTenantId(tenantDomain);
         }
 
-        Certificate publicCert = null;
-
-        if (!(publicCerts.containsKey(tenantId))) {
+        TenantCertificate cachedCertificate = tenantCertificates.get(tenantId);
+        long currentTime = System.currentTimeMillis();
+        if (cachedCertificate != null && currentTime - cachedCertificate.checkedTime < CERTIFICATE_RECHECK_INTERVAL) {
+            return cachedCertificate.certificate;
+        }
 
-            try {
-                IdentityTenantUtil.initializeRegistry(tenantId, tenantDomain);
-            } catch (IdentityException e) {
-                throw new IdentityOAuth2Exception("Error occurred while loading registry for tenant " + tenantDomain,
-                        e);
-            }
+        try {
+            IdentityTenantUtil.initializeRegistry(tenantId, tenantDomain);
+        } catch (IdentityException e) {
+            throw new IdentityOAuth2Exception("Error occurred while loading registry for tenant " + tenantDomain,
+                    e);
+        }
 
-            // get tenant's key store manager
-            KeyStoreManager tenantKSM = KeyStoreManager.getInstance(tenantId);
+        // get tenant's key store manager, which reloads the key store once it is updated
+        KeyStoreManager tenantKSM = KeyStoreManager.getInstance(tenantId);
 
-            KeyStore keyStore = null;
-            if (!tenantDomain.equals(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME)) {
-                // derive key store name
-                String fileName = KeystoreUtils.getKeyStoreFileLocation(tenantDomain);
-                keyStore = tenantKSM.getKeyStore(fileName);
-                publicCert = keyStore.getCertificate(tenantDomain);
-            } else {
-                publicCert = tenantKSM.getDefaultPrimaryCertificate();
-            }
-            if (publicCert != null) {
-                publicCerts.put(tenantId, publicCert);
-            }
+        Certificate publicCert;
+        if (!tenantDomain.equals(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME)) {
+            // derive key store name
+            String fileName = KeystoreUtils.getKeyStoreFileLocation(tenantDomain);
+            KeyStore keyStore = tenantKSM.getKeyStore(fileName);
+            publicCert = keyStore.getCertificate(tenantDomain);
         } else {
-            publicCert = publicCerts.get(tenantId);
+            publicCert = tenantKSM.getDefaultPrimaryCertificate();
+        }
+        if (publicCert == null) {
+            return cachedCertificate != null ? cachedCertificate.certificate : null;
+        }
+        if (cachedCertificate != null && cachedCertificate.certificate.equals(publicCert)) {
+            cachedCertificate.checkedTime = currentTime;
+        } else {
+            if (cachedCertificate != null) {
+                clearKeys(tenantId);
+            }
+            tenantCertificates.put(tenantId, new TenantCertificate(publicCert, currentTime));
         }
         return publicCert;
     }
 
+    /**
+     * Drop the keys, certificate, thumbprint and signer cached for a tenant once its signing certificate has been
+     * rotated.
+     *
+     * @param tenantId Tenant id.
+     */
+    private void clearKeys(int tenantId) {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Signing certificate of tenant: " + tenantId + " has changed. Clearing the cached keys.");
+        }
+        privateKeys.remove(tenantId);
+        tenantCertificates.remove(tenantId);
+        tenantSigners.remove(tenantId);
+    }
+
     /**
      * Helper method to hexify a byte array.
      * TODO:need to verify the logic
@@ -570,4 +717,37 @@ public class JWTTokenGenerator implements AuthorizationContextTokenGenerator {
     private SignedJWT getSignedJWT(String tokenIdentifier) throws ParseException {
         return SignedJWT.parse(tokenIdentifier);
     }
+
+    /**
+     * JWS header and signer of a tenant's signing key.
+     */
+    private static class TenantSigner {
+
+        private final Certificate certificate;
+        private final JWSHeader header;
+        private final JWSSigner signer;
+
+        private TenantSigner(Certificate certificate, JWSHeader header, JWSSigner signer) {
+
+            this.certificate = certificate;
+            this.header = header;
+            this.signer = signer;
+        }
+    }
+
+    /**
+     * Signing certificate of a tenant, with its thumbprint and the time it was last read from the key store.
+     */
+    private static class TenantCertificate {
+
+        private final Certificate certificate;
+        private volatile long checkedTime;
+        private volatile String thumbPrint;
+
+        private TenantCertificate(Certificate certificate, long checkedTime) {
+
+            this.certificate = certificate;
+            this.checkedTime = checkedTime;
+        }
+    }
 }
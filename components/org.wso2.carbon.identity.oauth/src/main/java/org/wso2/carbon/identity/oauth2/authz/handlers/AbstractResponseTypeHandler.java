@@ -36,6 +36,7 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.authz.OAuthAuthzReqMessageContext;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeRespDTO;
+import org.wso2.carbon.identity.oauth2.model.AppPolicy;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.util.Oauth2ScopeUtils;
@@ -187,7 +188,7 @@ public abstract class AbstractResponseTypeHandler implements ResponseTypeHandler
 
         for (String grantType : grantTypes) {
             // If the application has defined a limited set of grant types, then check the grant
-            if (!oAuthAppDO.getGrantTypes().contains(grantType)) {
+            if (!AppPolicy.of(oAuthAppDO).isGrantTypeAllowed(grantType)) {
                 if (log.isDebugEnabled()) {
                     //Do not change this log format as these logs use by external applications
                     log.debug("Unsupported Grant Type : " + grantType + " for client id : " + consumerKey);
@@ -32,6 +32,7 @@ import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthRequestExcept
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2ClientValidationResponseDTO;
+import org.wso2.carbon.identity.oauth2.model.AppPolicy;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.utils.DiagnosticLog;
 
@@ -268,28 +269,10 @@ public abstract class AbstractResponseTypeRequestValidator implements ResponseTy
         if (callbackURI == null) {
             return false;
         }
-        String regexp = null;
-        String registeredCallbackUrl = oauthApp.getCallbackUrl();
-        if (registeredCallbackUrl.startsWith(OAuthConstants.CALLBACK_URL_REGEXP_PREFIX)) {
-            regexp = registeredCallbackUrl.substring(OAuthConstants.CALLBACK_URL_REGEXP_PREFIX.length());
-        }
         if (log.isDebugEnabled()) {
             log.debug("Comparing provided callback URL: " + callbackURI + " with configured callback: " +
-                    registeredCallbackUrl);
-        }
-        if (callbackURI.matches(OAuthConstants.LOOPBACK_IP_REGEX)) {
-            callbackURI = callbackURI.replaceFirst(OAuthConstants.LOOPBACK_IP_PORT_REGEX, StringUtils.EMPTY);
-            if (regexp != null) {
-                regexp = regexp.replaceAll(OAuthConstants.LOOPBACK_IP_PORT_REGEX, StringUtils.EMPTY);
-                if (!callbackURI.matches(regexp)) {
-                    log.debug("Regex might contain port number capture group/groups for loopback ip address");
-                    return false;
-                }
-                return true;
-            }
-            registeredCallbackUrl =
-                    registeredCallbackUrl.replaceFirst(OAuthConstants.LOOPBACK_IP_PORT_REGEX, StringUtils.EMPTY);
+                    oauthApp.getCallbackUrl());
         }
-        return (regexp != null && callbackURI.matches(regexp)) || registeredCallbackUrl.equals(callbackURI);
+        return AppPolicy.of(oauthApp).isValidCallbackUriIgnoringLoopbackPort(callbackURI);
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.client.authentication;
+
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.model.ClientAuthenticationMethodModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the registered OAuth client authenticators by the client authentication methods they support.
+ * <p>
+ * The index is built from a snapshot of the registered authenticators and has to be rebuilt when they change. It
+ * replaces the per request walk over every authenticator and its supported methods with map lookups.
+ */
+class ClientAuthenticatorIndex {
+
+    /**
+     * Client authentication methods whose credentials are recognised by {@link OAuthClientAuthnRequestView}.
+     */
+    private static final Set<String> REQUEST_RECOGNISED_METHODS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(OAuthClientAuthnRequestView.CLIENT_SECRET_BASIC,
+                    OAuthClientAuthnRequestView.CLIENT_SECRET_POST, OAuthConstants.PRIVATE_KEY_JWT)));
+
+    private final List<OAuthClientAuthenticator> authenticators;
+    private final Map<String, List<OAuthClientAuthenticator>> authenticatorsByMethod = new HashMap<>();
+    private final Map<OAuthClientAuthenticator, Set<String>> methodsByAuthenticator = new IdentityHashMap<>();
+
+    ClientAuthenticatorIndex(List<OAuthClientAuthenticator> authenticators) {
+
+        this.authenticators = new ArrayList<>(authenticators);
+        for (OAuthClientAuthenticator authenticator : this.authenticators) {
+            Set<String> methods = new HashSet<>();
+            for (ClientAuthenticationMethodModel authMethod : authenticator.getSupportedClientAuthenticationMethods()) {
+                methods.add(authMethod.getName());
+            }
+            methodsByAuthenticator.put(authenticator, methods);
+            for (String method : methods) {
+                authenticatorsByMethod.computeIfAbsent(method, key -> new ArrayList<>()).add(authenticator);
+            }
+        }
+    }
+
+    /**
+     * Check whether the index was built for the given authenticators.
+     *
+     * @param authenticators Registered authenticators.
+     * @return True if the index reflects the given authenticators.
+     */
+    boolean isBuiltFor(List<OAuthClientAuthenticator> authenticators) {
+
+        return this.authenticators.equals(authenticators);
+    }
+
+    /**
+     * Get the authenticators supporting any of the given client authentication methods, in the order they are
+     * registered.
+     *
+     * @param methods Client authentication methods.
+     * @return Authenticators supporting any of the methods.
+     */
+    List<OAuthClientAuthenticator> getAuthenticators(Collection<String> methods) {
+
+        if (methods.size() == 1) {
+            List<OAuthClientAuthenticator> authenticatorsOfMethod =
+                    authenticatorsByMethod.get(methods.iterator().next());
+            return authenticatorsOfMethod != null ? new ArrayList<>(authenticatorsOfMethod) : new ArrayList<>();
+        }
+        List<OAuthClientAuthenticator> applicableAuthenticators = new ArrayList<>();
+        for (OAuthClientAuthenticator authenticator : authenticators) {
+            if (supportsAny(authenticator, methods)) {
+                applicableAuthenticators.add(authenticator);
+            }
+        }
+        return applicableAuthenticators;
+    }
+
+    /**
+     * Check whether an authenticator supports any of the given client authentication methods.
+     *
+     * @param authenticator Authenticator.
+     * @param methods       Client authentication methods.
+     * @return True if the authenticator supports any of the methods.
+     */
+    boolean supportsAny(OAuthClientAuthenticator authenticator, Collection<String> methods) {
+
+        Set<String> supportedMethods = getSupportedMethods(authenticator);
+        for (String method : methods) {
+            if (supportedMethods.contains(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an authenticator can be left out for a request without asking it. That is the case only if all
+     * the methods the authenticator supports are recognised from the request, and the request carries credentials
+     * for none of them. Authenticators supporting other methods, or not declaring their methods, are never left
+     * out.
+     *
+     * @param authenticator Authenticator.
+     * @param requestView   View of the request.
+     * @return True if the authenticator cannot authenticate the request.
+     */
+    boolean canSkip(OAuthClientAuthenticator authenticator, OAuthClientAuthnRequestView requestView) {
+
+        Set<String> supportedMethods = getSupportedMethods(authenticator);
+        return !supportedMethods.isEmpty() && REQUEST_RECOGNISED_METHODS.containsAll(supportedMethods) &&
+                !supportsAny(authenticator, requestView.getAuthenticationMethods());
+    }
+
+    private Set<String> getSupportedMethods(OAuthClientAuthenticator authenticator) {
+
+        Set<String> supportedMethods = methodsByAuthenticator.get(authenticator);
+        if (supportedMethods == null) {
+            // Not a registered authenticator.
+            supportedMethods = new HashSet<>();
+            for (ClientAuthenticationMethodModel authMethod : authenticator.getSupportedClientAuthenticationMethods()) {
+                supportedMethods.add(authMethod.getName());
+            }
+        }
+        return supportedMethods;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.client.authentication;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.oltu.oauth2.common.OAuth;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Client authentication methods a request carries credentials for, recognised once per request.
+ * <p>
+ * The view is only built by {@link OAuthClientAuthnService}, when
+ * OAuth.ClientAuthentication.SelectAuthenticatorsByRequest is enabled, and is used with
+ * {@link ClientAuthenticatorIndex} to skip the authenticators whose credentials are not in the request. It is kept
+ * in the {@link OAuthConstants#CLIENT_AUTHN_REQUEST_VIEW} request attribute, so that it is built only once for the
+ * same body parameters of a request.
+ */
+public class OAuthClientAuthnRequestView {
+
+    static final String CLIENT_SECRET_BASIC = "client_secret_basic";
+    static final String CLIENT_SECRET_POST = "client_secret_post";
+    private static final String CLIENT_ASSERTION = "client_assertion";
+    private static final String CLIENT_ASSERTION_TYPE = "client_assertion_type";
+
+    private final Map<String, List> sourceBodyParams;
+    private final Set<String> authenticationMethods;
+
+    private OAuthClientAuthnRequestView(HttpServletRequest request, Map<String, List> bodyParams) {
+
+        this.sourceBodyParams = bodyParams;
+        Set<String> authenticationMethods = new HashSet<>();
+        if (OAuth2Util.isBasicAuthorizationHeaderExists(request)) {
+            authenticationMethods.add(CLIENT_SECRET_BASIC);
+        }
+        if (CollectionUtils.isNotEmpty(bodyParams.get(OAuth.OAUTH_CLIENT_SECRET))) {
+            authenticationMethods.add(CLIENT_SECRET_POST);
+        }
+        if (CollectionUtils.isNotEmpty(bodyParams.get(CLIENT_ASSERTION_TYPE)) ||
+                CollectionUtils.isNotEmpty(bodyParams.get(CLIENT_ASSERTION))) {
+            authenticationMethods.add(OAuthConstants.PRIVATE_KEY_JWT);
+        }
+        this.authenticationMethods = Collections.unmodifiableSet(authenticationMethods);
+    }
+
+    /**
+     * Get the view of a request, building it and setting it to the request if it was not built for the given body
+     * parameters before.
+     *
+     * @param request    Incoming request.
+     * @param bodyParams Body parameters of the request.
+     * @return View of the request.
+     */
+    public static OAuthClientAuthnRequestView of(HttpServletRequest request, Map<String, List> bodyParams) {
+
+        Object attribute = request.getAttribute(OAuthConstants.CLIENT_AUTHN_REQUEST_VIEW);
+        if (attribute instanceof OAuthClientAuthnRequestView &&
+                ((OAuthClientAuthnRequestView) attribute).sourceBodyParams == bodyParams) {
+            return (OAuthClientAuthnRequestView) attribute;
+        }
+        OAuthClientAuthnRequestView requestView = new OAuthClientAuthnRequestView(request, bodyParams);
+        request.setAttribute(OAuthConstants.CLIENT_AUTHN_REQUEST_VIEW, requestView);
+        return requestView;
+    }
+
+    /**
+     * Get the client authentication methods the request carries credentials for. Only the methods that can be
+     * recognised from the Authorization header and the body parameters are reported.
+     *
+     * @return Client authentication methods of the request.
+     */
+    public Set<String> getAuthenticationMethods() {
+
+        return authenticationMethods;
+    }
+}
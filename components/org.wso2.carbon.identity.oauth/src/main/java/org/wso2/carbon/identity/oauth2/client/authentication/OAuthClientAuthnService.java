@@ -29,7 +29,6 @@ import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.bean.OAuthClientAuthnContext;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
-import org.wso2.carbon.identity.oauth2.model.ClientAuthenticationMethodModel;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
 import java.util.ArrayList;
@@ -48,6 +47,10 @@ public class OAuthClientAuthnService {
     private static final Log log = LogFactory.getLog(OAuthClientAuthnService.class);
     private static final String FAPI_CLIENT_AUTH_METHOD_CONFIGURATION = "OAuth.OpenIDConnect.FAPI." +
             "AllowedClientAuthenticationMethods.AllowedClientAuthenticationMethod";
+    private static final String SELECT_AUTHENTICATORS_BY_REQUEST = "OAuth.ClientAuthentication." +
+            "SelectAuthenticatorsByRequest";
+
+    private volatile ClientAuthenticatorIndex authenticatorIndex;
 
     /**
      * Retrieve OAuth2 client authenticators which are reigstered dynamically.
@@ -181,7 +184,18 @@ public class OAuthClientAuthnService {
                             "the application.", oAuthClientAuthnContext);
                     return;
                 }
+                OAuthClientAuthnRequestView requestView = isSelectAuthenticatorsByRequestEnabled() ?
+                        OAuthClientAuthnRequestView.of(request, bodyContentMap) : null;
+                ClientAuthenticatorIndex index = getAuthenticatorIndex();
                 applicableAuthenticators.forEach(oAuthClientAuthenticator -> {
+                    if (requestView != null && index.canSkip(oAuthClientAuthenticator, requestView)) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("The request does not carry credentials for any client authentication " +
+                                    "method supported by " + oAuthClientAuthenticator.getName() + ". Hence not " +
+                                    "evaluating");
+                        }
+                        return;
+                    }
                     executeAuthenticator(oAuthClientAuthenticator, oAuthClientAuthnContext, request, bodyContentMap);
                 });
             } catch (InvalidOAuthClientException e) {
@@ -384,13 +398,10 @@ public class OAuthClientAuthnService {
             return getApplicableClientAuthenticators(fapiAllowedAuthMethods);
         }
 
+        ClientAuthenticatorIndex index = getAuthenticatorIndex();
         List<OAuthClientAuthenticator> filteredAuthenticators = new ArrayList<>();
         for (OAuthClientAuthenticator authenticator : configuredAuthenticators) {
-            List<String> supportedClientAuthMethods = new ArrayList<>();
-            for (ClientAuthenticationMethodModel authMethod : authenticator.getSupportedClientAuthenticationMethods()) {
-                supportedClientAuthMethods.add(authMethod.getName());
-            }
-            if (fapiAllowedAuthMethods.stream().anyMatch(supportedClientAuthMethods::contains)) {
+            if (index.supportsAny(authenticator, fapiAllowedAuthMethods)) {
                 filteredAuthenticators.add(authenticator);
             }
         }
@@ -406,16 +417,28 @@ public class OAuthClientAuthnService {
      */
     private List<OAuthClientAuthenticator> getApplicableClientAuthenticators(List<String> configuredAuthenticators) {
 
-        List<OAuthClientAuthenticator> applicableClientAuthenticators = new ArrayList<>();
-        for (OAuthClientAuthenticator authenticator : this.getClientAuthenticators()) {
-            List<String> supportedClientAuthMethods = new ArrayList<>();
-            for (ClientAuthenticationMethodModel authMethod : authenticator.getSupportedClientAuthenticationMethods()) {
-                supportedClientAuthMethods.add(authMethod.getName());
-            }
-            if (configuredAuthenticators.stream().anyMatch(supportedClientAuthMethods::contains)) {
-                applicableClientAuthenticators.add(authenticator);
-            }
+        return getAuthenticatorIndex().getAuthenticators(configuredAuthenticators);
+    }
+
+    /**
+     * Get the index of the registered client authenticators, rebuilding it if the authenticators have changed since
+     * it was built.
+     *
+     * @return Index of the registered client authenticators.
+     */
+    private ClientAuthenticatorIndex getAuthenticatorIndex() {
+
+        List<OAuthClientAuthenticator> clientAuthenticators = this.getClientAuthenticators();
+        ClientAuthenticatorIndex index = authenticatorIndex;
+        if (index == null || !index.isBuiltFor(clientAuthenticators)) {
+            index = new ClientAuthenticatorIndex(clientAuthenticators);
+            authenticatorIndex = index;
         }
-        return applicableClientAuthenticators;
+        return index;
+    }
+
+    private boolean isSelectAuthenticatorsByRequestEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(SELECT_AUTHENTICATORS_BY_REQUEST));
     }
 }
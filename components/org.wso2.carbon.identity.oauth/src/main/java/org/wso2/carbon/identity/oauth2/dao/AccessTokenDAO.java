@@ -21,9 +21,14 @@ package org.wso2.carbon.identity.oauth2.dao;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -38,6 +43,31 @@ public interface AccessTokenDAO {
                               AccessTokenDO newAccessTokenDO, AccessTokenDO existingAccessTokenDO,
                               String rawUserStoreDomain) throws IdentityOAuth2Exception;
 
+    /**
+     * Persist an access token issued for an authorization code and redeem the code, i.e. deactivate the code and
+     * link it with the issued token.
+     *
+     * @param accessToken           Access token.
+     * @param consumerKey           Consumer key.
+     * @param newAccessTokenDO      Data object of the new access token.
+     * @param existingAccessTokenDO Data object of the existing access token to be expired, if any.
+     * @param rawUserStoreDomain    User store domain.
+     * @param authzCodeDO           Authorization code data object with the code and the code id.
+     * @return True if the code was redeemed, false if the code was no longer active and nothing was persisted.
+     * @throws IdentityOAuth2Exception If an error occurred while persisting the token or redeeming the code.
+     */
+    default boolean insertAccessTokenAndRedeemAuthorizationCode(String accessToken, String consumerKey,
+                                                                AccessTokenDO newAccessTokenDO,
+                                                                AccessTokenDO existingAccessTokenDO,
+                                                                String rawUserStoreDomain, AuthzCodeDO authzCodeDO)
+            throws IdentityOAuth2Exception {
+
+        insertAccessToken(accessToken, consumerKey, newAccessTokenDO, existingAccessTokenDO, rawUserStoreDomain);
+        authzCodeDO.setOauthTokenId(newAccessTokenDO.getTokenId());
+        OAuthTokenPersistenceFactory.getInstance().getAuthorizationCodeDAO().deactivateAuthorizationCode(authzCodeDO);
+        return true;
+    }
+
     AccessTokenDO getLatestAccessToken(String consumerKey, AuthenticatedUser authzUser, String userStoreDomain,
                                        String scope, boolean includeExpiredTokens) throws IdentityOAuth2Exception;
 
@@ -70,6 +100,19 @@ public interface AccessTokenDAO {
         return null;
     }
 
+    /**
+     * Check whether a token is mapped to a session context identifier.
+     * @param sessionIdentifier SessionIdentifier.
+     * @param tokenId TokenId.
+     * @return True if the token is mapped to the session.
+     * @throws IdentityOAuth2Exception
+     */
+    default boolean isTokenMappedToSession(String sessionIdentifier, String tokenId) throws IdentityOAuth2Exception {
+
+        Set<String> tokenIds = getTokenIdBySessionIdentifier(sessionIdentifier);
+        return tokenIds != null && tokenIds.contains(tokenId);
+    }
+
     /**
      * Store tokenId to sessioncontext identifier mapping.
      * @param sessionIdentifier SessionIdentifier.
@@ -87,6 +130,27 @@ public interface AccessTokenDAO {
 
     AccessTokenDO getAccessToken(String accessTokenIdentifier, boolean includeExpired) throws IdentityOAuth2Exception;
 
+    /**
+     * Get the active access tokens of the given token identifiers.
+     *
+     * @param accessTokenIdentifiers Access token identifiers.
+     * @return Active access tokens mapped by their token identifier. Identifiers without an active token are not
+     * included.
+     * @throws IdentityOAuth2Exception If an error occurs while retrieving the access tokens.
+     */
+    default Map<String, AccessTokenDO> getActiveAccessTokens(Collection<String> accessTokenIdentifiers)
+            throws IdentityOAuth2Exception {
+
+        Map<String, AccessTokenDO> accessTokenDOs = new HashMap<>();
+        for (String accessTokenIdentifier : accessTokenIdentifiers) {
+            AccessTokenDO accessTokenDO = getAccessToken(accessTokenIdentifier, false);
+            if (accessTokenDO != null) {
+                accessTokenDOs.put(accessTokenIdentifier, accessTokenDO);
+            }
+        }
+        return accessTokenDOs;
+    }
+
     Set<String> getAccessTokensByUser(AuthenticatedUser authenticatedUser) throws IdentityOAuth2Exception;
 
     default Set<AccessTokenDO> getAccessTokensByUserForOpenidScope(AuthenticatedUser authenticatedUser)
@@ -109,6 +173,94 @@ public interface AccessTokenDAO {
     Set<AccessTokenDO> getAccessTokensOfUserStore(int tenantId, String userStoreDomain) throws
             IdentityOAuth2Exception;
 
+    /**
+     * Operation applied to each access token read by {@link #forEachAccessToken(int, String, AccessTokenConsumer)}.
+     */
+    @FunctionalInterface
+    interface AccessTokenConsumer {
+
+        void accept(AccessTokenDO accessTokenDO) throws IdentityOAuth2Exception;
+    }
+
+    /**
+     * Apply an operation to each ACTIVE and EXPIRED access token of a tenant without loading all of them at once.
+     * Implementations should read the tokens in bounded pages, so that the memory used does not grow with the number
+     * of tokens of the tenant. The operation is never applied concurrently.
+     *
+     * @param tenantId        Tenant id.
+     * @param userStoreDomain User store domain to limit the tokens to, or null for the tokens of all user stores.
+     * @param consumer        Operation to apply to each token.
+     * @throws IdentityOAuth2Exception If the tokens could not be read or the operation failed.
+     */
+    default void forEachAccessToken(int tenantId, String userStoreDomain, AccessTokenConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        Set<AccessTokenDO> accessTokenDOs = userStoreDomain == null ? getAccessTokensByTenant(tenantId) :
+                getAccessTokensOfUserStore(tenantId, userStoreDomain);
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            consumer.accept(accessTokenDO);
+        }
+    }
+
+    /**
+     * Operation applied to each page of access tokens read by
+     * {@link #forEachAccessTokenPage(int, String, AccessTokenPageConsumer)}.
+     */
+    @FunctionalInterface
+    interface AccessTokenPageConsumer {
+
+        void accept(List<AccessTokenDO> accessTokenDOs) throws IdentityOAuth2Exception;
+    }
+
+    /**
+     * Apply an operation to each page of ACTIVE and EXPIRED access tokens of a tenant, so that work such as revoking
+     * the tokens can be done one page at a time. The list given to the operation is only valid during the call.
+     *
+     * @param tenantId        Tenant id.
+     * @param userStoreDomain User store domain to limit the tokens to, or null for the tokens of all user stores.
+     * @param consumer        Operation to apply to each page of tokens.
+     * @throws IdentityOAuth2Exception If the tokens could not be read or the operation failed.
+     */
+    default void forEachAccessTokenPage(int tenantId, String userStoreDomain, AccessTokenPageConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        Set<AccessTokenDO> accessTokenDOs = userStoreDomain == null ? getAccessTokensByTenant(tenantId) :
+                getAccessTokensOfUserStore(tenantId, userStoreDomain);
+        consumer.accept(new ArrayList<>(accessTokenDOs));
+    }
+
+    /**
+     * Apply an operation to each page of ACTIVE and EXPIRED access tokens issued for an organization.
+     *
+     * @param organizationId Id of the authorized organization.
+     * @param consumer       Operation to apply to each page of tokens.
+     * @throws IdentityOAuth2Exception If the tokens could not be read or the operation failed.
+     */
+    default void forEachAccessTokenPageOfAuthorizedOrg(String organizationId, AccessTokenPageConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        consumer.accept(new ArrayList<>(getAccessTokensByAuthorizedOrg(organizationId)));
+    }
+
+    /**
+     * Apply an operation to each ACTIVE and EXPIRED access token issued to a client of a tenant. Implementations
+     * should select the tokens of the client in the query instead of reading all the tokens of the tenant.
+     *
+     * @param tenantId    Tenant id.
+     * @param consumerKey Consumer key of the client.
+     * @param consumer    Operation to apply to each token.
+     * @throws IdentityOAuth2Exception If the tokens could not be read or the operation failed.
+     */
+    default void forEachAccessTokenOfConsumerKey(int tenantId, String consumerKey, AccessTokenConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        forEachAccessToken(tenantId, null, accessTokenDO -> {
+            if (consumerKey.equals(accessTokenDO.getConsumerKey())) {
+                consumer.accept(accessTokenDO);
+            }
+        });
+    }
+
     /**
      * This method is to revoke specific tokens where tokens should be plain text tokens.
      *
@@ -173,6 +325,26 @@ public interface AccessTokenDAO {
     void updateUserStoreDomain(int tenantId, String currentUserStoreDomain,
                                String newUserStoreDomain) throws IdentityOAuth2Exception;
 
+    /**
+     * Rename the user store domain of a bounded chunk of the access tokens of a tenant. Each chunk is committed on
+     * its own, so that a rename of a large user store does not hold locks on all of its tokens at once. Tokens
+     * already renamed no longer match the current domain, so an interrupted rename can be resumed by calling this
+     * again until it returns zero.
+     *
+     * @param tenantId               Tenant id.
+     * @param currentUserStoreDomain Current user store domain.
+     * @param newUserStoreDomain     New user store domain.
+     * @param chunkSize              Maximum number of tokens to rename.
+     * @return Number of tokens renamed, or zero if no token of the current user store domain is left.
+     * @throws IdentityOAuth2Exception If the tokens could not be renamed.
+     */
+    default int updateUserStoreDomain(int tenantId, String currentUserStoreDomain, String newUserStoreDomain,
+                                      int chunkSize) throws IdentityOAuth2Exception {
+
+        updateUserStoreDomain(tenantId, currentUserStoreDomain, newUserStoreDomain);
+        return 0;
+    }
+
     String getTokenIdByAccessToken(String token) throws IdentityOAuth2Exception;
 
     List<AccessTokenDO> getLatestAccessTokens(String consumerKey, AuthenticatedUser authzUser,
@@ -35,6 +35,7 @@ import org.wso2.carbon.identity.base.IdentityConstants;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
@@ -42,11 +43,13 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.OAuth2Constants.OAuthColumnName;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.util.OAuth2TokenUtil;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.jwt.RevokedJWTRegistry;
 import org.wso2.carbon.identity.organization.management.service.constant.OrganizationManagementConstants;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 
@@ -60,10 +63,12 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -87,8 +92,12 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
 
     private static final String OAUTH_TOKEN_PERSISTENCE_RETRY_COUNT = "OAuth.TokenPersistence.RetryCount";
     private static final int DEFAULT_TOKEN_PERSIST_RETRY_COUNT = 5;
+    private static final String TOKEN_STREAMING_PAGE_SIZE = "OAuth.TokenStreaming.PageSize";
+    private static final int DEFAULT_TOKEN_STREAMING_PAGE_SIZE = 1000;
     private static final String IDN_OAUTH2_ACCESS_TOKEN = "IDN_OAUTH2_ACCESS_TOKEN";
     private static final String CONSENTED_TOKEN_COLUMN_NAME = "CONSENTED_TOKEN";
+    private static final String ACCESS_TOKEN_HASH_COLUMN_NAME = "ACCESS_TOKEN_HASH";
+    private static final int MAX_ACCESS_TOKENS_PER_LOOKUP = 100;
     private boolean isTokenCleanupFeatureEnabled = OAuthServerConfiguration.getInstance().isTokenCleanupEnabled();
     private static final String DEFAULT_TOKEN_TO_SESSION_MAPPING = "DEFAULT";
 
@@ -104,6 +113,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         } catch (SQLException e) {
             throw new IdentityOAuth2Exception("Error while inserting access token.", e);
         }
+        addToTokenIdIndex(consumerKey, accessTokenDO);
     }
 
     private void insertAccessToken(String accessToken, String consumerKey, AccessTokenDO accessTokenDO,
@@ -130,22 +140,17 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     "Authorized user should be available for further execution.");
         }
 
-        String accessTokenHash = accessToken;
-        try {
-            OauthTokenIssuer oauthTokenIssuer = OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
-            //check for persist alias for the token type
-            if (oauthTokenIssuer.usePersistedAccessTokenAlias()) {
-                accessTokenHash = oauthTokenIssuer.getAccessTokenHash(accessToken);
-            }
-        } catch (OAuthSystemException e) {
-            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
-                log.debug("Error while getting access token hash for token(hashed): " + DigestUtils
-                        .sha256Hex(accessTokenHash));
-            }
-            throw new IdentityOAuth2Exception("Error while getting access token hash.", e);
-        } catch (InvalidOAuthClientException e) {
-            throw new IdentityOAuth2Exception(
-                    "Error while retrieving oauth issuer for the app with clientId: " + consumerKey, e);
+        String accessTokenHash = getAccessTokenHash(accessToken, consumerKey);
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            String tokenUserStoreDomain = userStoreDomain;
+            tokenShardRouter.callInTokenShard(accessTokenHash, () -> {
+                insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, tokenUserStoreDomain,
+                        retryAttemptCounter);
+                return null;
+            });
+            return;
         }
 
         if (log.isDebugEnabled()) {
@@ -399,6 +404,53 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
 
     }
 
+    private String getAccessTokenHash(String accessToken, String consumerKey) throws IdentityOAuth2Exception {
+
+        String accessTokenHash = accessToken;
+        try {
+            OauthTokenIssuer oauthTokenIssuer = OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
+            //check for persist alias for the token type
+            if (oauthTokenIssuer.usePersistedAccessTokenAlias()) {
+                accessTokenHash = oauthTokenIssuer.getAccessTokenHash(accessToken);
+            }
+        } catch (OAuthSystemException e) {
+            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
+                log.debug("Error while getting access token hash for token(hashed): " + DigestUtils
+                        .sha256Hex(accessTokenHash));
+            }
+            throw new IdentityOAuth2Exception("Error while getting access token hash.", e);
+        } catch (InvalidOAuthClientException e) {
+            throw new IdentityOAuth2Exception(
+                    "Error while retrieving oauth issuer for the app with clientId: " + consumerKey, e);
+        }
+        return accessTokenHash;
+    }
+
+    /**
+     * Index the id of a persisted access token. Called once the transaction persisting the token is committed, so
+     * that the index never holds a token which was rolled back. The token data object holds the persisted token,
+     * which is the existing token if a 'CON_APP_KEY' constraint violation was recovered by reusing it.
+     *
+     * @param consumerKey   Consumer key of the application.
+     * @param accessTokenDO Persisted access token.
+     */
+    private void addToTokenIdIndex(String consumerKey, AccessTokenDO accessTokenDO) {
+
+        TokenIdIndex tokenIdIndex = TokenIdIndex.getInstance();
+        if (!isPersistenceEnabled() || !tokenIdIndex.isEnabled() || accessTokenDO.getAccessToken() == null) {
+            return;
+        }
+        try {
+            String accessTokenHash = getAccessTokenHash(accessTokenDO.getAccessToken(), consumerKey);
+            tokenIdIndex.addToken(accessTokenDO.getTokenId(),
+                    getPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenHash),
+                    getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenHash));
+        } catch (IdentityOAuth2Exception e) {
+            // The index is only a shortcut for lookups by token id, which fall back to the database.
+            log.warn("Error while indexing the id of the access token of client: " + consumerKey, e);
+        }
+    }
+
     @Override
     public boolean insertAccessToken(String accessToken, String consumerKey,
                                      AccessTokenDO newAccessTokenDO, AccessTokenDO existingAccessTokenDO,
@@ -426,9 +478,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         try {
             if (existingAccessTokenDO != null) {
                 //  Mark the existing access token as expired on database if a token exist for the user
-                updateAccessTokenState(connection, existingAccessTokenDO.getTokenId(), OAuthConstants.TokenStates
-                        .TOKEN_STATE_EXPIRED, UUID.randomUUID().toString(), userStoreDomain,
-                        existingAccessTokenDO.getGrantType());
+                expireExistingAccessToken(connection, existingAccessTokenDO, userStoreDomain);
             }
             insertAccessToken(accessToken, consumerKey, newAccessTokenDO, connection, userStoreDomain);
 
@@ -436,6 +486,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 oldTokenCleanupObject.cleanupTokenByTokenId(existingAccessTokenDO.getTokenId(), connection);
             }
             IdentityDatabaseUtil.commitTransaction(connection);
+            addToTokenIdIndex(consumerKey, newAccessTokenDO);
             return true;
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
@@ -445,6 +496,73 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         }
     }
 
+    @Override
+    public boolean insertAccessTokenAndRedeemAuthorizationCode(String accessToken, String consumerKey,
+                                                               AccessTokenDO newAccessTokenDO,
+                                                               AccessTokenDO existingAccessTokenDO,
+                                                               String rawUserStoreDomain, AuthzCodeDO authzCodeDO)
+            throws IdentityOAuth2Exception {
+
+        if (!isPersistenceEnabled() || !OAuth2Util.isAuthCodePersistenceEnabled()) {
+            return AccessTokenDAO.super.insertAccessTokenAndRedeemAuthorizationCode(accessToken, consumerKey,
+                    newAccessTokenDO, existingAccessTokenDO, rawUserStoreDomain, authzCodeDO);
+        }
+
+        String userStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(rawUserStoreDomain);
+        authzCodeDO.setOauthTokenId(newAccessTokenDO.getTokenId());
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection();
+        try {
+            if (existingAccessTokenDO != null) {
+                //  Mark the existing access token as expired on database if a token exist for the user
+                expireExistingAccessToken(connection, existingAccessTokenDO, userStoreDomain);
+            }
+            // The token is inserted before the code is redeemed, since a 'CON_APP_KEY' constraint violation
+            // recovery rolls back the statements executed on the connection.
+            insertAccessToken(accessToken, consumerKey, newAccessTokenDO, connection, userStoreDomain);
+
+            // The code is deactivated only if it is still active. If another request redeemed the code in the
+            // meantime, no row is updated and the token persisted for this request is rolled back.
+            if (!redeemActiveAuthorizationCode(connection, authzCodeDO)) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                if (log.isDebugEnabled()) {
+                    log.debug("Authorization code with id: " + authzCodeDO.getAuthzCodeId() + " of client: " +
+                            consumerKey + " is no longer active. Hence the access token is not persisted.");
+                }
+                return false;
+            }
+            OAuthTokenPersistenceFactory.getInstance().getRequestObjectDAO().updateRequestObjectReferenceCodeToToken(
+                    authzCodeDO.getAuthzCodeId(), newAccessTokenDO.getTokenId(), connection);
+
+            if (isTokenCleanupFeatureEnabled && existingAccessTokenDO != null) {
+                oldTokenCleanupObject.cleanupTokenByTokenId(existingAccessTokenDO.getTokenId(), connection);
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+            addToTokenIdIndex(consumerKey, newAccessTokenDO);
+            return true;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error occurred while redeeming authorization code with id: " +
+                    authzCodeDO.getAuthzCodeId(), e);
+        } catch (IdentityOAuth2Exception e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw e;
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    private boolean redeemActiveAuthorizationCode(Connection connection, AuthzCodeDO authzCodeDO)
+            throws SQLException {
+
+        try (PreparedStatement prepStmt = connection.prepareStatement(
+                SQLQueries.REDEEM_ACTIVE_AUTHZ_CODE_AND_INSERT_CURRENT_TOKEN)) {
+            prepStmt.setString(1, authzCodeDO.getOauthTokenId());
+            prepStmt.setString(2, authzCodeDO.getAuthzCodeId());
+            return prepStmt.executeUpdate() > 0;
+        }
+    }
+
     @Override
     public AccessTokenDO getLatestAccessToken(String consumerKey, AuthenticatedUser authzUser, String userStoreDomain,
                                               String scope, boolean includeExpiredTokens)
@@ -458,6 +576,13 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                                               String scope, String tokenBindingReference, boolean includeExpiredTokens)
             throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            String tokenUserStoreDomain = userStoreDomain;
+            return getLatestAccessToken(tokenShardRouter.queryAllShards(() -> getLatestAccessToken(consumerKey,
+                    authzUser, tokenUserStoreDomain, scope, tokenBindingReference, includeExpiredTokens)));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving latest access token for client: " + consumerKey + " user: "
                     + authzUser.getLoggableUserId() + " scope: " + scope);
@@ -930,6 +1055,13 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                                               String userStoreDomain, boolean includeExpired)
             throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            String tokenUserStoreDomain = userStoreDomain;
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getAccessTokens(consumerKey, authenticatedUser,
+                    tokenUserStoreDomain, includeExpired));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving access tokens for client: " + consumerKey + " user: " + authenticatedUser.toString());
         }
@@ -1112,73 +1244,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             while (resultSet.next()) {
 
                 if (iterateId == 0) {
-
-                    String consumerKey = getPersistenceProcessor().getPreprocessedClientId(resultSet.getString(1));
-                    String authorizedUser = resultSet.getString(2);
-                    int tenantId = resultSet.getInt(3);
-                    String tenantDomain = OAuth2Util.getTenantDomain(tenantId);
-                    String userDomain = resultSet.getString(4);
-                    String[] scope = OAuth2Util.buildScopeArray(resultSet.getString(5));
-                    Timestamp issuedTime = resultSet.getTimestamp(6, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-                    Timestamp refreshTokenIssuedTime = resultSet.getTimestamp(7,
-                            Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-                    long validityPeriodInMillis = resultSet.getLong(8);
-                    long refreshTokenValidityPeriodMillis = resultSet.getLong(9);
-                    String tokenType = resultSet.getString(10);
-                    String refreshToken = resultSet.getString(11);
-                    String tokenId = resultSet.getString(12);
-                    String grantType = resultSet.getString(13);
-                    String subjectIdentifier = resultSet.getString(14);
-                    String authenticatedIDP = null;
-                    String tokenBindingReference = resultSet.getString(15);
-                    String authorizedOrganization = resultSet.getString(16);
-                    int appResideTenantId = resultSet.getInt(17);
-
-                    if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                        authenticatedIDP = resultSet.getString(18);
-                    }
-
-                    boolean isConsentedToken = false;
-                    if (isConsentedColumnDataFetched) {
-                        int consentedTokenColumnIndex = resultSet.findColumn(CONSENTED_TOKEN_COLUMN_NAME);
-                        isConsentedToken = resultSet.getBoolean(consentedTokenColumnIndex);
-                    }
-
-                    AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authorizedUser,
-                            userDomain, tenantDomain, authenticatedIDP);
-                    ServiceProvider serviceProvider;
-                    try {
-                        serviceProvider = OAuth2ServiceComponentHolder.getApplicationMgtService().
-                                getServiceProviderByClientId(consumerKey, OAuthConstants.Scope.OAUTH2, tenantDomain);
-                    } catch (IdentityApplicationManagementException e) {
-                        throw new IdentityOAuth2Exception("Error occurred while retrieving OAuth2 application data " +
-                                "for client id " + consumerKey, e);
-                    }
-
-                    user.setAuthenticatedSubjectIdentifier(subjectIdentifier, serviceProvider);
-
-                    dataDO = new AccessTokenDO(consumerKey, user, scope, issuedTime, refreshTokenIssuedTime,
-                            validityPeriodInMillis, refreshTokenValidityPeriodMillis, tokenType);
-                    dataDO.setAccessToken(accessTokenIdentifier);
-                    dataDO.setRefreshToken(refreshToken);
-                    dataDO.setTokenId(tokenId);
-                    dataDO.setGrantType(grantType);
-                    dataDO.setTenantID(tenantId);
-                    dataDO.setIsConsentedToken(isConsentedToken);
-
-                    /* For organization bound access tokens, the authenticated user should be populated considering
-                    below factors. */
-                    if (!OAuthConstants.AuthorizedOrganization.NONE.equals(authorizedOrganization)) {
-                        dataDO.getAuthzUser().setAccessingOrganization(authorizedOrganization);
-                        String userResidentOrg = resolveOrganizationId(dataDO.getAuthzUser().getTenantDomain());
-                        dataDO.getAuthzUser().setUserResidentOrganization(userResidentOrg);
-                        // Set authorized user tenant domain to the tenant domain of the application.
-                        dataDO.getAuthzUser().setTenantDomain(IdentityTenantUtil.getTenantDomain(appResideTenantId));
-                    }
-
-                    if (StringUtils.isNotBlank(tokenBindingReference) && !NONE.equals(tokenBindingReference)) {
-                        setTokenBindingToAccessTokenDO(dataDO, connection, tokenId);
-                    }
+                    dataDO = buildAccessTokenDOFromRow(resultSet, accessTokenIdentifier,
+                            isConsentedColumnDataFetched, connection);
                 } else {
                     scopes.add(resultSet.getString(5));
                 }
@@ -1200,6 +1267,185 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         return dataDO;
     }
 
+    @Override
+    public Map<String, AccessTokenDO> getActiveAccessTokens(Collection<String> accessTokenIdentifiers)
+            throws IdentityOAuth2Exception {
+
+        Map<String, AccessTokenDO> accessTokenDOs = new HashMap<>();
+        if (accessTokenIdentifiers == null || accessTokenIdentifiers.isEmpty()) {
+            return accessTokenDOs;
+        }
+
+        String sql;
+        boolean isConsentedColumnDataFetched = OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled();
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            sql = isConsentedColumnDataFetched ? SQLQueries.RETRIEVE_ACTIVE_ACCESS_TOKENS_IDP_NAME_WITH_CONSENTED_TOKEN
+                    : SQLQueries.RETRIEVE_ACTIVE_ACCESS_TOKENS_IDP_NAME;
+        } else {
+            sql = isConsentedColumnDataFetched ? SQLQueries.RETRIEVE_ACTIVE_ACCESS_TOKENS_WITH_CONSENTED_TOKEN
+                    : SQLQueries.RETRIEVE_ACTIVE_ACCESS_TOKENS;
+        }
+
+        // Tokens of different partitions or shards are stored in different tables. Group them by the query to run and
+        // keep the mapping from the hash stored in the table back to the token identifier.
+        Map<String, Map<String, String>> tokenIdentifiersByHashOfSql = new LinkedHashMap<>();
+        for (String accessTokenIdentifier : accessTokenIdentifiers) {
+            String partitionedSql = OAuth2Util.getTokenPartitionedSqlByToken(sql, accessTokenIdentifier);
+            tokenIdentifiersByHashOfSql.computeIfAbsent(partitionedSql, key -> new LinkedHashMap<>())
+                    .put(getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenIdentifier),
+                            accessTokenIdentifier);
+        }
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+        try {
+            for (Map.Entry<String, Map<String, String>> entry : tokenIdentifiersByHashOfSql.entrySet()) {
+                List<String> tokenHashes = new ArrayList<>(entry.getValue().keySet());
+                for (int from = 0; from < tokenHashes.size(); from += MAX_ACCESS_TOKENS_PER_LOOKUP) {
+                    List<String> tokenHashesOfLookup = tokenHashes.subList(from,
+                            Math.min(from + MAX_ACCESS_TOKENS_PER_LOOKUP, tokenHashes.size()));
+                    retrieveActiveAccessTokens(connection, entry.getKey(), tokenHashesOfLookup, entry.getValue(),
+                            isConsentedColumnDataFetched, accessTokenDOs);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error when retrieving access tokens", e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieved " + accessTokenDOs.size() + " active access tokens out of " +
+                    accessTokenIdentifiers.size() + " token identifiers with " + tokenIdentifiersByHashOfSql.size() +
+                    " token table lookups.");
+        }
+        return accessTokenDOs;
+    }
+
+    private void retrieveActiveAccessTokens(Connection connection, String sql, List<String> tokenHashes,
+                                            Map<String, String> tokenIdentifiersByHash,
+                                            boolean isConsentedColumnDataFetched,
+                                            Map<String, AccessTokenDO> accessTokenDOs)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String placeholders = String.join(", ", Collections.nCopies(tokenHashes.size(), "?"));
+        try (PreparedStatement prepStmt = connection.prepareStatement(
+                sql.replace(SQLQueries.ACCESS_TOKEN_HASH_LIST_PLACEHOLDER, placeholders))) {
+            for (int i = 0; i < tokenHashes.size(); i++) {
+                prepStmt.setString(i + 1, tokenHashes.get(i));
+            }
+            Map<String, List<String>> additionalScopes = new HashMap<>();
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                int tokenHashColumnIndex = resultSet.findColumn(ACCESS_TOKEN_HASH_COLUMN_NAME);
+                while (resultSet.next()) {
+                    String tokenHash = resultSet.getString(tokenHashColumnIndex);
+                    String accessTokenIdentifier = tokenIdentifiersByHash.get(tokenHash);
+                    if (accessTokenIdentifier == null) {
+                        continue;
+                    }
+                    // Each scope of a token is returned in a separate row.
+                    if (accessTokenDOs.containsKey(accessTokenIdentifier)) {
+                        additionalScopes.computeIfAbsent(accessTokenIdentifier, key -> new ArrayList<>())
+                                .add(resultSet.getString(5));
+                    } else {
+                        accessTokenDOs.put(accessTokenIdentifier, buildAccessTokenDOFromRow(resultSet,
+                                accessTokenIdentifier, isConsentedColumnDataFetched, connection));
+                    }
+                }
+            }
+            for (Map.Entry<String, List<String>> entry : additionalScopes.entrySet()) {
+                AccessTokenDO accessTokenDO = accessTokenDOs.get(entry.getKey());
+                accessTokenDO.setScope((String[]) ArrayUtils.addAll(accessTokenDO.getScope(),
+                        entry.getValue().toArray(new String[0])));
+            }
+        }
+    }
+
+    /**
+     * Build an access token from the current row of an access token query. The columns of the row are expected
+     * in the order of {@link SQLQueries#RETRIEVE_ACTIVE_ACCESS_TOKEN}.
+     *
+     * @param resultSet                    Result set positioned at the row.
+     * @param accessTokenIdentifier        Identifier of the access token.
+     * @param isConsentedColumnDataFetched Whether the consented token column is available in the row.
+     * @param connection                   Connection to use for the token binding lookup.
+     * @return Access token data object.
+     * @throws SQLException            If the row can not be read.
+     * @throws IdentityOAuth2Exception If the application or organization of the token can not be resolved.
+     */
+    private AccessTokenDO buildAccessTokenDOFromRow(ResultSet resultSet, String accessTokenIdentifier,
+                                                    boolean isConsentedColumnDataFetched, Connection connection)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String consumerKey = getPersistenceProcessor().getPreprocessedClientId(resultSet.getString(1));
+        String authorizedUser = resultSet.getString(2);
+        int tenantId = resultSet.getInt(3);
+        String tenantDomain = OAuth2Util.getTenantDomain(tenantId);
+        String userDomain = resultSet.getString(4);
+        String[] scope = OAuth2Util.buildScopeArray(resultSet.getString(5));
+        Timestamp issuedTime = resultSet.getTimestamp(6, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+        Timestamp refreshTokenIssuedTime = resultSet.getTimestamp(7,
+                Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+        long validityPeriodInMillis = resultSet.getLong(8);
+        long refreshTokenValidityPeriodMillis = resultSet.getLong(9);
+        String tokenType = resultSet.getString(10);
+        String refreshToken = resultSet.getString(11);
+        String tokenId = resultSet.getString(12);
+        String grantType = resultSet.getString(13);
+        String subjectIdentifier = resultSet.getString(14);
+        String authenticatedIDP = null;
+        String tokenBindingReference = resultSet.getString(15);
+        String authorizedOrganization = resultSet.getString(16);
+        int appResideTenantId = resultSet.getInt(17);
+
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            authenticatedIDP = resultSet.getString(18);
+        }
+
+        boolean isConsentedToken = false;
+        if (isConsentedColumnDataFetched) {
+            int consentedTokenColumnIndex = resultSet.findColumn(CONSENTED_TOKEN_COLUMN_NAME);
+            isConsentedToken = resultSet.getBoolean(consentedTokenColumnIndex);
+        }
+
+        AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authorizedUser,
+                userDomain, tenantDomain, authenticatedIDP);
+        ServiceProvider serviceProvider;
+        try {
+            serviceProvider = OAuth2ServiceComponentHolder.getApplicationMgtService().
+                    getServiceProviderByClientId(consumerKey, OAuthConstants.Scope.OAUTH2, tenantDomain);
+        } catch (IdentityApplicationManagementException e) {
+            throw new IdentityOAuth2Exception("Error occurred while retrieving OAuth2 application data " +
+                    "for client id " + consumerKey, e);
+        }
+
+        user.setAuthenticatedSubjectIdentifier(subjectIdentifier, serviceProvider);
+
+        AccessTokenDO dataDO = new AccessTokenDO(consumerKey, user, scope, issuedTime, refreshTokenIssuedTime,
+                validityPeriodInMillis, refreshTokenValidityPeriodMillis, tokenType);
+        dataDO.setAccessToken(accessTokenIdentifier);
+        dataDO.setRefreshToken(refreshToken);
+        dataDO.setTokenId(tokenId);
+        dataDO.setGrantType(grantType);
+        dataDO.setTenantID(tenantId);
+        dataDO.setIsConsentedToken(isConsentedToken);
+
+        /* For organization bound access tokens, the authenticated user should be populated considering
+        below factors. */
+        if (!OAuthConstants.AuthorizedOrganization.NONE.equals(authorizedOrganization)) {
+            dataDO.getAuthzUser().setAccessingOrganization(authorizedOrganization);
+            String userResidentOrg = resolveOrganizationId(dataDO.getAuthzUser().getTenantDomain());
+            dataDO.getAuthzUser().setUserResidentOrganization(userResidentOrg);
+            // Set authorized user tenant domain to the tenant domain of the application.
+            dataDO.getAuthzUser().setTenantDomain(IdentityTenantUtil.getTenantDomain(appResideTenantId));
+        }
+
+        if (StringUtils.isNotBlank(tokenBindingReference) && !NONE.equals(tokenBindingReference)) {
+            setTokenBindingToAccessTokenDO(dataDO, connection, tokenId);
+        }
+
+        return dataDO;
+    }
+
     private void setTokenBindingToAccessTokenDO(AccessTokenDO dataDO, Connection connection, String tokenId)
             throws SQLException {
 
@@ -1257,6 +1503,10 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 preparedStatement.setString(4, sessionContextIdentifier);
                 preparedStatement.setInt(5, tenantId);
                 preparedStatement.execute();
+                SessionTokenIndex sessionTokenIndex = SessionTokenIndex.getInstance();
+                if (sessionTokenIndex.isEnabled()) {
+                    sessionTokenIndex.addToken(sessionContextIdentifier, tokenId);
+                }
             } catch (SQLException e) {
                 String errorMsg = "Error while persisting token to session mapping for sessionId: " +
                         sessionContextIdentifier;
@@ -1300,9 +1550,27 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         } finally {
             IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
         }
+        SessionTokenIndex sessionTokenIndex = SessionTokenIndex.getInstance();
+        if (sessionTokenIndex.isEnabled()) {
+            sessionTokenIndex.addTokens(sessionId, tokenIds);
+        }
         return tokenIds;
     }
 
+    @Override
+    public boolean isTokenMappedToSession(String sessionIdentifier, String tokenId) throws IdentityOAuth2Exception {
+
+        SessionTokenIndex sessionTokenIndex = SessionTokenIndex.getInstance();
+        if (sessionTokenIndex.isEnabled() && sessionTokenIndex.isTokenMapped(sessionIdentifier, tokenId)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Token to session mapping of token id: " + tokenId + " is found in the session token " +
+                        "index.");
+            }
+            return true;
+        }
+        return getTokenIdBySessionIdentifier(sessionIdentifier).contains(tokenId);
+    }
+
     public void updateAccessTokenState(String tokenId, String tokenState) throws IdentityOAuth2Exception {
         updateAccessTokenState(tokenId, tokenState, null);
     }
@@ -1315,13 +1583,18 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 log.debug("Changing status of access token with id: " + tokenId + " to: " + tokenState);
             }
 
-            String sql = SQLQueries.UPDATE_TOKEN_STATE;
-            try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
-
-                prepStmt.setString(1, tokenState);
-                prepStmt.setString(2, UUID.randomUUID().toString());
-                prepStmt.setString(3, tokenId);
-                prepStmt.executeUpdate();
+            TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+            List<String> sqlOfShards = tokenShardRouter.callInEachShard(() ->
+                    tokenShardRouter.getSqlOfCurrentShard(SQLQueries.UPDATE_TOKEN_STATE));
+            try {
+                for (String sql : sqlOfShards) {
+                    try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+                        prepStmt.setString(1, tokenState);
+                        prepStmt.setString(2, UUID.randomUUID().toString());
+                        prepStmt.setString(3, tokenId);
+                        prepStmt.executeUpdate();
+                    }
+                }
                 tokenUpdateSuccessful = true;
 
                 if (isTokenCleanupFeatureEnabled && !OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE.equals(tokenState)) {
@@ -1340,6 +1613,9 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     tokenId + " to Token State : " + tokenState, e);
         }
         if (tokenUpdateSuccessful) {
+            if (!OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE.equals(tokenState)) {
+                OAuthUtil.clearOAuthCacheByTokenId(tokenId);
+            }
             if (StringUtils.equals(grantType, OAuthConstants.GrantTypes.CLIENT_CREDENTIALS) ||
                     StringUtils.equals(grantType, OAuthConstants.GrantTypes.PASSWORD)) {
                 OAuth2TokenUtil.postUpdateAccessToken(tokenId, tokenState, false);
@@ -1350,23 +1626,52 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     }
 
     private boolean isPreviousTokenConsented(Connection connection, String tokenId)
-            throws SQLException {
+            throws SQLException, IdentityOAuth2Exception {
 
-        String sql = SQLQueries.GET_TOKEN_IS_CONSENTED_OR_NOT;
-        PreparedStatement prepStmt = connection.prepareStatement(sql);
-        prepStmt.setString(1, tokenId);
-        ResultSet resultSet = prepStmt.executeQuery();
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        List<String> sqlOfShards = tokenShardRouter.callInEachShard(() ->
+                tokenShardRouter.getSqlOfCurrentShard(SQLQueries.GET_TOKEN_IS_CONSENTED_OR_NOT));
         String initialGrant = StringUtils.EMPTY;
-        while (resultSet.next()) {
-            initialGrant = resultSet.getString(1);
+        for (String sql : sqlOfShards) {
+            try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+                prepStmt.setString(1, tokenId);
+                try (ResultSet resultSet = prepStmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        initialGrant = resultSet.getString(1);
+                    }
+                }
+            }
         }
         return Boolean.parseBoolean(initialGrant);
     }
 
+    /**
+     * Marks the existing token of a new token as expired. The existing token may come from a cache or from the token
+     * reuse index and may have been revoked in the meantime, hence only a token that is still active is expired.
+     */
+    private void expireExistingAccessToken(Connection connection, AccessTokenDO existingAccessTokenDO,
+                                           String userStoreDomain) throws IdentityOAuth2Exception, SQLException {
+
+        String tokenId = existingAccessTokenDO.getTokenId();
+        boolean expired = updateAccessTokenState(connection, tokenId, OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED,
+                UUID.randomUUID().toString(), userStoreDomain, existingAccessTokenDO.getGrantType(), true);
+        if (!expired && log.isDebugEnabled()) {
+            log.debug("Existing access token with id: " + tokenId + " is no longer active. Hence its state is " +
+                    "not changed.");
+        }
+    }
+
     private void updateAccessTokenState(Connection connection, String tokenId, String tokenState, String tokenStateId,
                                         String userStoreDomain, String grantType)
             throws IdentityOAuth2Exception, SQLException {
 
+        updateAccessTokenState(connection, tokenId, tokenState, tokenStateId, userStoreDomain, grantType, false);
+    }
+
+    private boolean updateAccessTokenState(Connection connection, String tokenId, String tokenState,
+                                           String tokenStateId, String userStoreDomain, String grantType,
+                                           boolean onlyIfActive) throws IdentityOAuth2Exception, SQLException {
+
         PreparedStatement prepStmt = null;
         try {
             if (log.isDebugEnabled()) {
@@ -1374,19 +1679,31 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                         " userStoreDomain: " + userStoreDomain);
             }
 
-            String sql = SQLQueries.UPDATE_TOKEN_STATE;
-            sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userStoreDomain);
-            prepStmt = connection.prepareStatement(sql);
-            prepStmt.setString(1, tokenState);
-            prepStmt.setString(2, tokenStateId);
-            prepStmt.setString(3, tokenId);
-            prepStmt.executeUpdate();
+            // The shard of a token is not known by its id, hence the state is updated in every shard.
+            String updateTokenStateSql = onlyIfActive ? SQLQueries.UPDATE_ACTIVE_TOKEN_STATE :
+                    SQLQueries.UPDATE_TOKEN_STATE;
+            List<String> sqlOfShards = TokenShardRouter.getInstance().callInEachShard(() ->
+                    OAuth2Util.getTokenPartitionedSqlByUserStore(updateTokenStateSql, userStoreDomain));
+            int updatedRows = 0;
+            for (String sql : sqlOfShards) {
+                IdentityDatabaseUtil.closeStatement(prepStmt);
+                prepStmt = connection.prepareStatement(sql);
+                prepStmt.setString(1, tokenState);
+                prepStmt.setString(2, tokenStateId);
+                prepStmt.setString(3, tokenId);
+                updatedRows += prepStmt.executeUpdate();
+            }
+            if (onlyIfActive && updatedRows == 0) {
+                // The token is not active anymore, hence its state was not changed.
+                return false;
+            }
             if (StringUtils.equals(grantType, OAuthConstants.GrantTypes.CLIENT_CREDENTIALS) ||
                     StringUtils.equals(grantType, OAuthConstants.GrantTypes.PASSWORD)) {
                 OAuth2TokenUtil.postUpdateAccessToken(tokenId, tokenState, false);
             } else {
                 OAuth2TokenUtil.postUpdateAccessToken(tokenId, tokenState, true);
             }
+            return true;
 
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
@@ -1406,7 +1723,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public void revokeAccessTokens(String[] tokens) throws IdentityOAuth2Exception {
 
-        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+        if ((OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) ||
+                TokenShardRouter.getInstance().isEnabled()) {
             revokeAccessTokensIndividually(tokens);
         } else {
             revokeAccessTokensInBatch(tokens);
@@ -1430,7 +1748,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
 
         if (isHashedToken) {
             // Token is hashed, no need to hash it again.
-            if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+            if ((OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) ||
+                    TokenShardRouter.getInstance().isEnabled()) {
                 revokeAccessTokensIndividually(tokens, true);
             } else {
                 revokeAccessTokensInBatch(tokens, true);
@@ -1487,6 +1806,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         if (tokens.length > 1) {
             try {
                 List<String> oldTokens = new ArrayList<>();
+                List<String> revokedTokenIds = getTokenIdsToClearFromCache(connection, tokens, isHashedToken);
                 String sqlQuery = SQLQueries.REVOKE_ACCESS_TOKEN.replace(IDN_OAUTH2_ACCESS_TOKEN,
                         accessTokenStoreTable);
                 ps = connection.prepareStatement(sqlQuery);
@@ -1502,7 +1822,10 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     oldTokens.add(getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token));
                 }
                 ps.executeBatch();
+                // Recorded before the commit, so that a failure to record the tokens fails the revocation.
+                recordRevokedTokens(tokens, isHashedToken);
                 IdentityDatabaseUtil.commitTransaction(connection);
+                clearOAuthCacheByTokenIds(revokedTokenIds);
                 // To revoke request objects which have persisted against the access token.
                 OAuth2TokenUtil.postUpdateAccessTokens(Arrays.asList(tokens), OAuthConstants.TokenStates.
                         TOKEN_STATE_REVOKED);
@@ -1513,6 +1836,9 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 IdentityDatabaseUtil.rollbackTransaction(connection);
                 throw new IdentityOAuth2Exception("Error occurred while revoking Access Tokens : " +
                         Arrays.toString(tokens), e);
+            } catch (IdentityOAuth2Exception e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
             } finally {
                 IdentityDatabaseUtil.closeAllConnections(connection, null, ps);
             }
@@ -1520,6 +1846,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         if (tokens.length == 1) {
             try {
                 connection.setAutoCommit(true);
+                List<String> revokedTokenIds = getTokenIdsToClearFromCache(connection, tokens, isHashedToken);
                 String sqlQuery = SQLQueries.REVOKE_ACCESS_TOKEN.replace(IDN_OAUTH2_ACCESS_TOKEN,
                         accessTokenStoreTable);
                 ps = connection.prepareStatement(sqlQuery);
@@ -1530,7 +1857,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 } else {
                     ps.setString(3, getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(tokens[0]));
                 }
+                // Recorded before the update is auto committed, so that a failure to record the token fails the
+                // revocation.
+                recordRevokedTokens(tokens, isHashedToken);
                 ps.executeUpdate();
+                clearOAuthCacheByTokenIds(revokedTokenIds);
 
                 // To revoke request objects which have persisted against the access token.
                 OAuth2TokenUtil.postUpdateAccessTokens(Arrays.asList(tokens), OAuthConstants.TokenStates.
@@ -1571,6 +1902,25 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public void revokeAccessTokensIndividually(String[] tokens, boolean isHashedToken) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            if (isHashedToken) {
+                // The shard of a hashed token is not known, hence the tokens are revoked in every shard.
+                tokenShardRouter.callInAllShards(() -> {
+                    revokeAccessTokensIndividually(tokens, true);
+                    return null;
+                });
+            } else {
+                for (String token : tokens) {
+                    tokenShardRouter.callInTokenShard(token, () -> {
+                        revokeAccessTokensIndividually(new String[]{token}, false);
+                        return null;
+                    });
+                }
+            }
+            return;
+        }
+
         List<String> accessTokenId = new ArrayList<>();
         if (log.isDebugEnabled()) {
             if (IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
@@ -1587,6 +1937,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         Connection connection = IdentityDatabaseUtil.getDBConnection();
         PreparedStatement ps = null;
         try {
+            List<String> revokedTokenIds = getTokenIdsToClearFromCache(connection, tokens, isHashedToken);
             for (String token : tokens) {
                 String sqlQuery = OAuth2Util.getTokenPartitionedSqlByToken(SQLQueries.REVOKE_ACCESS_TOKEN, token);
                 ps = connection.prepareStatement(sqlQuery);
@@ -1615,16 +1966,80 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                             getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token), connection);
                 }
             }
+            // Recorded before the commit, so that a failure to record the tokens fails the revocation.
+            recordRevokedTokens(tokens, isHashedToken);
             IdentityDatabaseUtil.commitTransaction(connection);
+            clearOAuthCacheByTokenIds(revokedTokenIds);
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new IdentityOAuth2Exception("Error occurred while revoking Access Token : " +
                     Arrays.toString(tokens), e);
+        } catch (IdentityOAuth2Exception e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw e;
         } finally {
             IdentityDatabaseUtil.closeAllConnections(connection, null, ps);
         }
     }
 
+    /**
+     * Get the ids of the given tokens, so that the caches keyed by token id can be cleared once the tokens are
+     * revoked. The ids are looked up only if such a cache is enabled.
+     *
+     * @param connection    Database connection.
+     * @param tokens        Tokens that are going to be revoked.
+     * @param isHashedToken Given tokens are hashed tokens or plain text.
+     * @return Ids of the tokens.
+     */
+    private List<String> getTokenIdsToClearFromCache(Connection connection, String[] tokens, boolean isHashedToken)
+            throws SQLException, IdentityOAuth2Exception {
+
+        List<String> tokenIds = new ArrayList<>();
+        if (!OAuthUtil.isTokenIdKeyedCacheEnabled()) {
+            return tokenIds;
+        }
+        for (String token : tokens) {
+            String sql = OAuth2Util.getTokenPartitionedSqlByToken(SQLQueries.RETRIEVE_TOKEN_ID_BY_TOKEN, token);
+            try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+                prepStmt.setString(1, isHashedToken ? token :
+                        getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token));
+                try (ResultSet resultSet = prepStmt.executeQuery()) {
+                    if (resultSet.next()) {
+                        tokenIds.add(resultSet.getString("TOKEN_ID"));
+                    }
+                }
+            }
+        }
+        return tokenIds;
+    }
+
+    private void clearOAuthCacheByTokenIds(List<String> tokenIds) {
+
+        for (String tokenId : tokenIds) {
+            OAuthUtil.clearOAuthCacheByTokenId(tokenId);
+        }
+    }
+
+    private void recordRevokedTokens(String[] tokens, boolean isHashedToken) throws IdentityOAuth2Exception {
+
+        boolean revokedJWTRegistryEnabled = RevokedJWTRegistry.isEnabled();
+        TokenIdIndex tokenIdIndex = TokenIdIndex.getInstance();
+        if (!revokedJWTRegistryEnabled && !tokenIdIndex.isEnabled()) {
+            return;
+        }
+        List<String> tokenHashes = new ArrayList<>(tokens.length);
+        for (String token : tokens) {
+            tokenHashes.add(isHashedToken ? token :
+                    getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token));
+        }
+        if (revokedJWTRegistryEnabled) {
+            RevokedJWTRegistry.getInstance().addRevokedTokenHashes(tokenHashes);
+        }
+        if (tokenIdIndex.isEnabled()) {
+            tokenIdIndex.removeTokensByHash(tokenHashes);
+        }
+    }
+
     /**
      * Ths method is to revoke specific tokens
      *
@@ -1641,15 +2056,19 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         Connection connection = IdentityDatabaseUtil.getDBConnection();
         PreparedStatement ps = null;
         try {
-            String sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserId(SQLQueries.REVOKE_ACCESS_TOKEN_BY_TOKEN_ID,
-                    userId);
-            ps = connection.prepareStatement(sqlQuery);
-            ps.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
-            ps.setString(2, UUID.randomUUID().toString());
-            ps.setString(3, tokenId);
-            int count = ps.executeUpdate();
-            if (log.isDebugEnabled()) {
-                log.debug("Number of rows being updated : " + count);
+            // The shard of a token is not known by its id, hence the token is revoked in every shard.
+            List<String> sqlOfShards = TokenShardRouter.getInstance().callInEachShard(() ->
+                    OAuth2Util.getTokenPartitionedSqlByUserId(SQLQueries.REVOKE_ACCESS_TOKEN_BY_TOKEN_ID, userId));
+            for (String sqlQuery : sqlOfShards) {
+                IdentityDatabaseUtil.closeStatement(ps);
+                ps = connection.prepareStatement(sqlQuery);
+                ps.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
+                ps.setString(2, UUID.randomUUID().toString());
+                ps.setString(3, tokenId);
+                int count = ps.executeUpdate();
+                if (log.isDebugEnabled()) {
+                    log.debug("Number of rows being updated : " + count);
+                }
             }
             IdentityDatabaseUtil.commitTransaction(connection);
             revoked = true;
@@ -1664,6 +2083,10 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             IdentityDatabaseUtil.closeAllConnections(connection, null, ps);
         }
         if (revoked) {
+            if (TokenIdIndex.getInstance().isEnabled()) {
+                TokenIdIndex.getInstance().removeToken(tokenId);
+            }
+            OAuthUtil.clearOAuthCacheByTokenId(tokenId);
             // To revoke the tokens from Request Object table.
             OAuth2TokenUtil.postUpdateAccessToken(tokenId, OAuthConstants.TokenStates.
                     TOKEN_STATE_REVOKED, true);
@@ -1680,6 +2103,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<String> getAccessTokensByUser(AuthenticatedUser authenticatedUser) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getAccessTokensByUser(authenticatedUser));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving access tokens of user: " + authenticatedUser.getLoggableUserId());
         }
@@ -1746,6 +2174,12 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getAccessTokensByUserForOpenidScope(AuthenticatedUser authenticatedUser)
             throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() ->
+                    getAccessTokensByUserForOpenidScope(authenticatedUser));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving access tokens of user: " + authenticatedUser.toString());
         }
@@ -1870,6 +2304,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<String> getActiveTokensByConsumerKey(String consumerKey) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getActiveTokensByConsumerKey(consumerKey));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access tokens of client: " + consumerKey);
         }
@@ -1933,6 +2372,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<AccessTokenDO> getActiveAcessTokenDataByConsumerKey(String consumerKey) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getActiveAcessTokenDataByConsumerKey(consumerKey));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access tokens for client: " + consumerKey);
         }
@@ -2109,6 +2553,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 oldTokenCleanupObject.cleanupTokenByTokenId(oldAccessTokenId, connection);
             }
             IdentityDatabaseUtil.commitTransaction(connection);
+            addToTokenIdIndex(consumerKey, accessTokenDO);
             tokenUpdateSuccessful = true;
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
@@ -2138,6 +2583,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<AccessTokenDO> getAccessTokensByTenant(int tenantId) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getAccessTokensByTenant(tenantId));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving all access tokens of tenant id: " + tenantId);
         }
@@ -2155,6 +2605,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
 
     public Set<AccessTokenDO> getAccessTokensByAuthorizedOrg(String organizationId) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getAccessTokensByAuthorizedOrg(organizationId));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving all access tokens issued for organization id: " + organizationId);
         }
@@ -2317,6 +2772,13 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getAccessTokensOfUserStore(int tenantId, String userStoreDomain) throws
             IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            String tokenUserStoreDomain = userStoreDomain;
+            return tokenShardRouter.queryAllShardsAndMerge(() ->
+                    getAccessTokensOfUserStore(tenantId, tokenUserStoreDomain));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving all ACTIVE and EXPIRED access tokens of userstore: " + userStoreDomain + " tenant " +
                     "id: " + tenantId);
@@ -2389,6 +2851,231 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         return new HashSet<>(accessTokenDOMap.values());
     }
 
+    @Override
+    public void forEachAccessToken(int tenantId, String userStoreDomain, AccessTokenConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        forEachAccessTokenPage(tenantId, userStoreDomain, accessTokenDOs -> {
+            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                consumer.accept(accessTokenDO);
+            }
+        });
+    }
+
+    @Override
+    public void forEachAccessTokenPage(int tenantId, String userStoreDomain, AccessTokenPageConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Reading ACTIVE and EXPIRED access tokens of tenant id: " + tenantId + (userStoreDomain == null ?
+                    "" : " and user store: " + userStoreDomain) + " in pages.");
+        }
+        if (userStoreDomain != null) {
+            String sanitizedUserStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(userStoreDomain);
+            forEachAccessTokenPageOfShards(new TokenFilter(tenantId, null, sanitizedUserStoreDomain, null),
+                    sanitizedUserStoreDomain, consumer);
+            return;
+        }
+        forEachAccessTokenPageOfPartitions(new TokenFilter(tenantId, null, null, null), consumer);
+    }
+
+    @Override
+    public void forEachAccessTokenPageOfAuthorizedOrg(String organizationId, AccessTokenPageConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Reading ACTIVE and EXPIRED access tokens issued for organization id: " + organizationId +
+                    " in pages.");
+        }
+        forEachAccessTokenPageOfPartitions(new TokenFilter(null, organizationId, null, null), consumer);
+    }
+
+    @Override
+    public void forEachAccessTokenOfConsumerKey(int tenantId, String consumerKey, AccessTokenConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Reading ACTIVE and EXPIRED access tokens of consumer key: " + consumerKey + " in tenant id: " +
+                    tenantId + " in pages.");
+        }
+        forEachAccessTokenPageOfPartitions(new TokenFilter(tenantId, null, null, consumerKey), accessTokenDOs -> {
+            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                consumer.accept(accessTokenDO);
+            }
+        });
+    }
+
+    private void forEachAccessTokenPageOfPartitions(TokenFilter tokenFilter, AccessTokenPageConsumer consumer)
+            throws IdentityOAuth2Exception {
+
+        forEachAccessTokenPageOfShards(tokenFilter, IdentityUtil.getPrimaryDomainName(), consumer);
+        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+            Map<String, String> availableDomainMappings = OAuth2Util.getAvailableUserStoreDomainMappings();
+            for (Map.Entry<String, String> availableDomainMapping : availableDomainMappings.entrySet()) {
+                forEachAccessTokenPageOfShards(tokenFilter, availableDomainMapping.getKey(), consumer);
+            }
+        }
+    }
+
+    private void forEachAccessTokenPageOfShards(TokenFilter tokenFilter, String partitionDomain,
+                                                AccessTokenPageConsumer consumer) throws IdentityOAuth2Exception {
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            // Shards are read one after the other, so that the consumer is never called concurrently.
+            tokenShardRouter.callInAllShards(() -> {
+                forEachAccessTokenPageOfPartition(tokenFilter, partitionDomain, consumer);
+                return null;
+            });
+            return;
+        }
+        forEachAccessTokenPageOfPartition(tokenFilter, partitionDomain, consumer);
+    }
+
+    /**
+     * Read the tokens of a token table partition page by page, using the token id of the last token of a page as the
+     * lower bound of the next one. The consumer is called after the connection of a page is released.
+     */
+    private void forEachAccessTokenPageOfPartition(TokenFilter tokenFilter, String partitionDomain,
+                                                   AccessTokenPageConsumer consumer) throws IdentityOAuth2Exception {
+
+        int pageSize = getTokenStreamingPageSize();
+        int maxRows = pageSize;
+        String lastTokenId = null;
+        List<AccessTokenDO> accessTokenDOs = new ArrayList<>(pageSize);
+        boolean hasMoreRows;
+        do {
+            accessTokenDOs.clear();
+            hasMoreRows = readAccessTokenPage(tokenFilter, partitionDomain, lastTokenId, maxRows, accessTokenDOs);
+            if (accessTokenDOs.isEmpty() && hasMoreRows) {
+                // A single token has more scopes than rows in a page.
+                maxRows = maxRows * 2;
+                continue;
+            }
+            if (!accessTokenDOs.isEmpty()) {
+                lastTokenId = accessTokenDOs.get(accessTokenDOs.size() - 1).getTokenId();
+                consumer.accept(accessTokenDOs);
+            }
+            maxRows = pageSize;
+        } while (hasMoreRows);
+    }
+
+    /**
+     * Read a page of tokens ordered by token id. A token is spread over one row per scope, hence the tokens of a page
+     * whose rows were cut off by the row limit are left to the next page.
+     *
+     * @return True if the row limit was reached and there may be more tokens to read.
+     */
+    private boolean readAccessTokenPage(TokenFilter tokenFilter, String partitionDomain, String lastTokenId,
+                                        int maxRows, List<AccessTokenDO> accessTokenDOs)
+            throws IdentityOAuth2Exception {
+
+        boolean isIDPIdColumnEnabled = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled();
+        boolean byOrganization = tokenFilter.organizationId != null;
+        String sql;
+        if (byOrganization) {
+            sql = isIDPIdColumnEnabled ? SQLQueries.LIST_TOKENS_OF_AUTHORIZED_ORG_ORDERED_BY_TOKEN_ID_IDP_NAME :
+                    SQLQueries.LIST_TOKENS_OF_AUTHORIZED_ORG_ORDERED_BY_TOKEN_ID;
+        } else {
+            sql = isIDPIdColumnEnabled ? SQLQueries.LIST_TOKENS_IN_TENANT_ORDERED_BY_TOKEN_ID_IDP_NAME :
+                    SQLQueries.LIST_TOKENS_IN_TENANT_ORDERED_BY_TOKEN_ID;
+        }
+        String tokenFilterSql = (tokenFilter.userStoreDomain == null ? "" : SQLQueries.TOKEN_USER_DOMAIN_FILTER) +
+                (tokenFilter.consumerKey == null ? "" : SQLQueries.TOKEN_CONSUMER_KEY_FILTER) +
+                (lastTokenId == null ? "" : SQLQueries.TOKEN_ID_AFTER_FILTER);
+        sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, partitionDomain)
+                .replace(SQLQueries.TOKEN_FILTER_PLACEHOLDER, tokenFilterSql);
+
+        String tenantDomain = byOrganization ? null : OAuth2Util.getTenantDomain(tokenFilter.tenantId);
+        int tenantIdColumn = isIDPIdColumnEnabled ? 15 : 14;
+        int rowCount = 0;
+        AccessTokenDO accessTokenDO = null;
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            int parameterIndex = 1;
+            if (byOrganization) {
+                prepStmt.setString(parameterIndex++, tokenFilter.organizationId);
+            } else {
+                prepStmt.setInt(parameterIndex++, tokenFilter.tenantId);
+            }
+            if (tokenFilter.userStoreDomain != null) {
+                prepStmt.setString(parameterIndex++, tokenFilter.userStoreDomain);
+            }
+            if (tokenFilter.consumerKey != null) {
+                prepStmt.setString(parameterIndex++, tokenFilter.consumerKey);
+            }
+            if (lastTokenId != null) {
+                prepStmt.setString(parameterIndex, lastTokenId);
+            }
+            prepStmt.setMaxRows(maxRows);
+            prepStmt.setFetchSize(Math.min(maxRows, getTokenStreamingPageSize()));
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    rowCount++;
+                    String tokenId = resultSet.getString(1);
+                    String scope = resultSet.getString(9);
+                    if (accessTokenDO != null && tokenId.equals(accessTokenDO.getTokenId())) {
+                        if (StringUtils.isNotBlank(scope)) {
+                            accessTokenDO.setScope((String[]) ArrayUtils.add(accessTokenDO.getScope(),
+                                    scope.trim()));
+                        }
+                        continue;
+                    }
+                    if (accessTokenDO != null) {
+                        accessTokenDOs.add(accessTokenDO);
+                    }
+                    int tenantId = byOrganization ? resultSet.getInt(tenantIdColumn) : tokenFilter.tenantId;
+                    String authenticatedIDP = isIDPIdColumnEnabled ? resultSet.getString(14) : null;
+                    AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(resultSet.getString(10),
+                            resultSet.getString(11), byOrganization ? OAuth2Util.getTenantDomain(tenantId) :
+                                    tenantDomain, authenticatedIDP);
+                    accessTokenDO = new AccessTokenDO(resultSet.getString(12), user,
+                            OAuth2Util.buildScopeArray(scope),
+                            resultSet.getTimestamp(4, Calendar.getInstance(TimeZone.getTimeZone(UTC))),
+                            resultSet.getTimestamp(5, Calendar.getInstance(TimeZone.getTimeZone(UTC))),
+                            resultSet.getLong(6), resultSet.getLong(7), resultSet.getString(8));
+                    accessTokenDO.setAccessToken(
+                            getPersistenceProcessor().getPreprocessedAccessTokenIdentifier(resultSet.getString(2)));
+                    accessTokenDO.setRefreshToken(
+                            getPersistenceProcessor().getPreprocessedRefreshToken(resultSet.getString(3)));
+                    accessTokenDO.setTokenId(tokenId);
+                    accessTokenDO.setTenantID(tenantId);
+                    accessTokenDO.setTokenState(resultSet.getString(13));
+                    if (byOrganization) {
+                        accessTokenDO.setAuthorizedOrganizationId(tokenFilter.organizationId);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error occurred while reading 'ACTIVE or EXPIRED' access tokens of " +
+                    tokenFilter, e);
+        }
+
+        boolean hasMoreRows = rowCount >= maxRows;
+        // The rows of the last token are only complete if the row limit was not reached.
+        if (accessTokenDO != null && !hasMoreRows) {
+            accessTokenDOs.add(accessTokenDO);
+        }
+        return hasMoreRows;
+    }
+
+    private static int getTokenStreamingPageSize() {
+
+        String pageSize = getProperty(TOKEN_STREAMING_PAGE_SIZE);
+        if (StringUtils.isNotBlank(pageSize)) {
+            try {
+                int configuredPageSize = Integer.parseInt(pageSize.trim());
+                if (configuredPageSize > 0) {
+                    return configuredPageSize;
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + pageSize + " configured for " + TOKEN_STREAMING_PAGE_SIZE +
+                        ". Using the default value: " + DEFAULT_TOKEN_STREAMING_PAGE_SIZE);
+            }
+        }
+        return DEFAULT_TOKEN_STREAMING_PAGE_SIZE;
+    }
+
     @Override
     public void updateUserStoreDomain(int tenantId, String currentUserStoreDomain, String
             newUserStoreDomain) throws IdentityOAuth2Exception {
@@ -2404,14 +3091,19 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         PreparedStatement ps = null;
         try {
 
-            String sqlQuery = SQLQueries.RENAME_USER_STORE_IN_ACCESS_TOKENS_TABLE;
-            ps = connection.prepareStatement(sqlQuery);
-            ps.setString(1, newUserStoreDomain);
-            ps.setInt(2, tenantId);
-            ps.setString(3, currentUserStoreDomain);
-            int count = ps.executeUpdate();
-            if (log.isDebugEnabled()) {
-                log.debug("Number of rows being updated : " + count);
+            TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+            List<String> sqlOfShards = tokenShardRouter.callInEachShard(() ->
+                    tokenShardRouter.getSqlOfCurrentShard(SQLQueries.RENAME_USER_STORE_IN_ACCESS_TOKENS_TABLE));
+            for (String sqlQuery : sqlOfShards) {
+                IdentityDatabaseUtil.closeStatement(ps);
+                ps = connection.prepareStatement(sqlQuery);
+                ps.setString(1, newUserStoreDomain);
+                ps.setInt(2, tenantId);
+                ps.setString(3, currentUserStoreDomain);
+                int count = ps.executeUpdate();
+                if (log.isDebugEnabled()) {
+                    log.debug("Number of rows being updated : " + count);
+                }
             }
             IdentityDatabaseUtil.commitTransaction(connection);
         } catch (SQLException e) {
@@ -2423,6 +3115,223 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         }
     }
 
+    @Override
+    public int updateUserStoreDomain(int tenantId, String currentUserStoreDomain, String newUserStoreDomain,
+                                     int chunkSize) throws IdentityOAuth2Exception {
+
+        String currentDomain = OAuth2Util.getSanitizedUserStoreDomain(currentUserStoreDomain);
+        String newDomain = OAuth2Util.getSanitizedUserStoreDomain(newUserStoreDomain);
+        int renamedCount = 0;
+        for (int count : TokenShardRouter.getInstance().callInEachShard(() ->
+                updateUserStoreDomainOfChunk(tenantId, currentDomain, newDomain, chunkSize))) {
+            renamedCount += count;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Renamed userstore domain: " + currentDomain + " as: " + newDomain + " of " + renamedCount
+                    + " access tokens in tenant id: " + tenantId);
+        }
+        return renamedCount;
+    }
+
+    private int updateUserStoreDomainOfChunk(int tenantId, String currentUserStoreDomain, String newUserStoreDomain,
+                                             int chunkSize) throws IdentityOAuth2Exception {
+
+        String tableSuffix = TokenShardRouter.getTableSuffix(TokenShardRouter.getInstance().getCurrentShard());
+        String currentTokenTable = OAuth2Util.getPartitionedTableByUserStore(OAuthConstants.ACCESS_TOKEN_STORE_TABLE,
+                currentUserStoreDomain) + tableSuffix;
+        String newTokenTable = OAuth2Util.getPartitionedTableByUserStore(OAuthConstants.ACCESS_TOKEN_STORE_TABLE,
+                newUserStoreDomain) + tableSuffix;
+        // With access token partitioning, the new user store domain may be mapped to other tables. The tokens have
+        // to be moved to those tables instead of being updated in place.
+        boolean moveTokens = OAuth2Util.checkAccessTokenPartitioningEnabled() &&
+                OAuth2Util.checkUserNameAssertionEnabled() && !currentTokenTable.equals(newTokenTable);
+
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try {
+            String lastTokenId = getLastTokenIdOfChunk(connection, tenantId, currentUserStoreDomain, chunkSize);
+            if (lastTokenId == null) {
+                return 0;
+            }
+            int count;
+            if (moveTokens) {
+                count = moveAccessTokensToUserStore(connection, tenantId, currentUserStoreDomain, newUserStoreDomain,
+                        lastTokenId, newTokenTable, OAuth2Util.getPartitionedTableByUserStore(
+                                PartitionedSqlRegistry.ACCESS_TOKEN_SCOPE_TABLE, newUserStoreDomain) + tableSuffix,
+                        OAuth2Util.getPartitionedTableByUserStore(OAuthConstants.ACCESS_TOKEN_STORE_ATTRIBUTES_TABLE,
+                                newUserStoreDomain) + tableSuffix);
+            } else {
+                String sql = OAuth2Util.getTokenPartitionedSqlByUserStore(
+                        SQLQueries.RENAME_USER_STORE_IN_ACCESS_TOKENS_TABLE_UP_TO_TOKEN_ID, currentUserStoreDomain);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setString(1, newUserStoreDomain);
+                    ps.setInt(2, tenantId);
+                    ps.setString(3, currentUserStoreDomain);
+                    ps.setString(4, lastTokenId);
+                    count = ps.executeUpdate();
+                }
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return count;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error occurred while renaming user store : " + currentUserStoreDomain +
+                    " in tenant :" + tenantId, e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    private String getLastTokenIdOfChunk(Connection connection, int tenantId, String userStoreDomain, int chunkSize)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String sql = OAuth2Util.getTokenPartitionedSqlByUserStore(SQLQueries.LIST_TOKEN_IDS_OF_USER_STORE,
+                userStoreDomain);
+        String lastTokenId = null;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setMaxRows(chunkSize);
+            ps.setFetchSize(chunkSize);
+            ps.setInt(1, tenantId);
+            ps.setString(2, userStoreDomain);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                while (resultSet.next()) {
+                    lastTokenId = resultSet.getString(1);
+                }
+            }
+        }
+        return lastTokenId;
+    }
+
+    private int moveAccessTokensToUserStore(Connection connection, int tenantId, String currentUserStoreDomain,
+                                            String newUserStoreDomain, String lastTokenId, String newTokenTable,
+                                            String newTokenScopeTable, String newTokenAttributesTable)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String copyTokensSql = OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled() ?
+                SQLQueries.COPY_ACCESS_TOKENS_OF_USER_STORE_UP_TO_TOKEN_ID_WITH_CONSENTED_TOKEN :
+                SQLQueries.COPY_ACCESS_TOKENS_OF_USER_STORE_UP_TO_TOKEN_ID;
+        copyTokensSql = OAuth2Util.getTokenPartitionedSqlByUserStore(copyTokensSql, currentUserStoreDomain)
+                .replace(SQLQueries.TARGET_TOKEN_TABLE_PLACEHOLDER, newTokenTable);
+        int count;
+        try (PreparedStatement ps = connection.prepareStatement(copyTokensSql)) {
+            ps.setString(1, newUserStoreDomain);
+            ps.setInt(2, tenantId);
+            ps.setString(3, currentUserStoreDomain);
+            ps.setString(4, lastTokenId);
+            count = ps.executeUpdate();
+        }
+        String copyScopesSql = OAuth2Util.getTokenPartitionedSqlByUserStore(
+                SQLQueries.COPY_ACCESS_TOKEN_SCOPES_OF_USER_STORE_UP_TO_TOKEN_ID, currentUserStoreDomain)
+                .replace(SQLQueries.TARGET_TOKEN_SCOPE_TABLE_PLACEHOLDER, newTokenScopeTable);
+        executeUpdateUpToTokenId(connection, copyScopesSql, tenantId, currentUserStoreDomain, lastTokenId);
+        boolean tokenExtendedTableExist = OAuth2ServiceComponentHolder.isTokenExtendedTableExist();
+        if (tokenExtendedTableExist) {
+            String copyAttributesSql = OAuth2Util.getTokenPartitionedSqlByUserStore(
+                    SQLQueries.COPY_ACCESS_TOKEN_ATTRIBUTES_OF_USER_STORE_UP_TO_TOKEN_ID, currentUserStoreDomain)
+                    .replace(SQLQueries.TARGET_TOKEN_ATTRIBUTES_TABLE_PLACEHOLDER, newTokenAttributesTable);
+            executeUpdateUpToTokenId(connection, copyAttributesSql, tenantId, currentUserStoreDomain, lastTokenId);
+        }
+        // The token binding and request object reference tables are shared by all partitions and their rows would
+        // be removed with the moved tokens. The bindings are read before the tokens are deleted and stored again
+        // afterwards, while the request object references are detached from the tokens and attached again.
+        try (PreparedStatement storeBindingsPs = connection.prepareStatement(STORE_TOKEN_BINDING);
+             PreparedStatement attachRequestObjectsPs = connection.prepareStatement(
+                     SQLQueries.ATTACH_REQUEST_OBJECT_REFERENCE)) {
+            boolean hasTokenBindings = addTokenBindingsToBatch(connection, storeBindingsPs, tenantId,
+                    currentUserStoreDomain, lastTokenId);
+            boolean hasRequestObjects = addRequestObjectReferencesToBatch(connection, attachRequestObjectsPs,
+                    tenantId, currentUserStoreDomain, lastTokenId);
+            // Child rows are deleted first, as they are selected through the tokens they belong to.
+            if (hasTokenBindings) {
+                executeUpdateUpToTokenId(connection, OAuth2Util.getTokenPartitionedSqlByUserStore(
+                        SQLQueries.DELETE_TOKEN_BINDINGS_OF_USER_STORE_UP_TO_TOKEN_ID, currentUserStoreDomain),
+                        tenantId, currentUserStoreDomain, lastTokenId);
+            }
+            if (hasRequestObjects) {
+                executeUpdateUpToTokenId(connection, OAuth2Util.getTokenPartitionedSqlByUserStore(
+                        SQLQueries.DETACH_REQUEST_OBJECT_REFERENCES_OF_USER_STORE_UP_TO_TOKEN_ID,
+                        currentUserStoreDomain), tenantId, currentUserStoreDomain, lastTokenId);
+            }
+            if (tokenExtendedTableExist) {
+                executeUpdateUpToTokenId(connection, OAuth2Util.getTokenPartitionedSqlByUserStore(
+                        SQLQueries.DELETE_ACCESS_TOKEN_ATTRIBUTES_OF_USER_STORE_UP_TO_TOKEN_ID,
+                        currentUserStoreDomain), tenantId, currentUserStoreDomain, lastTokenId);
+            }
+            executeUpdateUpToTokenId(connection, OAuth2Util.getTokenPartitionedSqlByUserStore(
+                    SQLQueries.DELETE_ACCESS_TOKEN_SCOPES_OF_USER_STORE_UP_TO_TOKEN_ID, currentUserStoreDomain),
+                    tenantId, currentUserStoreDomain, lastTokenId);
+            executeUpdateUpToTokenId(connection, OAuth2Util.getTokenPartitionedSqlByUserStore(
+                    SQLQueries.DELETE_ACCESS_TOKENS_OF_USER_STORE_UP_TO_TOKEN_ID, currentUserStoreDomain),
+                    tenantId, currentUserStoreDomain, lastTokenId);
+            if (hasTokenBindings) {
+                storeBindingsPs.executeBatch();
+            }
+            if (hasRequestObjects) {
+                attachRequestObjectsPs.executeBatch();
+            }
+        }
+        return count;
+    }
+
+    private boolean addRequestObjectReferencesToBatch(Connection connection, PreparedStatement attachRequestObjectsPs,
+                                                      int tenantId, String userStoreDomain, String lastTokenId)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String sql = OAuth2Util.getTokenPartitionedSqlByUserStore(
+                SQLQueries.LIST_REQUEST_OBJECT_REFERENCES_OF_USER_STORE_UP_TO_TOKEN_ID, userStoreDomain);
+        boolean hasRequestObjects = false;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, tenantId);
+            ps.setString(2, userStoreDomain);
+            ps.setString(3, lastTokenId);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                while (resultSet.next()) {
+                    attachRequestObjectsPs.setString(1, resultSet.getString(2));
+                    attachRequestObjectsPs.setInt(2, resultSet.getInt(1));
+                    attachRequestObjectsPs.addBatch();
+                    hasRequestObjects = true;
+                }
+            }
+        }
+        return hasRequestObjects;
+    }
+
+    private boolean addTokenBindingsToBatch(Connection connection, PreparedStatement storeBindingsPs, int tenantId,
+                                            String userStoreDomain, String lastTokenId)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String sql = OAuth2Util.getTokenPartitionedSqlByUserStore(
+                SQLQueries.LIST_TOKEN_BINDINGS_OF_USER_STORE_UP_TO_TOKEN_ID, userStoreDomain);
+        boolean hasTokenBindings = false;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, tenantId);
+            ps.setString(2, userStoreDomain);
+            ps.setString(3, lastTokenId);
+            try (ResultSet resultSet = ps.executeQuery()) {
+                while (resultSet.next()) {
+                    storeBindingsPs.setString(1, resultSet.getString(1));
+                    storeBindingsPs.setString(2, resultSet.getString(2));
+                    storeBindingsPs.setString(3, resultSet.getString(3));
+                    storeBindingsPs.setString(4, resultSet.getString(4));
+                    storeBindingsPs.setInt(5, resultSet.getInt(5));
+                    storeBindingsPs.addBatch();
+                    hasTokenBindings = true;
+                }
+            }
+        }
+        return hasTokenBindings;
+    }
+
+    private void executeUpdateUpToTokenId(Connection connection, String sql, int tenantId, String userStoreDomain,
+                                          String lastTokenId) throws SQLException {
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, tenantId);
+            ps.setString(2, userStoreDomain);
+            ps.setString(3, lastTokenId);
+            ps.executeUpdate();
+        }
+    }
+
     /**
      * Retrieves token id of the given token.
      *
@@ -2433,6 +3342,33 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public String getTokenIdByAccessToken(String token) throws IdentityOAuth2Exception {
 
+        TokenIdIndex tokenIdIndex = TokenIdIndex.getInstance();
+        String tokenHash = null;
+        if (tokenIdIndex.isEnabled() && token != null) {
+            tokenHash = getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token);
+            String indexedTokenId = tokenIdIndex.getTokenId(tokenHash);
+            if (indexedTokenId != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Retrieved token id: " + indexedTokenId + " from the token id index.");
+                }
+                return indexedTokenId;
+            }
+        }
+
+        String tokenId = getTokenIdByAccessTokenFromDB(token);
+        if (tokenId != null && tokenHash != null) {
+            tokenIdIndex.addToken(tokenId, null, tokenHash);
+        }
+        return tokenId;
+    }
+
+    private String getTokenIdByAccessTokenFromDB(String token) throws IdentityOAuth2Exception {
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.callInTokenShard(token, () -> getTokenIdByAccessTokenFromDB(token));
+        }
+
         if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
             log.debug("Retrieving id of access token(hashed): " + DigestUtils.sha256Hex(token));
         }
@@ -2493,6 +3429,34 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public String getAccessTokenByTokenId(String tokenId) throws IdentityOAuth2Exception {
 
+        TokenIdIndex tokenIdIndex = TokenIdIndex.getInstance();
+        if (tokenIdIndex.isEnabled()) {
+            String indexedToken = tokenIdIndex.getPersistedToken(tokenId);
+            if (indexedToken != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Retrieved access token by token id: " + tokenId + " from the token id index.");
+                }
+                return getPersistenceProcessor().getPreprocessedAccessTokenIdentifier(indexedToken);
+            }
+        }
+
+        String persistedToken = getPersistedAccessTokenByTokenId(tokenId);
+        if (persistedToken == null) {
+            return null;
+        }
+        if (tokenIdIndex.isEnabled()) {
+            tokenIdIndex.addToken(tokenId, persistedToken, null);
+        }
+        return getPersistenceProcessor().getPreprocessedAccessTokenIdentifier(persistedToken);
+    }
+
+    private String getPersistedAccessTokenByTokenId(String tokenId) throws IdentityOAuth2Exception {
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsForFirst(() -> getPersistedAccessTokenByTokenId(tokenId));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving access token by token id: " + tokenId);
         }
@@ -2514,7 +3478,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     }
 
     /**
-     * Retrieves access token of the given token id which issued against specified user store.
+     * Retrieves the persisted access token of the given token id which issued against specified user store.
      *
      * @param tokenId
      * @param userStoreDomain
@@ -2535,8 +3499,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             resultSet = prepStmt.executeQuery();
 
             if (resultSet.next()) {
-                String persistedAccessToken = resultSet.getString("ACCESS_TOKEN");
-                return getPersistenceProcessor().getPreprocessedAccessTokenIdentifier(persistedAccessToken);
+                return resultSet.getString("ACCESS_TOKEN");
             }
             return null;
 
@@ -2712,6 +3675,20 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                                                      boolean includeExpiredTokens, int limit)
             throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            String tokenUserStoreDomain = userStoreDomain;
+            List<AccessTokenDO> latestAccessTokens = new ArrayList<>();
+            for (List<AccessTokenDO> accessTokenDOs : tokenShardRouter.queryAllShards(() ->
+                    getLatestAccessTokens(consumerKey, authzUser, tokenUserStoreDomain, scope, tokenBindingReference,
+                            includeExpiredTokens, limit))) {
+                latestAccessTokens.addAll(accessTokenDOs);
+            }
+            latestAccessTokens.sort((first, second) -> isIssuedAfter(first, second) ? -1 :
+                    isIssuedAfter(second, first) ? 1 : 0);
+            return latestAccessTokens.size() > limit ? latestAccessTokens.subList(0, limit) : latestAccessTokens;
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving " + (includeExpiredTokens ? " active" : " all ") + " latest " + limit + " access " +
                     "token for user: " + authzUser.toString() + " client: " + consumerKey + " scope: " + scope);
@@ -2920,6 +3897,12 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getActiveTokenSetWithTokenIdByConsumerKeyForOpenidScope(String consumerKey)
             throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() ->
+                    getActiveTokenSetWithTokenIdByConsumerKeyForOpenidScope(consumerKey));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access token set with token id of client: " + consumerKey);
         }
@@ -2947,6 +3930,12 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getActiveTokenSetWithTokenIdByConsumerKeyAndScope(String consumerKey, List<String> scopes)
             throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() ->
+                    getActiveTokenSetWithTokenIdByConsumerKeyAndScope(consumerKey, scopes));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access token set with token id of client: " + consumerKey);
         }
@@ -3129,6 +4118,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getAccessTokensByBindingRef(AuthenticatedUser user, String bindingRef)
             throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getAccessTokensByBindingRef(user, bindingRef));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access tokens issued to user, " + user.getUserName() + " with binding " +
                     "reference " + bindingRef);
@@ -3198,13 +4192,19 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<AccessTokenDO> getAccessTokensByBindingRef(String bindingRef) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getAccessTokensByBindingRef(bindingRef));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access tokens issued with binding reference : " + bindingRef);
         }
 
         JdbcTemplate jdbcTemplate = JdbcUtils.getNewTemplate();
         try {
-            String sqlQuery = GET_ACCESS_TOKENS_BY_BINDING_REFERENCE;
+            String sqlQuery = TokenShardRouter.getInstance()
+                    .getSqlOfCurrentShard(GET_ACCESS_TOKENS_BY_BINDING_REFERENCE);
             Map<String, AccessTokenDO> tokenMap = new HashMap<>();
             jdbcTemplate.executeQuery(sqlQuery,
                     rethrowRowMapper((resultSet, i) -> {
@@ -3286,12 +4286,18 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                         isConsentedGrant);
             }
 
-            String sql = SQLQueries.UPDATE_TOKEN_CONSENTED_TOKEN;
+            TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+            List<String> sqlOfShards = tokenShardRouter.callInEachShard(() ->
+                    tokenShardRouter.getSqlOfCurrentShard(SQLQueries.UPDATE_TOKEN_CONSENTED_TOKEN));
             try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
-                try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
-                    prepStmt.setString(1, Boolean.toString(isConsentedGrant));
-                    prepStmt.setString(2, tokenId);
-                    prepStmt.executeUpdate();
+                try {
+                    for (String sql : sqlOfShards) {
+                        try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+                            prepStmt.setString(1, Boolean.toString(isConsentedGrant));
+                            prepStmt.setString(2, tokenId);
+                            prepStmt.executeUpdate();
+                        }
+                    }
                     IdentityDatabaseUtil.commitTransaction(connection);
                 } catch (SQLException e) {
                     IdentityDatabaseUtil.rollbackTransaction(connection); // ToDo add the exception here
@@ -3309,6 +4315,25 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         }
     }
 
+    private static AccessTokenDO getLatestAccessToken(List<AccessTokenDO> accessTokenDOs) {
+
+        AccessTokenDO latestAccessToken = null;
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            if (accessTokenDO != null && (latestAccessToken == null || isIssuedAfter(accessTokenDO,
+                    latestAccessToken))) {
+                latestAccessToken = accessTokenDO;
+            }
+        }
+        return latestAccessToken;
+    }
+
+    private static boolean isIssuedAfter(AccessTokenDO accessTokenDO, AccessTokenDO otherAccessTokenDO) {
+
+        Timestamp issuedTime = accessTokenDO.getIssuedTime();
+        Timestamp otherIssuedTime = otherAccessTokenDO.getIssuedTime();
+        return issuedTime != null && (otherIssuedTime == null || issuedTime.after(otherIssuedTime));
+    }
+
     private String resolveOrganizationId(String tenantDomain) throws IdentityOAuth2Exception {
 
         try {
@@ -3319,4 +4344,31 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     tenantDomain, e);
         }
     }
+
+    /**
+     * Predicate of the tokens read page by page. Tokens are either read by tenant or by authorized organization.
+     */
+    private static final class TokenFilter {
+
+        private final Integer tenantId;
+        private final String organizationId;
+        private final String userStoreDomain;
+        private final String consumerKey;
+
+        private TokenFilter(Integer tenantId, String organizationId, String userStoreDomain, String consumerKey) {
+
+            this.tenantId = tenantId;
+            this.organizationId = organizationId;
+            this.userStoreDomain = userStoreDomain;
+            this.consumerKey = consumerKey;
+        }
+
+        @Override
+        public String toString() {
+
+            return (organizationId != null ? "organization id : " + organizationId : "tenant id : " + tenantId) +
+                    (userStoreDomain == null ? "" : ", user store : " + userStoreDomain) +
+                    (consumerKey == null ? "" : ", consumer key : " + consumerKey);
+        }
+    }
 }
@@ -71,6 +71,19 @@ public interface AuthorizationCodeDAO {
     void deactivateAuthorizationCode(AuthzCodeDO authzCodeDO) throws
             IdentityOAuth2Exception;
 
+    /**
+     * Deactivate an authorization code and link it with the issued token, only if the code is still active.
+     *
+     * @param authzCodeDO Authorization code data object with the code id and the issued token id.
+     * @return True if the code was deactivated, false if the code was no longer active.
+     * @throws IdentityOAuth2Exception If an error occurred while deactivating the code.
+     */
+    default boolean deactivateActiveAuthorizationCode(AuthzCodeDO authzCodeDO) throws IdentityOAuth2Exception {
+
+        deactivateAuthorizationCode(authzCodeDO);
+        return true;
+    }
+
     Set<String> getAuthorizationCodesByUser(AuthenticatedUser authenticatedUser) throws IdentityOAuth2Exception;
 
     default List<AuthzCodeDO> getAuthorizationCodesDataByUser(AuthenticatedUser authenticatedUser)
@@ -97,6 +110,25 @@ public interface AuthorizationCodeDAO {
     void updateUserStoreDomain(int tenantId, String currentUserStoreDomain, String
             newUserStoreDomain) throws IdentityOAuth2Exception;
 
+    /**
+     * Rename the user store domain of a bounded chunk of the authorization codes of a tenant. Each chunk is
+     * committed on its own. Codes already renamed no longer match the current domain, so an interrupted rename can
+     * be resumed by calling this again until it returns zero.
+     *
+     * @param tenantId               Tenant id.
+     * @param currentUserStoreDomain Current user store domain.
+     * @param newUserStoreDomain     New user store domain.
+     * @param chunkSize              Maximum number of authorization codes to rename.
+     * @return Number of authorization codes renamed, or zero if no code of the current user store domain is left.
+     * @throws IdentityOAuth2Exception If the authorization codes could not be renamed.
+     */
+    default int updateUserStoreDomain(int tenantId, String currentUserStoreDomain, String newUserStoreDomain,
+                                      int chunkSize) throws IdentityOAuth2Exception {
+
+        updateUserStoreDomain(tenantId, currentUserStoreDomain, newUserStoreDomain);
+        return 0;
+    }
+
     String getCodeIdByAuthorizationCode(String authzCode) throws IdentityOAuth2Exception;
 
     default Set<AuthzCodeDO> getAuthorizationCodeDOSetByConsumerKeyForOpenidScope(String consumerKey) throws
@@ -384,6 +384,37 @@ public class AuthorizationCodeDAOImpl extends AbstractOAuthDAO implements Author
         }
     }
 
+    @Override
+    public boolean deactivateActiveAuthorizationCode(AuthzCodeDO authzCodeDO) throws IdentityOAuth2Exception {
+
+        if (!OAuth2Util.isAuthCodePersistenceEnabled()) {
+            return true;
+        }
+
+        boolean isDeactivated;
+        PreparedStatement prepStmt = null;
+        Connection connection = IdentityDatabaseUtil.getDBConnection();
+        try {
+            prepStmt = connection.prepareStatement(SQLQueries.REDEEM_ACTIVE_AUTHZ_CODE_AND_INSERT_CURRENT_TOKEN);
+            prepStmt.setString(1, authzCodeDO.getOauthTokenId());
+            prepStmt.setString(2, authzCodeDO.getAuthzCodeId());
+            isDeactivated = prepStmt.executeUpdate() > 0;
+            IdentityDatabaseUtil.commitTransaction(connection);
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error when deactivating authorization code with id: " +
+                    authzCodeDO.getAuthzCodeId(), e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, null, prepStmt);
+        }
+        if (isDeactivated) {
+            // To revoke the request object which is persisted against the code.
+            OAuth2TokenUtil.postRevokeCode(authzCodeDO.getAuthzCodeId(), OAuthConstants.
+                    AuthorizationCodeState.INACTIVE, authzCodeDO.getOauthTokenId(), authzCodeDO.getAuthorizationCode());
+        }
+        return isDeactivated;
+    }
+
     /**
      * Returns a list of authorization codes issued for a given user.
      *
@@ -808,6 +839,55 @@ public class AuthorizationCodeDAOImpl extends AbstractOAuthDAO implements Author
         }
     }
 
+    @Override
+    public int updateUserStoreDomain(int tenantId, String currentUserStoreDomain, String newUserStoreDomain,
+                                     int chunkSize) throws IdentityOAuth2Exception {
+
+        currentUserStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(currentUserStoreDomain);
+        newUserStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(newUserStoreDomain);
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try {
+            String lastCodeId = null;
+            try (PreparedStatement ps = connection.prepareStatement(
+                    SQLQueries.LIST_AUTHORIZATION_CODE_IDS_OF_USER_STORE)) {
+                ps.setMaxRows(chunkSize);
+                ps.setFetchSize(chunkSize);
+                ps.setInt(1, tenantId);
+                ps.setString(2, currentUserStoreDomain);
+                try (ResultSet resultSet = ps.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastCodeId = resultSet.getString(1);
+                    }
+                }
+            }
+            if (lastCodeId == null) {
+                return 0;
+            }
+
+            int count;
+            try (PreparedStatement ps = connection.prepareStatement(
+                    SQLQueries.RENAME_USER_STORE_IN_AUTHORIZATION_CODES_TABLE_UP_TO_CODE_ID)) {
+                ps.setString(1, newUserStoreDomain);
+                ps.setInt(2, tenantId);
+                ps.setString(3, currentUserStoreDomain);
+                ps.setString(4, lastCodeId);
+                count = ps.executeUpdate();
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+            if (log.isDebugEnabled()) {
+                log.debug("Renamed userstore domain: " + currentUserStoreDomain + " as: " + newUserStoreDomain +
+                        " of " + count + " authorization codes in tenant id: " + tenantId);
+            }
+            return count;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error occurred while renaming user store : " + currentUserStoreDomain +
+                    " in tenant :" + tenantId, e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
     private void addAuthorizationCodeScopes(AuthzCodeDO authzCodeDO, Connection connection, int tenantId)
             throws SQLException {
 
@@ -24,8 +24,10 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2ScopeException;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2ScopeServerException;
 import org.wso2.carbon.identity.oauth2.bean.Scope;
+import org.wso2.carbon.identity.oauth2.model.ScopeCatalog;
 
 import java.sql.Connection;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -66,4 +68,28 @@ public interface OAuthScopeDAO {
     boolean validateScope(Connection connection, String accessToken, String resourceUri);
 
     Set<String> getBindingsOfScopeByScopeName(String scopeName, int tenantId) throws IdentityOAuth2Exception;
+
+    /**
+     * Get a snapshot of all the OAuth2 and OIDC scopes of a tenant.
+     *
+     * @param tenantID Tenant ID.
+     * @param version  Version assigned to the snapshot.
+     * @return Scope catalog of the tenant.
+     * @throws IdentityOAuth2ScopeServerException If an error occurs while retrieving the scopes.
+     */
+    default ScopeCatalog getScopeCatalog(int tenantID, long version) throws IdentityOAuth2ScopeServerException {
+
+        Set<Scope> oauth2Scopes = getAllScopes(tenantID);
+        Set<String> oauth2ScopeNames = new HashSet<>();
+        for (Scope scope : oauth2Scopes) {
+            oauth2ScopeNames.add(scope.getName());
+        }
+        Set<Scope> oidcScopes = new HashSet<>();
+        for (Scope scope : getAllScopes(tenantID, true)) {
+            if (!oauth2ScopeNames.contains(scope.getName())) {
+                oidcScopes.add(scope);
+            }
+        }
+        return new ScopeCatalog(version, oauth2Scopes, oidcScopes);
+    }
 }
@@ -31,6 +31,7 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2ScopeServerException;
 import org.wso2.carbon.identity.oauth2.Oauth2ScopeConstants;
 import org.wso2.carbon.identity.oauth2.bean.Scope;
 import org.wso2.carbon.identity.oauth2.bean.ScopeBinding;
+import org.wso2.carbon.identity.oauth2.model.ScopeCatalog;
 import org.wso2.carbon.identity.oauth2.util.NamedPreparedStatement;
 import org.wso2.carbon.identity.oauth2.util.Oauth2ScopeUtils;
 import org.wso2.carbon.utils.DBUtils;
@@ -254,6 +255,63 @@ public class OAuthScopeDAOImpl implements OAuthScopeDAO {
         }
     }
 
+    /**
+     * Get a snapshot of all the OAuth2 and OIDC scopes of a tenant, along with their bindings, in a single query.
+     *
+     * @param tenantID Tenant ID.
+     * @param version  Version assigned to the snapshot.
+     * @return Scope catalog of the tenant.
+     * @throws IdentityOAuth2ScopeServerException If an error occurs while retrieving the scopes.
+     */
+    @Override
+    public ScopeCatalog getScopeCatalog(int tenantID, long version) throws IdentityOAuth2ScopeServerException {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Loading the scope catalog for tenantId  :" + tenantID);
+        }
+
+        Map<Integer, Scope> oauth2ScopeMap = new HashMap<>();
+        Map<Integer, Scope> oidcScopeMap = new HashMap<>();
+        String sql;
+
+        try (Connection conn = IdentityDatabaseUtil.getDBConnection(false)) {
+            if (conn.getMetaData().getDriverName().contains(Oauth2ScopeConstants.DataBaseType.ORACLE)) {
+                sql = SQLQueries.RETRIEVE_ALL_SCOPES_WITH_SCOPE_TYPE_ORACLE;
+            } else {
+                sql = SQLQueries.RETRIEVE_ALL_SCOPES_WITH_SCOPE_TYPE;
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, tenantID);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int scopeID = rs.getInt(1);
+                        String name = rs.getString(2);
+                        String displayName = rs.getString(3);
+                        String description = rs.getString(4);
+                        String scopeType = rs.getString(5);
+                        final String binding = rs.getString(6);
+                        String bindingType = rs.getString(7);
+                        Map<Integer, Scope> scopeMap = Oauth2ScopeConstants.SCOPE_TYPE_OIDC
+                                .equalsIgnoreCase(scopeType) ? oidcScopeMap : oauth2ScopeMap;
+                        Scope scope = scopeMap.get(scopeID);
+                        if (scope == null) {
+                            scope = new Scope(name, displayName, new ArrayList<>(), description);
+                            scopeMap.put(scopeID, scope);
+                        }
+                        if (binding != null) {
+                            scope.addScopeBinding(bindingType, binding);
+                        }
+                    }
+                }
+            }
+            return new ScopeCatalog(version, oauth2ScopeMap.values(), oidcScopeMap.values());
+        } catch (SQLException e) {
+            String msg = "Error occurred while loading the scope catalog of tenant :" + tenantID;
+            throw new IdentityOAuth2ScopeServerException(msg, e);
+        }
+    }
+
     @Override
     public Set<Scope> getRequestedScopesOnly(int tenantID, Boolean includeOIDCScopes, String requestedScopes)
             throws IdentityOAuth2ScopeServerException {
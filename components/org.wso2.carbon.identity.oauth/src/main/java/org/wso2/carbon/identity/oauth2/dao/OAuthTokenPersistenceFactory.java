@@ -40,6 +40,7 @@ public class OAuthTokenPersistenceFactory {
     private ScopeClaimMappingDAO scopeClaimMappingDAO;
     private TokenBindingMgtDAO tokenBindingMgtDAO;
     private OAuthUserConsentedScopesDAO oauthUserConsentedScopesDAO;
+    private TokenRevocationDAO tokenRevocationDAO;
 
     public OAuthTokenPersistenceFactory() {
 
@@ -51,6 +52,7 @@ public class OAuthTokenPersistenceFactory {
         this.scopeClaimMappingDAO = new CacheBackedScopeClaimMappingDAOImpl();
         this.tokenBindingMgtDAO = new TokenBindingMgtDAOImpl();
         this.oauthUserConsentedScopesDAO = new CacheBackedOAuthUserConsentedScopesDAOImpl();
+        this.tokenRevocationDAO = new TokenRevocationDAOImpl();
     }
 
     public static OAuthTokenPersistenceFactory getInstance() {
@@ -107,4 +109,9 @@ public class OAuthTokenPersistenceFactory {
 
         return oauthUserConsentedScopesDAO;
     }
+
+    public TokenRevocationDAO getTokenRevocationDAO() {
+
+        return tokenRevocationDAO;
+    }
 }
@@ -21,6 +21,7 @@ package org.wso2.carbon.identity.oauth2.dao;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.OldAccessTokenDO;
 
@@ -42,6 +43,19 @@ public class OldTokensCleanDAO {
 
     public void cleanupTokenByTokenId(String tokenId, Connection connection) throws SQLException {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            // The shard of a token is not known by its id, hence the token is cleaned up from every shard.
+            for (int shard = 0; shard < tokenShardRouter.getShardCount(); shard++) {
+                cleanupTokenByTokenId(tokenId, connection, shard);
+            }
+            return;
+        }
+        cleanupTokenByTokenId(tokenId, connection, tokenShardRouter.getCurrentShard());
+    }
+
+    private void cleanupTokenByTokenId(String tokenId, Connection connection, Integer shard) throws SQLException {
+
         try {
             connection.setAutoCommit(false);
             if (OAuthServerConfiguration.getInstance().useRetainOldAccessTokens()) {
@@ -51,12 +65,12 @@ public class OldTokensCleanDAO {
                 } else {
                     sql = SQLQueries.RETRIEVE_AND_STORE_IN_AUDIT;
                 }
-                PreparedStatement prepStmt = connection.prepareStatement(sql);
+                PreparedStatement prepStmt = connection.prepareStatement(getShardSql(sql, shard));
                 prepStmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
                 prepStmt.setString(2, tokenId);
                 prepStmt.executeUpdate();
             }
-            removeTokenFromMainTable(tokenId, connection);
+            removeTokenFromMainTable(tokenId, connection, shard);
             connection.commit();
         } catch (SQLException e) {
             connection.rollback();
@@ -74,7 +88,8 @@ public class OldTokensCleanDAO {
             sql = SQLQueries.RETRIEVE_OLD_TOKEN_BY_TOKEN_HASH;
         }
 
-        PreparedStatement prepStmt = connection.prepareStatement(sql);
+        Integer shard = TokenShardRouter.getInstance().getCurrentShard();
+        PreparedStatement prepStmt = connection.prepareStatement(getShardSql(sql, shard));
         prepStmt.setString(1, token);
         ResultSet resultSet = prepStmt.executeQuery();
         //iterate result set and insert to AccessTokenDO object.
@@ -105,7 +120,7 @@ public class OldTokensCleanDAO {
         if (OAuthServerConfiguration.getInstance().useRetainOldAccessTokens()) {
             saveTokenInAuditTable(oldAccessTokenObject, connection);
         }
-        removeTokenFromMainTable(oldAccessTokenObject.getTokenId(), connection);
+        removeTokenFromMainTable(oldAccessTokenObject.getTokenId(), connection, shard);
     }
 
     private void saveTokenInAuditTable(OldAccessTokenDO oldAccessTokenDAO, Connection connection) throws SQLException {
@@ -148,13 +163,13 @@ public class OldTokensCleanDAO {
         }
     }
 
-    private void removeTokenFromMainTable(String oldAccessTokenID, Connection connection)
+    private void removeTokenFromMainTable(String oldAccessTokenID, Connection connection, Integer shard)
             throws SQLException {
 
         connection.setAutoCommit(false);
         try {
             PreparedStatement deletefromaccesstokentable =
-                    connection.prepareStatement(SQLQueries.DELETE_OLD_TOKEN_BY_ID);
+                    connection.prepareStatement(getShardSql(SQLQueries.DELETE_OLD_TOKEN_BY_ID, shard));
             deletefromaccesstokentable.setString(1, oldAccessTokenID);
             deletefromaccesstokentable.executeUpdate();
             if (log.isDebugEnabled()) {
@@ -173,4 +188,16 @@ public class OldTokensCleanDAO {
             cleanupTokenByTokenValue(token, connection);
         }
     }
+
+    private String getShardSql(String sql, Integer shard) throws SQLException {
+
+        if (shard == null) {
+            return sql;
+        }
+        try {
+            return PartitionedSqlRegistry.getInstance().getPartitionedSql(sql, null, shard);
+        } catch (IdentityOAuth2Exception e) {
+            throw new SQLException("Error while resolving the token tables of shard: " + shard, e);
+        }
+    }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the SQL statements rewritten for access token partitioning.
+ * <p>
+ * When access token partitioning is enabled, the token tables referred to by a statement are replaced with the
+ * tables of the user store domain the token belongs to. The registry rewrites every statement in {@link SQLQueries}
+ * once per user store domain, the first time the domain is used or when the configured domain mappings are
+ * registered at startup, and serves later lookups from memory. Other statements are rewritten on first use and
+ * remembered up to a limit, except statements with an IN list of placeholders, whose text differs with the number
+ * of values and which are therefore rewritten on every use. The rewritten statements of a domain are discarded when
+ * the domain mappings change.
+ * <p>
+ * When token sharding is enabled, the statements are kept per user store domain and shard, and the tables of the
+ * shard given by {@link TokenShardRouter#getTableSuffix(Integer)} are used.
+ */
+public class PartitionedSqlRegistry {
+
+    private static final Log log = LogFactory.getLog(PartitionedSqlRegistry.class);
+    static final String ACCESS_TOKEN_SCOPE_TABLE = "IDN_OAUTH2_ACCESS_TOKEN_SCOPE";
+    private static final Pattern ACCESS_TOKEN_TABLE_PATTERN = tablePattern(OAuthConstants.ACCESS_TOKEN_STORE_TABLE);
+    private static final Pattern ACCESS_TOKEN_SCOPE_TABLE_PATTERN = tablePattern(ACCESS_TOKEN_SCOPE_TABLE);
+    private static final Pattern ACCESS_TOKEN_ATTRIBUTES_TABLE_PATTERN =
+            tablePattern(OAuthConstants.ACCESS_TOKEN_STORE_ATTRIBUTES_TABLE);
+    private static final Pattern IN_LIST_PATTERN = Pattern.compile("\\bIN\\s*\\(\\s*\\?\\s*,",
+            Pattern.CASE_INSENSITIVE);
+    private static final int MAX_DYNAMIC_STATEMENTS_PER_DOMAIN = 500;
+    private static final String SHARD_SEPARATOR = "#";
+    private static final List<String> SQL_QUERIES = loadSqlQueries();
+    private static final PartitionedSqlRegistry instance = new PartitionedSqlRegistry();
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    private PartitionedSqlRegistry() {
+
+    }
+
+    public static PartitionedSqlRegistry getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Get a statement rewritten with the token tables of a user store domain.
+     *
+     * @param sql             Statement.
+     * @param userStoreDomain User store domain.
+     * @return Statement referring to the token tables of the user store domain.
+     * @throws IdentityOAuth2Exception If the domain mappings are not defined correctly.
+     */
+    public String getPartitionedSql(String sql, String userStoreDomain) throws IdentityOAuth2Exception {
+
+        return getPartitionedSql(sql, userStoreDomain, null);
+    }
+
+    /**
+     * Get a statement rewritten with the token tables of a user store domain in a token shard.
+     *
+     * @param sql             Statement.
+     * @param userStoreDomain User store domain, or null if the tokens are not partitioned by user store.
+     * @param shard           Token shard, or null if the tokens are not sharded.
+     * @return Statement referring to the token tables of the user store domain in the shard.
+     * @throws IdentityOAuth2Exception If the domain mappings are not defined correctly.
+     */
+    public String getPartitionedSql(String sql, String userStoreDomain, Integer shard)
+            throws IdentityOAuth2Exception {
+
+        if (sql == null) {
+            return null;
+        }
+        return getPartition(userStoreDomain, shard).getSql(sql);
+    }
+
+    /**
+     * Rewrite the statements in {@link SQLQueries} for the given user store domains ahead of their first use.
+     *
+     * @param userStoreDomains User store domains.
+     * @throws IdentityOAuth2Exception If the domain mappings are not defined correctly.
+     */
+    public void registerUserStoreDomains(Collection<String> userStoreDomains) throws IdentityOAuth2Exception {
+
+        for (String userStoreDomain : userStoreDomains) {
+            getPartition(userStoreDomain, null);
+        }
+    }
+
+    /**
+     * Discard the statements rewritten for a user store domain.
+     *
+     * @param userStoreDomain User store domain.
+     */
+    public void removeUserStoreDomain(String userStoreDomain) {
+
+        String keyPrefix = StringUtils.defaultString(userStoreDomain) + SHARD_SEPARATOR;
+        partitions.keySet().removeIf(key -> key.startsWith(keyPrefix));
+    }
+
+    private Partition getPartition(String userStoreDomain, Integer shard) throws IdentityOAuth2Exception {
+
+        String tableSuffix = TokenShardRouter.getTableSuffix(shard);
+        String key = StringUtils.defaultString(userStoreDomain) + SHARD_SEPARATOR + tableSuffix;
+        String domainMappings = OAuth2Util.getAccessTokenPartitioningDomains();
+        Partition partition = partitions.get(key);
+        if (partition == null || !partition.isBuiltFor(domainMappings)) {
+            partition = new Partition(userStoreDomain, tableSuffix, domainMappings);
+            partitions.put(key, partition);
+        }
+        return partition;
+    }
+
+    private static Pattern tablePattern(String tableName) {
+
+        return Pattern.compile("\\b" + tableName + "\\b");
+    }
+
+    private static List<String> loadSqlQueries() {
+
+        List<String> sqlQueries = new ArrayList<>();
+        for (Field field : SQLQueries.class.getFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && field.getType() == String.class) {
+                try {
+                    sqlQueries.add((String) field.get(null));
+                } catch (IllegalAccessException e) {
+                    log.warn("Unable to read the SQL query: " + field.getName(), e);
+                }
+            }
+        }
+        return Collections.unmodifiableList(sqlQueries);
+    }
+
+    /**
+     * Statements rewritten with the token tables of a single user store domain and shard.
+     */
+    private static class Partition {
+
+        private final String domainMappings;
+        private final String accessTokenTable;
+        private final String accessTokenScopeTable;
+        private final String accessTokenAttributesTable;
+        private final boolean partitioned;
+        private final Map<String, String> statements = new ConcurrentHashMap<>();
+        private final int staticStatementCount;
+
+        private Partition(String userStoreDomain, String tableSuffix, String domainMappings)
+                throws IdentityOAuth2Exception {
+
+            this.domainMappings = domainMappings;
+            this.accessTokenTable = OAuth2Util.getPartitionedTableByUserStore(
+                    OAuthConstants.ACCESS_TOKEN_STORE_TABLE, userStoreDomain) + tableSuffix;
+            this.accessTokenScopeTable = OAuth2Util.getPartitionedTableByUserStore(ACCESS_TOKEN_SCOPE_TABLE,
+                    userStoreDomain) + tableSuffix;
+            // The attributes are partitioned along with the tokens they belong to, so that they can be moved with
+            // them when a user store domain is renamed.
+            this.accessTokenAttributesTable = OAuth2Util.getPartitionedTableByUserStore(
+                    OAuthConstants.ACCESS_TOKEN_STORE_ATTRIBUTES_TABLE, userStoreDomain) + tableSuffix;
+            this.partitioned = !OAuthConstants.ACCESS_TOKEN_STORE_TABLE.equals(this.accessTokenTable) ||
+                    !ACCESS_TOKEN_SCOPE_TABLE.equals(accessTokenScopeTable);
+            if (partitioned) {
+                for (String sql : SQL_QUERIES) {
+                    statements.put(sql, rewrite(sql));
+                }
+            }
+            this.staticStatementCount = statements.size();
+            if (log.isDebugEnabled()) {
+                log.debug("PartitionedAccessTokenTable: " + accessTokenTable + " & PartitionedAccessTokenScopeTable: "
+                        + accessTokenScopeTable + " for user store domain: " + userStoreDomain + ". Rewritten "
+                        + statements.size() + " statements.");
+            }
+        }
+
+        private boolean isBuiltFor(String domainMappings) {
+
+            return Objects.equals(this.domainMappings, domainMappings);
+        }
+
+        private String getSql(String sql) {
+
+            if (!partitioned) {
+                return sql;
+            }
+            String partitionedSql = statements.get(sql);
+            if (partitionedSql == null) {
+                partitionedSql = rewrite(sql);
+                if (statements.size() - staticStatementCount < MAX_DYNAMIC_STATEMENTS_PER_DOMAIN &&
+                        !IN_LIST_PATTERN.matcher(sql).find()) {
+                    statements.put(sql, partitionedSql);
+                }
+            }
+            return partitionedSql;
+        }
+
+        private String rewrite(String sql) {
+
+            String partitionedSql = ACCESS_TOKEN_TABLE_PATTERN.matcher(sql)
+                    .replaceAll(Matcher.quoteReplacement(accessTokenTable));
+            partitionedSql = ACCESS_TOKEN_SCOPE_TABLE_PATTERN.matcher(partitionedSql)
+                    .replaceAll(Matcher.quoteReplacement(accessTokenScopeTable));
+            return ACCESS_TOKEN_ATTRIBUTES_TABLE_PATTERN.matcher(partitionedSql)
+                    .replaceAll(Matcher.quoteReplacement(accessTokenAttributesTable));
+        }
+    }
+}
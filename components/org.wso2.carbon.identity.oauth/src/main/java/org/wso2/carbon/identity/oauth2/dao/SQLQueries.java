@@ -93,6 +93,9 @@ public class SQLQueries {
     public static final String DEACTIVATE_AUTHZ_CODE_AND_INSERT_CURRENT_TOKEN =
             "UPDATE IDN_OAUTH2_AUTHORIZATION_CODE SET STATE='INACTIVE', TOKEN_ID=? WHERE AUTHORIZATION_CODE_HASH= ?";
 
+    public static final String REDEEM_ACTIVE_AUTHZ_CODE_AND_INSERT_CURRENT_TOKEN = "UPDATE " +
+            "IDN_OAUTH2_AUTHORIZATION_CODE SET STATE='INACTIVE', TOKEN_ID=? WHERE CODE_ID=? AND STATE='ACTIVE'";
+
     public static final String RETRIEVE_LATEST_ACCESS_TOKEN_BY_CLIENT_ID_USER_SCOPE_ORACLE = "SELECT * FROM (SELECT " +
             "ACCESS_TOKEN, REFRESH_TOKEN, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
             "REFRESH_TOKEN_VALIDITY_PERIOD,TOKEN_STATE, USER_TYPE, TOKEN_ID, SUBJECT_IDENTIFIER, GRANT_TYPE FROM " +
@@ -420,6 +423,81 @@ public class SQLQueries {
                     " LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = " +
                     "IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID JOIN IDP ON IDP_ID = IDP.ID";
 
+    public static final String ACCESS_TOKEN_HASH_LIST_PLACEHOLDER = "$ACCESS_TOKEN_HASH_LIST";
+
+    public static final String RETRIEVE_ACTIVE_ACCESS_TOKENS = "SELECT CONSUMER_KEY, AUTHZ_USER, " +
+            "ACCESS_TOKEN_TABLE.TENANT_ID, USER_DOMAIN, TOKEN_SCOPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, REFRESH_TOKEN, ACCESS_TOKEN_TABLE.TOKEN_ID, " +
+            "GRANT_TYPE, SUBJECT_IDENTIFIER, TOKEN_BINDING_REF, " +
+            "AUTHORIZED_ORGANIZATION, ACCESS_TOKEN_TABLE.APP_TENANT_ID, ACCESS_TOKEN_TABLE.ACCESS_TOKEN_HASH " +
+            "FROM (SELECT TOKEN_ID, ACCESS_TOKEN_HASH, CONSUMER_KEY, AUTHZ_USER, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID AS TENANT_ID, IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN AS USER_DOMAIN, " +
+            "TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
+            "REFRESH_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.GRANT_TYPE AS GRANT_TYPE, SUBJECT_IDENTIFIER, " +
+            "TOKEN_BINDING_REF, AUTHORIZED_ORGANIZATION, IDN_OAUTH_CONSUMER_APPS.TENANT_ID AS APP_TENANT_ID " +
+            "FROM (SELECT * FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN_HASH IN (" +
+            ACCESS_TOKEN_HASH_LIST_PLACEHOLDER + ") AND TOKEN_STATE='ACTIVE') " +
+            "IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID) ACCESS_TOKEN_TABLE" +
+            " LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE " +
+            "ON ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID";
+
+    public static final String RETRIEVE_ACTIVE_ACCESS_TOKENS_WITH_CONSENTED_TOKEN = "SELECT CONSUMER_KEY, " +
+            "AUTHZ_USER, ACCESS_TOKEN_TABLE.TENANT_ID, USER_DOMAIN, TOKEN_SCOPE, TIME_CREATED, " +
+            "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, REFRESH_TOKEN, " +
+            "ACCESS_TOKEN_TABLE.TOKEN_ID, GRANT_TYPE, SUBJECT_IDENTIFIER, TOKEN_BINDING_REF, " +
+            "AUTHORIZED_ORGANIZATION, ACCESS_TOKEN_TABLE.APP_TENANT_ID, CONSENTED_TOKEN, " +
+            "ACCESS_TOKEN_TABLE.ACCESS_TOKEN_HASH " +
+            "FROM (SELECT TOKEN_ID, ACCESS_TOKEN_HASH, CONSUMER_KEY, AUTHZ_USER, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID AS TENANT_ID, IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN AS USER_DOMAIN, " +
+            "TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
+            "REFRESH_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.GRANT_TYPE AS GRANT_TYPE, SUBJECT_IDENTIFIER, " +
+            "TOKEN_BINDING_REF, AUTHORIZED_ORGANIZATION, IDN_OAUTH_CONSUMER_APPS.TENANT_ID AS APP_TENANT_ID, " +
+            "CONSENTED_TOKEN FROM (SELECT * FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN_HASH IN (" +
+            ACCESS_TOKEN_HASH_LIST_PLACEHOLDER + ") AND TOKEN_STATE='ACTIVE') " +
+            "IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID) ACCESS_TOKEN_TABLE" +
+            " LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE " +
+            "ON ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID";
+
+    public static final String RETRIEVE_ACTIVE_ACCESS_TOKENS_IDP_NAME =
+            "SELECT CONSUMER_KEY, AUTHZ_USER, ACCESS_TOKEN_TABLE.TENANT_ID, " +
+                    "USER_DOMAIN, TOKEN_SCOPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
+                    "REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, REFRESH_TOKEN, ACCESS_TOKEN_TABLE.TOKEN_ID, " +
+                    "GRANT_TYPE, SUBJECT_IDENTIFIER, TOKEN_BINDING_REF, " +
+                    "AUTHORIZED_ORGANIZATION, ACCESS_TOKEN_TABLE.APP_TENANT_ID, IDP.NAME, " +
+                    "ACCESS_TOKEN_TABLE.ACCESS_TOKEN_HASH " +
+                    "FROM (SELECT TOKEN_ID, ACCESS_TOKEN_HASH, CONSUMER_KEY, " +
+                    "AUTHZ_USER, IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID AS TENANT_ID, " +
+                    "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN AS USER_DOMAIN, TIME_CREATED, " +
+                    "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
+                    "REFRESH_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.GRANT_TYPE AS GRANT_TYPE, " +
+                    "SUBJECT_IDENTIFIER, IDN_OAUTH2_ACCESS_TOKEN.IDP_ID AS IDP_ID, " +
+                    "TOKEN_BINDING_REF, AUTHORIZED_ORGANIZATION, IDN_OAUTH_CONSUMER_APPS.TENANT_ID AS APP_TENANT_ID " +
+                    "FROM (SELECT * FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN_HASH IN (" +
+                    ACCESS_TOKEN_HASH_LIST_PLACEHOLDER + ") AND TOKEN_STATE='ACTIVE') IDN_OAUTH2_ACCESS_TOKEN " +
+                    "JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID) ACCESS_TOKEN_TABLE" +
+                    " LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = " +
+                    "IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID JOIN IDP ON IDP_ID = IDP.ID";
+
+    public static final String RETRIEVE_ACTIVE_ACCESS_TOKENS_IDP_NAME_WITH_CONSENTED_TOKEN =
+            "SELECT CONSUMER_KEY, AUTHZ_USER, ACCESS_TOKEN_TABLE.TENANT_ID, " +
+                    "USER_DOMAIN, TOKEN_SCOPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
+                    "REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, REFRESH_TOKEN, ACCESS_TOKEN_TABLE.TOKEN_ID, " +
+                    "GRANT_TYPE, SUBJECT_IDENTIFIER, TOKEN_BINDING_REF, AUTHORIZED_ORGANIZATION, " +
+                    "ACCESS_TOKEN_TABLE.APP_TENANT_ID, IDP.NAME, CONSENTED_TOKEN, " +
+                    "ACCESS_TOKEN_TABLE.ACCESS_TOKEN_HASH FROM " +
+                    "(SELECT TOKEN_ID, ACCESS_TOKEN_HASH, CONSUMER_KEY, AUTHZ_USER, " +
+                    "IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID AS TENANT_ID, " +
+                    "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN AS USER_DOMAIN, TIME_CREATED, " +
+                    "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
+                    "REFRESH_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.GRANT_TYPE AS GRANT_TYPE, " +
+                    "SUBJECT_IDENTIFIER, IDN_OAUTH2_ACCESS_TOKEN.IDP_ID AS IDP_ID, " +
+                    "TOKEN_BINDING_REF, AUTHORIZED_ORGANIZATION, IDN_OAUTH_CONSUMER_APPS.TENANT_ID AS APP_TENANT_ID, " +
+                    "CONSENTED_TOKEN FROM (SELECT * FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN_HASH IN (" +
+                    ACCESS_TOKEN_HASH_LIST_PLACEHOLDER + ") AND TOKEN_STATE='ACTIVE') IDN_OAUTH2_ACCESS_TOKEN " +
+                    "JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID) ACCESS_TOKEN_TABLE" +
+                    " LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = " +
+                    "IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID JOIN IDP ON IDP_ID = IDP.ID";
+
     public static final String RETRIEVE_ACTIVE_TENANT_ACCESS_TOKEN_IDP_NAME_WITH_CONSENTED_TOKEN =
             "SELECT CONSUMER_KEY, AUTHZ_USER, ACCESS_TOKEN_TABLE.TENANT_ID, USER_DOMAIN, TOKEN_SCOPE, TIME_CREATED, "
                     + "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, "
@@ -475,6 +553,8 @@ public class SQLQueries {
     public static final String UPDATE_TOKEN_STATE = "UPDATE IDN_OAUTH2_ACCESS_TOKEN SET TOKEN_STATE=?, " +
             "TOKEN_STATE_ID=? WHERE TOKEN_ID=?";
 
+    public static final String UPDATE_ACTIVE_TOKEN_STATE = UPDATE_TOKEN_STATE + " AND TOKEN_STATE='ACTIVE'";
+
     public static final String UPDATE_TOKEN_CONSENTED_TOKEN = "UPDATE IDN_OAUTH2_ACCESS_TOKEN SET " +
             "CONSENTED_TOKEN=? WHERE TOKEN_ID=?";
     @Deprecated
@@ -621,6 +701,14 @@ public class SQLQueries {
             "ID WHERE AUTHZ_USER=? AND IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=? " +
             "AND (TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED')";
 
+    public static final String GET_APPS_AUTHORIZED_BY_USER_WITH_SCOPES = "SELECT CONSUMER_KEY, APP_NAME, " +
+            "TOKEN_SCOPE, MAX(TIME_CREATED) FROM IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS ON " +
+            "CONSUMER_KEY_ID = IDN_OAUTH_CONSUMER_APPS.ID LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID WHERE AUTHZ_USER=? AND " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=? AND " +
+            "(TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED') GROUP BY CONSUMER_KEY, APP_NAME, TOKEN_SCOPE " +
+            "ORDER BY APP_NAME, CONSUMER_KEY";
+
     public static final String RETRIEVE_ACCESS_TOKEN_VALIDATION_DATA_MYSQL = "SELECT ACCESS_TOKEN, AUTHZ_USER, " +
             "ACCESS_TOKEN_SELECTED.TENANT_ID, USER_DOMAIN, TOKEN_SCOPE, TOKEN_STATE, REFRESH_TOKEN_TIME_CREATED, " +
             "REFRESH_TOKEN_VALIDITY_PERIOD, ACCESS_TOKEN_SELECTED.TOKEN_ID, GRANT_TYPE, SUBJECT_IDENTIFIER, " +
@@ -989,6 +1077,88 @@ public class SQLQueries {
     public static final String RENAME_USER_STORE_IN_AUTHORIZATION_CODES_TABLE = "UPDATE IDN_OAUTH2_AUTHORIZATION_CODE" +
             " SET USER_DOMAIN=? WHERE TENANT_ID=? AND USER_DOMAIN=?";
 
+    public static final String TARGET_TOKEN_TABLE_PLACEHOLDER = "$TARGET_TOKEN_TABLE";
+
+    public static final String TARGET_TOKEN_SCOPE_TABLE_PLACEHOLDER = "$TARGET_TOKEN_SCOPE_TABLE";
+
+    public static final String TARGET_TOKEN_ATTRIBUTES_TABLE_PLACEHOLDER = "$TARGET_TOKEN_ATTRIBUTES_TABLE";
+
+    public static final String LIST_TOKEN_IDS_OF_USER_STORE = "SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN WHERE " +
+            "TENANT_ID=? AND USER_DOMAIN=? ORDER BY TOKEN_ID";
+
+    public static final String RENAME_USER_STORE_IN_ACCESS_TOKENS_TABLE_UP_TO_TOKEN_ID = "UPDATE " +
+            "IDN_OAUTH2_ACCESS_TOKEN SET USER_DOMAIN=? WHERE TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?";
+
+    public static final String COPY_ACCESS_TOKENS_OF_USER_STORE_UP_TO_TOKEN_ID = "INSERT INTO " +
+            TARGET_TOKEN_TABLE_PLACEHOLDER + " (TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, " +
+            "TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, " +
+            "SUBJECT_IDENTIFIER, ACCESS_TOKEN_HASH, REFRESH_TOKEN_HASH, IDP_ID, TOKEN_BINDING_REF, " +
+            "AUTHORIZED_ORGANIZATION) SELECT TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, " +
+            "TENANT_ID, ?, USER_TYPE, GRANT_TYPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
+            "REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, SUBJECT_IDENTIFIER, " +
+            "ACCESS_TOKEN_HASH, REFRESH_TOKEN_HASH, IDP_ID, TOKEN_BINDING_REF, AUTHORIZED_ORGANIZATION FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?";
+
+    public static final String COPY_ACCESS_TOKENS_OF_USER_STORE_UP_TO_TOKEN_ID_WITH_CONSENTED_TOKEN = "INSERT INTO " +
+            TARGET_TOKEN_TABLE_PLACEHOLDER + " (TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, " +
+            "TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, " +
+            "SUBJECT_IDENTIFIER, ACCESS_TOKEN_HASH, REFRESH_TOKEN_HASH, IDP_ID, TOKEN_BINDING_REF, CONSENTED_TOKEN, " +
+            "AUTHORIZED_ORGANIZATION) SELECT TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, " +
+            "TENANT_ID, ?, USER_TYPE, GRANT_TYPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
+            "REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, SUBJECT_IDENTIFIER, " +
+            "ACCESS_TOKEN_HASH, REFRESH_TOKEN_HASH, IDP_ID, TOKEN_BINDING_REF, CONSENTED_TOKEN, " +
+            "AUTHORIZED_ORGANIZATION FROM IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND USER_DOMAIN=? AND " +
+            "TOKEN_ID <= ?";
+
+    public static final String COPY_ACCESS_TOKEN_SCOPES_OF_USER_STORE_UP_TO_TOKEN_ID = "INSERT INTO " +
+            TARGET_TOKEN_SCOPE_TABLE_PLACEHOLDER + " (TOKEN_ID, TOKEN_SCOPE, TENANT_ID) SELECT TOKEN_ID, " +
+            "TOKEN_SCOPE, TENANT_ID FROM IDN_OAUTH2_ACCESS_TOKEN_SCOPE WHERE TOKEN_ID IN (SELECT TOKEN_ID FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?)";
+
+    public static final String COPY_ACCESS_TOKEN_ATTRIBUTES_OF_USER_STORE_UP_TO_TOKEN_ID = "INSERT INTO " +
+            TARGET_TOKEN_ATTRIBUTES_TABLE_PLACEHOLDER + " (TOKEN_ATTR_NAME, TOKEN_ATTR_VALUE, TOKEN_ID) SELECT " +
+            "TOKEN_ATTR_NAME, TOKEN_ATTR_VALUE, TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN_ATTRIBUTES WHERE TOKEN_ID IN " +
+            "(SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?)";
+
+    public static final String LIST_REQUEST_OBJECT_REFERENCES_OF_USER_STORE_UP_TO_TOKEN_ID = "SELECT ID, " +
+            "TOKEN_ID FROM IDN_OIDC_REQ_OBJECT_REFERENCE WHERE TOKEN_ID IN (SELECT TOKEN_ID FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?)";
+
+    public static final String DETACH_REQUEST_OBJECT_REFERENCES_OF_USER_STORE_UP_TO_TOKEN_ID = "UPDATE " +
+            "IDN_OIDC_REQ_OBJECT_REFERENCE SET TOKEN_ID=NULL WHERE TOKEN_ID IN (SELECT TOKEN_ID FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?)";
+
+    public static final String ATTACH_REQUEST_OBJECT_REFERENCE = "UPDATE IDN_OIDC_REQ_OBJECT_REFERENCE SET " +
+            "TOKEN_ID=? WHERE ID=?";
+
+    public static final String LIST_TOKEN_BINDINGS_OF_USER_STORE_UP_TO_TOKEN_ID = "SELECT TOKEN_ID, " +
+            "TOKEN_BINDING_TYPE, TOKEN_BINDING_REF, TOKEN_BINDING_VALUE, TENANT_ID FROM IDN_OAUTH2_TOKEN_BINDING " +
+            "WHERE TOKEN_ID IN (SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND USER_DOMAIN=? AND " +
+            "TOKEN_ID <= ?)";
+
+    public static final String DELETE_TOKEN_BINDINGS_OF_USER_STORE_UP_TO_TOKEN_ID = "DELETE FROM " +
+            "IDN_OAUTH2_TOKEN_BINDING WHERE TOKEN_ID IN (SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN WHERE " +
+            "TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?)";
+
+    public static final String DELETE_ACCESS_TOKEN_ATTRIBUTES_OF_USER_STORE_UP_TO_TOKEN_ID = "DELETE FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN_ATTRIBUTES WHERE TOKEN_ID IN (SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN " +
+            "WHERE TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?)";
+
+    public static final String DELETE_ACCESS_TOKEN_SCOPES_OF_USER_STORE_UP_TO_TOKEN_ID = "DELETE FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN_SCOPE WHERE TOKEN_ID IN (SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN WHERE " +
+            "TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?)";
+
+    public static final String DELETE_ACCESS_TOKENS_OF_USER_STORE_UP_TO_TOKEN_ID = "DELETE FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND USER_DOMAIN=? AND TOKEN_ID <= ?";
+
+    public static final String LIST_AUTHORIZATION_CODE_IDS_OF_USER_STORE = "SELECT CODE_ID FROM " +
+            "IDN_OAUTH2_AUTHORIZATION_CODE WHERE TENANT_ID=? AND USER_DOMAIN=? ORDER BY CODE_ID";
+
+    public static final String RENAME_USER_STORE_IN_AUTHORIZATION_CODES_TABLE_UP_TO_CODE_ID = "UPDATE " +
+            "IDN_OAUTH2_AUTHORIZATION_CODE SET USER_DOMAIN=? WHERE TENANT_ID=? AND USER_DOMAIN=? AND CODE_ID <= ?";
+
     public static final String LIST_ALL_TOKENS_IN_TENANT = "SELECT ACCESS_TOKEN, REFRESH_TOKEN, " +
             "TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
             "TOKEN_SCOPE, ACCESS_TOKEN_TABLE.TOKEN_ID, AUTHZ_USER, ACCESS_TOKEN_TABLE.USER_DOMAIN, CONSUMER_KEY FROM " +
@@ -1053,6 +1223,61 @@ public class SQLQueries {
             "IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID " +
             "JOIN IDP ON IDP.ID=IDP_ID";
 
+    public static final String LIST_TOKENS_IN_TENANT_ORDERED_BY_TOKEN_ID = "SELECT ACCESS_TOKEN_TABLE.TOKEN_ID, " +
+            "ACCESS_TOKEN, REFRESH_TOKEN, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
+            "REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, TOKEN_SCOPE, AUTHZ_USER, ACCESS_TOKEN_TABLE.USER_DOMAIN, " +
+            "CONSUMER_KEY, TOKEN_STATE FROM (SELECT AUTHZ_USER, USER_DOMAIN, CONSUMER_KEY_ID, TOKEN_ID, " +
+            "ACCESS_TOKEN, REFRESH_TOKEN, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
+            "REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, TOKEN_STATE FROM IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? " +
+            "AND (TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED')$TOKEN_FILTER) ACCESS_TOKEN_TABLE JOIN " +
+            "IDN_OAUTH_CONSUMER_APPS ON IDN_OAUTH_CONSUMER_APPS.ID = CONSUMER_KEY_ID LEFT JOIN " +
+            "IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID " +
+            "ORDER BY ACCESS_TOKEN_TABLE.TOKEN_ID";
+
+    public static final String LIST_TOKENS_IN_TENANT_ORDERED_BY_TOKEN_ID_IDP_NAME = "SELECT " +
+            "ACCESS_TOKEN_TABLE.TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, TOKEN_SCOPE, AUTHZ_USER, " +
+            "ACCESS_TOKEN_TABLE.USER_DOMAIN, CONSUMER_KEY, TOKEN_STATE, IDP.NAME FROM (SELECT AUTHZ_USER, " +
+            "USER_DOMAIN, CONSUMER_KEY_ID, TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, TIME_CREATED, " +
+            "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, TOKEN_STATE, " +
+            "IDP_ID FROM IDN_OAUTH2_ACCESS_TOKEN WHERE TENANT_ID=? AND (TOKEN_STATE='ACTIVE' OR " +
+            "TOKEN_STATE='EXPIRED')$TOKEN_FILTER) ACCESS_TOKEN_TABLE JOIN IDN_OAUTH_CONSUMER_APPS ON " +
+            "IDN_OAUTH_CONSUMER_APPS.ID = CONSUMER_KEY_ID LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON " +
+            "ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID JOIN IDP ON IDP.ID=IDP_ID " +
+            "ORDER BY ACCESS_TOKEN_TABLE.TOKEN_ID";
+
+    public static final String LIST_TOKENS_OF_AUTHORIZED_ORG_ORDERED_BY_TOKEN_ID = "SELECT " +
+            "ACCESS_TOKEN_TABLE.TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, TOKEN_SCOPE, AUTHZ_USER, " +
+            "ACCESS_TOKEN_TABLE.USER_DOMAIN, CONSUMER_KEY, TOKEN_STATE, ACCESS_TOKEN_TABLE.TENANT_ID FROM (SELECT " +
+            "AUTHZ_USER, USER_DOMAIN, TENANT_ID, CONSUMER_KEY_ID, TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, " +
+            "TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
+            "TOKEN_STATE FROM IDN_OAUTH2_ACCESS_TOKEN WHERE AUTHORIZED_ORGANIZATION=? AND (TOKEN_STATE='ACTIVE' OR " +
+            "TOKEN_STATE='EXPIRED')$TOKEN_FILTER) ACCESS_TOKEN_TABLE JOIN IDN_OAUTH_CONSUMER_APPS ON " +
+            "IDN_OAUTH_CONSUMER_APPS.ID = CONSUMER_KEY_ID LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON " +
+            "ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID ORDER BY ACCESS_TOKEN_TABLE.TOKEN_ID";
+
+    public static final String LIST_TOKENS_OF_AUTHORIZED_ORG_ORDERED_BY_TOKEN_ID_IDP_NAME = "SELECT " +
+            "ACCESS_TOKEN_TABLE.TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, TOKEN_SCOPE, AUTHZ_USER, " +
+            "ACCESS_TOKEN_TABLE.USER_DOMAIN, CONSUMER_KEY, TOKEN_STATE, IDP.NAME, ACCESS_TOKEN_TABLE.TENANT_ID FROM " +
+            "(SELECT AUTHZ_USER, USER_DOMAIN, TENANT_ID, CONSUMER_KEY_ID, TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, " +
+            "TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
+            "TOKEN_STATE, IDP_ID FROM IDN_OAUTH2_ACCESS_TOKEN WHERE AUTHORIZED_ORGANIZATION=? AND " +
+            "(TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED')$TOKEN_FILTER) ACCESS_TOKEN_TABLE JOIN " +
+            "IDN_OAUTH_CONSUMER_APPS ON IDN_OAUTH_CONSUMER_APPS.ID = CONSUMER_KEY_ID LEFT JOIN " +
+            "IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID " +
+            "JOIN IDP ON IDP.ID=IDP_ID ORDER BY ACCESS_TOKEN_TABLE.TOKEN_ID";
+
+    public static final String TOKEN_FILTER_PLACEHOLDER = "$TOKEN_FILTER";
+
+    public static final String TOKEN_USER_DOMAIN_FILTER = " AND USER_DOMAIN=?";
+
+    public static final String TOKEN_CONSUMER_KEY_FILTER = " AND CONSUMER_KEY_ID IN (SELECT ID FROM " +
+            "IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY=?)";
+
+    public static final String TOKEN_ID_AFTER_FILTER = " AND TOKEN_ID > ?";
+
     public static final String LIST_LATEST_AUTHZ_CODES_IN_USER_DOMAIN = "SELECT CODE_ID, AUTHORIZATION_CODE, " +
             "CONSUMER_KEY, IDN_OAUTH2_AUTHORIZATION_CODE.AUTHZ_USER, IDN_OAUTH2_AUTHORIZATION_CODE.SCOPE, " +
             "TIME_CREATED, VALIDITY_PERIOD, IDN_OAUTH2_AUTHORIZATION_CODE.CALLBACK_URL FROM (SELECT " +
@@ -1330,6 +1555,18 @@ public class SQLQueries {
                     "LEFT JOIN IDN_OAUTH2_SCOPE_BINDING SCOPEBINDINGS ON SCOPES.SCOPE_ID=SCOPEBINDINGS.SCOPE_ID " +
                     "WHERE SCOPES.TENANT_ID=?";
 
+    public static final String RETRIEVE_ALL_SCOPES_WITH_SCOPE_TYPE =
+            "SELECT SCOPES.SCOPE_ID, SCOPES.NAME, SCOPES.DISPLAY_NAME, SCOPES.DESCRIPTION, SCOPES.SCOPE_TYPE, " +
+                    "SCOPEBINDINGS.SCOPE_BINDING, SCOPEBINDINGS.BINDING_TYPE FROM IDN_OAUTH2_SCOPE AS SCOPES " +
+                    "LEFT JOIN IDN_OAUTH2_SCOPE_BINDING AS SCOPEBINDINGS ON SCOPES.SCOPE_ID=SCOPEBINDINGS.SCOPE_ID " +
+                    "WHERE SCOPES.TENANT_ID=?";
+
+    public static final String RETRIEVE_ALL_SCOPES_WITH_SCOPE_TYPE_ORACLE =
+            "SELECT SCOPES.SCOPE_ID, SCOPES.NAME, SCOPES.DISPLAY_NAME, SCOPES.DESCRIPTION, SCOPES.SCOPE_TYPE, " +
+                    "SCOPEBINDINGS.SCOPE_BINDING, SCOPEBINDINGS.BINDING_TYPE FROM IDN_OAUTH2_SCOPE SCOPES " +
+                    "LEFT JOIN IDN_OAUTH2_SCOPE_BINDING SCOPEBINDINGS ON SCOPES.SCOPE_ID=SCOPEBINDINGS.SCOPE_ID " +
+                    "WHERE SCOPES.TENANT_ID=?";
+
     public static final String RETRIEVE_ALL_OAUTH2_SCOPES_ORACLE =
             "SELECT SCOPES.SCOPE_ID, SCOPES.NAME, SCOPES.DISPLAY_NAME, SCOPES.DESCRIPTION, " +
                     "SCOPEBINDINGS.SCOPE_BINDING, SCOPEBINDINGS.BINDING_TYPE FROM IDN_OAUTH2_SCOPE SCOPES " +
@@ -1519,6 +1756,14 @@ public class SQLQueries {
             "SCOPES.TENANT_ID FROM IDN_OAUTH2_SCOPE SCOPES, IDN_OAUTH2_RESOURCE_SCOPE SCOPERESOURCES WHERE " +
             "RESOURCE_PATH = ? AND SCOPERESOURCES.SCOPE_ID = SCOPES.SCOPE_ID";
 
+    public static final String RETRIEVE_ALL_RESOURCE_SCOPES = "SELECT SCOPERESOURCES.RESOURCE_PATH, SCOPES.NAME, " +
+            "SCOPES.TENANT_ID FROM IDN_OAUTH2_SCOPE AS SCOPES, IDN_OAUTH2_RESOURCE_SCOPE AS SCOPERESOURCES WHERE " +
+            "SCOPERESOURCES.SCOPE_ID = SCOPES.SCOPE_ID";
+
+    public static final String RETRIEVE_ALL_RESOURCE_SCOPES_ORACLE = "SELECT SCOPERESOURCES.RESOURCE_PATH, " +
+            "SCOPES.NAME, SCOPES.TENANT_ID FROM IDN_OAUTH2_SCOPE SCOPES, IDN_OAUTH2_RESOURCE_SCOPE SCOPERESOURCES " +
+            "WHERE SCOPERESOURCES.SCOPE_ID = SCOPES.SCOPE_ID";
+
     public static final String RETRIEVE_BINDINGS_OF_SCOPE =
             "SELECT SCOPEBINDINGS.SCOPE_BINDING FROM IDN_OAUTH2_SCOPE AS SCOPES " +
                     "LEFT JOIN IDN_OAUTH2_SCOPE_BINDING AS SCOPEBINDINGS ON SCOPES.SCOPE_ID=SCOPEBINDINGS.SCOPE_ID " +
@@ -1704,6 +1949,15 @@ public class SQLQueries {
                     "TOKEN.TOKEN_ID=BINDING.TOKEN_ID WHERE TOKEN.REFRESH_TOKEN = ? " +
                     "AND BINDING.TOKEN_BINDING_TYPE = ?";
 
+    public static final String INSERT_TOKEN_REVOCATION_ENTRY = "INSERT INTO IDN_OAUTH2_TOKEN_REVOCATION " +
+            "(ENTRY_TYPE, ENTRY_KEY, REVOKED_TIME, EXPIRY_TIME) VALUES (?, ?, ?, ?)";
+
+    public static final String RETRIEVE_TOKEN_REVOCATION_ENTRIES = "SELECT ENTRY_TYPE, ENTRY_KEY, REVOKED_TIME, " +
+            "EXPIRY_TIME FROM IDN_OAUTH2_TOKEN_REVOCATION WHERE REVOKED_TIME > ? AND EXPIRY_TIME > ?";
+
+    public static final String DELETE_EXPIRED_TOKEN_REVOCATION_ENTRIES = "DELETE FROM IDN_OAUTH2_TOKEN_REVOCATION " +
+            "WHERE EXPIRY_TIME <= ?";
+
     private SQLQueries() {
 
     }
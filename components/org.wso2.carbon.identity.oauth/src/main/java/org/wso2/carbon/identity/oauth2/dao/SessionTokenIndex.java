@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the tokens mapped to SSO sessions, backed by the token to session mappings persisted in the
+ * token binding table.
+ * <p>
+ * A token is mapped to the session it was issued in when the token is issued, after checking whether the mapping
+ * already exists. The index remembers the mappings stored or read on this node, so that the check is answered from
+ * memory when the mapping is known. Mappings stored on other nodes are not known to the index, hence a token that is
+ * not found in the index is still looked up in the database, and the tokens of a session are always read from the
+ * database when the session is terminated. The least recently used sessions are dropped once the configured number of
+ * sessions is reached. The index is disabled by default.
+ */
+public class SessionTokenIndex {
+
+    private static final Log log = LogFactory.getLog(SessionTokenIndex.class);
+    private static final SessionTokenIndex instance = new SessionTokenIndex();
+
+    private final Map<String, Set<String>> tokenIdsBySession = Collections.synchronizedMap(
+            new LinkedHashMap<String, Set<String>>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = -4905130466927370283L;
+
+                private final int maxEntries = getMaxEntries();
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+
+                    return size() > maxEntries;
+                }
+            });
+
+    private SessionTokenIndex() {
+
+    }
+
+    public static SessionTokenIndex getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether the session token index is enabled.
+     *
+     * @return True if enabled.
+     */
+    public boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.SESSION_TOKEN_INDEX_ENABLE));
+    }
+
+    /**
+     * Check whether a token is known to be mapped to a session.
+     *
+     * @param sessionId Session context identifier.
+     * @param tokenId   Token id.
+     * @return True if the mapping is known. False if the mapping does not exist or is not known to this node.
+     */
+    public boolean isTokenMapped(String sessionId, String tokenId) {
+
+        if (sessionId == null || tokenId == null) {
+            return false;
+        }
+        Set<String> tokenIds = tokenIdsBySession.get(sessionId);
+        return tokenIds != null && tokenIds.contains(tokenId);
+    }
+
+    /**
+     * Add a token to session mapping.
+     *
+     * @param sessionId Session context identifier.
+     * @param tokenId   Token id.
+     */
+    public void addToken(String sessionId, String tokenId) {
+
+        if (StringUtils.isBlank(sessionId) || StringUtils.isBlank(tokenId)) {
+            return;
+        }
+        tokenIdsBySession.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet()).add(tokenId);
+    }
+
+    /**
+     * Add the token to session mappings of a session read from the database.
+     *
+     * @param sessionId Session context identifier.
+     * @param tokenIds  Ids of the tokens mapped to the session.
+     */
+    public void addTokens(String sessionId, Collection<String> tokenIds) {
+
+        if (StringUtils.isBlank(sessionId) || tokenIds == null || tokenIds.isEmpty()) {
+            return;
+        }
+        tokenIdsBySession.computeIfAbsent(sessionId, key -> ConcurrentHashMap.newKeySet()).addAll(tokenIds);
+    }
+
+    /**
+     * Remove the token to session mappings of a session, e.g. when the session is terminated.
+     *
+     * @param sessionId Session context identifier.
+     */
+    public void removeSession(String sessionId) {
+
+        if (sessionId == null) {
+            return;
+        }
+        tokenIdsBySession.remove(sessionId);
+    }
+
+    private static int getMaxEntries() {
+
+        String maxEntries = IdentityUtil.getProperty(OAuth2Constants.SESSION_TOKEN_INDEX_MAX_ENTRIES);
+        if (StringUtils.isNotBlank(maxEntries)) {
+            try {
+                return Integer.parseInt(maxEntries.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid session token index size: " + maxEntries + ". Using the default value: " +
+                        OAuth2Constants.DEFAULT_SESSION_TOKEN_INDEX_MAX_ENTRIES);
+            }
+        }
+        return OAuth2Constants.DEFAULT_SESSION_TOKEN_INDEX_MAX_ENTRIES;
+    }
+}
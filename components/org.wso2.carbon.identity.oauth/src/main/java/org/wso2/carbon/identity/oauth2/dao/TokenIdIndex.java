@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory index between the ids of access tokens and the persisted token values.
+ * <p>
+ * The id of a token and the values persisted in the {@code ACCESS_TOKEN} and {@code ACCESS_TOKEN_HASH} columns never
+ * change once the token is issued. The index keeps these values for the recently issued and looked up tokens, so that
+ * {@link AccessTokenDAO#getTokenIdByAccessToken(String)} and {@link AccessTokenDAO#getAccessTokenByTokenId(String)}
+ * are served from memory instead of a query by token id or hash. Entries are added once the transaction persisting a
+ * token is committed or when a token is read from the database, and removed when the token is revoked. Hence a token
+ * which is rolled back is never indexed. The least recently used entries are dropped once the configured number of
+ * entries is reached. The index holds the column values, so the persistence processor is still applied on lookup as
+ * it would be for a database read. The index is disabled by default.
+ */
+public class TokenIdIndex {
+
+    private static final Log log = LogFactory.getLog(TokenIdIndex.class);
+    private static final TokenIdIndex instance = new TokenIdIndex();
+
+    private final Map<String, IndexedToken> tokensById = Collections.synchronizedMap(new LruMap());
+    private final Map<String, IndexedToken> tokensByHash = Collections.synchronizedMap(new LruMap());
+
+    private TokenIdIndex() {
+
+    }
+
+    public static TokenIdIndex getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether the token id index is enabled.
+     *
+     * @return True if enabled.
+     */
+    public boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.TOKEN_ID_INDEX_ENABLE));
+    }
+
+    /**
+     * Get the id of a token by the persisted token hash.
+     *
+     * @param tokenHash Value of the {@code ACCESS_TOKEN_HASH} column.
+     * @return Token id, or null if the token is not indexed.
+     */
+    public String getTokenId(String tokenHash) {
+
+        if (tokenHash == null) {
+            return null;
+        }
+        IndexedToken indexedToken = tokensByHash.get(tokenHash);
+        return indexedToken == null ? null : indexedToken.tokenId;
+    }
+
+    /**
+     * Get the persisted token by the token id.
+     *
+     * @param tokenId Token id.
+     * @return Value of the {@code ACCESS_TOKEN} column, or null if the token is not indexed.
+     */
+    public String getPersistedToken(String tokenId) {
+
+        if (tokenId == null) {
+            return null;
+        }
+        IndexedToken indexedToken = tokensById.get(tokenId);
+        return indexedToken == null ? null : indexedToken.persistedToken;
+    }
+
+    /**
+     * Index a token.
+     *
+     * @param tokenId        Token id.
+     * @param persistedToken Value of the {@code ACCESS_TOKEN} column, or null if not known.
+     * @param tokenHash      Value of the {@code ACCESS_TOKEN_HASH} column, or null if not known.
+     */
+    public void addToken(String tokenId, String persistedToken, String tokenHash) {
+
+        if (StringUtils.isBlank(tokenId)) {
+            return;
+        }
+        IndexedToken indexedToken = tokensById.get(tokenId);
+        if (indexedToken != null) {
+            // Complete the entry with the values that were not known when it was added.
+            persistedToken = persistedToken != null ? persistedToken : indexedToken.persistedToken;
+            tokenHash = tokenHash != null ? tokenHash : indexedToken.tokenHash;
+        }
+        indexedToken = new IndexedToken(tokenId, persistedToken, tokenHash);
+        tokensById.put(tokenId, indexedToken);
+        if (tokenHash != null) {
+            tokensByHash.put(tokenHash, indexedToken);
+        }
+    }
+
+    /**
+     * Remove a token by the token id.
+     *
+     * @param tokenId Token id.
+     */
+    public void removeToken(String tokenId) {
+
+        if (tokenId == null) {
+            return;
+        }
+        IndexedToken indexedToken = tokensById.remove(tokenId);
+        if (indexedToken != null && indexedToken.tokenHash != null) {
+            tokensByHash.remove(indexedToken.tokenHash);
+        }
+    }
+
+    /**
+     * Remove tokens by the persisted token hashes.
+     *
+     * @param tokenHashes Values of the {@code ACCESS_TOKEN_HASH} column.
+     */
+    public void removeTokensByHash(Collection<String> tokenHashes) {
+
+        for (String tokenHash : tokenHashes) {
+            IndexedToken indexedToken = tokenHash == null ? null : tokensByHash.remove(tokenHash);
+            if (indexedToken != null) {
+                tokensById.remove(indexedToken.tokenId);
+            }
+        }
+    }
+
+    private static int getMaxEntries() {
+
+        String maxEntries = IdentityUtil.getProperty(OAuth2Constants.TOKEN_ID_INDEX_MAX_ENTRIES);
+        if (StringUtils.isNotBlank(maxEntries)) {
+            try {
+                return Integer.parseInt(maxEntries.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid token id index size: " + maxEntries + ". Using the default value: " +
+                        OAuth2Constants.DEFAULT_TOKEN_ID_INDEX_MAX_ENTRIES);
+            }
+        }
+        return OAuth2Constants.DEFAULT_TOKEN_ID_INDEX_MAX_ENTRIES;
+    }
+
+    /**
+     * Persisted values of an indexed token.
+     */
+    private static class IndexedToken {
+
+        private final String tokenId;
+        private final String persistedToken;
+        private final String tokenHash;
+
+        private IndexedToken(String tokenId, String persistedToken, String tokenHash) {
+
+            this.tokenId = tokenId;
+            this.persistedToken = persistedToken;
+            this.tokenHash = tokenHash;
+        }
+    }
+
+    /**
+     * Map dropping the least recently used entry once the configured number of entries is exceeded.
+     */
+    private static class LruMap extends LinkedHashMap<String, IndexedToken> {
+
+        private static final long serialVersionUID = 2871642458136915547L;
+
+        private final int maxEntries = getMaxEntries();
+
+        private LruMap() {
+
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IndexedToken> eldest) {
+
+            return size() > maxEntries;
+        }
+    }
+}
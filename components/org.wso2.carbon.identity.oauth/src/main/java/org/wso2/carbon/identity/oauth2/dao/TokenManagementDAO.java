@@ -23,10 +23,20 @@ package org.wso2.carbon.identity.oauth2.dao;
 import org.apache.commons.lang3.tuple.Pair;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.model.AuthorizedClientDO;
 import org.wso2.carbon.identity.oauth2.model.RefreshTokenValidationDataDO;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -44,6 +54,18 @@ public interface TokenManagementDAO {
 
     Pair<String, Integer> findTenantAndScopeOfResource(String resourceUri) throws IdentityOAuth2Exception;
 
+    /**
+     * Retrieve all the resource paths registered in IDN_OAUTH2_RESOURCE_SCOPE along with the scope and the tenant
+     * id of the scope protecting each resource.
+     *
+     * @return Map of resource path to a pair of scope name and tenant id.
+     * @throws IdentityOAuth2Exception If failed to retrieve the resource scopes.
+     */
+    default Map<String, Pair<String, Integer>> getAllResourceScopes() throws IdentityOAuth2Exception {
+
+        return Collections.emptyMap();
+    }
+
     void revokeOAuthConsentByApplicationAndUser(String username, String tenantDomain, String applicationName)
             throws IdentityOAuth2Exception;
 
@@ -73,4 +95,58 @@ public interface TokenManagementDAO {
             IdentityOAuth2Exception;
 
     Set<String> getAllTimeAuthorizedClientIds(AuthenticatedUser authzUser) throws IdentityOAuth2Exception;
+
+    /**
+     * Retrieve a page of the clients authorized by a user, ordered by application name, with the time of the latest
+     * token and the scopes of the user's ACTIVE or EXPIRED tokens of each client.
+     *
+     * @param authzUser Authorized user.
+     * @param offset    Number of clients to skip.
+     * @param limit     Maximum number of clients to return.
+     * @return Clients authorized by the user.
+     * @throws IdentityOAuth2Exception If failed to retrieve the authorized clients.
+     */
+    default List<AuthorizedClientDO> getAuthorizedClients(AuthenticatedUser authzUser, int offset, int limit)
+            throws IdentityOAuth2Exception {
+
+        // Implementations without a grouped query look up the tokens of every client authorized by the user.
+        String userStoreDomain = null;
+        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+            userStoreDomain = OAuth2Util.getUserStoreForFederatedUser(authzUser);
+        }
+        String tenantDomain = IdentityTenantUtil.getTenantDomainFromContext();
+        List<AuthorizedClientDO> authorizedClients = new ArrayList<>();
+        for (String clientId : getAllTimeAuthorizedClientIds(authzUser)) {
+            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                    .getAccessTokens(clientId, authzUser, userStoreDomain, true);
+            if (accessTokenDOs.isEmpty()) {
+                continue;
+            }
+            OAuthAppDO appDO;
+            try {
+                appDO = OAuth2Util.getAppInformationByClientId(clientId, tenantDomain);
+            } catch (InvalidOAuthClientException e) {
+                throw new IdentityOAuth2Exception("Error while retrieving the application of client: " + clientId, e);
+            }
+            AuthorizedClientDO authorizedClient = new AuthorizedClientDO(clientId, appDO.getApplicationName());
+            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                long issuedTime = accessTokenDO.getIssuedTime() != null ? accessTokenDO.getIssuedTime().getTime() : 0L;
+                if (accessTokenDO.getScope() == null || accessTokenDO.getScope().length == 0) {
+                    authorizedClient.addToken(issuedTime, null);
+                    continue;
+                }
+                for (String scope : accessTokenDO.getScope()) {
+                    authorizedClient.addToken(issuedTime, scope);
+                }
+            }
+            authorizedClients.add(authorizedClient);
+        }
+        authorizedClients.sort(Comparator.comparing(AuthorizedClientDO::getApplicationName,
+                Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(AuthorizedClientDO::getConsumerKey));
+        if (offset >= authorizedClients.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(authorizedClients.subList(offset,
+                (int) Math.min((long) offset + limit, authorizedClients.size())));
+    }
 }
@@ -37,8 +37,10 @@ import org.wso2.carbon.identity.oauth2.Oauth2ScopeConstants;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenExtendedAttributes;
+import org.wso2.carbon.identity.oauth2.model.AuthorizedClientDO;
 import org.wso2.carbon.identity.oauth2.model.RefreshTokenValidationDataDO;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.jwt.RevokedJWTRegistry;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 
 import java.sql.Connection;
@@ -48,6 +50,7 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -86,6 +89,19 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
     public RefreshTokenValidationDataDO validateRefreshToken(String consumerKey, String refreshToken)
             throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            // Tokens are sharded by the access token, hence the refresh token is looked up in every shard.
+            List<RefreshTokenValidationDataDO> validationDataDOs = tokenShardRouter.queryAllShards(() ->
+                    validateRefreshToken(consumerKey, refreshToken));
+            for (RefreshTokenValidationDataDO validationDataDO : validationDataDOs) {
+                if (validationDataDO.getTokenId() != null) {
+                    return validationDataDO;
+                }
+            }
+            return validationDataDOs.get(0);
+        }
+
         if (log.isDebugEnabled()) {
             if (IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.REFRESH_TOKEN)) {
                 log.debug("Validating refresh token(hashed): " + DigestUtils.sha256Hex(refreshToken) + " client: " +
@@ -259,6 +275,12 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
     @Override
     public AccessTokenDO getRefreshToken(String refreshToken) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            // Tokens are sharded by the access token, hence the refresh token is looked up in every shard.
+            return tokenShardRouter.queryAllShardsForFirst(() -> getRefreshToken(refreshToken));
+        }
+
         if (log.isDebugEnabled()) {
             if (IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.REFRESH_TOKEN)) {
                 log.debug("Validating refresh token(hashed): " + DigestUtils.sha256Hex(refreshToken));
@@ -391,6 +413,38 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
         }
     }
 
+    @Override
+    public Map<String, Pair<String, Integer>> getAllResourceScopes() throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving all the resource scopes.");
+        }
+        Map<String, Pair<String, Integer>> resourceScopes = new HashMap<>();
+        String sql;
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+
+            if (connection.getMetaData().getDriverName().contains(Oauth2ScopeConstants.DataBaseType.ORACLE)) {
+                sql = SQLQueries.RETRIEVE_ALL_RESOURCE_SCOPES_ORACLE;
+            } else {
+                sql = SQLQueries.RETRIEVE_ALL_RESOURCE_SCOPES;
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(sql);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    resourceScopes.put(rs.getString("RESOURCE_PATH"),
+                            Pair.of(rs.getString("NAME"), rs.getInt("TENANT_ID")));
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Found " + resourceScopes.size() + " resource scopes.");
+            }
+            return resourceScopes;
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while retrieving all the resource scopes.", e);
+        }
+    }
+
     /**
      * Revoke the OAuth Consent which is recorded in the IDN_OPENID_USER_RPS table against the user for a particular
      * Application
@@ -661,13 +715,19 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
                         }
                     }
                 } else {
-                    revokeActiveTokensStatement = connection.prepareStatement(SQLQueries.REVOKE_APP_ACCESS_TOKEN);
-                    revokeActiveTokensStatement.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
-                    revokeActiveTokensStatement.setString(2, UUID.randomUUID().toString());
-                    revokeActiveTokensStatement.setString(3, consumerKey);
-                    revokeActiveTokensStatement.setInt(4, appTenantId);
-                    revokeActiveTokensStatement.setString(5, OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
-                    revokeActiveTokensStatement.execute();
+                    TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+                    List<String> sqlOfShards = tokenShardRouter.callInEachShard(() ->
+                            tokenShardRouter.getSqlOfCurrentShard(SQLQueries.REVOKE_APP_ACCESS_TOKEN));
+                    for (String sqlQuery : sqlOfShards) {
+                        IdentityDatabaseUtil.closeStatement(revokeActiveTokensStatement);
+                        revokeActiveTokensStatement = connection.prepareStatement(sqlQuery);
+                        revokeActiveTokensStatement.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
+                        revokeActiveTokensStatement.setString(2, UUID.randomUUID().toString());
+                        revokeActiveTokensStatement.setString(3, consumerKey);
+                        revokeActiveTokensStatement.setInt(4, appTenantId);
+                        revokeActiveTokensStatement.setString(5, OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+                        revokeActiveTokensStatement.execute();
+                    }
                 }
             }
 
@@ -680,6 +740,10 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
             deactivateActiveCodesStatement.executeUpdate();
 
             IdentityDatabaseUtil.commitTransaction(connection);
+            if (RevokedJWTRegistry.isDenylistEnabled()) {
+                // Tokens of the client that are not persisted can only be revoked through the denylist.
+                RevokedJWTRegistry.getInstance().revokeTokensOfClient(consumerKey);
+            }
 
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
@@ -736,6 +800,15 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
     public void revokeSaaSTokensOfOtherTenants(String consumerKey, String userStoreDomain, int tenantId) throws
             IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            tokenShardRouter.callInAllShards(() -> {
+                revokeSaaSTokensOfOtherTenants(consumerKey, userStoreDomain, tenantId);
+                return null;
+            });
+            return;
+        }
+
         Connection connection = IdentityDatabaseUtil.getDBConnection();
         PreparedStatement ps = null;
         try {
@@ -770,6 +843,11 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
     @Override
     public Set<String> getAllTimeAuthorizedClientIds(AuthenticatedUser authzUser) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.queryAllShardsAndMerge(() -> getAllTimeAuthorizedClientIds(authzUser));
+        }
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving all authorized clients by user: " + authzUser.toString());
         }
@@ -825,6 +903,102 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
         return distinctConsumerKeys;
     }
 
+    @Override
+    public List<AuthorizedClientDO> getAuthorizedClients(AuthenticatedUser authzUser, int offset, int limit)
+            throws IdentityOAuth2Exception {
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            // Each shard returns its own first clients, which are merged before the page is taken.
+            int shardLimit = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            Map<String, AuthorizedClientDO> mergedClients = new HashMap<>();
+            for (List<AuthorizedClientDO> shardClients : tokenShardRouter.queryAllShards(
+                    () -> getAuthorizedClients(authzUser, 0, shardLimit))) {
+                for (AuthorizedClientDO authorizedClient : shardClients) {
+                    AuthorizedClientDO mergedClient = mergedClients.putIfAbsent(authorizedClient.getConsumerKey(),
+                            authorizedClient);
+                    if (mergedClient != null) {
+                        mergedClient.merge(authorizedClient);
+                    }
+                }
+            }
+            List<AuthorizedClientDO> authorizedClients = new ArrayList<>(mergedClients.values());
+            authorizedClients.sort(Comparator.comparing(AuthorizedClientDO::getApplicationName,
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(AuthorizedClientDO::getConsumerKey));
+            if (offset >= authorizedClients.size()) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(authorizedClients.subList(offset,
+                    (int) Math.min((long) offset + limit, authorizedClients.size())));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving authorized clients by user: " + authzUser.toString() + " with offset: " + offset
+                    + " and limit: " + limit);
+        }
+
+        boolean isUsernameCaseSensitive = IdentityUtil.isUserStoreInUsernameCaseSensitive(authzUser.toString());
+        String tenantDomain = getUserResidentTenantDomain(authzUser);
+        String tenantAwareUsernameWithNoUserDomain = authzUser.getUserName();
+        String userDomain = OAuth2Util.getSanitizedUserStoreDomain(authzUser.getUserStoreDomain());
+        List<AuthorizedClientDO> authorizedClients = new ArrayList<>();
+        Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            int tenantId = OAuth2Util.getTenantId(tenantDomain);
+            // The tokens of federated users are partitioned by the domain of their identity provider.
+            String partitionDomain = authzUser.getUserStoreDomain();
+            if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+                partitionDomain = OAuth2Util.getUserStoreForFederatedUser(authzUser);
+            }
+            String sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserStore(
+                    SQLQueries.GET_APPS_AUTHORIZED_BY_USER_WITH_SCOPES, partitionDomain);
+            if (!isUsernameCaseSensitive) {
+                sqlQuery = sqlQuery.replace(AUTHZ_USER, LOWER_AUTHZ_USER);
+            }
+            ps = connection.prepareStatement(sqlQuery);
+            if (isUsernameCaseSensitive) {
+                ps.setString(1, tenantAwareUsernameWithNoUserDomain);
+            } else {
+                ps.setString(1, tenantAwareUsernameWithNoUserDomain.toLowerCase());
+            }
+            ps.setInt(2, tenantId);
+            ps.setString(3, userDomain);
+            rs = ps.executeQuery();
+
+            // The rows are grouped by client and scope and ordered by client, so the result is read only up to the
+            // last client of the page.
+            String currentConsumerKey = null;
+            AuthorizedClientDO currentClient = null;
+            int clientIndex = -1;
+            while (rs.next()) {
+                String consumerKey = rs.getString(1);
+                if (!consumerKey.equals(currentConsumerKey)) {
+                    clientIndex++;
+                    if (clientIndex - offset >= limit) {
+                        break;
+                    }
+                    currentConsumerKey = consumerKey;
+                    currentClient = new AuthorizedClientDO(
+                            getPersistenceProcessor().getPreprocessedClientId(consumerKey), rs.getString(2));
+                    if (clientIndex >= offset) {
+                        authorizedClients.add(currentClient);
+                    }
+                }
+                Timestamp issuedTime = rs.getTimestamp(4, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+                currentClient.addToken(issuedTime != null ? issuedTime.getTime() : 0L, rs.getString(3));
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error occurred while retrieving the Client IDs authorized by User ID : "
+                    + authzUser, e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, rs, ps);
+        }
+        return authorizedClients;
+    }
+
     private String getAppTenantDomain() {
 
         return IdentityTenantUtil.getTenantDomainFromContext();
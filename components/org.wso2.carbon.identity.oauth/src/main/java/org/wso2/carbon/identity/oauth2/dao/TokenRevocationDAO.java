@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.model.TokenRevocationEntry;
+
+import java.util.List;
+
+/**
+ * Data access object of the append-only access token revocation denylist.
+ */
+public interface TokenRevocationDAO {
+
+    /**
+     * Add an entry to the denylist.
+     *
+     * @param entry Denylist entry.
+     * @throws IdentityOAuth2Exception If the entry could not be added.
+     */
+    void addRevocationEntry(TokenRevocationEntry entry) throws IdentityOAuth2Exception;
+
+    /**
+     * Get the entries revoked after the given time, which have not expired yet.
+     *
+     * @param revokedAfter Time in milliseconds after which the entries were revoked.
+     * @param currentTime  Current time in milliseconds.
+     * @return Denylist entries.
+     * @throws IdentityOAuth2Exception If the entries could not be retrieved.
+     */
+    List<TokenRevocationEntry> getRevocationEntries(long revokedAfter, long currentTime)
+            throws IdentityOAuth2Exception;
+
+    /**
+     * Remove the expired entries.
+     *
+     * @param currentTime Current time in milliseconds.
+     * @throws IdentityOAuth2Exception If the entries could not be removed.
+     */
+    void removeExpiredRevocationEntries(long currentTime) throws IdentityOAuth2Exception;
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.model.TokenRevocationEntry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.wso2.carbon.identity.oauth2.dao.SQLQueries.DELETE_EXPIRED_TOKEN_REVOCATION_ENTRIES;
+import static org.wso2.carbon.identity.oauth2.dao.SQLQueries.INSERT_TOKEN_REVOCATION_ENTRY;
+import static org.wso2.carbon.identity.oauth2.dao.SQLQueries.RETRIEVE_TOKEN_REVOCATION_ENTRIES;
+
+/**
+ * Access token revocation denylist data access object implementation.
+ */
+public class TokenRevocationDAOImpl implements TokenRevocationDAO {
+
+    private static final Log log = LogFactory.getLog(TokenRevocationDAOImpl.class);
+
+    @Override
+    public void addRevocationEntry(TokenRevocationEntry entry) throws IdentityOAuth2Exception {
+
+        if (log.isDebugEnabled()) {
+            log.debug("Adding a token revocation entry of type: " + entry.getEntryType());
+        }
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_TOKEN_REVOCATION_ENTRY)) {
+                preparedStatement.setString(1, entry.getEntryType().name());
+                preparedStatement.setString(2, entry.getEntryKey());
+                preparedStatement.setLong(3, entry.getRevokedTime());
+                preparedStatement.setLong(4, entry.getExpiryTime());
+                preparedStatement.executeUpdate();
+                IdentityDatabaseUtil.commitTransaction(connection);
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while adding a token revocation entry of type: " +
+                    entry.getEntryType(), e);
+        }
+    }
+
+    @Override
+    public List<TokenRevocationEntry> getRevocationEntries(long revokedAfter, long currentTime)
+            throws IdentityOAuth2Exception {
+
+        List<TokenRevocationEntry> entries = new ArrayList<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement preparedStatement = connection.prepareStatement(RETRIEVE_TOKEN_REVOCATION_ENTRIES)) {
+            preparedStatement.setLong(1, revokedAfter);
+            preparedStatement.setLong(2, currentTime);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    TokenRevocationEntry.EntryType entryType;
+                    try {
+                        entryType = TokenRevocationEntry.EntryType.valueOf(resultSet.getString("ENTRY_TYPE"));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Ignoring a token revocation entry of unknown type: " +
+                                resultSet.getString("ENTRY_TYPE"));
+                        continue;
+                    }
+                    entries.add(new TokenRevocationEntry(entryType, resultSet.getString("ENTRY_KEY"),
+                            resultSet.getLong("REVOKED_TIME"), resultSet.getLong("EXPIRY_TIME")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while retrieving the token revocation entries.", e);
+        }
+        return entries;
+    }
+
+    @Override
+    public void removeExpiredRevocationEntries(long currentTime) throws IdentityOAuth2Exception {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
+            try (PreparedStatement preparedStatement =
+                         connection.prepareStatement(DELETE_EXPIRED_TOKEN_REVOCATION_ENTRIES)) {
+                preparedStatement.setLong(1, currentTime);
+                int removedEntries = preparedStatement.executeUpdate();
+                IdentityDatabaseUtil.commitTransaction(connection);
+                if (log.isDebugEnabled()) {
+                    log.debug("Removed " + removedEntries + " expired token revocation entries.");
+                }
+            } catch (SQLException e) {
+                IdentityDatabaseUtil.rollbackTransaction(connection);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while removing the expired token revocation entries.", e);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes access token persistence operations to the shard holding the token.
+ * <p>
+ * When token sharding is enabled, the rows of the access token, scope and attribute tables are spread over
+ * {@code ShardCount} sets of tables by a stable hash of the persisted token identifier. Shard 0 uses the existing
+ * tables and shard n uses the tables suffixed with {@code _S<n>}, on top of any user store partitioning. Operations
+ * on a single token run in the token's shard, and operations that look up tokens by user, client or token id are
+ * run in every shard and their results merged. The shard of the running operation is kept in a thread local, which
+ * {@link org.wso2.carbon.identity.oauth2.util.OAuth2Util#getTokenPartitionedSqlByUserStore(String, String)} uses to
+ * pick the tables. Read-only operations are run in parallel when {@code FanOutThreads} is configured. Sharding is
+ * disabled by default.
+ */
+public class TokenShardRouter {
+
+    private static final Log log = LogFactory.getLog(TokenShardRouter.class);
+    private static final String SHARD_TABLE_SUFFIX = "_S";
+    private static final TokenShardRouter instance = new TokenShardRouter();
+
+    private final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+    private volatile ExecutorService fanOutExecutor;
+
+    private TokenShardRouter() {
+
+    }
+
+    public static TokenShardRouter getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Operation run against the tables of a shard.
+     *
+     * @param <T> Type of the result.
+     */
+    @FunctionalInterface
+    public interface ShardCall<T> {
+
+        T call() throws IdentityOAuth2Exception;
+    }
+
+    /**
+     * Check whether token sharding is enabled with more than one shard.
+     *
+     * @return True if enabled.
+     */
+    public boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.TOKEN_SHARDING_ENABLE)) &&
+                getShardCount() > 1;
+    }
+
+    /**
+     * Check whether an operation has to be routed to a shard, i.e. sharding is enabled and the operation is not
+     * already running in a shard.
+     *
+     * @return True if the operation has to be routed.
+     */
+    public boolean isRoutingRequired() {
+
+        return currentShard.get() == null && isEnabled();
+    }
+
+    /**
+     * Get the number of shards.
+     *
+     * @return Number of shards, which is 1 if not configured.
+     */
+    public int getShardCount() {
+
+        return Math.max(1, getPositiveInt(OAuth2Constants.TOKEN_SHARDING_SHARD_COUNT, 1));
+    }
+
+    /**
+     * Get the shard of a token.
+     *
+     * @param tokenIdentifier Persisted token identifier.
+     * @return Shard of the token.
+     */
+    public int getShard(String tokenIdentifier) {
+
+        int shardCount = getShardCount();
+        if (shardCount <= 1 || tokenIdentifier == null) {
+            return 0;
+        }
+        byte[] hash = DigestUtils.sha256(tokenIdentifier);
+        int hashCode = ((hash[0] & 0xff) << 24) | ((hash[1] & 0xff) << 16) | ((hash[2] & 0xff) << 8) |
+                (hash[3] & 0xff);
+        return Math.floorMod(hashCode, shardCount);
+    }
+
+    /**
+     * Get the shard the current operation is running in.
+     *
+     * @return Shard, or null if the operation is not running in a shard.
+     */
+    public Integer getCurrentShard() {
+
+        return currentShard.get();
+    }
+
+    /**
+     * Get the suffix of the tables of a shard.
+     *
+     * @param shard Shard, or null.
+     * @return Table suffix, which is empty for shard 0 and when no shard is given.
+     */
+    public static String getTableSuffix(Integer shard) {
+
+        if (shard == null || shard == 0) {
+            return StringUtils.EMPTY;
+        }
+        return SHARD_TABLE_SUFFIX + shard;
+    }
+
+    /**
+     * Run an operation in a shard.
+     *
+     * @param shard Shard.
+     * @param call  Operation.
+     * @param <T>   Type of the result.
+     * @return Result of the operation.
+     * @throws IdentityOAuth2Exception If the operation failed.
+     */
+    public <T> T callInShard(int shard, ShardCall<T> call) throws IdentityOAuth2Exception {
+
+        Integer previousShard = currentShard.get();
+        currentShard.set(shard);
+        try {
+            return call.call();
+        } finally {
+            if (previousShard == null) {
+                currentShard.remove();
+            } else {
+                currentShard.set(previousShard);
+            }
+        }
+    }
+
+    /**
+     * Run an operation in the shard of a token.
+     *
+     * @param tokenIdentifier Persisted token identifier.
+     * @param call            Operation.
+     * @param <T>             Type of the result.
+     * @return Result of the operation.
+     * @throws IdentityOAuth2Exception If the operation failed.
+     */
+    public <T> T callInTokenShard(String tokenIdentifier, ShardCall<T> call) throws IdentityOAuth2Exception {
+
+        return callInShard(getShard(tokenIdentifier), call);
+    }
+
+    /**
+     * Run an operation in every shard, one after the other in the calling thread. This should be used for
+     * operations that write to the database or share a connection.
+     *
+     * @param call Operation.
+     * @param <T>  Type of the result.
+     * @return Results of the operation, in the order of the shards.
+     * @throws IdentityOAuth2Exception If the operation failed in any shard.
+     */
+    public <T> List<T> callInAllShards(ShardCall<T> call) throws IdentityOAuth2Exception {
+
+        int shardCount = getShardCount();
+        List<T> results = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            results.add(callInShard(shard, call));
+        }
+        return results;
+    }
+
+    /**
+     * Run an operation in every shard if it has to be routed, or once in the current context otherwise. This should
+     * be used for operations that write to the database or share a connection.
+     *
+     * @param call Operation.
+     * @param <T>  Type of the result.
+     * @return Results of the operation.
+     * @throws IdentityOAuth2Exception If the operation failed in any shard.
+     */
+    public <T> List<T> callInEachShard(ShardCall<T> call) throws IdentityOAuth2Exception {
+
+        if (isRoutingRequired()) {
+            return callInAllShards(call);
+        }
+        return Collections.singletonList(call.call());
+    }
+
+    /**
+     * Get a statement referring to the token tables of the shard the current operation is running in. Statements
+     * that are partitioned by user store should be resolved through
+     * {@link org.wso2.carbon.identity.oauth2.util.OAuth2Util#getTokenPartitionedSqlByUserStore(String, String)}
+     * instead.
+     *
+     * @param sql Statement.
+     * @return Statement referring to the tables of the current shard, or the statement itself if the operation is
+     * not running in a shard.
+     * @throws IdentityOAuth2Exception If the statement could not be rewritten.
+     */
+    public String getSqlOfCurrentShard(String sql) throws IdentityOAuth2Exception {
+
+        Integer shard = currentShard.get();
+        if (shard == null) {
+            return sql;
+        }
+        return PartitionedSqlRegistry.getInstance().getPartitionedSql(sql, null, shard);
+    }
+
+    /**
+     * Run a read-only operation in every shard. The shards are queried in parallel if fan-out threads are
+     * configured. The operation has to get its own database connection.
+     *
+     * @param call Operation.
+     * @param <T>  Type of the result.
+     * @return Results of the operation, in the order of the shards.
+     * @throws IdentityOAuth2Exception If the operation failed in any shard.
+     */
+    public <T> List<T> queryAllShards(ShardCall<T> call) throws IdentityOAuth2Exception {
+
+        ExecutorService executor = getFanOutExecutor();
+        if (executor == null) {
+            return callInAllShards(call);
+        }
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        String tenantDomain = carbonContext.getTenantDomain();
+        int tenantId = carbonContext.getTenantId();
+        int shardCount = getShardCount();
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int queriedShard = shard;
+            futures.add(executor.submit(() -> {
+                PrivilegedCarbonContext.startTenantFlow();
+                try {
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId);
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+                    return callInShard(queriedShard, call);
+                } finally {
+                    PrivilegedCarbonContext.endTenantFlow();
+                }
+            }));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdentityOAuth2Exception("Interrupted while querying the token shards.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IdentityOAuth2Exception) {
+                    throw (IdentityOAuth2Exception) e.getCause();
+                }
+                throw new IdentityOAuth2Exception("Error while querying the token shards.", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Run a read-only operation in every shard and merge the returned collections.
+     *
+     * @param call Operation.
+     * @param <T>  Type of the collection elements.
+     * @return Merged results, without duplicates.
+     * @throws IdentityOAuth2Exception If the operation failed in any shard.
+     */
+    public <T> Set<T> queryAllShardsAndMerge(ShardCall<? extends Collection<T>> call) throws IdentityOAuth2Exception {
+
+        Set<T> mergedResults = new HashSet<>();
+        for (Collection<T> results : queryAllShards(call)) {
+            if (results != null) {
+                mergedResults.addAll(results);
+            }
+        }
+        return mergedResults;
+    }
+
+    /**
+     * Run a read-only operation in every shard and get the first result found.
+     *
+     * @param call Operation.
+     * @param <T>  Type of the result.
+     * @return First non-null result in the order of the shards, or null if there is none.
+     * @throws IdentityOAuth2Exception If the operation failed in any shard.
+     */
+    public <T> T queryAllShardsForFirst(ShardCall<T> call) throws IdentityOAuth2Exception {
+
+        for (T result : queryAllShards(call)) {
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private ExecutorService getFanOutExecutor() {
+
+        if (fanOutExecutor == null) {
+            int fanOutThreads = getPositiveInt(OAuth2Constants.TOKEN_SHARDING_FAN_OUT_THREADS, 0);
+            if (fanOutThreads <= 0) {
+                return null;
+            }
+            synchronized (this) {
+                if (fanOutExecutor == null) {
+                    AtomicInteger threadCount = new AtomicInteger();
+                    fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, runnable -> {
+                        Thread thread = new Thread(runnable, "oauth-token-shard-fan-out-" +
+                                threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return fanOutExecutor;
+    }
+
+    /**
+     * Shut down the threads used to query the shards in parallel. Called when the OAuth component is deactivated.
+     */
+    public synchronized void shutdown() {
+
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+            fanOutExecutor = null;
+        }
+    }
+
+    private static int getPositiveInt(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int intValue = Integer.parseInt(value.trim());
+                if (intValue >= 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value.
+            }
+            log.warn("Invalid value: " + value + " configured for: " + property + ". Using the default value: " +
+                    defaultValue);
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.model.UserStoreDomainRenameStatus;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Renames the user store domain of the access tokens and authorization codes of a tenant when a user store is
+ * renamed.
+ * <p>
+ * The rows are renamed in chunks of a configurable size, each committed on its own, with an optional pause between
+ * chunks to limit the load put on the database. Rows already renamed no longer match the current user store domain,
+ * so a failed rename is resumed by starting it again, or with {@link #resume(int, String)}. The rename runs in the
+ * calling thread unless asynchronous renames are enabled, in which case it runs in the background and its progress
+ * is available through {@link #getStatus(int, String)}. The partitioned statements of the current user store domain
+ * are discarded once the rename completes.
+ */
+public class UserStoreDomainRenamer {
+
+    private static final Log log = LogFactory.getLog(UserStoreDomainRenamer.class);
+    private static final String CHUNK_SIZE = "OAuth.UserStoreDomainRename.ChunkSize";
+    private static final String CHUNK_INTERVAL = "OAuth.UserStoreDomainRename.ChunkIntervalMillis";
+    private static final String ASYNC = "OAuth.UserStoreDomainRename.Async";
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_CHUNK_INTERVAL = 0;
+    private static final UserStoreDomainRenamer instance = new UserStoreDomainRenamer(null, null);
+
+    private final AccessTokenDAO accessTokenDAO;
+    private final AuthorizationCodeDAO authorizationCodeDAO;
+    private final Map<String, UserStoreDomainRenameStatus> statuses = new ConcurrentHashMap<>();
+    private volatile ExecutorService executor;
+
+    UserStoreDomainRenamer(AccessTokenDAO accessTokenDAO, AuthorizationCodeDAO authorizationCodeDAO) {
+
+        this.accessTokenDAO = accessTokenDAO;
+        this.authorizationCodeDAO = authorizationCodeDAO;
+    }
+
+    public static UserStoreDomainRenamer getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Rename the user store domain of the access tokens and authorization codes of a tenant.
+     *
+     * @param tenantId               Tenant id.
+     * @param currentUserStoreDomain Current user store domain.
+     * @param newUserStoreDomain     New user store domain.
+     * @return Status of the rename. The rename is complete when this returns, unless asynchronous renames are
+     * enabled.
+     * @throws IdentityOAuth2Exception If a rename of the user store domain is already running, or if the rename
+     *                                 failed.
+     */
+    public UserStoreDomainRenameStatus rename(int tenantId, String currentUserStoreDomain, String newUserStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        UserStoreDomainRenameStatus status = new UserStoreDomainRenameStatus(tenantId, currentUserStoreDomain,
+                newUserStoreDomain);
+        UserStoreDomainRenameStatus currentStatus = statuses.compute(getKey(tenantId, currentUserStoreDomain),
+                (key, existingStatus) -> existingStatus != null &&
+                        existingStatus.getState() == UserStoreDomainRenameStatus.State.RUNNING ?
+                        existingStatus : status);
+        if (currentStatus != status) {
+            throw new IdentityOAuth2Exception("A rename of user store : " + currentUserStoreDomain + " in tenant :" +
+                    tenantId + " is already in progress.");
+        }
+
+        if (Boolean.parseBoolean(IdentityUtil.getProperty(ASYNC))) {
+            try {
+                getExecutor().execute(() -> {
+                    try {
+                        run(status);
+                    } catch (IdentityOAuth2Exception | RuntimeException e) {
+                        log.error("Error occurred while renaming user store : " + currentUserStoreDomain +
+                                " in tenant :" + tenantId + ". The rename can be resumed with resume().", e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                status.fail(e.getMessage());
+                throw new IdentityOAuth2Exception("The rename of user store : " + currentUserStoreDomain +
+                        " in tenant :" + tenantId + " could not be started.", e);
+            }
+        } else {
+            run(status);
+        }
+        return status;
+    }
+
+    /**
+     * Resume the latest rename of a user store domain which failed, renaming the rows left in the current user store
+     * domain to the new user store domain of that rename.
+     *
+     * @param tenantId               Tenant id.
+     * @param currentUserStoreDomain User store domain being renamed.
+     * @return Status of the resumed rename.
+     * @throws IdentityOAuth2Exception If there is no failed rename of the user store domain, or if the rename failed.
+     */
+    public UserStoreDomainRenameStatus resume(int tenantId, String currentUserStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        UserStoreDomainRenameStatus status = getStatus(tenantId, currentUserStoreDomain);
+        if (status == null || status.getState() != UserStoreDomainRenameStatus.State.FAILED) {
+            throw new IdentityOAuth2Exception("There is no failed rename of user store : " + currentUserStoreDomain +
+                    " in tenant :" + tenantId + " to resume.");
+        }
+        return rename(tenantId, status.getCurrentUserStoreDomain(), status.getNewUserStoreDomain());
+    }
+
+    /**
+     * Stop the background renames. Running renames are interrupted and marked as failed, so that they can be
+     * resumed.
+     */
+    public synchronized void shutdown() {
+
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Get the status of the latest rename of a user store domain.
+     *
+     * @param tenantId               Tenant id.
+     * @param currentUserStoreDomain User store domain being renamed.
+     * @return Status of the rename, or null if the user store domain was not renamed since the server started.
+     */
+    public UserStoreDomainRenameStatus getStatus(int tenantId, String currentUserStoreDomain) {
+
+        return statuses.get(getKey(tenantId, currentUserStoreDomain));
+    }
+
+    private void run(UserStoreDomainRenameStatus status) throws IdentityOAuth2Exception {
+
+        int tenantId = status.getTenantId();
+        String currentUserStoreDomain = status.getCurrentUserStoreDomain();
+        String newUserStoreDomain = status.getNewUserStoreDomain();
+        int chunkSize = getPositiveInt(CHUNK_SIZE, DEFAULT_CHUNK_SIZE);
+        int chunkInterval = getPositiveInt(CHUNK_INTERVAL, DEFAULT_CHUNK_INTERVAL);
+        try {
+            int count;
+            while ((count = getAccessTokenDAO().updateUserStoreDomain(tenantId, currentUserStoreDomain,
+                    newUserStoreDomain, chunkSize)) > 0) {
+                status.addRenamedAccessTokens(count);
+                pause(chunkInterval);
+            }
+            while ((count = getAuthorizationCodeDAO().updateUserStoreDomain(tenantId, currentUserStoreDomain,
+                    newUserStoreDomain, chunkSize)) > 0) {
+                status.addRenamedAuthorizationCodes(count);
+                pause(chunkInterval);
+            }
+            status.complete();
+            // Statements of the old domain are still used by the rename until it completes.
+            PartitionedSqlRegistry.getInstance().removeUserStoreDomain(currentUserStoreDomain);
+            if (log.isDebugEnabled()) {
+                log.debug("Renamed user store : " + currentUserStoreDomain + " as : " + newUserStoreDomain +
+                        " in tenant :" + tenantId + ". Renamed " + status.getRenamedAccessTokenCount() +
+                        " access tokens and " + status.getRenamedAuthorizationCodeCount() +
+                        " authorization codes in " + (status.getEndTime() - status.getStartTime()) + "ms.");
+            }
+        } catch (IdentityOAuth2Exception | RuntimeException e) {
+            status.fail(e.getMessage());
+            throw e;
+        }
+    }
+
+    private static void pause(int millis) throws IdentityOAuth2Exception {
+
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IdentityOAuth2Exception("Interrupted while renaming the user store domain.");
+        }
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityOAuth2Exception("Interrupted while renaming the user store domain.", e);
+        }
+    }
+
+    private AccessTokenDAO getAccessTokenDAO() {
+
+        return accessTokenDAO != null ? accessTokenDAO :
+                OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO();
+    }
+
+    private AuthorizationCodeDAO getAuthorizationCodeDAO() {
+
+        return authorizationCodeDAO != null ? authorizationCodeDAO :
+                OAuthTokenPersistenceFactory.getInstance().getAuthorizationCodeDAO();
+    }
+
+    private ExecutorService getExecutor() {
+
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = Executors.newSingleThreadExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "oauth-user-store-domain-rename");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static String getKey(int tenantId, String userStoreDomain) {
+
+        return tenantId + ":" + OAuth2Util.getSanitizedUserStoreDomain(userStoreDomain);
+    }
+
+    private static int getPositiveInt(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int intValue = Integer.parseInt(value.trim());
+                if (intValue >= 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value.
+            }
+            log.warn("Invalid value: " + value + " configured for: " + property + ". Using the default value: " +
+                    defaultValue);
+        }
+        return defaultValue;
+    }
+}
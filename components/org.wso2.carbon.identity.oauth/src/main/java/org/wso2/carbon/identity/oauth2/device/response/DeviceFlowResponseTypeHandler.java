@@ -31,6 +31,7 @@ import org.wso2.carbon.identity.oauth2.device.constants.Constants;
 import org.wso2.carbon.identity.oauth2.device.dao.DeviceFlowPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeRespDTO;
+import org.wso2.carbon.identity.oauth2.model.AppPolicy;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
 /**
@@ -90,7 +91,7 @@ public class DeviceFlowResponseTypeHandler extends AbstractResponseTypeHandler {
             return false;
         }
 
-        if (!oAuthAppDO.getGrantTypes().contains(grantType)) {
+        if (!AppPolicy.of(oAuthAppDO).isGrantTypeAllowed(grantType)) {
             if (log.isDebugEnabled()) {
                 // Do not change this log format as these logs use by external applications.
                 log.debug("Unsupported Grant Type: " + grantType + " for client id: " + consumerKey);
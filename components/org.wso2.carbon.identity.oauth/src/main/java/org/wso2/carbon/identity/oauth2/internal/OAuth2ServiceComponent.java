@@ -55,6 +55,7 @@ import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth.tokenprocessor.OAuth2RevocationProcessor;
 import org.wso2.carbon.identity.oauth.tokenprocessor.RefreshTokenGrantProcessor;
 import org.wso2.carbon.identity.oauth.tokenprocessor.TokenProvider;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.OAuth2ScopeService;
 import org.wso2.carbon.identity.oauth2.OAuth2Service;
 import org.wso2.carbon.identity.oauth2.OAuth2TokenValidationService;
@@ -68,7 +69,10 @@ import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthnSer
 import org.wso2.carbon.identity.oauth2.client.authentication.PublicClientAuthenticator;
 import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.dao.PartitionedSqlRegistry;
 import org.wso2.carbon.identity.oauth2.dao.TokenManagementDAO;
+import org.wso2.carbon.identity.oauth2.dao.TokenShardRouter;
+import org.wso2.carbon.identity.oauth2.dao.UserStoreDomainRenamer;
 import org.wso2.carbon.identity.oauth2.device.api.DeviceAuthService;
 import org.wso2.carbon.identity.oauth2.device.api.DeviceAuthServiceImpl;
 import org.wso2.carbon.identity.oauth2.device.response.DeviceFlowResponseTypeRequestValidator;
@@ -92,7 +96,9 @@ import org.wso2.carbon.identity.oauth2.token.handlers.claims.ImpersonatedAccessT
 import org.wso2.carbon.identity.oauth2.token.handlers.claims.JWTAccessTokenClaimProvider;
 import org.wso2.carbon.identity.oauth2.token.handlers.response.AccessTokenResponseHandler;
 import org.wso2.carbon.identity.oauth2.token.handlers.response.FederatedTokenResponseHandler;
+import org.wso2.carbon.identity.oauth2.util.AccessTokenSnapshotExporter;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.TokenValidationHandler;
 import org.wso2.carbon.identity.oauth2.validators.scope.RoleBasedScopeIssuer;
 import org.wso2.carbon.identity.oauth2.validators.scope.ScopeValidator;
 import org.wso2.carbon.identity.oauth2.validators.validationhandler.ScopeValidationHandler;
@@ -330,6 +336,8 @@ public class OAuth2ServiceComponent {
                 log.error("OAuth - TenantMgtListener could not be registered.");
             }
 
+            registerPartitionedSql();
+
             ServiceRegistration userStoreConfigEventSR = bundleContext.registerService(
                     UserStoreConfigListener.class.getName(), new OAuthUserStoreConfigListenerImpl(), null);
             if (userStoreConfigEventSR != null) {
@@ -378,6 +386,8 @@ public class OAuth2ServiceComponent {
 
             // Registering OAuth2Service as a OSGIService
             bundleContext.registerService(OAuth2Service.class.getName(), new OAuth2Service(), null);
+            // Registering AccessTokenSnapshotExporter as a OSGIService for the token reporting jobs.
+            bundleContext.registerService(AccessTokenSnapshotExporter.class, new AccessTokenSnapshotExporter(), null);
             OAuth2ScopeService oAuth2ScopeService = new OAuth2ScopeService();
             // Registering OAuth2ScopeService as a OSGIService
             bundleContext.registerService(OAuth2ScopeService.class.getName(), oAuth2ScopeService, null);
@@ -457,6 +467,16 @@ public class OAuth2ServiceComponent {
         }
     }
 
+    protected void deactivate(ComponentContext context) {
+
+        TokenShardRouter.getInstance().shutdown();
+        UserStoreDomainRenamer.getInstance().shutdown();
+        TokenValidationHandler.getInstance().shutdown();
+        if (log.isDebugEnabled()) {
+            log.debug("Identity OAuth bundle is deactivated");
+        }
+    }
+
     /**
      * Set Application management service implementation
      *
@@ -1004,6 +1024,23 @@ public class OAuth2ServiceComponent {
         }
     }
 
+    /**
+     * Rewrite the token partitioning SQL statements for the user store domains mapped in the access token
+     * partitioning configuration, so that the first token requests of those domains do not pay for it.
+     */
+    private void registerPartitionedSql() {
+
+        if (!OAuth2Util.checkAccessTokenPartitioningEnabled() || !OAuth2Util.checkUserNameAssertionEnabled()) {
+            return;
+        }
+        try {
+            PartitionedSqlRegistry.getInstance().registerUserStoreDomains(
+                    OAuth2Util.getAvailableUserStoreDomainMappings().keySet());
+        } catch (IdentityOAuth2Exception e) {
+            log.error("Error while registering the partitioned SQL statements of the user store domains.", e);
+        }
+    }
+
     private static void loadScopeConfigFile() {
 
         List<ScopeDTO> listOIDCScopesClaims = new ArrayList<>();
@@ -23,6 +23,7 @@ import org.wso2.carbon.identity.core.AbstractIdentityTenantMgtListener;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
@@ -31,11 +32,9 @@ import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.stratos.common.exception.StratosException;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.TokenBindings.NONE;
 
@@ -59,50 +58,13 @@ public class OAuthTenantMgtListenerImpl extends AbstractIdentityTenantMgtListene
     private void clearTokenData(int tenantId) throws StratosException {
 
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
-                    .getAccessTokenDAO().getAccessTokensByTenant(tenantId);
+            // Tokens are read, cleared from the caches and revoked one page at a time instead of being loaded at once.
+            AccessTokenDAO accessTokenDAO = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO();
+            accessTokenDAO.forEachAccessTokenPage(tenantId, null, this::revokeAccessTokens);
             String organizationId =
                     OAuth2ServiceComponentHolder.getInstance().getOrganizationManager().resolveOrganizationId(
                             IdentityTenantUtil.getTenantDomain(tenantId));
-            Set<AccessTokenDO> accessTokensByAuthorizedOrg =
-                    OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                            .getAccessTokensByAuthorizedOrg(organizationId);
-            accessTokenDOs.addAll(accessTokensByAuthorizedOrg);
-
-            Map<String, AccessTokenDO> latestAccessTokens = new HashMap<>();
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
-                        + accessTokenDO.getAuthzUser().getFederatedIdPName();
-                AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
-                if (accessTokenDOFromMap != null) {
-                    if (accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
-                        latestAccessTokens.put(keyString, accessTokenDO);
-                    }
-                } else {
-                    latestAccessTokens.put(keyString, accessTokenDO);
-                }
-
-                //Clear cache
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-                TokenBinding tokenBinding = accessTokenDO.getTokenBinding();
-                String tokenBindingReference = (tokenBinding != null &&
-                        StringUtils.isNotBlank(tokenBinding.getBindingReference())) ?
-                        tokenBinding.getBindingReference() : NONE;
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()), tokenBindingReference,
-                        accessTokenDO.getAuthorizedOrganizationId());
-            }
-            ArrayList<String> tokensToRevoke = new ArrayList<>();
-            for (Map.Entry entry : latestAccessTokens.entrySet()) {
-                tokensToRevoke.add(((AccessTokenDO) entry.getValue()).getAccessToken());
-            }
-            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                    .revokeAccessTokens(tokensToRevoke.toArray(new String[tokensToRevoke.size()]),
-                            OAuth2Util.isHashEnabled());
+            accessTokenDAO.forEachAccessTokenPageOfAuthorizedOrg(organizationId, this::revokeAccessTokens);
             List<AuthzCodeDO> latestAuthzCodes = OAuthTokenPersistenceFactory.getInstance()
                     .getAuthorizationCodeDAO().getLatestAuthorizationCodesByTenant(tenantId);
             for (AuthzCodeDO authzCodeDO : latestAuthzCodes) {
@@ -119,4 +81,43 @@ public class OAuthTenantMgtListenerImpl extends AbstractIdentityTenantMgtListene
             throw new StratosException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Clear the given page of tokens from the caches and revoke the latest token of each client, user and scope.
+     *
+     * @param accessTokenDOs Page of tokens.
+     * @throws IdentityOAuth2Exception If the tokens could not be revoked.
+     */
+    private void revokeAccessTokens(List<AccessTokenDO> accessTokenDOs) throws IdentityOAuth2Exception {
+
+        Map<String, AccessTokenDO> latestAccessTokens = new HashMap<>();
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
+                    OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
+                    + accessTokenDO.getAuthzUser().getFederatedIdPName();
+            AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
+            if (accessTokenDOFromMap == null ||
+                    accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
+                latestAccessTokens.put(keyString, accessTokenDO);
+            }
+
+            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+            OAuthUtil.clearOAuthCache(accessTokenDO);
+            TokenBinding tokenBinding = accessTokenDO.getTokenBinding();
+            String tokenBindingReference = (tokenBinding != null &&
+                    StringUtils.isNotBlank(tokenBinding.getBindingReference())) ?
+                    tokenBinding.getBindingReference() : NONE;
+            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDO.getScope()), tokenBindingReference,
+                    accessTokenDO.getAuthorizedOrganizationId());
+        }
+        if (latestAccessTokens.isEmpty()) {
+            return;
+        }
+        OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().revokeAccessTokens(
+                latestAccessTokens.values().stream().map(AccessTokenDO::getAccessToken).toArray(String[]::new),
+                OAuth2Util.isHashEnabled());
+    }
 }
@@ -22,17 +22,17 @@ import org.wso2.carbon.identity.core.util.IdentityCoreConstants.UserStoreState;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.dao.PartitionedSqlRegistry;
+import org.wso2.carbon.identity.oauth2.dao.UserStoreDomainRenamer;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.user.store.configuration.listener.AbstractUserStoreConfigListener;
 import org.wso2.carbon.user.api.UserStoreException;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Userstore config listener for OAuth related functionality.
@@ -43,19 +43,15 @@ public class OAuthUserStoreConfigListenerImpl extends AbstractUserStoreConfigLis
     public void onUserStoreNamePreUpdate(int tenantId, String currentUserStoreName, String newUserStoreName) throws
             UserStoreException {
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
-                    .getAccessTokenDAO().getAccessTokensOfUserStore(tenantId, currentUserStoreName);
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                //Clear cache
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-            }
             OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                    .updateUserStoreDomain(tenantId, currentUserStoreName, newUserStoreName);
-            OAuthTokenPersistenceFactory.getInstance().getAuthorizationCodeDAO()
-                    .updateUserStoreDomain(tenantId, currentUserStoreName, newUserStoreName);
+                    .forEachAccessToken(tenantId, currentUserStoreName, accessTokenDO -> {
+                        //Clear cache
+                        OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                                OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+                        OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+                        OAuthUtil.clearOAuthCache(accessTokenDO);
+                    });
+            UserStoreDomainRenamer.getInstance().rename(tenantId, currentUserStoreName, newUserStoreName);
         } catch (IdentityOAuth2Exception e) {
             throw new UserStoreException("Error occurred while renaming user store : " + currentUserStoreName +
                     " in tenant :" + tenantId, e);
@@ -66,6 +62,7 @@ public class OAuthUserStoreConfigListenerImpl extends AbstractUserStoreConfigLis
     public void onUserStorePreDelete(int tenantId, String userStoreName) throws UserStoreException {
 
         revokeTokens(tenantId, userStoreName);
+        PartitionedSqlRegistry.getInstance().removeUserStoreDomain(userStoreName);
     }
 
     @Override
@@ -80,38 +77,9 @@ public class OAuthUserStoreConfigListenerImpl extends AbstractUserStoreConfigLis
     private void revokeTokens(int tenantId, String userStoreName) throws UserStoreException {
 
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                    .getAccessTokensOfUserStore(tenantId, userStoreName);
-            Map<String, AccessTokenDO> latestAccessTokens = new HashMap<>();
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
-                        + accessTokenDO.getAuthzUser().getFederatedIdPName();
-                AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
-                if (accessTokenDOFromMap != null) {
-                    if (accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
-                        latestAccessTokens.put(keyString, accessTokenDO);
-                    }
-                } else {
-                    latestAccessTokens.put(keyString, accessTokenDO);
-                }
-
-                //Clear cache
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-            }
-            ArrayList<String> tokensToRevoke = new ArrayList<>();
-            for (Map.Entry entry : latestAccessTokens.entrySet()) {
-                tokensToRevoke.add(((AccessTokenDO) entry.getValue()).getAccessToken());
-            }
-
-            if (!tokensToRevoke.isEmpty()) {
-                OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                        .revokeAccessTokens(tokensToRevoke.toArray(new String[tokensToRevoke.size()]),
-                                OAuth2Util.isHashEnabled());
-            }
+            // Tokens are read, cleared from the caches and revoked one page at a time instead of being loaded at once.
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                    .forEachAccessTokenPage(tenantId, userStoreName, this::revokeAccessTokens);
 
             List<AuthzCodeDO> latestAuthzCodes = OAuthTokenPersistenceFactory.getInstance()
                     .getAuthorizationCodeDAO().getLatestAuthorizationCodesByUserStore(tenantId, userStoreName);
@@ -129,4 +97,37 @@ public class OAuthUserStoreConfigListenerImpl extends AbstractUserStoreConfigLis
                     userStoreName + " in tenant :" + tenantId, e);
         }
     }
+
+    /**
+     * Clear the given page of tokens from the caches and revoke the latest token of each client, user and scope.
+     *
+     * @param accessTokenDOs Page of tokens.
+     * @throws IdentityOAuth2Exception If the tokens could not be revoked.
+     */
+    private void revokeAccessTokens(List<AccessTokenDO> accessTokenDOs) throws IdentityOAuth2Exception {
+
+        Map<String, AccessTokenDO> latestAccessTokens = new HashMap<>();
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
+                    OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
+                    + accessTokenDO.getAuthzUser().getFederatedIdPName();
+            AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
+            if (accessTokenDOFromMap == null ||
+                    accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
+                latestAccessTokens.put(keyString, accessTokenDO);
+            }
+
+            //Clear cache
+            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+            OAuthUtil.clearOAuthCache(accessTokenDO);
+        }
+        if (latestAccessTokens.isEmpty()) {
+            return;
+        }
+        OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().revokeAccessTokens(
+                latestAccessTokens.values().stream().map(AccessTokenDO::getAccessToken).toArray(String[]::new),
+                OAuth2Util.isHashEnabled());
+    }
 }
@@ -24,7 +24,11 @@ import org.wso2.carbon.identity.oauth.cache.CacheEntry;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Access token data object.
@@ -39,6 +43,8 @@ public class AccessTokenDO extends CacheEntry {
 
     private String[] scope;
 
+    private transient volatile Set<String> scopeSet;
+
     private String tokenState;
 
     private String refreshToken;
@@ -181,6 +187,23 @@ public class AccessTokenDO extends CacheEntry {
 
     public void setScope(String[] scope) {
         this.scope = scope;
+        this.scopeSet = null;
+    }
+
+    /**
+     * Get the scopes of the token as a set, for constant time scope checks.
+     *
+     * @return Unmodifiable set of scopes of the token.
+     */
+    public Set<String> getScopeSet() {
+
+        Set<String> currentScopeSet = scopeSet;
+        if (currentScopeSet == null) {
+            currentScopeSet = scope == null ? Collections.emptySet() :
+                    Collections.unmodifiableSet(new HashSet<>(Arrays.asList(scope)));
+            scopeSet = currentScopeSet;
+        }
+        return currentScopeSet;
     }
 
     public Timestamp getIssuedTime() {
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.model;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable request policy of an OAuth application, compiled from the raw values of an {@link OAuthAppDO}.
+ * <p>
+ * The policy is built once per application load and kept with the cached {@link OAuthAppDO}, so that the callback
+ * URL regular expressions are compiled and the grant types are split once instead of on every authorize and token
+ * request. Use {@link #of(OAuthAppDO)} to get the policy of an application.
+ */
+public class AppPolicy {
+
+    private static final Log log = LogFactory.getLog(AppPolicy.class);
+    private static final Pattern LOOPBACK_IP_PATTERN = Pattern.compile(OAuthConstants.LOOPBACK_IP_REGEX);
+    private static final Pattern LOOPBACK_IP_PORT_PATTERN = Pattern.compile(OAuthConstants.LOOPBACK_IP_PORT_REGEX);
+
+    private final String callbackUrl;
+    private final boolean callbackUrlRegex;
+    private final Pattern callbackUrlPattern;
+    private final Pattern loopbackCallbackUrlPattern;
+    private final String loopbackCallbackUrl;
+    private final Set<String> grantTypes;
+
+    /**
+     * Compile the policy of an application.
+     *
+     * @param oAuthAppDO OAuth application.
+     */
+    public AppPolicy(OAuthAppDO oAuthAppDO) {
+
+        String callbackUrl = oAuthAppDO.getCallbackUrl();
+        this.callbackUrl = callbackUrl;
+        this.callbackUrlRegex = callbackUrl != null &&
+                callbackUrl.startsWith(OAuthConstants.CALLBACK_URL_REGEXP_PREFIX);
+        if (callbackUrlRegex) {
+            String regex = callbackUrl.substring(OAuthConstants.CALLBACK_URL_REGEXP_PREFIX.length());
+            this.callbackUrlPattern = compile(regex, oAuthAppDO);
+            this.loopbackCallbackUrlPattern = compile(LOOPBACK_IP_PORT_PATTERN.matcher(regex)
+                    .replaceAll(StringUtils.EMPTY), oAuthAppDO);
+            this.loopbackCallbackUrl = null;
+        } else {
+            this.callbackUrlPattern = null;
+            this.loopbackCallbackUrlPattern = null;
+            this.loopbackCallbackUrl = callbackUrl == null ? null :
+                    LOOPBACK_IP_PORT_PATTERN.matcher(callbackUrl).replaceFirst(StringUtils.EMPTY);
+        }
+        String[] grantTypes = StringUtils.split(oAuthAppDO.getGrantTypes());
+        this.grantTypes = grantTypes == null ? Collections.emptySet() :
+                Collections.unmodifiableSet(new HashSet<>(Arrays.asList(grantTypes)));
+    }
+
+    /**
+     * Get the policy of an application, compiling it if the application does not hold one yet.
+     *
+     * @param oAuthAppDO OAuth application.
+     * @return Policy of the application.
+     */
+    public static AppPolicy of(OAuthAppDO oAuthAppDO) {
+
+        AppPolicy appPolicy = oAuthAppDO.getAppPolicy();
+        if (appPolicy == null) {
+            appPolicy = new AppPolicy(oAuthAppDO);
+            oAuthAppDO.setAppPolicy(appPolicy);
+        }
+        return appPolicy;
+    }
+
+    /**
+     * Check whether the callback URL of a request matches the registered callback URL, either by being equal to it
+     * or by matching it when it is registered as a regular expression.
+     *
+     * @param callbackUri Callback URL of the request.
+     * @return True if the callback URL matches.
+     */
+    public boolean isValidCallbackUri(String callbackUri) {
+
+        if (callbackUri == null) {
+            return false;
+        }
+        if (callbackUrlPattern != null && callbackUrlPattern.matcher(callbackUri).matches()) {
+            return true;
+        }
+        return callbackUri.equals(callbackUrl);
+    }
+
+    /**
+     * Check whether the callback URL of a request matches the registered callback URL, ignoring the port of loopback
+     * IP address callback URLs as native applications may use any port.
+     *
+     * @param callbackUri Callback URL of the request.
+     * @return True if the callback URL matches.
+     */
+    public boolean isValidCallbackUriIgnoringLoopbackPort(String callbackUri) {
+
+        if (callbackUri == null) {
+            return false;
+        }
+        if (!LOOPBACK_IP_PATTERN.matcher(callbackUri).matches()) {
+            return isValidCallbackUri(callbackUri);
+        }
+        String callbackUriWithoutPort = LOOPBACK_IP_PORT_PATTERN.matcher(callbackUri).replaceFirst(StringUtils.EMPTY);
+        if (callbackUrlRegex) {
+            if (loopbackCallbackUrlPattern == null ||
+                    !loopbackCallbackUrlPattern.matcher(callbackUriWithoutPort).matches()) {
+                log.debug("Regex might contain port number capture group/groups for loopback ip address");
+                return false;
+            }
+            return true;
+        }
+        return callbackUriWithoutPort.equals(loopbackCallbackUrl);
+    }
+
+    /**
+     * Check whether the registered callback URL is a regular expression.
+     *
+     * @return True if the callback URL is a regular expression.
+     */
+    public boolean isCallbackUrlRegex() {
+
+        return callbackUrlRegex;
+    }
+
+    /**
+     * Check whether the application is allowed to use a grant type.
+     *
+     * @param grantType Grant type.
+     * @return True if the grant type is allowed.
+     */
+    public boolean isGrantTypeAllowed(String grantType) {
+
+        return grantType != null && grantTypes.contains(grantType);
+    }
+
+    /**
+     * Get the grant types allowed for the application.
+     *
+     * @return Unmodifiable set of grant types.
+     */
+    public Set<String> getGrantTypes() {
+
+        return grantTypes;
+    }
+
+    private static Pattern compile(String regex, OAuthAppDO oAuthAppDO) {
+
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            log.warn("Invalid callback URL regex configured for application: " + oAuthAppDO.getApplicationName() +
+                    ". Callback URLs will not be matched against it.");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.model;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Client authorized by a user, with the time of the latest token issued to the client for the user and the scopes
+ * of the user's ACTIVE or EXPIRED tokens of the client.
+ */
+public class AuthorizedClientDO {
+
+    private final String consumerKey;
+    private final String applicationName;
+    private long latestIssuedTime;
+    private final Set<String> scopes = new TreeSet<>();
+
+    /**
+     * Create an authorized client.
+     *
+     * @param consumerKey     Consumer key of the client.
+     * @param applicationName Name of the application of the client.
+     */
+    public AuthorizedClientDO(String consumerKey, String applicationName) {
+
+        this.consumerKey = consumerKey;
+        this.applicationName = applicationName;
+    }
+
+    public String getConsumerKey() {
+
+        return consumerKey;
+    }
+
+    public String getApplicationName() {
+
+        return applicationName;
+    }
+
+    public long getLatestIssuedTime() {
+
+        return latestIssuedTime;
+    }
+
+    public Set<String> getScopes() {
+
+        return Collections.unmodifiableSet(scopes);
+    }
+
+    /**
+     * Merge a token issued to the client for the user.
+     *
+     * @param issuedTime Time the token was issued in milliseconds.
+     * @param scope      Scope of the token, or null if the token has no scope.
+     */
+    public void addToken(long issuedTime, String scope) {
+
+        latestIssuedTime = Math.max(latestIssuedTime, issuedTime);
+        if (scope != null) {
+            scopes.add(scope);
+        }
+    }
+
+    /**
+     * Merge the tokens of the same client found in another token shard.
+     *
+     * @param authorizedClient Authorized client.
+     */
+    public void merge(AuthorizedClientDO authorizedClient) {
+
+        latestIssuedTime = Math.max(latestIssuedTime, authorizedClient.latestIssuedTime);
+        scopes.addAll(authorizedClient.scopes);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.model;
+
+import org.wso2.carbon.identity.oauth.cache.CacheEntry;
+import org.wso2.carbon.identity.oauth2.bean.Scope;
+import org.wso2.carbon.identity.oauth2.bean.ScopeBinding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the OAuth2 and OIDC scopes registered in a tenant.
+ * <p>
+ * A snapshot is loaded with a single query and replaced as a whole when scopes are added, updated or deleted, so
+ * that scope lookups done during authorization and token issuance are served from memory. The version of the
+ * snapshot increases on every replacement. The catalog is shared by all the lookups of the tenant, hence scopes are
+ * returned as copies which callers may modify.
+ */
+public class ScopeCatalog extends CacheEntry {
+
+    private static final long serialVersionUID = -4372285610958306217L;
+
+    private final long version;
+    private final Map<String, Scope> scopes;
+    private final Map<String, Set<String>> bindings;
+    private final Set<String> oidcScopeNames;
+
+    /**
+     * Create a scope catalog.
+     *
+     * @param version      Version of the catalog.
+     * @param oauth2Scopes OAuth2 scopes of the tenant.
+     * @param oidcScopes   OIDC scopes of the tenant.
+     */
+    public ScopeCatalog(long version, Collection<Scope> oauth2Scopes, Collection<Scope> oidcScopes) {
+
+        Map<String, Scope> scopes = new HashMap<>();
+        Map<String, Set<String>> bindings = new HashMap<>();
+        Set<String> oidcScopeNames = new HashSet<>();
+        if (oauth2Scopes != null) {
+            for (Scope scope : oauth2Scopes) {
+                addScope(scope, scopes, bindings);
+            }
+        }
+        if (oidcScopes != null) {
+            for (Scope scope : oidcScopes) {
+                if (addScope(scope, scopes, bindings)) {
+                    oidcScopeNames.add(scope.getName());
+                }
+            }
+        }
+        this.version = version;
+        this.scopes = Collections.unmodifiableMap(scopes);
+        this.bindings = Collections.unmodifiableMap(bindings);
+        this.oidcScopeNames = Collections.unmodifiableSet(oidcScopeNames);
+    }
+
+    /**
+     * Get the version of the catalog.
+     *
+     * @return Version.
+     */
+    public long getVersion() {
+
+        return version;
+    }
+
+    /**
+     * Get a scope by name.
+     *
+     * @param name              Name of the scope.
+     * @param includeOIDCScopes Whether OIDC scopes should be returned as well.
+     * @return Copy of the scope, or null if there is no such scope.
+     */
+    public Scope getScope(String name, boolean includeOIDCScopes) {
+
+        Scope scope = lookupScope(name, includeOIDCScopes);
+        return scope == null ? null : copyOf(scope);
+    }
+
+    /**
+     * Check whether a scope exists.
+     *
+     * @param name              Name of the scope.
+     * @param includeOIDCScopes Whether OIDC scopes should be considered as well.
+     * @return True if the scope exists.
+     */
+    public boolean isScopeExists(String name, boolean includeOIDCScopes) {
+
+        return lookupScope(name, includeOIDCScopes) != null;
+    }
+
+    /**
+     * Check whether the given scope is an OIDC scope.
+     *
+     * @param name Name of the scope.
+     * @return True if the scope is an OIDC scope.
+     */
+    public boolean isOIDCScope(String name) {
+
+        return name != null && oidcScopeNames.contains(name);
+    }
+
+    /**
+     * Get the names of the OIDC scopes.
+     *
+     * @return Unmodifiable set of OIDC scope names.
+     */
+    public Set<String> getOIDCScopeNames() {
+
+        return oidcScopeNames;
+    }
+
+    /**
+     * Get the bindings of a scope regardless of the binding type.
+     *
+     * @param name Name of the scope.
+     * @return Unmodifiable set of bindings, which is empty if the scope does not exist.
+     */
+    public Set<String> getBindings(String name) {
+
+        if (name == null) {
+            return Collections.emptySet();
+        }
+        return bindings.getOrDefault(name, Collections.emptySet());
+    }
+
+    /**
+     * Get all the scopes.
+     *
+     * @param includeOIDCScopes Whether OIDC scopes should be returned as well.
+     * @return Copies of the scopes.
+     */
+    public Set<Scope> getScopes(boolean includeOIDCScopes) {
+
+        Set<Scope> result = new HashSet<>();
+        for (Scope scope : scopes.values()) {
+            if (includeOIDCScopes || !oidcScopeNames.contains(scope.getName())) {
+                result.add(copyOf(scope));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the requested scopes which exist in the catalog.
+     *
+     * @param requestedScopes   Names of the requested scopes.
+     * @param includeOIDCScopes Whether OIDC scopes should be returned as well.
+     * @return Copies of the existing scopes out of the requested scopes.
+     */
+    public Set<Scope> getScopes(Collection<String> requestedScopes, boolean includeOIDCScopes) {
+
+        Set<Scope> result = new HashSet<>();
+        if (requestedScopes != null) {
+            for (String name : requestedScopes) {
+                Scope scope = getScope(name, includeOIDCScopes);
+                if (scope != null) {
+                    result.add(scope);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of scopes in the catalog.
+     *
+     * @return Number of scopes.
+     */
+    public int size() {
+
+        return scopes.size();
+    }
+
+    private Scope lookupScope(String name, boolean includeOIDCScopes) {
+
+        if (name == null || (!includeOIDCScopes && oidcScopeNames.contains(name))) {
+            return null;
+        }
+        return scopes.get(name);
+    }
+
+    private static Scope copyOf(Scope scope) {
+
+        List<ScopeBinding> scopeBindings = new ArrayList<>();
+        if (scope.getScopeBindings() != null) {
+            for (ScopeBinding scopeBinding : scope.getScopeBindings()) {
+                List<String> bindings = scopeBinding.getBindings() == null ? null :
+                        new ArrayList<>(scopeBinding.getBindings());
+                scopeBindings.add(new ScopeBinding(scopeBinding.getBindingType(), bindings));
+            }
+        }
+        return new Scope(scope.getName(), scope.getDisplayName(), scopeBindings, scope.getDescription());
+    }
+
+    private static boolean addScope(Scope scope, Map<String, Scope> scopes, Map<String, Set<String>> bindings) {
+
+        if (scope == null || scope.getName() == null) {
+            return false;
+        }
+        scopes.put(scope.getName(), scope);
+        Set<String> scopeBindings = new HashSet<>();
+        if (scope.getScopeBindings() != null) {
+            for (ScopeBinding scopeBinding : scope.getScopeBindings()) {
+                if (scopeBinding.getBindings() != null) {
+                    scopeBindings.addAll(scopeBinding.getBindings());
+                }
+            }
+        }
+        bindings.put(scope.getName(), Collections.unmodifiableSet(scopeBindings));
+        return true;
+    }
+}
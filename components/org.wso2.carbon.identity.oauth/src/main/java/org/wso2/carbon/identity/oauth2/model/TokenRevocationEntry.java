@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.model;
+
+/**
+ * Entry of the access token revocation denylist.
+ * <p>
+ * A {@link EntryType#TOKEN} entry denies a single token by the hash of its identifier, while {@link EntryType#USER}
+ * and {@link EntryType#CLIENT} entries deny every token of a user or client issued before the time of revocation.
+ * An entry is no longer needed once the tokens it denies have expired.
+ */
+public class TokenRevocationEntry {
+
+    /**
+     * Type of a denylist entry.
+     */
+    public enum EntryType {
+        TOKEN, USER, CLIENT
+    }
+
+    private final EntryType entryType;
+    private final String entryKey;
+    private final long revokedTime;
+    private final long expiryTime;
+
+    /**
+     * Create a denylist entry.
+     *
+     * @param entryType   Type of the entry.
+     * @param entryKey    Hash of the token identifier, user id or consumer key.
+     * @param revokedTime Time of revocation in milliseconds.
+     * @param expiryTime  Time in milliseconds after which the entry is no longer needed.
+     */
+    public TokenRevocationEntry(EntryType entryType, String entryKey, long revokedTime, long expiryTime) {
+
+        this.entryType = entryType;
+        this.entryKey = entryKey;
+        this.revokedTime = revokedTime;
+        this.expiryTime = expiryTime;
+    }
+
+    public EntryType getEntryType() {
+
+        return entryType;
+    }
+
+    public String getEntryKey() {
+
+        return entryKey;
+    }
+
+    public long getRevokedTime() {
+
+        return revokedTime;
+    }
+
+    public long getExpiryTime() {
+
+        return expiryTime;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.model;
+
+/**
+ * Progress of renaming the user store domain of the access tokens and authorization codes of a tenant.
+ * <p>
+ * The status is updated by the thread running the rename and can be read from any thread.
+ */
+public class UserStoreDomainRenameStatus {
+
+    /**
+     * State of a user store domain rename.
+     */
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final int tenantId;
+    private final String currentUserStoreDomain;
+    private final String newUserStoreDomain;
+    private final long startTime;
+    private volatile State state = State.RUNNING;
+    private volatile long renamedAccessTokenCount;
+    private volatile long renamedAuthorizationCodeCount;
+    private volatile long endTime;
+    private volatile String errorMessage;
+
+    public UserStoreDomainRenameStatus(int tenantId, String currentUserStoreDomain, String newUserStoreDomain) {
+
+        this.tenantId = tenantId;
+        this.currentUserStoreDomain = currentUserStoreDomain;
+        this.newUserStoreDomain = newUserStoreDomain;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+
+    public String getCurrentUserStoreDomain() {
+
+        return currentUserStoreDomain;
+    }
+
+    public String getNewUserStoreDomain() {
+
+        return newUserStoreDomain;
+    }
+
+    public long getStartTime() {
+
+        return startTime;
+    }
+
+    public State getState() {
+
+        return state;
+    }
+
+    public long getRenamedAccessTokenCount() {
+
+        return renamedAccessTokenCount;
+    }
+
+    public long getRenamedAuthorizationCodeCount() {
+
+        return renamedAuthorizationCodeCount;
+    }
+
+    /**
+     * Get the time the rename completed or failed at.
+     *
+     * @return End time, or zero if the rename is still running.
+     */
+    public long getEndTime() {
+
+        return endTime;
+    }
+
+    public String getErrorMessage() {
+
+        return errorMessage;
+    }
+
+    public void addRenamedAccessTokens(int count) {
+
+        renamedAccessTokenCount += count;
+    }
+
+    public void addRenamedAuthorizationCodes(int count) {
+
+        renamedAuthorizationCodeCount += count;
+    }
+
+    public void complete() {
+
+        endTime = System.currentTimeMillis();
+        state = State.COMPLETED;
+    }
+
+    public void fail(String errorMessage) {
+
+        this.errorMessage = errorMessage;
+        endTime = System.currentTimeMillis();
+        state = State.FAILED;
+    }
+}
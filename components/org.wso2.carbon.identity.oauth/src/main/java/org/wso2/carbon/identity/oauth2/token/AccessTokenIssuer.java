@@ -66,6 +66,7 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenRespDTO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
+import org.wso2.carbon.identity.oauth2.token.handlers.grant.AuthorizationCodeGrantHandler;
 import org.wso2.carbon.identity.oauth2.token.handlers.grant.AuthorizationGrantHandler;
 import org.wso2.carbon.identity.oauth2.token.handlers.response.AccessTokenResponseHandler;
 import org.wso2.carbon.identity.oauth2.util.AuthzUtil;
@@ -351,12 +352,41 @@ public class AccessTokenIssuer {
 
         String syncLockString = authzGrantHandler.buildSyncLockString(tokReqMsgCtx);
         if (StringUtils.isBlank(syncLockString)) {
-            return validateGrantAndIssueToken(tokenReqDTO, tokReqMsgCtx, tokenRespDTO, authzGrantHandler,
-                    tenantDomainOfApp, oAuthAppDO);
+            return validateGrantAndIssueTokenOrRevokeCode(tokenReqDTO, tokReqMsgCtx, tokenRespDTO,
+                    authzGrantHandler, tenantDomainOfApp, oAuthAppDO);
         }
         synchronized (syncLockString.intern()) {
-            return validateGrantAndIssueToken(tokenReqDTO, tokReqMsgCtx, tokenRespDTO, authzGrantHandler,
+            return validateGrantAndIssueTokenOrRevokeCode(tokenReqDTO, tokReqMsgCtx, tokenRespDTO,
+                    authzGrantHandler, tenantDomainOfApp, oAuthAppDO);
+        }
+    }
+
+    private OAuth2AccessTokenRespDTO validateGrantAndIssueTokenOrRevokeCode(OAuth2AccessTokenReqDTO tokenReqDTO,
+                                                                            OAuthTokenReqMessageContext tokReqMsgCtx,
+                                                                            OAuth2AccessTokenRespDTO tokenRespDTO,
+                                                                            AuthorizationGrantHandler authzGrantHandler,
+                                                                            String tenantDomainOfApp,
+                                                                            OAuthAppDO oAuthAppDO)
+            throws IdentityException {
+
+        boolean isIssued = false;
+        try {
+            tokenRespDTO = validateGrantAndIssueToken(tokenReqDTO, tokReqMsgCtx, tokenRespDTO, authzGrantHandler,
                     tenantDomainOfApp, oAuthAppDO);
+            isIssued = !tokenRespDTO.isError();
+            return tokenRespDTO;
+        } finally {
+            // An authorization code kept active for single transaction redemption must not stay usable after a
+            // token request which failed once the grant was validated.
+            if (!isIssued && authzGrantHandler instanceof AuthorizationCodeGrantHandler) {
+                try {
+                    ((AuthorizationCodeGrantHandler) authzGrantHandler).revokeUnredeemedAuthorizationCode(
+                            tokReqMsgCtx);
+                } catch (IdentityOAuth2Exception e) {
+                    log.error("Error occurred while revoking the authorization code of a failed token request of " +
+                            "client: " + tokenReqDTO.getClientId(), e);
+                }
+            }
         }
     }
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent identical client credentials token requests.
+ * <p>
+ * Identical token requests, i.e. requests of the same client, user, scope, identity provider, token binding and
+ * organization, are already serialized by the grant handler. Without coalescing, each of them issues and persists
+ * its own token when the latest token cannot be reused from the OAuth cache, which is always the case when token
+ * hashing is enabled. With coalescing, the token issued by the first request is remembered for a short time and the
+ * requests waiting behind it are served the same token, as long as the token reuse policy allows it. The remembered
+ * tokens are only kept in the memory of the issuing node. Coalescing is disabled by default.
+ */
+public class TokenIssuanceCoalescer {
+
+    private static final Log log = LogFactory.getLog(TokenIssuanceCoalescer.class);
+    private static final int MAX_ISSUED_TOKENS = 10000;
+    private static final TokenIssuanceCoalescer instance = new TokenIssuanceCoalescer();
+
+    private final Map<String, IssuedToken> issuedTokens = new ConcurrentHashMap<>();
+
+    private TokenIssuanceCoalescer() {
+
+    }
+
+    public static TokenIssuanceCoalescer getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether token issuance coalescing is enabled.
+     *
+     * @return True if enabled.
+     */
+    public static boolean isEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.TOKEN_ISSUANCE_COALESCING_ENABLE));
+    }
+
+    /**
+     * Get the token recently issued for an identical request.
+     *
+     * @param requestKey Key identifying the client, user, scope, identity provider, token binding and organization.
+     * @return Issued token, or null if no token was issued within the result timeout.
+     */
+    public AccessTokenDO getIssuedToken(String requestKey) {
+
+        IssuedToken issuedToken = issuedTokens.get(requestKey);
+        if (issuedToken == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > issuedToken.expiryTime) {
+            issuedTokens.remove(requestKey, issuedToken);
+            return null;
+        }
+        return issuedToken.accessTokenDO;
+    }
+
+    /**
+     * Remember the token issued for a request, so that it can be shared with the identical requests waiting behind.
+     *
+     * @param requestKey    Key identifying the client, user, scope, identity provider, token binding and
+     *                      organization.
+     * @param accessTokenDO Issued token.
+     */
+    public void addIssuedToken(String requestKey, AccessTokenDO accessTokenDO) {
+
+        long now = System.currentTimeMillis();
+        if (issuedTokens.size() >= MAX_ISSUED_TOKENS) {
+            issuedTokens.values().removeIf(issuedToken -> now > issuedToken.expiryTime);
+            if (issuedTokens.size() >= MAX_ISSUED_TOKENS) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Maximum number of coalesced tokens reached. Not remembering the issued token.");
+                }
+                return;
+            }
+        }
+        issuedTokens.put(requestKey, new IssuedToken(accessTokenDO,
+                now + TimeUnit.SECONDS.toMillis(getResultTimeout())));
+    }
+
+    /**
+     * Forget the token issued for a request, e.g. when the OAuth cache entry of the same request key is cleared.
+     *
+     * @param requestKey Key identifying the client, user, scope, identity provider, token binding and organization.
+     */
+    public void clearIssuedToken(String requestKey) {
+
+        if (StringUtils.isBlank(requestKey)) {
+            return;
+        }
+        issuedTokens.remove(requestKey);
+    }
+
+    /**
+     * Forget a token by its id, so that it is no longer shared once it is revoked.
+     *
+     * @param tokenId Id of the access token.
+     */
+    public void clearIssuedTokenById(String tokenId) {
+
+        if (StringUtils.isBlank(tokenId) || issuedTokens.isEmpty()) {
+            return;
+        }
+        issuedTokens.values().removeIf(issuedToken -> tokenId.equals(issuedToken.accessTokenDO.getTokenId()));
+    }
+
+    private static long getResultTimeout() {
+
+        String timeout = IdentityUtil.getProperty(OAuth2Constants.TOKEN_ISSUANCE_COALESCING_RESULT_TIMEOUT);
+        if (StringUtils.isNotBlank(timeout)) {
+            try {
+                return Long.parseLong(timeout.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid token issuance coalescing result timeout: " + timeout + ". Using the default " +
+                        "value: " + OAuth2Constants.DEFAULT_TOKEN_ISSUANCE_COALESCING_RESULT_TIMEOUT);
+            }
+        }
+        return OAuth2Constants.DEFAULT_TOKEN_ISSUANCE_COALESCING_RESULT_TIMEOUT;
+    }
+
+    /**
+     * Issued token along with the time it stops being shared.
+     */
+    private static class IssuedToken {
+
+        private final AccessTokenDO accessTokenDO;
+        private final long expiryTime;
+
+        private IssuedToken(AccessTokenDO accessTokenDO, long expiryTime) {
+
+            this.accessTokenDO = accessTokenDO;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -41,14 +41,18 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2ClientException;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.OAuthSystemClientException;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.dao.SessionTokenIndex;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -343,7 +347,8 @@ public class TokenBindingExpiryEventHandler extends AbstractEventHandler {
     }
 
     /**
-     * Get the access tokens mapped for the session identifier and revoke those tokens.
+     * Get the access tokens mapped for the session identifier and revoke those tokens. The caches of the tokens are
+     * cleared one after the other, and the tokens are then revoked together in a single batch.
      *
      * @param sessionId Session context identifier.
      * @param user Authenticated user.
@@ -351,9 +356,13 @@ public class TokenBindingExpiryEventHandler extends AbstractEventHandler {
      */
     private void revokeTokensMappedToSession(String sessionId, AuthenticatedUser user) throws IdentityOAuth2Exception {
 
-        Set<String> tokenIds =
-                OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                        .getTokenIdBySessionIdentifier(sessionId);
+        AccessTokenDAO accessTokenDAO = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO();
+        Set<String> tokenIds = accessTokenDAO.getTokenIdBySessionIdentifier(sessionId);
+        SessionTokenIndex sessionTokenIndex = SessionTokenIndex.getInstance();
+        if (sessionTokenIndex.isEnabled()) {
+            // The session is terminated, hence the tokens mapped to it are not looked up anymore.
+            sessionTokenIndex.removeSession(sessionId);
+        }
 
         if (tokenIds.isEmpty()) {
             if (log.isDebugEnabled()) {
@@ -362,14 +371,14 @@ public class TokenBindingExpiryEventHandler extends AbstractEventHandler {
             }
             return;
         }
+        List<AccessTokenDO> tokensToRevoke = new ArrayList<>(tokenIds.size());
         for (String tokenId : tokenIds) {
-            String accessToken =
-                    OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().getAccessTokenByTokenId(tokenId);
+            String accessToken = accessTokenDAO.getAccessTokenByTokenId(tokenId);
             if (StringUtils.isBlank(accessToken)) {
                 if (log.isDebugEnabled()) {
                     log.debug(String.format("Could not find access token mapped for tokenId: %s", tokenId));
                 }
-                return;
+                continue;
             }
             AccessTokenDO accessTokenDO = null;
             try {
@@ -401,12 +410,29 @@ public class TokenBindingExpiryEventHandler extends AbstractEventHandler {
 
                 if (isFederatedRoleBasedAuthzEnabled
                         && StringUtils.equalsIgnoreCase(user.getUserName(), authenticatedUser.getUserName())) {
-                    revokeFederatedTokens(consumerKey, user, accessTokenDO, tokenBindingRef);
+                    clearTokenCaches(consumerKey, user, accessTokenDO, tokenBindingRef);
                 } else {
-                    revokeTokens(consumerKey, accessTokenDO, tokenBindingRef);
+                    clearTokenCaches(consumerKey, accessTokenDO.getAuthzUser(), accessTokenDO, tokenBindingRef);
                 }
+                OAuthUtil.invokePreRevocationBySystemListeners(accessTokenDO, Collections.emptyMap());
+                tokensToRevoke.add(accessTokenDO);
             }
         }
+
+        if (tokensToRevoke.isEmpty()) {
+            return;
+        }
+        String[] tokens = new String[tokensToRevoke.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokensToRevoke.get(i).getAccessToken();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Revoking " + tokens.length + " tokens mapped to the sessionId reference: " + sessionId);
+        }
+        accessTokenDAO.revokeAccessTokens(tokens, OAuth2Util.isHashEnabled());
+        for (AccessTokenDO accessTokenDO : tokensToRevoke) {
+            OAuthUtil.invokePostRevocationBySystemListeners(accessTokenDO, Collections.emptyMap());
+        }
     }
 
     private void revokeTokens(String consumerKey, AccessTokenDO accessTokenDO, String tokenBindingReference)
@@ -422,16 +448,22 @@ public class TokenBindingExpiryEventHandler extends AbstractEventHandler {
             log.debug("Revoking tokens for the application with consumerKey:" + consumerKey + " for the user: "
                     + user.getLoggableUserId());
         }
+        clearTokenCaches(consumerKey, user, accessTokenDO, tokenBindingReference);
+        OAuthUtil.invokePreRevocationBySystemListeners(accessTokenDO, Collections.emptyMap());
+        OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                .revokeAccessTokens(new String[]{accessTokenDO.getAccessToken()}, OAuth2Util.isHashEnabled());
+        OAuthUtil.invokePostRevocationBySystemListeners(accessTokenDO, Collections.emptyMap());
+    }
+
+    private void clearTokenCaches(String consumerKey, AuthenticatedUser user, AccessTokenDO accessTokenDO,
+                                  String tokenBindingReference) {
+
         OAuthUtil.clearOAuthCache(consumerKey, user, OAuth2Util.buildScopeString
                 (accessTokenDO.getScope()), tokenBindingReference);
         OAuthUtil.clearOAuthCache(consumerKey, user, OAuth2Util.buildScopeString
                 (accessTokenDO.getScope()));
         OAuthUtil.clearOAuthCache(consumerKey, user);
         OAuthUtil.clearOAuthCache(accessTokenDO);
-        OAuthUtil.invokePreRevocationBySystemListeners(accessTokenDO, Collections.emptyMap());
-        OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                .revokeAccessTokens(new String[]{accessTokenDO.getAccessToken()}, OAuth2Util.isHashEnabled());
-        OAuthUtil.invokePostRevocationBySystemListeners(accessTokenDO, Collections.emptyMap());
     }
 
     /**
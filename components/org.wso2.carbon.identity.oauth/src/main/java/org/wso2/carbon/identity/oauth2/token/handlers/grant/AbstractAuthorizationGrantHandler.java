@@ -37,6 +37,8 @@ import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth.cache.CacheEntry;
 import org.wso2.carbon.identity.oauth.cache.OAuthCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
+import org.wso2.carbon.identity.oauth.cache.TokenReuseIndex;
+import org.wso2.carbon.identity.oauth.cache.TokenReuseIndexEntry;
 import org.wso2.carbon.identity.oauth.callback.OAuthCallback;
 import org.wso2.carbon.identity.oauth.callback.OAuthCallbackManager;
 import org.wso2.carbon.identity.oauth.common.OAuth2ErrorCodes;
@@ -53,8 +55,10 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenRespDTO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.model.AppPolicy;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.token.TokenIssuanceCoalescer;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.util.Oauth2ScopeUtils;
 import org.wso2.carbon.identity.oauth2.validators.OAuth2ScopeHandler;
@@ -86,6 +90,8 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
     protected boolean cacheEnabled;
     protected OAuthCache oauthCache;
     protected static final String EXISTING_TOKEN_ISSUED = "existingTokenUsed";
+    private static final String TOKEN_ISSUANCE_COALESCING_KEY = "tokenIssuanceCoalescingKey";
+    private static final String TOKEN_REUSE_INDEX_KEY = "tokenReuseIndexKey";
     protected static final int SECONDS_TO_MILISECONDS_FACTOR = 1000;
     private boolean isHashDisabled = OAuth2Util.isHashDisabled();
 
@@ -160,10 +166,16 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
 
         synchronized ((consumerKey + ":" + authorizedUserId + ":" + scope + ":" + tokenBindingReference).intern()) {
             AccessTokenDO existingTokenBean = null;
+            AccessTokenDO indexedTokenBean = null;
             if (isHashDisabled) {
                 existingTokenBean = getExistingToken(tokReqMsgCtx,
                         getOAuthCacheKey(scope, consumerKey, authorizedUserId, authenticatedIDP,
                                 tokenBindingReference, authorizedOrganization));
+            } else if (isTokenReuseIndexEnabled()) {
+                String reuseIndexKey = OAuth2Util.buildCacheKeyStringForTokenWithUserIdOrgId(consumerKey, scope,
+                        authorizedUserId, authenticatedIDP, tokenBindingReference, authorizedOrganization);
+                indexedTokenBean = getExistingTokenFromReuseIndex(reuseIndexKey, consumerKey);
+                tokReqMsgCtx.addProperty(TOKEN_REUSE_INDEX_KEY, reuseIndexKey);
             }
 
             if (existingTokenBean != null) {
@@ -189,12 +201,31 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                 }
             }
 
+            if (isTokenIssuanceCoalescable(tokReqMsgCtx, oauthTokenIssuer)) {
+                String coalescingKey = OAuth2Util.buildCacheKeyStringForTokenWithUserIdOrgId(consumerKey, scope,
+                        authorizedUserId, authenticatedIDP, tokenBindingReference, authorizedOrganization);
+                AccessTokenDO issuedTokenBean = TokenIssuanceCoalescer.getInstance().getIssuedToken(coalescingKey);
+                if (issuedTokenBean != null) {
+                    long expireTime = getAccessTokenExpiryTimeMillis(issuedTokenBean);
+                    if (isExistingTokenValid(issuedTokenBean, expireTime)) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Token was issued for an identical request of client Id: " + consumerKey +
+                                    " and scope: " + scope + " a moment ago. Therefore issuing the same token.");
+                        }
+                        return issueExistingAccessToken(tokReqMsgCtx, scope, expireTime, issuedTokenBean);
+                    }
+                }
+                tokReqMsgCtx.addProperty(TOKEN_ISSUANCE_COALESCING_KEY, coalescingKey);
+            }
+
             if (log.isDebugEnabled()) {
                 log.debug("No active access token found for client Id: " + consumerKey + ", user: " +
                         authorizedUserId + " and scope: " + scope + ". Therefore issuing new token.");
             }
-            return generateNewAccessToken(tokReqMsgCtx, scope, consumerKey, existingTokenBean, true,
-                    oauthTokenIssuer);
+            /* The plaintext of the indexed token is not known in hash mode, hence it cannot be issued again. It is
+            only expired by its id along with persisting the new token. */
+            return generateNewAccessToken(tokReqMsgCtx, scope, consumerKey,
+                    existingTokenBean != null ? existingTokenBean : indexedTokenBean, true, oauthTokenIssuer);
         }
     }
 
@@ -232,7 +263,7 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
         }
 
         // If the application has defined a limited set of grant types, then check the grant
-        if (!oAuthAppBean.getGrantTypes().contains(grantType)) {
+        if (!AppPolicy.of(oAuthAppBean).isGrantTypeAllowed(grantType)) {
             if (log.isDebugEnabled()) {
                 //Do not change this log format as these logs use by external applications
                 log.debug("Unsupported Grant Type : " + grantType + " for client id : " + tokenReqDTO.getClientId());
@@ -350,6 +381,26 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                 OAuthConstants.UserType.APPLICATION_USER : OAuthConstants.UserType.APPLICATION;
     }
 
+    /**
+     * Store the access token issued for a token request. Grant handlers which need the token request message
+     * context to persist the token can override this method. By default, the token is stored through
+     * {@link #storeAccessToken(OAuth2AccessTokenReqDTO, String, AccessTokenDO, String, AccessTokenDO)}.
+     *
+     * @param tokReqMsgCtx      Token request message context.
+     * @param userStoreDomain   User store domain.
+     * @param newTokenBean      New access token data object.
+     * @param newAccessToken    New access token.
+     * @param existingTokenBean Existing access token data object, if any.
+     * @throws IdentityOAuth2Exception If an error occurred while storing the access token.
+     */
+    protected void storeAccessToken(OAuthTokenReqMessageContext tokReqMsgCtx, String userStoreDomain,
+                                    AccessTokenDO newTokenBean, String newAccessToken,
+                                    AccessTokenDO existingTokenBean) throws IdentityOAuth2Exception {
+
+        storeAccessToken(tokReqMsgCtx.getOauth2AccessTokenReqDTO(), userStoreDomain, newTokenBean, newAccessToken,
+                existingTokenBean);
+    }
+
     protected void storeAccessToken(OAuth2AccessTokenReqDTO oAuth2AccessTokenReqDTO, String userStoreDomain,
                                     AccessTokenDO newTokenBean, String newAccessToken, AccessTokenDO
                                             existingTokenBean) throws IdentityOAuth2Exception {
@@ -450,6 +501,15 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
 
         // Update cache with newly added token.
         updateCacheIfEnabled(newTokenBean, OAuth2Util.buildScopeString(tokReqMsgCtx.getScope()), oauthTokenIssuer);
+        String coalescingKey = (String) tokReqMsgCtx.getProperty(TOKEN_ISSUANCE_COALESCING_KEY);
+        if (coalescingKey != null) {
+            // Share the new token with the identical requests waiting behind this one.
+            TokenIssuanceCoalescer.getInstance().addIssuedToken(coalescingKey, newTokenBean);
+        }
+        String reuseIndexKey = (String) tokReqMsgCtx.getProperty(TOKEN_REUSE_INDEX_KEY);
+        if (reuseIndexKey != null) {
+            TokenReuseIndex.getInstance().addEntry(reuseIndexKey, newTokenBean);
+        }
         return createResponseWithTokenBean(newTokenBean, validityPeriodInMillis, scope);
     }
 
@@ -551,8 +611,8 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                     " and bindingRef: " + getTokenBindingReference(tokReqMsgCtx) +
                     " and authorized organization: " + getAuthorizedOrganization(tokReqMsgCtx));
         }
-        storeAccessToken(tokenReq, getUserStoreDomain(tokReqMsgCtx.getAuthorizedUser()), newTokenBean, newAccessToken,
-                existingTokenBean);
+        storeAccessToken(tokReqMsgCtx, getUserStoreDomain(tokReqMsgCtx.getAuthorizedUser()), newTokenBean,
+                newAccessToken, existingTokenBean);
     }
 
     private void updateCacheIfEnabled(AccessTokenDO newTokenBean, String scope, OauthTokenIssuer oauthTokenIssuer)
@@ -990,6 +1050,21 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
         return existingToken;
     }
 
+    private AccessTokenDO getExistingTokenFromReuseIndex(String reuseIndexKey, String consumerKey) {
+
+        TokenReuseIndexEntry indexEntry = TokenReuseIndex.getInstance().getEntry(reuseIndexKey);
+        if (indexEntry == null) {
+            return null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Latest access token with id: " + indexEntry.getTokenId() + " for client: " + consumerKey +
+                    " is found in the token reuse index. Expired: " + indexEntry.isExpired());
+        }
+        AccessTokenDO indexedTokenBean = indexEntry.toAccessTokenDO();
+        indexedTokenBean.setConsumerKey(consumerKey);
+        return indexedTokenBean;
+    }
+
     private void removeFromCache(OAuthCacheKey cacheKey, String consumerKey, AccessTokenDO existingAccessTokenDO) {
         oauthCache.clearCacheEntry(cacheKey , existingAccessTokenDO.getAuthzUser().getTenantDomain());
         if (log.isDebugEnabled()) {
@@ -1053,6 +1128,33 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                 isRenewTokenPerRequestEnabledInConfig;
     }
 
+    /**
+     * Checks whether the token issued for this request can be shared with identical concurrent requests, i.e.
+     * coalescing is enabled, the request is a client credentials request and tokens are not renewed per request.
+     *
+     * @param tokReqMsgCtx     Token request message context.
+     * @param oauthTokenIssuer Token issuer of the application.
+     * @return True if the token issuance can be coalesced.
+     */
+    private boolean isTokenIssuanceCoalescable(OAuthTokenReqMessageContext tokReqMsgCtx,
+                                               OauthTokenIssuer oauthTokenIssuer) {
+
+        return TokenIssuanceCoalescer.isEnabled() && GrantType.CLIENT_CREDENTIALS.toString().equals(
+                tokReqMsgCtx.getOauth2AccessTokenReqDTO().getGrantType()) &&
+                !accessTokenRenewedPerRequest(oauthTokenIssuer, tokReqMsgCtx);
+    }
+
+    /**
+     * Checks whether the latest token can be looked up from the token reuse index, i.e. the index is enabled and
+     * tokens are persisted. The index is only used when token hashing is enabled.
+     *
+     * @return True if the token reuse index can be used.
+     */
+    private boolean isTokenReuseIndexEnabled() {
+
+        return TokenReuseIndex.isEnabled() && OAuth2Util.isTokenPersistenceEnabled();
+    }
+
     /**
      * Checks whether the TokenRenewalPerRequest is enabled in the configuration file.
      *
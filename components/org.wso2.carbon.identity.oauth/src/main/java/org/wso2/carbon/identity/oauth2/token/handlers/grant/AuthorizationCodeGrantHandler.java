@@ -69,6 +69,8 @@ public class AuthorizationCodeGrantHandler extends AbstractAuthorizationGrantHan
 
     // This is used to keep the pre processed authorization code in the OAuthTokenReqMessageContext.
     private static final String AUTHZ_CODE = "AuthorizationCode";
+    // This is used to keep an authorization code which stays active until the token request redeems it.
+    private static final String AUTHZ_CODE_REDEMPTION_PENDING = "AuthorizationCodeRedemptionPending";
     private static final int ALLOWED_MINIMUM_VALIDITY_PERIOD = 1000;
     private static final Log log = LogFactory.getLog(AuthorizationCodeGrantHandler.class);
 
@@ -79,17 +81,24 @@ public class AuthorizationCodeGrantHandler extends AbstractAuthorizationGrantHan
         AuthzCodeDO authzCodeBean = getPersistedAuthzCode(tokenReq);
 
         validateAuthzCodeFromRequest(authzCodeBean, tokenReq.getClientId(), tokenReq.getAuthorizationCode());
+        boolean isValidGrant = false;
         try {
             // If redirect_uri was given in the authorization request,
             // token request should send matching redirect_uri value.
             validateCallbackUrlFromRequest(tokenReq.getCallbackURI(), authzCodeBean.getCallbackUrl());
             validatePKCECode(authzCodeBean, tokenReq.getPkceCodeVerifier());
             setPropertiesForTokenGeneration(tokReqMsgCtx, tokenReq, authzCodeBean);
+            isValidGrant = true;
         } finally {
             // After validating grant, authorization code is revoked. This is done to stop repetitive usage of
-            // same authorization code in erroneous token requests.
+            // same authorization code in erroneous token requests. When codes are redeemed in a single transaction,
+            // a valid code is kept active and deactivated only if it is still active when the token is persisted.
             tokReqMsgCtx.addProperty(CODE_ID, authzCodeBean.getAuthzCodeId());
-            revokeAuthorizationCode(authzCodeBean);
+            if (isValidGrant && OAuth2Util.isAuthCodeSingleTransactionRedemptionEnabled()) {
+                tokReqMsgCtx.addProperty(AUTHZ_CODE_REDEMPTION_PENDING, authzCodeBean);
+            } else {
+                revokeAuthorizationCode(authzCodeBean);
+            }
         }
         if (log.isDebugEnabled()) {
             log.debug("Found Authorization Code for Client : " + tokenReq.getClientId() +
@@ -104,7 +113,15 @@ public class AuthorizationCodeGrantHandler extends AbstractAuthorizationGrantHan
             throws IdentityOAuth2Exception {
         OAuth2AccessTokenRespDTO tokenResp = super.issue(tokReqMsgCtx);
         String authzCode = retrieveAuthzCode(tokReqMsgCtx);
-        deactivateAuthzCode(tokReqMsgCtx, tokenResp.getTokenId(), authzCode);
+        if (isAuthzCodeRedemptionPending(tokReqMsgCtx)) {
+            // The code is not redeemed yet if an existing token is served for the request. A failed request leaves
+            // the code to be revoked through revokeUnredeemedAuthorizationCode.
+            if (!tokenResp.isError()) {
+                redeemAuthzCode(tokReqMsgCtx, tokenResp.getTokenId(), authzCode);
+            }
+        } else if (tokReqMsgCtx.getProperty(AUTHZ_CODE_REDEMPTION_PENDING) == null) {
+            deactivateAuthzCode(tokReqMsgCtx, tokenResp.getTokenId(), authzCode);
+        }
         clearAuthzCodeCache(tokReqMsgCtx, authzCode);
         return tokenResp;
     }
@@ -195,6 +212,54 @@ public class AuthorizationCodeGrantHandler extends AbstractAuthorizationGrantHan
         }
     }
 
+    private void redeemAuthzCode(OAuthTokenReqMessageContext tokReqMsgCtx, String tokenId, String authzCode)
+            throws IdentityOAuth2Exception {
+
+        AuthzCodeDO authzCodeDO = new AuthzCodeDO();
+        authzCodeDO.setAuthorizationCode(authzCode);
+        authzCodeDO.setOauthTokenId(tokenId);
+        authzCodeDO.setAuthzCodeId(tokReqMsgCtx.getProperty(CODE_ID).toString());
+        boolean isRedeemed = OAuthTokenPersistenceFactory.getInstance().getAuthorizationCodeDAO()
+                .deactivateActiveAuthorizationCode(authzCodeDO);
+        tokReqMsgCtx.addProperty(AUTHZ_CODE_REDEMPTION_PENDING, false);
+        if (!isRedeemed) {
+            if (log.isDebugEnabled()) {
+                log.debug("Authorization code was redeemed by another token request of client : " +
+                        tokReqMsgCtx.getOauth2AccessTokenReqDTO().getClientId());
+            }
+            throw new IdentityOAuth2Exception("Inactive authorization code received from token request");
+        }
+        if (log.isDebugEnabled()
+                && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.AUTHORIZATION_CODE)) {
+            log.debug("Redeemed authorization code : " + authzCode);
+        }
+    }
+
+    /**
+     * Revoke the authorization code of a token request which failed after the grant was validated. Codes redeemed
+     * in a single transaction are kept active until the token is persisted, so the code is revoked here to stop
+     * its reuse, as it would have been in validateGrant otherwise. Nothing is done if the code was already
+     * redeemed or revoked.
+     *
+     * @param tokReqMsgCtx Token request message context.
+     * @throws IdentityOAuth2Exception If an error occurred while revoking the code.
+     */
+    public void revokeUnredeemedAuthorizationCode(OAuthTokenReqMessageContext tokReqMsgCtx)
+            throws IdentityOAuth2Exception {
+
+        if (!isAuthzCodeRedemptionPending(tokReqMsgCtx)) {
+            return;
+        }
+        AuthzCodeDO authzCodeBean = (AuthzCodeDO) tokReqMsgCtx.getProperty(AUTHZ_CODE_REDEMPTION_PENDING);
+        tokReqMsgCtx.addProperty(AUTHZ_CODE_REDEMPTION_PENDING, false);
+        revokeAuthorizationCode(authzCodeBean);
+    }
+
+    private boolean isAuthzCodeRedemptionPending(OAuthTokenReqMessageContext tokReqMsgCtx) {
+
+        return tokReqMsgCtx.getProperty(AUTHZ_CODE_REDEMPTION_PENDING) instanceof AuthzCodeDO;
+    }
+
     /**
      * Returns whether an unexpired, pre-generated token is served for this request
      * @param tokReqMsgCtx
@@ -255,6 +320,41 @@ public class AuthorizationCodeGrantHandler extends AbstractAuthorizationGrantHan
         }
     }
 
+    @Override
+    protected void storeAccessToken(OAuthTokenReqMessageContext tokReqMsgCtx, String userStoreDomain,
+                                    AccessTokenDO newTokenBean, String newAccessToken,
+                                    AccessTokenDO existingTokenBean) throws IdentityOAuth2Exception {
+
+        if (!isAuthzCodeRedemptionPending(tokReqMsgCtx)) {
+            super.storeAccessToken(tokReqMsgCtx, userStoreDomain, newTokenBean, newAccessToken, existingTokenBean);
+            return;
+        }
+
+        // Persist the token and deactivate the authorization code in the same transaction, so that the code is
+        // redeemed only once even if it is used in concurrent token requests.
+        OAuth2AccessTokenReqDTO tokenReq = tokReqMsgCtx.getOauth2AccessTokenReqDTO();
+        String authzCode = retrieveAuthzCode(tokReqMsgCtx);
+        AuthzCodeDO authzCodeDO = new AuthzCodeDO();
+        authzCodeDO.setAuthorizationCode(authzCode);
+        authzCodeDO.setAuthzCodeId(tokReqMsgCtx.getProperty(CODE_ID).toString());
+        newTokenBean.setAuthorizationCode(tokenReq.getAuthorizationCode());
+        boolean isRedeemed = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                .insertAccessTokenAndRedeemAuthorizationCode(newAccessToken, tokenReq.getClientId(), newTokenBean,
+                        existingTokenBean, userStoreDomain, authzCodeDO);
+        tokReqMsgCtx.addProperty(AUTHZ_CODE_REDEMPTION_PENDING, false);
+        if (!isRedeemed) {
+            if (log.isDebugEnabled()) {
+                log.debug("Authorization code was redeemed by another token request of client : " +
+                        tokenReq.getClientId());
+            }
+            throw new IdentityOAuth2Exception("Inactive authorization code received from token request");
+        }
+        if (log.isDebugEnabled()
+                && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.AUTHORIZATION_CODE)) {
+            log.debug("Redeemed authorization code : " + authzCode);
+        }
+    }
+
     @Override
     public boolean issueRefreshToken() throws IdentityOAuth2Exception {
 
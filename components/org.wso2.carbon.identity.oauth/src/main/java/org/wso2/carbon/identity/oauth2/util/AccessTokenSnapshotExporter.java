@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
+import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exports a point in time snapshot of the active access tokens of a tenant as CSV.
+ * <p>
+ * Tokens are streamed from the persistence layer page by page through
+ * {@link AccessTokenDAO#forEachAccessToken(int, String, AccessTokenDAO.AccessTokenConsumer)} and written out as
+ * they are read, so the memory used by an export does not grow with the number of tokens in the tenant. An export
+ * restricted to a client reads only the tokens of that client through
+ * {@link AccessTokenDAO#forEachAccessTokenOfConsumerKey(int, String, AccessTokenDAO.AccessTokenConsumer)}. Token
+ * values are never written; a row only carries the token id and its metadata. The exporter is registered as an OSGi
+ * service for the reporting jobs.
+ */
+public class AccessTokenSnapshotExporter {
+
+    private static final Log log = LogFactory.getLog(AccessTokenSnapshotExporter.class);
+
+    static final String TOKEN_HEADER = "tenant_id,consumer_key,token_id,authorized_user,user_domain,idp," +
+            "token_type,scopes,issued_time,expiry_time";
+    static final String SUMMARY_HEADER = "tenant_id,consumer_key,active_tokens,last_issued_time";
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final AccessTokenDAO accessTokenDAO;
+
+    public AccessTokenSnapshotExporter() {
+
+        this(null);
+    }
+
+    AccessTokenSnapshotExporter(AccessTokenDAO accessTokenDAO) {
+
+        this.accessTokenDAO = accessTokenDAO;
+    }
+
+    /**
+     * Write one CSV row per active access token of the tenant.
+     *
+     * @param tenantId    Tenant id.
+     * @param consumerKey Consumer key to restrict the export to, or null to export the tokens of all clients.
+     * @param writer      Writer to write the CSV to. The writer is flushed but not closed.
+     * @return Number of tokens written.
+     * @throws IdentityOAuth2Exception If reading the tokens or writing the CSV fails.
+     */
+    public long exportActiveTokens(int tenantId, String consumerKey, Writer writer) throws IdentityOAuth2Exception {
+
+        Writer out = toBufferedWriter(writer);
+        long now = System.currentTimeMillis();
+        long[] count = new long[1];
+        write(out, TOKEN_HEADER + LINE_SEPARATOR);
+        AccessTokenDAO.AccessTokenConsumer tokenWriter = accessTokenDO -> {
+            if (!isActive(accessTokenDO, now)) {
+                return;
+            }
+            write(out, toTokenRow(tenantId, accessTokenDO));
+            count[0]++;
+        };
+        if (consumerKey != null) {
+            getAccessTokenDAO().forEachAccessTokenOfConsumerKey(tenantId, consumerKey, tokenWriter);
+        } else {
+            getAccessTokenDAO().forEachAccessToken(tenantId, null, tokenWriter);
+        }
+        flush(out);
+        if (log.isDebugEnabled()) {
+            log.debug("Exported " + count[0] + " active access tokens of tenant: " + tenantId);
+        }
+        return count[0];
+    }
+
+    /**
+     * Write one CSV row per client of the tenant with the number of active access tokens issued to it.
+     * Only a counter per client is kept in memory while the tokens are streamed.
+     *
+     * @param tenantId Tenant id.
+     * @param writer   Writer to write the CSV to. The writer is flushed but not closed.
+     * @return Number of clients written.
+     * @throws IdentityOAuth2Exception If reading the tokens or writing the CSV fails.
+     */
+    public int exportActiveTokenSummary(int tenantId, Writer writer) throws IdentityOAuth2Exception {
+
+        long now = System.currentTimeMillis();
+        // Consumer key -> {active token count, latest issued time}.
+        Map<String, long[]> summary = new TreeMap<>();
+        getAccessTokenDAO().forEachAccessToken(tenantId, null, accessTokenDO -> {
+            if (!isActive(accessTokenDO, now)) {
+                return;
+            }
+            long[] clientSummary = summary.computeIfAbsent(accessTokenDO.getConsumerKey(), key -> new long[2]);
+            clientSummary[0]++;
+            clientSummary[1] = Math.max(clientSummary[1], getIssuedTime(accessTokenDO));
+        });
+
+        Writer out = toBufferedWriter(writer);
+        write(out, SUMMARY_HEADER + LINE_SEPARATOR);
+        for (Map.Entry<String, long[]> entry : summary.entrySet()) {
+            StringBuilder row = new StringBuilder();
+            row.append(tenantId).append(SEPARATOR);
+            appendField(row, entry.getKey());
+            row.append(entry.getValue()[0]).append(SEPARATOR);
+            row.append(entry.getValue()[1]).append(LINE_SEPARATOR);
+            write(out, row.toString());
+        }
+        flush(out);
+        return summary.size();
+    }
+
+    private AccessTokenDAO getAccessTokenDAO() {
+
+        // The DAO is looked up on use, since the exporter is created when the OAuth2 component is activated.
+        return accessTokenDAO != null ? accessTokenDAO :
+                OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO();
+    }
+
+    private static boolean isActive(AccessTokenDO accessTokenDO, long now) {
+
+        if (!OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE.equals(accessTokenDO.getTokenState())) {
+            return false;
+        }
+        long validityPeriod = accessTokenDO.getValidityPeriodInMillis();
+        // A negative validity period is used for tokens which never expire.
+        return validityPeriod < 0 || now - getIssuedTime(accessTokenDO) < validityPeriod;
+    }
+
+    private static long getIssuedTime(AccessTokenDO accessTokenDO) {
+
+        return accessTokenDO.getIssuedTime() != null ? accessTokenDO.getIssuedTime().getTime() : 0L;
+    }
+
+    private static String toTokenRow(int tenantId, AccessTokenDO accessTokenDO) {
+
+        AuthenticatedUser user = accessTokenDO.getAuthzUser();
+        long issuedTime = getIssuedTime(accessTokenDO);
+        long validityPeriod = accessTokenDO.getValidityPeriodInMillis();
+
+        StringBuilder row = new StringBuilder();
+        row.append(tenantId).append(SEPARATOR);
+        appendField(row, accessTokenDO.getConsumerKey());
+        appendField(row, accessTokenDO.getTokenId());
+        appendField(row, user != null ? user.getUserName() : null);
+        appendField(row, user != null ? user.getUserStoreDomain() : null);
+        appendField(row, user != null ? user.getFederatedIdPName() : null);
+        appendField(row, accessTokenDO.getTokenType());
+        appendField(row, accessTokenDO.getScope() != null ? String.join(" ", accessTokenDO.getScope()) : null);
+        row.append(issuedTime).append(SEPARATOR);
+        if (validityPeriod >= 0) {
+            row.append(issuedTime + validityPeriod);
+        }
+        row.append(LINE_SEPARATOR);
+        return row.toString();
+    }
+
+    private static void appendField(StringBuilder row, String value) {
+
+        if (StringUtils.isNotEmpty(value)) {
+            if (StringUtils.containsAny(value, new char[]{SEPARATOR, QUOTE, '\n', '\r'})) {
+                row.append(QUOTE).append(value.replace("\"", "\"\"")).append(QUOTE);
+            } else {
+                row.append(value);
+            }
+        }
+        row.append(SEPARATOR);
+    }
+
+    private static Writer toBufferedWriter(Writer writer) {
+
+        return writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+    }
+
+    private static void write(Writer writer, String value) throws IdentityOAuth2Exception {
+
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new IdentityOAuth2Exception("Error while writing the access token snapshot.", e);
+        }
+    }
+
+    private static void flush(Writer writer) throws IdentityOAuth2Exception {
+
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new IdentityOAuth2Exception("Error while writing the access token snapshot.", e);
+        }
+    }
+}
@@ -22,22 +22,29 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLContexts;
 import org.apache.http.conn.ssl.SSLSocketFactory;
 import org.apache.http.conn.ssl.X509HostnameVerifier;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.DefaultRoutePlanner;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.device.constants.Constants;
@@ -52,6 +59,7 @@ import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLContext;
 /**
@@ -64,6 +72,71 @@ public class HttpClientUtil {
     public static final String STRICT = "Strict";
     public static final String ALLOW_ALL = "AllowAll";
 
+    public static final String SHARED_HTTP_CLIENT_ENABLE = "OAuth.HttpClient.Pool.Enable";
+    private static final String MAX_CONNECTIONS = "OAuth.HttpClient.Pool.MaxConnections";
+    private static final String MAX_CONNECTIONS_PER_ROUTE = "OAuth.HttpClient.Pool.MaxConnectionsPerRoute";
+    private static final String CONNECTION_REQUEST_TIMEOUT = "OAuth.HttpClient.ConnectionRequestTimeout";
+    private static final String CONNECT_TIMEOUT = "OAuth.HttpClient.ConnectTimeout";
+    private static final String SOCKET_TIMEOUT = "OAuth.HttpClient.SocketTimeout";
+    private static final String KEEP_ALIVE_DURATION = "OAuth.HttpClient.KeepAliveDuration";
+    private static final int DEFAULT_MAX_CONNECTIONS = 100;
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    private static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 1000;
+    private static final int DEFAULT_CONNECT_TIMEOUT = 1000;
+    private static final int DEFAULT_SOCKET_TIMEOUT = 1000;
+    private static final int DEFAULT_KEEP_ALIVE_DURATION = 60000;
+    private static final String HTTP = "http";
+    private static final String HTTPS = "https";
+
+    private static volatile CloseableHttpClient sharedHttpClient;
+
+    /**
+     * Check whether remote resources such as JWKS should be fetched through the shared pooled http client even when
+     * no outbound proxy is configured.
+     *
+     * @return True if the shared http client is enabled.
+     */
+    public static boolean isSharedHttpClientEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(SHARED_HTTP_CLIENT_ENABLE));
+    }
+
+    /**
+     * Return the http client shared by the OAuth components for outbound calls. The client keeps a bounded pool of
+     * keep-alive connections per host, so that repeated fetches from the same endpoint do not pay for a new TCP
+     * connection and TLS handshake. Callers must close the returned responses but never the client itself.
+     *
+     * @return Shared http client.
+     */
+    public static CloseableHttpClient getSharedHttpClient() {
+
+        if (sharedHttpClient == null) {
+            synchronized (HttpClientUtil.class) {
+                if (sharedHttpClient == null) {
+                    sharedHttpClient = buildSharedHttpClient();
+                }
+            }
+        }
+        return sharedHttpClient;
+    }
+
+    /**
+     * Return the default request config of the shared http client, with the connect and socket timeouts configured
+     * through OAuth.HttpClient.ConnectTimeout and OAuth.HttpClient.SocketTimeout. Callers can copy it to override the
+     * timeouts of an individual request.
+     *
+     * @return Default request config.
+     */
+    public static RequestConfig getSharedRequestConfig() {
+
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(getIntProperty(CONNECTION_REQUEST_TIMEOUT,
+                        DEFAULT_CONNECTION_REQUEST_TIMEOUT, 0))
+                .setConnectTimeout(getIntProperty(CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT, 0))
+                .setSocketTimeout(getIntProperty(SOCKET_TIMEOUT, DEFAULT_SOCKET_TIMEOUT, 0))
+                .build();
+    }
+
     /**
      * Return a http client instance.
      *
@@ -118,6 +191,90 @@ public class HttpClientUtil {
         return clientBuilder.build();
     }
 
+    private static CloseableHttpClient buildSharedHttpClient() {
+
+        SSLConnectionSocketFactory sslSocketFactory;
+        try {
+            sslSocketFactory = createSocketFactory();
+        } catch (IdentityOAuth2Exception e) {
+            log.error("Error while creating the SSL socket factory of the shared http client. Using the default " +
+                    "SSL socket factory.", e);
+            sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+        }
+        org.apache.http.config.Registry<ConnectionSocketFactory> socketFactoryRegistry =
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register(HTTP, PlainConnectionSocketFactory.getSocketFactory())
+                        .register(HTTPS, sslSocketFactory).build();
+        PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        pool.setMaxTotal(getIntProperty(MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS, 1));
+        pool.setDefaultMaxPerRoute(getIntProperty(MAX_CONNECTIONS_PER_ROUTE, DEFAULT_MAX_CONNECTIONS_PER_ROUTE, 1));
+
+        final long keepAliveDuration = getIntProperty(KEEP_ALIVE_DURATION, DEFAULT_KEEP_ALIVE_DURATION, 1);
+        // Honour the Keep-Alive header of the server and fall back to the configured duration when there is none.
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, keepAliveDuration) : keepAliveDuration;
+        };
+        HttpClientBuilder clientBuilder = HttpClients.custom().setConnectionManager(pool)
+                .setDefaultRequestConfig(getSharedRequestConfig())
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAliveDuration, TimeUnit.MILLISECONDS);
+
+        if (Boolean.parseBoolean(IdentityUtil.getProperty(Constants.PROXY_ENABLE))) {
+            final String proxyHost = IdentityUtil.getProperty(Constants.PROXY_HOST);
+            final int proxyPort = Integer.parseInt(IdentityUtil.getProperty(Constants.PROXY_PORT));
+            String proxyUsername = IdentityUtil.getProperty(Constants.PROXY_USERNAME);
+            String proxyPassword = IdentityUtil.getProperty(Constants.PROXY_PASSWORD);
+            // Same as the per call clients, the proxy is reached with the scheme of the target.
+            clientBuilder.setRoutePlanner(new DefaultRoutePlanner(null) {
+                @Override
+                protected HttpHost determineProxy(HttpHost target, HttpRequest request, HttpContext context) {
+
+                    return new HttpHost(proxyHost, proxyPort, target.getSchemeName());
+                }
+            });
+            if (!StringUtils.isBlank(proxyUsername) && !StringUtils.isBlank(proxyPassword)) {
+                CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+                credentialsProvider.setCredentials(new AuthScope(proxyHost, proxyPort),
+                        new UsernamePasswordCredentials(proxyUsername, proxyPassword));
+                clientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Created the shared http client with a connection pool of " + pool.getMaxTotal() +
+                    " connections and " + pool.getDefaultMaxPerRoute() + " connections per route.");
+        }
+        return clientBuilder.build();
+    }
+
+    /**
+     * Read an integer property from identity.xml.
+     *
+     * @param property     Property name.
+     * @param defaultValue Value to use when the property is not set or invalid.
+     * @param minValue     Minimum accepted value.
+     * @return Property value.
+     */
+    static int getIntProperty(String property, int defaultValue, int minValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue >= minValue) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the default value.
+        }
+        log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+
     /**
      * Return a PoolingHttpClientConnectionManager instance.
      *
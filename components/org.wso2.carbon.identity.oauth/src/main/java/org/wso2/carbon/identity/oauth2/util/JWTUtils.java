@@ -58,6 +58,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.wso2.carbon.identity.organization.management.service.constant
         .OrganizationManagementConstants.DEFAULT_SUB_ORG_LEVEL;
@@ -74,6 +75,8 @@ public class JWTUtils {
     private static final String OIDC_IDP_ENTITY_ID = "IdPEntityId";
     private static final String ALGO_PREFIX = "RS";
     private static final String ALGO_PREFIX_PS = "PS";
+    private static final int MAX_CACHED_CERTIFICATES = 100;
+    private static final Map<String, X509Certificate> decodedCertificates = new ConcurrentHashMap<>();
 
     /**
      * Parse JWT Token.
@@ -458,14 +461,25 @@ public class JWTUtils {
      */
     public static X509Certificate resolveSignerCertificate(IdentityProvider idp) throws IdentityOAuth2Exception {
 
-        X509Certificate x509Certificate;
-        String tenantDomain = getTenantDomain();
+        // Decoded certificates are kept against the encoded certificate, hence a changed certificate is decoded again.
+        String encodedCertificate = idp.getCertificate();
+        X509Certificate x509Certificate = encodedCertificate == null ? null :
+                decodedCertificates.get(encodedCertificate);
+        if (x509Certificate != null) {
+            return x509Certificate;
+        }
         try {
             x509Certificate = (X509Certificate) IdentityApplicationManagementUtil
-                    .decodeCertificate(idp.getCertificate());
+                    .decodeCertificate(encodedCertificate);
         } catch (CertificateException e) {
             throw new IdentityOAuth2Exception("Error occurred while decoding public certificate of Identity Provider "
-                    + idp.getIdentityProviderName() + " for tenant domain " + tenantDomain, e);
+                    + idp.getIdentityProviderName() + " for tenant domain " + getTenantDomain(), e);
+        }
+        if (x509Certificate != null && encodedCertificate != null) {
+            if (decodedCertificates.size() >= MAX_CACHED_CERTIFICATES) {
+                decodedCertificates.clear();
+            }
+            decodedCertificates.put(encodedCertificate, x509Certificate);
         }
         return x509Certificate;
     }
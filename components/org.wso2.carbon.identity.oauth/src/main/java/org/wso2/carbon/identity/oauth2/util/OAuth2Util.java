@@ -97,6 +97,7 @@ import org.wso2.carbon.identity.oauth.cache.AppInfoCache;
 import org.wso2.carbon.identity.oauth.cache.CacheEntry;
 import org.wso2.carbon.identity.oauth.cache.OAuthCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
+import org.wso2.carbon.identity.oauth.cache.ScopeCatalogCache;
 import org.wso2.carbon.identity.oauth.common.OAuth2ErrorCodes;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
@@ -124,6 +125,8 @@ import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthenti
 import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthnException;
 import org.wso2.carbon.identity.oauth2.config.SpOAuth2ExpiryTimeConfiguration;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.dao.PartitionedSqlRegistry;
+import org.wso2.carbon.identity.oauth2.dao.TokenShardRouter;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2IntrospectionResponseDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationRequestDTO;
@@ -139,6 +142,7 @@ import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.token.handlers.grant.AuthorizationGrantHandler;
+import org.wso2.carbon.identity.oauth2.validators.ResourceScopeResolver;
 import org.wso2.carbon.identity.openidconnect.model.Constants;
 import org.wso2.carbon.identity.openidconnect.model.RequestedClaim;
 import org.wso2.carbon.identity.organization.management.service.constant.OrganizationManagementConstants;
@@ -184,10 +188,12 @@ import java.sql.Timestamp;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -235,6 +241,7 @@ public class OAuth2Util {
     public static final String JWT_ACCESS_TOKEN = "JWT_ACCESS_TOKEN";
     public static final String ACCESS_TOKEN_DO = "AccessTokenDo";
     public static final String OAUTH2_VALIDATION_MESSAGE_CONTEXT = "OAuth2TokenValidationMessageContext";
+    public static final String INTROSPECTED_TOKEN_ID = "IntrospectedTokenId";
     public static final String CONFIG_ELEM_OAUTH = "OAuth";
     public static final String OPENID_CONNECT = "OpenIDConnect";
     public static final String ENABLE_OPENID_CONNECT_AUDIENCES = "EnableAudiences";
@@ -1037,7 +1044,9 @@ public class OAuth2Util {
      * or the original sql otherwise.
      * <p>
      * Updated sql derived by replacing original table names IDN_OAUTH2_ACCESS_TOKEN & IDN_OAUTH2_ACCESS_TOKEN_SCOPE
-     * with the updated table names which derived using {@code getPartitionedTableByUserStore()} method.
+     * with the updated table names which derived using {@code getPartitionedTableByUserStore()} method. The updated
+     * sql is served from the {@link PartitionedSqlRegistry}. If the operation runs in a token shard, the tables of the
+     * shard are used, regardless of partitioning.
      *
      * @param sql
      * @param userStoreDomain
@@ -1049,29 +1058,12 @@ public class OAuth2Util {
 
         String partitionedSql = sql;
 
-        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
-
-            String partitionedAccessTokenTable = OAuth2Util.getPartitionedTableByUserStore(OAuthConstants.
-                    ACCESS_TOKEN_STORE_TABLE, userStoreDomain);
-
-            String accessTokenScopeTable = "IDN_OAUTH2_ACCESS_TOKEN_SCOPE";
-            String partitionedAccessTokenScopeTable = OAuth2Util.getPartitionedTableByUserStore(accessTokenScopeTable,
-                    userStoreDomain);
-
-            if (log.isDebugEnabled()) {
-                log.debug("PartitionedAccessTokenTable: " + partitionedAccessTokenTable +
-                        " & PartitionedAccessTokenScopeTable: " + partitionedAccessTokenScopeTable +
-                        " for user store domain: " + userStoreDomain);
-            }
-
-            String wordBoundaryRegex = "\\b";
-            partitionedSql = sql.replaceAll(wordBoundaryRegex + OAuthConstants.ACCESS_TOKEN_STORE_TABLE
-                    + wordBoundaryRegex, partitionedAccessTokenTable);
-            partitionedSql = partitionedSql.replaceAll(wordBoundaryRegex + accessTokenScopeTable + wordBoundaryRegex,
-                    partitionedAccessTokenScopeTable);
-            partitionedSql = partitionedSql.replaceAll(
-                    wordBoundaryRegex + OAuthConstants.ACCESS_TOKEN_STORE_ATTRIBUTES_TABLE + wordBoundaryRegex,
-                    partitionedAccessTokenTable);
+        boolean partitioned = OAuth2Util.checkAccessTokenPartitioningEnabled() &&
+                OAuth2Util.checkUserNameAssertionEnabled();
+        Integer shard = TokenShardRouter.getInstance().getCurrentShard();
+        if (partitioned || shard != null) {
+            partitionedSql = PartitionedSqlRegistry.getInstance().getPartitionedSql(sql,
+                    partitioned ? userStoreDomain : null, shard);
             if (log.isDebugEnabled()) {
                 log.debug("Original SQL: " + sql);
                 log.debug("Partitioned SQL: " + partitionedSql);
@@ -1110,6 +1102,8 @@ public class OAuth2Util {
             }
 
             partitionedSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userStore);
+        } else if (TokenShardRouter.getInstance().getCurrentShard() != null) {
+            partitionedSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, null);
         }
 
         return partitionedSql;
@@ -1120,6 +1114,9 @@ public class OAuth2Util {
      * <p>
      * If the token contains the username appended, updated sql derived using
      * {@code getTokenPartitionedSqlByUserId()} method. Returns the original sql otherwise.
+     * <p>
+     * If token sharding is enabled, the tables of the shard of the token are used, unless the operation already runs
+     * in a shard.
      *
      * @param sql
      * @param token
@@ -1128,6 +1125,11 @@ public class OAuth2Util {
      */
     public static String getTokenPartitionedSqlByToken(String sql, String token) throws IdentityOAuth2Exception {
 
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        if (tokenShardRouter.isRoutingRequired()) {
+            return tokenShardRouter.callInTokenShard(token, () -> getTokenPartitionedSqlByToken(sql, token));
+        }
+
         String partitionedSql = sql;
 
         if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
@@ -1142,6 +1144,8 @@ public class OAuth2Util {
 
             String userId = OAuth2Util.getUserIdFromAccessToken(token); //i.e: 'foo.com/admin' or 'admin'
             partitionedSql = OAuth2Util.getTokenPartitionedSqlByUserId(sql, userId);
+        } else if (tokenShardRouter.getCurrentShard() != null) {
+            partitionedSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, null);
         }
 
         return partitionedSql;
@@ -2045,6 +2049,26 @@ public class OAuth2Util {
         return scopes;
     }
 
+    /**
+     * Get the names of the OIDC scopes registered in a tenant. The scope catalog of the tenant is used if it is
+     * enabled.
+     *
+     * @param tenantDomain Tenant domain.
+     * @return Set of OIDC scope names.
+     */
+    public static Set<String> getOIDCScopeNames(String tenantDomain) {
+
+        if (ScopeCatalogCache.isEnabled()) {
+            try {
+                return ScopeCatalogCache.getInstance().getScopeCatalog(IdentityTenantUtil.getTenantId(tenantDomain))
+                        .getOIDCScopeNames();
+            } catch (IdentityOAuth2ScopeServerException e) {
+                log.error("Error while retrieving OIDC scopes from the scope catalog of tenant: " + tenantDomain, e);
+            }
+        }
+        return new HashSet<>(getOIDCScopes(tenantDomain));
+    }
+
     public static AccessTokenDO getAccessTokenDOfromTokenIdentifier(String accessTokenIdentifier) throws
             IdentityOAuth2Exception {
 
@@ -2106,6 +2130,44 @@ public class OAuth2Util {
         return accessTokenDO;
     }
 
+    /**
+     * Get the active access tokens of a set of token identifiers. Tokens available in the OAuthCache are taken from
+     * the cache and the rest are loaded from the database in bulk, instead of one query per token.
+     *
+     * @param accessTokenIdentifiers Access token identifiers.
+     * @return Active access tokens mapped by their token identifier. Identifiers without an active token are not
+     * included.
+     * @throws IdentityOAuth2Exception If an error occurs while retrieving the access tokens.
+     */
+    public static Map<String, AccessTokenDO> getActiveAccessTokenDOsFromTokenIdentifiers(
+            Collection<String> accessTokenIdentifiers) throws IdentityOAuth2Exception {
+
+        Map<String, AccessTokenDO> accessTokenDOs = new HashMap<>();
+        Set<String> accessTokenIdentifiersToLoad = new LinkedHashSet<>();
+        for (String accessTokenIdentifier : accessTokenIdentifiers) {
+            CacheEntry result = OAuthCache.getInstance().getValueFromCache(new OAuthCacheKey(accessTokenIdentifier));
+            if (result instanceof AccessTokenDO) {
+                accessTokenDOs.put(accessTokenIdentifier, (AccessTokenDO) result);
+            } else {
+                accessTokenIdentifiersToLoad.add(accessTokenIdentifier);
+            }
+        }
+        if (accessTokenIdentifiersToLoad.isEmpty()) {
+            return accessTokenDOs;
+        }
+
+        Map<String, AccessTokenDO> loadedAccessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
+                .getAccessTokenDAO().getActiveAccessTokens(accessTokenIdentifiersToLoad);
+        for (Map.Entry<String, AccessTokenDO> entry : loadedAccessTokenDOs.entrySet()) {
+            accessTokenDOs.put(entry.getKey(), entry.getValue());
+            // Same as the single token lookup, tokens are not cached when token hashing is enabled.
+            if (OAuth2Util.isHashDisabled()) {
+                OAuthCache.getInstance().addToCache(new OAuthCacheKey(entry.getKey()), entry.getValue());
+            }
+        }
+        return accessTokenDOs;
+    }
+
     public static String getClientIdForAccessToken(String accessTokenIdentifier) throws IdentityOAuth2Exception {
 
         AccessTokenDO accessTokenDO = getAccessTokenDOfromTokenIdentifier(accessTokenIdentifier);
@@ -4637,6 +4699,7 @@ public class OAuth2Util {
                 for (Scope scope : scopes) {
                     OAuthTokenPersistenceFactory.getInstance().getOAuthScopeDAO().addScope(scope, tenantId);
                 }
+                ResourceScopeResolver.getInstance().invalidate();
                 if (log.isDebugEnabled()) {
                     log.debug("OAuth scopes are loaded for the tenant : " + tenantId);
                 }
@@ -5312,6 +5375,17 @@ public class OAuth2Util {
         return OAuth2Constants.DEFAULT_PERSIST_ENABLED;
     }
 
+    /**
+     * Check if authorization codes are redeemed in the same transaction in which the access token is persisted.
+     *
+     * @return True if single transaction redemption of authorization codes is enabled.
+     */
+    public static boolean isAuthCodeSingleTransactionRedemptionEnabled() {
+
+        return isAuthCodePersistenceEnabled() && isTokenPersistenceEnabled() && Boolean.parseBoolean(
+                IdentityUtil.getProperty(OAuth2Constants.AUTHZ_CODE_SINGLE_TRANSACTION_REDEMPTION_ENABLE));
+    }
+
     /**
      * Check if revoke token headers is enabled.
      *
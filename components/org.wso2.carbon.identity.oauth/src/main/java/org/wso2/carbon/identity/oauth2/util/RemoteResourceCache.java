@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory cache of remote resources, such as JWK sets, fetched over HTTP. Entries keep the validators
+ * returned by the server ({@code ETag} and {@code Last-Modified}) so that a refresh can be made as a conditional
+ * request, and are served without a request while they are fresh according to {@code Cache-Control: max-age}.
+ * Freshness is capped by configuration, since a long max-age would otherwise delay picking up rotated keys.
+ */
+public class RemoteResourceCache {
+
+    private static final String MAX_ENTRIES = "OAuth.HttpClient.ResponseCache.MaxEntries";
+    private static final String MAX_FRESHNESS = "OAuth.HttpClient.ResponseCache.MaxFreshness";
+    private static final int DEFAULT_MAX_ENTRIES = 500;
+    private static final int DEFAULT_MAX_FRESHNESS = 0;
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE = "max-age";
+
+    private final Map<String, CachedResource> entries;
+    private final long maxFreshnessMillis;
+
+    RemoteResourceCache(final int maxEntries, int maxFreshnessSeconds) {
+
+        this.entries = new LinkedHashMap<String, CachedResource>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResource> eldest) {
+
+                return size() > maxEntries;
+            }
+        };
+        this.maxFreshnessMillis = TimeUnit.SECONDS.toMillis(maxFreshnessSeconds);
+    }
+
+    /**
+     * Returns the remote resource cache instance.
+     *
+     * @return RemoteResourceCache.
+     */
+    public static RemoteResourceCache getInstance() {
+
+        return RemoteResourceCacheHolder.INSTANCE;
+    }
+
+    /**
+     * Get the cached resource of the url.
+     *
+     * @param url Url of the resource.
+     * @return Cached resource or null if there is none.
+     */
+    public synchronized CachedResource get(String url) {
+
+        return entries.get(url);
+    }
+
+    /**
+     * Cache a resource according to the caching headers of the response. Responses with {@code no-store} and
+     * responses which can neither be revalidated nor reused while fresh are not cached.
+     *
+     * @param url          Url of the resource.
+     * @param content      Content of the resource.
+     * @param contentType  Content type of the resource.
+     * @param cacheControl Cache-Control header of the response.
+     * @param eTag         ETag header of the response.
+     * @param lastModified Last-Modified header of the response.
+     */
+    public synchronized void put(String url, String content, String contentType, String cacheControl, String eTag,
+                                 String lastModified) {
+
+        if (hasDirective(cacheControl, NO_STORE)) {
+            entries.remove(url);
+            return;
+        }
+        long expiryTime = getExpiryTime(cacheControl);
+        if (StringUtils.isBlank(eTag) && StringUtils.isBlank(lastModified)
+                && expiryTime <= System.currentTimeMillis()) {
+            entries.remove(url);
+            return;
+        }
+        entries.put(url, new CachedResource(content, contentType, eTag, lastModified, expiryTime));
+    }
+
+    /**
+     * Extend the freshness of a cached resource after the server confirmed that it has not been modified.
+     *
+     * @param url          Url of the resource.
+     * @param cached       Cached resource that was revalidated.
+     * @param cacheControl Cache-Control header of the not modified response.
+     */
+    public synchronized void revalidated(String url, CachedResource cached, String cacheControl) {
+
+        if (hasDirective(cacheControl, NO_STORE)) {
+            entries.remove(url);
+            return;
+        }
+        entries.put(url, new CachedResource(cached.getContent(), cached.getContentType(), cached.getETag(),
+                cached.getLastModified(), getExpiryTime(cacheControl)));
+    }
+
+    /**
+     * Remove the cached resource of the url.
+     *
+     * @param url Url of the resource.
+     */
+    public synchronized void clear(String url) {
+
+        entries.remove(url);
+    }
+
+    synchronized int size() {
+
+        return entries.size();
+    }
+
+    private long getExpiryTime(String cacheControl) {
+
+        long now = System.currentTimeMillis();
+        if (maxFreshnessMillis <= 0 || hasDirective(cacheControl, NO_CACHE)) {
+            return now;
+        }
+        long maxAge = getMaxAge(cacheControl);
+        if (maxAge <= 0) {
+            return now;
+        }
+        return now + Math.min(TimeUnit.SECONDS.toMillis(maxAge), maxFreshnessMillis);
+    }
+
+    /**
+     * Read the max-age directive of a Cache-Control header.
+     *
+     * @param cacheControl Cache-Control header value.
+     * @return Max age in seconds or -1 if the directive is not present or invalid.
+     */
+    static long getMaxAge(String cacheControl) {
+
+        if (StringUtils.isBlank(cacheControl)) {
+            return -1;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String[] parts = directive.trim().split("=", 2);
+            if (parts.length == 2 && MAX_AGE.equalsIgnoreCase(parts[0].trim())) {
+                try {
+                    return Long.parseLong(StringUtils.strip(parts[1].trim(), "\""));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    static boolean hasDirective(String cacheControl, String name) {
+
+        if (StringUtils.isBlank(cacheControl)) {
+            return false;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String directiveName = StringUtils.substringBefore(directive, "=").trim();
+            if (name.equals(directiveName.toLowerCase(Locale.ENGLISH))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class RemoteResourceCacheHolder {
+
+        private static final RemoteResourceCache INSTANCE = new RemoteResourceCache(
+                HttpClientUtil.getIntProperty(MAX_ENTRIES, DEFAULT_MAX_ENTRIES, 1),
+                HttpClientUtil.getIntProperty(MAX_FRESHNESS, DEFAULT_MAX_FRESHNESS, 0));
+    }
+
+    /**
+     * Remote resource held in the cache.
+     */
+    public static class CachedResource {
+
+        private final String content;
+        private final String contentType;
+        private final String eTag;
+        private final String lastModified;
+        private final long expiryTime;
+
+        CachedResource(String content, String contentType, String eTag, String lastModified, long expiryTime) {
+
+            this.content = content;
+            this.contentType = contentType;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expiryTime = expiryTime;
+        }
+
+        public String getContent() {
+
+            return content;
+        }
+
+        public String getContentType() {
+
+            return contentType;
+        }
+
+        public String getETag() {
+
+            return eTag;
+        }
+
+        public String getLastModified() {
+
+            return lastModified;
+        }
+
+        /**
+         * Check whether the resource can be used without revalidating it with the server.
+         *
+         * @return True if the resource is fresh.
+         */
+        public boolean isFresh() {
+
+            return expiryTime > System.currentTimeMillis();
+        }
+    }
+}
@@ -31,12 +31,15 @@ import org.wso2.carbon.identity.application.common.model.Scope;
 import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.application.common.model.ServiceProviderProperty;
 import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.oauth.IdentityOAuthAdminException;
 import org.wso2.carbon.identity.oauth.OAuthAdminServiceImpl;
+import org.wso2.carbon.identity.oauth.cache.ScopeCatalogCache;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2ScopeServerException;
 import org.wso2.carbon.identity.oauth2.authz.OAuthAuthzReqMessageContext;
 import org.wso2.carbon.identity.oauth2.dao.SharedAppResolveDAO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
@@ -368,6 +371,16 @@ public class DefaultOAuth2ScopeValidator {
     private Set<String> getRequestedOIDCScopes(String tenantDomain, List<String> requestedScopes)
             throws IdentityOAuth2Exception {
 
+        if (ScopeCatalogCache.isEnabled()) {
+            try {
+                Set<String> oidcScopes = ScopeCatalogCache.getInstance()
+                        .getScopeCatalog(IdentityTenantUtil.getTenantId(tenantDomain)).getOIDCScopeNames();
+                return requestedScopes.stream().filter(oidcScopes::contains).collect(Collectors.toSet());
+            } catch (IdentityOAuth2ScopeServerException e) {
+                throw new IdentityOAuth2Exception("Error while retrieving oidc scopes for tenant domain : "
+                        + tenantDomain, e);
+            }
+        }
         OAuthAdminServiceImpl oAuthAdminServiceImpl = OAuth2ServiceComponentHolder.getInstance().getOAuthAdminService();
         try {
             List<String> oidcScopes = oAuthAdminServiceImpl.getRegisteredOIDCScope(tenantDomain);
@@ -37,6 +37,7 @@ import org.wso2.carbon.identity.application.common.model.ServiceProvider;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.oauth.cache.OAuthScopeBindingCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthScopeBindingCacheKey;
+import org.wso2.carbon.identity.oauth.cache.UserRoleCache;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
@@ -205,14 +206,15 @@ public class JDBCPermissionBasedInternalScopeValidator {
                     federated user doesn't have any association in localIDP, to handle this case we check for 'Assert
                     identity using mapped local subject identifier' flag and get roles from userStore.
                      */
-                    allowedResourcesForUser = getAllowedResourcesOfUser(authenticatedUser, authorizationManager);
+                    allowedResourcesForUser = getAllowedResourcesOfUser(authenticatedUser, authorizationManager,
+                            tenantId);
                 } else {
                     // Handle not account associated federated users.
                     allowedResourcesForUser =
                             getAllowedResourcesForNotAssociatedFederatedUser(authenticatedUser, authorizationManager);
                 }
             } else {
-                allowedResourcesForUser = getAllowedResourcesOfUser(authenticatedUser, authorizationManager);
+                allowedResourcesForUser = getAllowedResourcesOfUser(authenticatedUser, authorizationManager, tenantId);
             }
 
             for (Scope scope : allScopes) {
@@ -388,7 +390,7 @@ public class JDBCPermissionBasedInternalScopeValidator {
     }
 
     private String[] getAllowedResourcesOfUser(AuthenticatedUser authenticatedUser,
-                                               AuthorizationManager authorizationManager)
+                                               AuthorizationManager authorizationManager, int tenantId)
             throws UserStoreException, UserIdNotFoundException {
 
         String username = authenticatedUser.getUserName();
@@ -399,8 +401,10 @@ public class JDBCPermissionBasedInternalScopeValidator {
         if (StringUtils.isNotEmpty(authenticatedUser.getUserStoreDomain())) {
             username = UserCoreUtil.addDomainToName(username, authenticatedUser.getUserStoreDomain());
         }
-        String[] allowedUIResourcesForUser =
-                authorizationManager.getAllowedUIResourcesForUser(username, ROOT);
+        String qualifiedUsername = username;
+        String[] allowedUIResourcesForUser = UserRoleCache.getInstance().getValue(
+                UserRoleCache.getUserIdentifier(authenticatedUser), UserRoleCache.PERMISSIONS, tenantId,
+                () -> authorizationManager.getAllowedUIResourcesForUser(qualifiedUsername, ROOT));
         return (String[]) ArrayUtils.add(allowedUIResourcesForUser, EVERYONE_PERMISSION);
     }
 
@@ -41,9 +41,7 @@ import org.wso2.carbon.identity.base.IdentityConstants;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.IdentityOAuthAdminException;
-import org.wso2.carbon.identity.oauth.cache.CacheEntry;
-import org.wso2.carbon.identity.oauth.cache.OAuthCache;
-import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
+import org.wso2.carbon.identity.oauth.cache.UserRoleCache;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2ScopeServerException;
@@ -53,7 +51,6 @@ import org.wso2.carbon.identity.oauth2.bean.Scope;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
-import org.wso2.carbon.identity.oauth2.model.ResourceScopeCacheEntry;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.organization.management.role.management.service.models.Role;
@@ -113,38 +110,9 @@ public class JDBCScopeValidator extends OAuth2ScopeValidator {
         }
 
         String resourceScope = null;
-        int resourceTenantId = -1;
-
-        boolean cacheHit = false;
-        // Check the cache, if caching is enabled.
-        OAuthCacheKey cacheKey = new OAuthCacheKey(resource);
-        CacheEntry result = OAuthCache.getInstance().getValueFromCache(cacheKey);
-
-        //Cache hit
-        if (result !=  null && result instanceof ResourceScopeCacheEntry) {
-            resourceScope = ((ResourceScopeCacheEntry) result).getScope();
-            resourceTenantId = ((ResourceScopeCacheEntry) result).getTenantId();
-            cacheHit = true;
-        }
-
-
-        // Cache was not hit. So retrieve from database.
-        if (!cacheHit) {
-            Pair<String, Integer> scopeMap = OAuthTokenPersistenceFactory.getInstance()
-                    .getTokenManagementDAO().findTenantAndScopeOfResource(resource);
-
-            if (scopeMap != null) {
-                resourceScope = scopeMap.getLeft();
-                resourceTenantId = scopeMap.getRight();
-            }
-
-            cacheKey = new OAuthCacheKey(resource);
-            ResourceScopeCacheEntry cacheEntry = new ResourceScopeCacheEntry(resourceScope);
-            cacheEntry.setTenantId(resourceTenantId);
-            //Store resourceScope in cache even if it is null (to avoid database calls when accessing resources for
-            //which scopes haven't been defined).
-            OAuthCache.getInstance().addToCache(cacheKey, cacheEntry);
-
+        Pair<String, Integer> scopeMap = ResourceScopeResolver.getInstance().findTenantAndScopeOfResource(resource);
+        if (scopeMap != null) {
+            resourceScope = scopeMap.getLeft();
         }
 
         //Return TRUE if - There does not exist a scope definition for the resource
@@ -155,10 +123,8 @@ public class JDBCScopeValidator extends OAuth2ScopeValidator {
             return true;
         }
 
-        List<String> scopeList = new ArrayList<>(Arrays.asList(scopes));
-
         // If the access token does not bear the scope required for accessing the Resource.
-        if (!scopeList.contains(resourceScope)) {
+        if (!accessTokenDO.getScopeSet().contains(resourceScope)) {
             if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
                 log.debug("Access token '" + accessTokenDO.getAccessToken() + "' does not bear the scope '" +
                             resourceScope + "'");
@@ -468,6 +434,12 @@ public class JDBCScopeValidator extends OAuth2ScopeValidator {
 
     private String[] getUserRoles(AuthenticatedUser user) throws UserStoreException {
 
+        return UserRoleCache.getInstance().getValue(UserRoleCache.getUserIdentifier(user), UserRoleCache.ROLES,
+                getTenantId(user), () -> retrieveUserRoles(user));
+    }
+
+    private String[] retrieveUserRoles(AuthenticatedUser user) throws UserStoreException {
+
         UserStoreManager userStoreManager;
         String[] userRoles;
         boolean tenantFlowStarted = false;
@@ -22,21 +22,32 @@ import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.common.model.IdentityProvider;
 import org.wso2.carbon.identity.central.log.mgt.utils.LogConstants;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.util.JWTUtils;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.jwt.RevokedJWTRegistry;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.utils.DiagnosticLog;
 
 import java.security.cert.X509Certificate;
+import java.sql.Timestamp;
 import java.text.ParseException;
+import java.util.Date;
 import java.util.Optional;
 
 /**
@@ -46,6 +57,7 @@ public class OAuth2JWTTokenValidator extends DefaultOAuth2TokenValidator {
 
     private static final Log log = LogFactory.getLog(OAuth2JWTTokenValidator.class);
     private static final String TRUE = "true";
+    private static final String AUTHORIZATION_PARTY = "azp";
 
     @Override
     public boolean validateAccessToken(OAuth2TokenValidationMessageContext validationReqDTO)
@@ -114,6 +126,23 @@ public class OAuth2JWTTokenValidator extends DefaultOAuth2TokenValidator {
             }
             JWTUtils.checkNotBeforeTime(claimsSet.get().getNotBeforeTime());
             setJWTMessageContext(validationReqDTO, claimsSet.get());
+            if (RevokedJWTRegistry.isEnabled() && isRevoked(claimsSet.get())) {
+                // diagnosticLogBuilder will be null if diagnostic logs are disabled.
+                if (diagnosticLogBuilder != null) {
+                    diagnosticLogBuilder.resultMessage("Token is revoked.");
+                    LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
+                }
+                return false;
+            }
+            if (RevokedJWTRegistry.isLocalIntrospectionEnabled() &&
+                    !validateLocally(validationReqDTO, claimsSet.get(), tenantDomain)) {
+                // diagnosticLogBuilder will be null if diagnostic logs are disabled.
+                if (diagnosticLogBuilder != null) {
+                    diagnosticLogBuilder.resultMessage("Application is not active.");
+                    LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
+                }
+                return false;
+            }
         } catch (JOSEException | ParseException e) {
             // diagnosticLogBuilder will be null if diagnostic logs are disabled.
             if (diagnosticLogBuilder != null) {
@@ -206,6 +235,117 @@ public class OAuth2JWTTokenValidator extends DefaultOAuth2TokenValidator {
         return JWTUtils.verifySignature(signedJWT, x509Certificate, algorithm);
     }
 
+    /**
+     * Check whether a JWT access token was revoked, by its {@code jti} or by a watermark of its user or client.
+     *
+     * @param claimsSet Claims of the token.
+     * @return True if the token was revoked.
+     * @throws IdentityOAuth2Exception If an error occurs while looking up the token.
+     * @throws ParseException          If an error occurs while reading the claims.
+     */
+    private boolean isRevoked(JWTClaimsSet claimsSet) throws IdentityOAuth2Exception, ParseException {
+
+        String userId = claimsSet.getStringClaim(OAuth2Constants.ENTITY_ID);
+        if (StringUtils.isBlank(userId)) {
+            userId = claimsSet.getSubject();
+        }
+        long issuedTime = claimsSet.getIssueTime() != null ? claimsSet.getIssueTime().getTime() : 0;
+        if (RevokedJWTRegistry.getInstance().isRevoked(claimsSet.getJWTID(), getConsumerKey(claimsSet), userId,
+                issuedTime)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JWT access token with jti: " + claimsSet.getJWTID() + " is revoked.");
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private String getConsumerKey(JWTClaimsSet claimsSet) throws ParseException {
+
+        String consumerKey = claimsSet.getStringClaim(OAuth2Util.CLIENT_ID);
+        if (StringUtils.isBlank(consumerKey)) {
+            consumerKey = claimsSet.getStringClaim(AUTHORIZATION_PARTY);
+        }
+        return consumerKey;
+    }
+
+    /**
+     * Validate a self-issued JWT access token without reading the token table. The token is rejected if the client
+     * application is not active. Otherwise, the token details are read from the claims and added to the message
+     * context. Tokens that need the persisted token to be introspected, i.e. tokens of applications with scope
+     * validators, tokens introspected from another tenant and requests for user claims, are left to be introspected
+     * through the persisted token.
+     *
+     * @param validationReqDTO Token validation message context.
+     * @param claimsSet        Claims of the token.
+     * @param tenantDomain     Signing tenant domain of the token.
+     * @return False if the token is not active.
+     * @throws IdentityOAuth2Exception If an error occurs while validating the token.
+     * @throws ParseException          If an error occurs while reading the claims.
+     */
+    private boolean validateLocally(OAuth2TokenValidationMessageContext validationReqDTO, JWTClaimsSet claimsSet,
+                                    String tenantDomain) throws IdentityOAuth2Exception, ParseException {
+
+        String consumerKey = getConsumerKey(claimsSet);
+        OAuthAppDO oAuthAppDO;
+        try {
+            oAuthAppDO = OAuth2Util.getAppInformationByClientId(consumerKey, tenantDomain);
+        } catch (InvalidOAuthClientException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Application of the JWT access token is not found for client id: " + consumerKey, e);
+            }
+            return false;
+        }
+        if (!OAuthConstants.OauthAppStates.APP_STATE_ACTIVE.equalsIgnoreCase(oAuthAppDO.getState())) {
+            if (log.isDebugEnabled()) {
+                log.debug("Application of the JWT access token with client id: " + consumerKey + " is not active.");
+            }
+            return false;
+        }
+
+        String requestTenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
+        boolean isCrossTenantRequest = !OAuthServerConfiguration.getInstance()
+                .isCrossTenantTokenIntrospectionAllowed() && !StringUtils.equalsIgnoreCase(tenantDomain,
+                requestTenantDomain);
+        if (ArrayUtils.isNotEmpty(oAuthAppDO.getScopeValidators()) || isCrossTenantRequest ||
+                validationReqDTO.getRequestDTO().getRequiredClaimURIs() != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("JWT access token of client id: " + consumerKey + " is introspected through the " +
+                        "persisted token.");
+            }
+            return true;
+        }
+
+        Date issueTime = claimsSet.getIssueTime();
+        Date expirationTime = claimsSet.getExpirationTime();
+        String scope = claimsSet.getStringClaim(OAuth2Util.SCOPE);
+
+        AuthenticatedUser authzUser = new AuthenticatedUser();
+        authzUser.setAuthenticatedSubjectIdentifier(claimsSet.getSubject());
+        authzUser.setTenantDomain(tenantDomain);
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setConsumerKey(consumerKey);
+        accessTokenDO.setAuthzUser(authzUser);
+        accessTokenDO.setScope(OAuth2Util.buildScopeArray(scope));
+        accessTokenDO.setTokenType(claimsSet.getStringClaim(OAuthConstants.AUTHORIZED_USER_TYPE));
+        accessTokenDO.setTokenState(OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+        if (issueTime != null) {
+            accessTokenDO.setIssuedTime(new Timestamp(issueTime.getTime()));
+            accessTokenDO.setValidityPeriodInMillis(expirationTime.getTime() - issueTime.getTime());
+            validationReqDTO.addProperty(OAuth2Util.IAT, String.valueOf(issueTime.getTime() / 1000));
+        }
+
+        validationReqDTO.addProperty(OAuthConstants.ACCESS_TOKEN_DO, accessTokenDO);
+        validationReqDTO.addProperty(OAuth2Util.REMOTE_ACCESS_TOKEN, TRUE);
+        validationReqDTO.addProperty(OAuth2Util.EXP, String.valueOf(expirationTime.getTime() / 1000));
+        validationReqDTO.addProperty(OAuth2Util.CLIENT_ID, consumerKey);
+        validationReqDTO.addProperty(OAuth2Util.USERNAME, claimsSet.getSubject());
+        if (scope != null) {
+            validationReqDTO.addProperty(OAuth2Util.SCOPE, scope);
+        }
+        return true;
+    }
+
     private void setJWTMessageContext(OAuth2TokenValidationMessageContext validationReqDTO, JWTClaimsSet claimsSet) {
 
         validationReqDTO.addProperty(OAuth2Util.JWT_ACCESS_TOKEN, TRUE);
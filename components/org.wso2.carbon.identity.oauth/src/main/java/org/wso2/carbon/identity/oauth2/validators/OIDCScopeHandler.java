@@ -53,7 +53,7 @@ public class OIDCScopeHandler extends OAuth2ScopeHandler {
         } else {
             // Remove OIDC scopes from the token message context.
             String[] scopes = tokReqMsgCtx.getScope();
-            List<String> oidcScopes = OAuth2Util.getOIDCScopes(tokReqMsgCtx.getOauth2AccessTokenReqDTO()
+            Set<String> oidcScopes = OAuth2Util.getOIDCScopeNames(tokReqMsgCtx.getOauth2AccessTokenReqDTO()
                     .getTenantDomain());
 
             List<String> filteredScopes = Arrays.stream(scopes)
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, compiled view of the resource paths stored in IDN_OAUTH2_RESOURCE_SCOPE.
+ * <p>
+ * Resource paths are kept in a prefix trie of path segments. A segment may be a literal, a URI template variable
+ * such as <code>{id}</code>, or a <code>*</code> wildcard. A wildcard in the last segment matches any number of
+ * trailing segments, while in any other position it matches exactly one segment. A resource may end with an HTTP
+ * method suffix such as <code>:GET</code>, which has to match as well. Query strings and fragments of the
+ * requested resource are ignored. Exact matches always win; otherwise literal segments are preferred over template
+ * variables, and template variables over wildcards.
+ */
+public class ResourceScopeMatcher {
+
+    private static final char PATH_SEPARATOR = '/';
+    private static final char METHOD_SEPARATOR = ':';
+    private static final String WILDCARD = "*";
+    private static final String RECURSIVE_WILDCARD = "**";
+    private static final String NO_METHOD = "";
+
+    private final Map<String, Pair<String, Integer>> exactMatches;
+    private final Node root;
+    private final int size;
+
+    private ResourceScopeMatcher(Map<String, Pair<String, Integer>> exactMatches, Node root) {
+
+        this.exactMatches = exactMatches;
+        this.root = root;
+        this.size = exactMatches.size();
+    }
+
+    /**
+     * Compile the given resource path to scope mappings.
+     *
+     * @param resourceScopes Map of resource path to a pair of scope name and tenant id.
+     * @return Compiled matcher.
+     */
+    public static ResourceScopeMatcher compile(Map<String, Pair<String, Integer>> resourceScopes) {
+
+        Map<String, Pair<String, Integer>> exactMatches = new HashMap<>();
+        Node root = new Node();
+        if (resourceScopes != null) {
+            for (Map.Entry<String, Pair<String, Integer>> entry : resourceScopes.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                exactMatches.put(entry.getKey(), entry.getValue());
+                ParsedResource parsedResource = ParsedResource.parse(entry.getKey());
+                Node node = root;
+                String[] segments = parsedResource.segments;
+                for (int i = 0; i < segments.length; i++) {
+                    String segment = segments[i];
+                    if (RECURSIVE_WILDCARD.equals(segment) || (WILDCARD.equals(segment) && i == segments.length - 1)) {
+                        // Trailing wildcards consume the rest of the path, hence nothing can follow them.
+                        node.trailingWildcardEntries.putIfAbsent(parsedResource.method, entry.getValue());
+                        node = null;
+                        break;
+                    } else if (WILDCARD.equals(segment) || isTemplateVariable(segment)) {
+                        if (node.variableChild == null) {
+                            node.variableChild = new Node();
+                        }
+                        node = node.variableChild;
+                    } else {
+                        node = node.literalChildren.computeIfAbsent(segment, key -> new Node());
+                    }
+                }
+                if (node != null) {
+                    node.entries.putIfAbsent(parsedResource.method, entry.getValue());
+                }
+            }
+        }
+        return new ResourceScopeMatcher(Collections.unmodifiableMap(exactMatches), root);
+    }
+
+    /**
+     * Find the scope protecting the given resource.
+     *
+     * @param resource Requested resource.
+     * @return Pair of scope name and tenant id of the matching resource, or null if the resource is not protected.
+     */
+    public Pair<String, Integer> match(String resource) {
+
+        if (resource == null) {
+            return null;
+        }
+        Pair<String, Integer> exactMatch = exactMatches.get(resource);
+        if (exactMatch != null) {
+            return exactMatch;
+        }
+        ParsedResource parsedResource = ParsedResource.parse(resource);
+        return match(root, parsedResource.segments, 0, parsedResource.method);
+    }
+
+    /**
+     * Get the number of resources in the matcher.
+     *
+     * @return Number of resources.
+     */
+    public int size() {
+
+        return size;
+    }
+
+    private static Pair<String, Integer> match(Node node, String[] segments, int index, String method) {
+
+        if (index == segments.length) {
+            return node.entries.get(method);
+        }
+        Node literalChild = node.literalChildren.get(segments[index]);
+        if (literalChild != null) {
+            Pair<String, Integer> result = match(literalChild, segments, index + 1, method);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (node.variableChild != null) {
+            Pair<String, Integer> result = match(node.variableChild, segments, index + 1, method);
+            if (result != null) {
+                return result;
+            }
+        }
+        return node.trailingWildcardEntries.get(method);
+    }
+
+    private static boolean isTemplateVariable(String segment) {
+
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+
+    /**
+     * Node of the resource path trie.
+     */
+    private static class Node {
+
+        private final Map<String, Node> literalChildren = new HashMap<>();
+        private final Map<String, Pair<String, Integer>> entries = new HashMap<>();
+        private final Map<String, Pair<String, Integer>> trailingWildcardEntries = new HashMap<>();
+        private Node variableChild;
+    }
+
+    /**
+     * Resource split into path segments and the optional HTTP method suffix.
+     */
+    private static class ParsedResource {
+
+        private final String[] segments;
+        private final String method;
+
+        private ParsedResource(String[] segments, String method) {
+
+            this.segments = segments;
+            this.method = method;
+        }
+
+        private static ParsedResource parse(String resource) {
+
+            String path = resource;
+            String method = NO_METHOD;
+            int methodIndex = path.lastIndexOf(METHOD_SEPARATOR);
+            if (methodIndex >= 0 && isMethod(path, methodIndex + 1)) {
+                method = path.substring(methodIndex + 1);
+                path = path.substring(0, methodIndex);
+            }
+            int queryIndex = StringUtils.indexOfAny(path, "?#");
+            if (queryIndex >= 0) {
+                path = path.substring(0, queryIndex);
+            }
+            return new ParsedResource(StringUtils.split(path, PATH_SEPARATOR), method);
+        }
+
+        private static boolean isMethod(String resource, int beginIndex) {
+
+            if (beginIndex >= resource.length()) {
+                return false;
+            }
+            for (int i = beginIndex; i < resource.length(); i++) {
+                if (!Character.isUpperCase(resource.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.CacheEntry;
+import org.wso2.carbon.identity.oauth.cache.OAuthCache;
+import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.model.ResourceScopeCacheEntry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the scope protecting a resource registered in IDN_OAUTH2_RESOURCE_SCOPE.
+ * <p>
+ * When the resource scope matcher is enabled, all the resource scopes are loaded once into a
+ * {@link ResourceScopeMatcher} and resources are resolved in memory, including resources with path parameters or
+ * query strings. The matcher is dropped when scopes are added, updated or deleted and reloaded periodically so that
+ * changes done by other nodes are picked up. A failed load is remembered for a short retry interval, so that lookups
+ * fail fast instead of querying an unavailable database on every request. Otherwise resources are resolved by exact
+ * match through the {@link OAuthCache} and the database.
+ */
+public class ResourceScopeResolver {
+
+    private static final Log log = LogFactory.getLog(ResourceScopeResolver.class);
+    private static final ResourceScopeResolver instance = new ResourceScopeResolver();
+
+    private final Object lock = new Object();
+    private volatile ResourceScopeMatcher matcher;
+    private volatile long matcherLoadedTime;
+    private volatile IdentityOAuth2Exception loadFailure;
+    private volatile long loadFailedTime;
+    private long generation;
+
+    private ResourceScopeResolver() {
+
+    }
+
+    public static ResourceScopeResolver getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether resources should be resolved through the compiled resource scope matcher.
+     *
+     * @return True if the resource scope matcher is enabled.
+     */
+    public static boolean isResourceScopeMatcherEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.RESOURCE_SCOPE_MATCHER_ENABLE));
+    }
+
+    /**
+     * Find the scope and the tenant of the scope protecting the given resource.
+     *
+     * @param resource Resource to be accessed.
+     * @return Pair of scope name and tenant id, or null if the resource is not protected by a scope.
+     * @throws IdentityOAuth2Exception If failed to retrieve the resource scopes.
+     */
+    public Pair<String, Integer> findTenantAndScopeOfResource(String resource) throws IdentityOAuth2Exception {
+
+        if (isResourceScopeMatcherEnabled()) {
+            return getMatcher().match(resource);
+        }
+
+        // Check the cache, if caching is enabled.
+        OAuthCacheKey cacheKey = new OAuthCacheKey(resource);
+        CacheEntry result = OAuthCache.getInstance().getValueFromCache(cacheKey);
+        if (result instanceof ResourceScopeCacheEntry) {
+            ResourceScopeCacheEntry resourceScopeCacheEntry = (ResourceScopeCacheEntry) result;
+            if (resourceScopeCacheEntry.getScope() == null) {
+                return null;
+            }
+            return Pair.of(resourceScopeCacheEntry.getScope(), resourceScopeCacheEntry.getTenantId());
+        }
+
+        // Cache was not hit. So retrieve from database.
+        Pair<String, Integer> scopeMap = OAuthTokenPersistenceFactory.getInstance()
+                .getTokenManagementDAO().findTenantAndScopeOfResource(resource);
+        ResourceScopeCacheEntry cacheEntry;
+        if (scopeMap != null) {
+            cacheEntry = new ResourceScopeCacheEntry(scopeMap.getLeft());
+            cacheEntry.setTenantId(scopeMap.getRight());
+        } else {
+            cacheEntry = new ResourceScopeCacheEntry(null);
+            cacheEntry.setTenantId(-1);
+        }
+        // Store resourceScope in cache even if it is null (to avoid database calls when accessing resources for
+        // which scopes haven't been defined).
+        OAuthCache.getInstance().addToCache(cacheKey, cacheEntry);
+        return scopeMap;
+    }
+
+    /**
+     * Drop the compiled matcher so that it is reloaded from the database on the next lookup.
+     */
+    public void invalidate() {
+
+        synchronized (lock) {
+            generation++;
+            matcher = null;
+            loadFailure = null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Resource scope matcher invalidated.");
+        }
+    }
+
+    private ResourceScopeMatcher getMatcher() throws IdentityOAuth2Exception {
+
+        ResourceScopeMatcher currentMatcher = matcher;
+        if (currentMatcher != null && !isExpired()) {
+            return currentMatcher;
+        }
+
+        synchronized (lock) {
+            currentMatcher = matcher;
+            if (currentMatcher != null && !isExpired()) {
+                return currentMatcher;
+            }
+            IdentityOAuth2Exception recentLoadFailure = loadFailure;
+            if (recentLoadFailure != null && !isRetryDue()) {
+                throw new IdentityOAuth2Exception("Resource scopes could not be loaded recently. Retrying after " +
+                        getInterval(OAuth2Constants.RESOURCE_SCOPE_MATCHER_RETRY_INTERVAL,
+                                OAuth2Constants.DEFAULT_RESOURCE_SCOPE_MATCHER_RETRY_INTERVAL) + " seconds.",
+                        recentLoadFailure);
+            }
+            long loadingGeneration = generation;
+            ResourceScopeMatcher loadedMatcher;
+            try {
+                loadedMatcher = ResourceScopeMatcher.compile(OAuthTokenPersistenceFactory.getInstance()
+                        .getTokenManagementDAO().getAllResourceScopes());
+            } catch (IdentityOAuth2Exception e) {
+                loadFailure = e;
+                loadFailedTime = System.currentTimeMillis();
+                throw e;
+            }
+            loadFailure = null;
+            if (loadingGeneration == generation) {
+                matcher = loadedMatcher;
+                matcherLoadedTime = System.currentTimeMillis();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Compiled resource scope matcher with " + loadedMatcher.size() + " resources.");
+            }
+            return loadedMatcher;
+        }
+    }
+
+    private boolean isExpired() {
+
+        return System.currentTimeMillis() - matcherLoadedTime > TimeUnit.SECONDS.toMillis(getInterval(
+                OAuth2Constants.RESOURCE_SCOPE_MATCHER_REFRESH_INTERVAL,
+                OAuth2Constants.DEFAULT_RESOURCE_SCOPE_MATCHER_REFRESH_INTERVAL));
+    }
+
+    private boolean isRetryDue() {
+
+        return System.currentTimeMillis() - loadFailedTime > TimeUnit.SECONDS.toMillis(getInterval(
+                OAuth2Constants.RESOURCE_SCOPE_MATCHER_RETRY_INTERVAL,
+                OAuth2Constants.DEFAULT_RESOURCE_SCOPE_MATCHER_RETRY_INTERVAL));
+    }
+
+    private static long getInterval(String propertyName, long defaultInterval) {
+
+        String interval = IdentityUtil.getProperty(propertyName);
+        if (StringUtils.isNotBlank(interval)) {
+            try {
+                return Long.parseLong(interval.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid value: " + interval + " for " + propertyName + ". Using the default value: " +
+                        defaultInterval);
+            }
+        }
+        return defaultInterval;
+    }
+}
@@ -24,7 +24,9 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserIdNotFoundException;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.UserRoleCache;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.authz.OAuthAuthzReqMessageContext;
@@ -42,6 +44,7 @@ import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -181,6 +184,17 @@ public class RoleBasedInternalScopeValidator {
 
     private List<String> getRolesOfTheUser(AuthenticatedUser authenticatedUser) throws IdentityOAuth2Exception {
 
+        String[] roles = UserRoleCache.getInstance().getValue(UserRoleCache.getUserIdentifier(authenticatedUser),
+                UserRoleCache.HYBRID_ROLES, IdentityTenantUtil.getTenantId(authenticatedUser.getTenantDomain()),
+                () -> {
+                    List<String> rolesOfTheUser = retrieveRolesOfTheUser(authenticatedUser);
+                    return rolesOfTheUser == null ? null : rolesOfTheUser.toArray(new String[0]);
+                });
+        return roles == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(roles));
+    }
+
+    private List<String> retrieveRolesOfTheUser(AuthenticatedUser authenticatedUser) throws IdentityOAuth2Exception {
+
         RealmService realmService = OAuthComponentServiceHolder.getInstance().getRealmService();
 
         try {
@@ -32,6 +32,7 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.tokenprocessor.DefaultTokenProvider;
 import org.wso2.carbon.identity.oauth.tokenprocessor.TokenProvider;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.OAuth2Constants;
@@ -43,12 +44,26 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationResponseDTO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.jwt.RevokedJWTRegistry;
 import org.wso2.carbon.utils.DiagnosticLog;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.isParsableJWT;
 
@@ -68,6 +83,11 @@ public class TokenValidationHandler {
     private static final String BEARER_TOKEN_TYPE_JWT = "jwt";
     private static final String BUILD_FQU_FROM_SP_CONFIG = "OAuth.BuildSubjectIdentifierFromSPConfig";
     private static final String ENABLE_JWT_TOKEN_VALIDATION = "OAuth.EnableJWTTokenValidationDuringIntrospection";
+    private static final String BATCH_VALIDATION_PARALLELISM = "OAuth.TokenValidation.Batch.Parallelism";
+    private static final String BATCH_VALIDATION_QUEUE_SIZE = "OAuth.TokenValidation.Batch.QueueSize";
+    private static final int DEFAULT_BATCH_VALIDATION_QUEUE_SIZE = 1000;
+    private final AtomicInteger batchValidationThreadCount = new AtomicInteger();
+    private volatile ExecutorService batchValidationPool;
 
     private TokenValidationHandler() {
 
@@ -162,6 +182,206 @@ public class TokenValidationHandler {
     public OAuth2ClientApplicationDTO findOAuthConsumerIfTokenIsValid(OAuth2TokenValidationRequestDTO requestDTO)
             throws IdentityOAuth2Exception {
 
+        return findOAuthConsumerIfTokenIsValid(requestDTO, null);
+    }
+
+    /**
+     * Validate a batch of access tokens. Opaque access tokens are looked up together with one query per token table,
+     * and the remaining tokens, such as JWT access tokens whose signatures have to be verified, are validated in
+     * parallel by a fixed number of workers shared by all batches. When the bounded queue of the workers is full, the
+     * token is validated by the calling thread. A failure in validating one token does not fail the rest of the batch.
+     *
+     * @param requestDTOs Token validation requests.
+     * @return Token validation responses, in the order of the requests.
+     * @throws IdentityOAuth2Exception If the batch could not be validated.
+     */
+    public List<OAuth2TokenValidationResponseDTO> validate(List<OAuth2TokenValidationRequestDTO> requestDTOs)
+            throws IdentityOAuth2Exception {
+
+        if (requestDTOs == null || requestDTOs.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, AccessTokenDO> prefetchedAccessTokens = prefetchOpaqueAccessTokens(requestDTOs);
+        ExecutorService validationPool = getBatchValidationPool();
+        int batchSize = requestDTOs.size();
+        OAuth2TokenValidationResponseDTO[] responseDTOs = new OAuth2TokenValidationResponseDTO[batchSize];
+        List<Future<OAuth2TokenValidationResponseDTO>> validationTasks = new ArrayList<>(batchSize);
+
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        String tenantDomain = carbonContext.getTenantDomain();
+        int tenantId = carbonContext.getTenantId();
+        // Submit the tokens which need their own lookup or verification first, so that they run while the prefetched
+        // tokens are validated in this thread.
+        for (OAuth2TokenValidationRequestDTO requestDTO : requestDTOs) {
+            if (validationPool == null || prefetchedAccessTokens.containsKey(getTokenIdentifier(requestDTO))) {
+                validationTasks.add(null);
+                continue;
+            }
+            try {
+                validationTasks.add(validationPool.submit(() -> {
+                    PrivilegedCarbonContext.startTenantFlow();
+                    try {
+                        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantId(tenantId);
+                        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+                        return validateInBatch(requestDTO, null);
+                    } finally {
+                        PrivilegedCarbonContext.endTenantFlow();
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                // The shared workers are saturated, so the token is validated by the calling thread below.
+                validationTasks.add(null);
+            }
+        }
+        for (int i = 0; i < batchSize; i++) {
+            if (validationTasks.get(i) == null) {
+                OAuth2TokenValidationRequestDTO requestDTO = requestDTOs.get(i);
+                responseDTOs[i] = validateInBatch(requestDTO,
+                        prefetchedAccessTokens.get(getTokenIdentifier(requestDTO)));
+            }
+        }
+        for (int i = 0; i < batchSize; i++) {
+            Future<OAuth2TokenValidationResponseDTO> validationTask = validationTasks.get(i);
+            if (validationTask == null) {
+                continue;
+            }
+            try {
+                responseDTOs[i] = validationTask.get();
+            } catch (InterruptedException e) {
+                // Only the tasks of this batch are cancelled, since the workers are shared with other batches.
+                for (Future<OAuth2TokenValidationResponseDTO> task : validationTasks) {
+                    if (task != null) {
+                        task.cancel(true);
+                    }
+                }
+                Thread.currentThread().interrupt();
+                throw new IdentityOAuth2Exception("Interrupted while validating the batch of access tokens.", e);
+            } catch (ExecutionException | CancellationException e) {
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                log.error("Error occurred while validating the OAuth2 access token", cause);
+                responseDTOs[i] = buildServerErrorResponse();
+            }
+        }
+        return Arrays.asList(responseDTOs);
+    }
+
+    private OAuth2TokenValidationResponseDTO validateInBatch(OAuth2TokenValidationRequestDTO requestDTO,
+                                                             AccessTokenDO accessTokenDO) {
+
+        try {
+            return findOAuthConsumerIfTokenIsValid(requestDTO, accessTokenDO).getAccessTokenValidationResponse();
+        } catch (IdentityOAuth2Exception | RuntimeException e) {
+            log.error("Error occurred while validating the OAuth2 access token", e);
+            return buildServerErrorResponse();
+        }
+    }
+
+    private OAuth2TokenValidationResponseDTO buildServerErrorResponse() {
+
+        OAuth2TokenValidationResponseDTO responseDTO = new OAuth2TokenValidationResponseDTO();
+        responseDTO.setValid(false);
+        responseDTO.setErrorMsg("Server error occurred while validating the OAuth2 access token");
+        return responseDTO;
+    }
+
+    /**
+     * Look up the opaque access tokens of a batch together. Tokens issued through a custom token provider and JWT
+     * access tokens are left to the per token lookup.
+     *
+     * @param requestDTOs Token validation requests.
+     * @return Active access tokens mapped by their token identifier.
+     * @throws IdentityOAuth2Exception If the access tokens could not be retrieved.
+     */
+    private Map<String, AccessTokenDO> prefetchOpaqueAccessTokens(List<OAuth2TokenValidationRequestDTO> requestDTOs)
+            throws IdentityOAuth2Exception {
+
+        if (!(OAuth2ServiceComponentHolder.getInstance().getTokenProvider() instanceof DefaultTokenProvider)) {
+            return Collections.emptyMap();
+        }
+        Set<String> tokenIdentifiers = new LinkedHashSet<>();
+        for (OAuth2TokenValidationRequestDTO requestDTO : requestDTOs) {
+            String tokenIdentifier = getTokenIdentifier(requestDTO);
+            if (StringUtils.isNotBlank(tokenIdentifier) && !isParsableJWT(tokenIdentifier)) {
+                tokenIdentifiers.add(tokenIdentifier);
+            }
+        }
+        if (tokenIdentifiers.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return OAuth2Util.getActiveAccessTokenDOsFromTokenIdentifiers(tokenIdentifiers);
+    }
+
+    private String getTokenIdentifier(OAuth2TokenValidationRequestDTO requestDTO) {
+
+        if (requestDTO == null || requestDTO.getAccessToken() == null) {
+            return null;
+        }
+        return requestDTO.getAccessToken().getIdentifier();
+    }
+
+    /**
+     * Get the workers shared by all batches. The number of workers is fixed by the configured parallelism, and tokens
+     * wait in a bounded queue for a free worker.
+     */
+    private ExecutorService getBatchValidationPool() {
+
+        if (batchValidationPool == null) {
+            int parallelism = getNonNegativeInt(BATCH_VALIDATION_PARALLELISM,
+                    Runtime.getRuntime().availableProcessors());
+            if (parallelism <= 0) {
+                return null;
+            }
+            synchronized (this) {
+                if (batchValidationPool == null) {
+                    int queueSize = Math.max(1, getNonNegativeInt(BATCH_VALIDATION_QUEUE_SIZE,
+                            DEFAULT_BATCH_VALIDATION_QUEUE_SIZE));
+                    batchValidationPool = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(queueSize), runnable -> {
+                                Thread thread = new Thread(runnable, "oauth-token-batch-validation-" +
+                                        batchValidationThreadCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                }
+            }
+        }
+        return batchValidationPool;
+    }
+
+    /**
+     * Stop the pool used to validate batches of access tokens in parallel.
+     */
+    public synchronized void shutdown() {
+
+        if (batchValidationPool != null) {
+            batchValidationPool.shutdownNow();
+            batchValidationPool = null;
+        }
+    }
+
+    private static int getNonNegativeInt(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                int intValue = Integer.parseInt(value.trim());
+                if (intValue >= 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value.
+            }
+            log.warn("Invalid value: " + value + " configured for: " + property + ". Using the default value: " +
+                    defaultValue);
+        }
+        return defaultValue;
+    }
+
+    private OAuth2ClientApplicationDTO findOAuthConsumerIfTokenIsValid(OAuth2TokenValidationRequestDTO requestDTO,
+                                                                       AccessTokenDO resolvedAccessTokenDO)
+            throws IdentityOAuth2Exception {
+
         OAuth2ClientApplicationDTO clientApp = new OAuth2ClientApplicationDTO();
         OAuth2TokenValidationResponseDTO responseDTO = new OAuth2TokenValidationResponseDTO();
         OAuth2TokenValidationMessageContext messageContext =
@@ -178,17 +398,24 @@ public class TokenValidationHandler {
             return buildClientAppErrorResponse(e.getMessage());
         }
 
-        try {
-            accessTokenDO = OAuth2ServiceComponentHolder.getInstance().getTokenProvider()
-                    .getVerifiedAccessToken(requestDTO.getAccessToken().getIdentifier(), false);
-        } catch (IllegalArgumentException e) {
-            // Access token not found in the system.
-            return buildClientAppErrorResponse(e.getMessage());
+        if (resolvedAccessTokenDO != null) {
+            accessTokenDO = resolvedAccessTokenDO;
+        } else {
+            try {
+                accessTokenDO = OAuth2ServiceComponentHolder.getInstance().getTokenProvider()
+                        .getVerifiedAccessToken(requestDTO.getAccessToken().getIdentifier(), false);
+            } catch (IllegalArgumentException e) {
+                // Access token not found in the system.
+                return buildClientAppErrorResponse(e.getMessage());
+            }
         }
 
         if (hasAccessTokenExpired(accessTokenDO)) {
             return buildClientAppErrorResponse("Access token expired");
         }
+        if (RevokedJWTRegistry.isDenylistEnabled() && RevokedJWTRegistry.getInstance().isRevoked(accessTokenDO)) {
+            return buildClientAppErrorResponse("Access token revoked");
+        }
         // Set the token expiration time
         responseDTO.setExpiryTime(getAccessTokenExpirationTime(accessTokenDO));
 
@@ -274,16 +501,19 @@ public class TokenValidationHandler {
             }
         }
 
-        // Adding the AccessTokenDO as a context property for further use
-        AccessTokenDO accessTokenDO;
-        try {
-            accessTokenDO = OAuth2ServiceComponentHolder.getInstance().getTokenProvider()
-                    .getVerifiedAccessToken(oAuth2Token.getIdentifier(), true);
-            if (accessTokenDO != null) {
-                messageContext.addProperty(OAuthConstants.ACCESS_TOKEN_DO, accessTokenDO);
+        // Adding the AccessTokenDO as a context property for further use. Self-issued JWT access tokens introspected
+        // locally are resolved from their claims by the JWT token validator instead.
+        if (!isJWTTokenValidation || !RevokedJWTRegistry.isLocalIntrospectionEnabled()) {
+            AccessTokenDO accessTokenDO;
+            try {
+                accessTokenDO = OAuth2ServiceComponentHolder.getInstance().getTokenProvider()
+                        .getVerifiedAccessToken(oAuth2Token.getIdentifier(), true);
+                if (accessTokenDO != null) {
+                    messageContext.addProperty(OAuthConstants.ACCESS_TOKEN_DO, accessTokenDO);
+                }
+            } catch (IllegalArgumentException e) {
+                return buildIntrospectionErrorResponse(e.getMessage());
             }
-        } catch (IllegalArgumentException e) {
-            return buildIntrospectionErrorResponse(e.getMessage());
         }
 
         // Catch the latest exception and throw it if there aren't any active tokens.
@@ -366,6 +596,11 @@ public class TokenValidationHandler {
             }
         }
 
+        AccessTokenDO accessTokenDO = (AccessTokenDO) messageContext.getProperty(OAuthConstants.ACCESS_TOKEN_DO);
+        if (accessTokenDO != null && StringUtils.isNotBlank(accessTokenDO.getTokenId())) {
+            // Lets the introspection endpoint cache the response against the token id.
+            introResp.getProperties().put(OAuth2Util.INTROSPECTED_TOKEN_ID, accessTokenDO.getTokenId());
+        }
         introResp.getProperties().put(OAuth2Util.OAUTH2_VALIDATION_MESSAGE_CONTEXT, messageContext);
         return introResp;
     }
@@ -545,6 +780,16 @@ public class TokenValidationHandler {
                 return introResp;
             }
 
+            if (RevokedJWTRegistry.isDenylistEnabled() && RevokedJWTRegistry.getInstance().isRevoked(accessTokenDO)) {
+                if (diagnosticLogBuilder != null) {
+                    // diagnosticLogBuilder is not null only if diagnostic logs are enabled.
+                    diagnosticLogBuilder.resultMessage("Token is revoked.");
+                    LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
+                }
+                introResp.setActive(false);
+                return introResp;
+            }
+
             // should be in seconds
             if (accessTokenDO.getValidityPeriodInMillis() < 0) {
                 introResp.setExp(Long.MAX_VALUE);
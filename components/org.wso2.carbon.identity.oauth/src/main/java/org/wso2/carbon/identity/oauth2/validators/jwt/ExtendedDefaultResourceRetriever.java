@@ -18,24 +18,40 @@
 
 package org.wso2.carbon.identity.oauth2.validators.jwt;
 
+import com.nimbusds.jose.util.BoundedInputStream;
 import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.IOUtils;
 import com.nimbusds.jose.util.Resource;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.util.EntityUtils;
 import org.wso2.carbon.identity.oauth2.util.HttpClientUtil;
+import org.wso2.carbon.identity.oauth2.util.RemoteResourceCache;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 
 /**
- * Extended method to provide proxy support.
+ * Extended method to provide proxy support. Resources are fetched through the shared pooled http client of
+ * {@link HttpClientUtil} and cached in the {@link RemoteResourceCache} according to the caching headers of the
+ * response.
  */
 public class ExtendedDefaultResourceRetriever extends DefaultResourceRetriever {
 
+    private static final Log log = LogFactory.getLog(ExtendedDefaultResourceRetriever.class);
+
     /**
      * If {@code true} the disconnect method of the underlying
      * HttpURLConnection is called after a successful or failed retrieval.
@@ -143,26 +159,92 @@ public class ExtendedDefaultResourceRetriever extends DefaultResourceRetriever {
     @Override
     public Resource retrieveResource(final URL url) throws IOException {
 
-        try {
-            HttpGet request = new HttpGet(url.toString());
-            HttpClient httpClient = HttpClientUtil.getHttpClient(url);
-            HttpResponse httpResponse = httpClient.execute(request);
+        String resourceUrl = url.toString();
+        RemoteResourceCache resourceCache = RemoteResourceCache.getInstance();
+        RemoteResourceCache.CachedResource cachedResource = resourceCache.get(resourceUrl);
+        if (cachedResource != null && cachedResource.isFresh()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Serving the resource of " + resourceUrl + " from the response cache.");
+            }
+            return new Resource(cachedResource.getContent(), cachedResource.getContentType());
+        }
+
+        HttpGet request = new HttpGet(resourceUrl);
+        request.setConfig(RequestConfig.copy(HttpClientUtil.getSharedRequestConfig())
+                .setConnectTimeout(getConnectTimeout())
+                .setSocketTimeout(getReadTimeout())
+                .build());
+        if (cachedResource != null) {
+            if (StringUtils.isNotBlank(cachedResource.getETag())) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, cachedResource.getETag());
+            }
+            if (StringUtils.isNotBlank(cachedResource.getLastModified())) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cachedResource.getLastModified());
+            }
+        }
 
-            // Check HTTP code + message
+        try (CloseableHttpResponse httpResponse = HttpClientUtil.getSharedHttpClient().execute(request)) {
             final int statusCode = httpResponse.getStatusLine().getStatusCode();
-            final String statusMessage = httpResponse.getEntity().toString();
-            String content = EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8);
+            HttpEntity entity = httpResponse.getEntity();
+
+            if (statusCode == HttpStatus.SC_NOT_MODIFIED && cachedResource != null) {
+                EntityUtils.consume(entity);
+                resourceCache.revalidated(resourceUrl, cachedResource,
+                        getHeaderValue(httpResponse, HttpHeaders.CACHE_CONTROL));
+                if (log.isDebugEnabled()) {
+                    log.debug("Resource of " + resourceUrl + " has not been modified. Using the cached resource.");
+                }
+                return new Resource(cachedResource.getContent(), cachedResource.getContentType());
+            }
 
             // Ensure 2xx status code.
             if (statusCode > 299 || statusCode < 200) {
-                throw new IOException("HTTP " + statusCode + ": " + statusMessage);
+                EntityUtils.consume(entity);
+                throw new IOException("HTTP " + statusCode + ": " + httpResponse.getStatusLine().getReasonPhrase());
             }
 
-            return new Resource(content, httpResponse.getEntity().getContentType().toString());
-
+            String content = readContent(entity);
+            String contentType = null;
+            if (entity != null && entity.getContentType() != null) {
+                contentType = entity.getContentType().getValue();
+            }
+            resourceCache.put(resourceUrl, content, contentType,
+                    getHeaderValue(httpResponse, HttpHeaders.CACHE_CONTROL),
+                    getHeaderValue(httpResponse, HttpHeaders.ETAG),
+                    getHeaderValue(httpResponse, HttpHeaders.LAST_MODIFIED));
+            return new Resource(content, contentType);
         } catch (ClassCastException e) {
             throw new IOException("Couldn't open HTTP(S) connection: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Read the response entity while enforcing the configured size limit.
+     *
+     * @param entity Response entity.
+     * @return Entity content.
+     * @throws IOException If the entity can not be read or exceeds the size limit.
+     */
+    private String readContent(HttpEntity entity) throws IOException {
+
+        if (entity == null) {
+            return StringUtils.EMPTY;
+        }
+        if (getSizeLimit() <= 0) {
+            return EntityUtils.toString(entity, StandardCharsets.UTF_8);
+        }
+        if (entity.getContentLength() > getSizeLimit()) {
+            throw new IOException("Exceeded configured input limit of " + getSizeLimit() + " bytes");
+        }
+        try (InputStream inputStream = new BoundedInputStream(entity.getContent(), getSizeLimit())) {
+            return IOUtils.readInputStreamToString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String getHeaderValue(HttpResponse httpResponse, String name) {
+
+        Header header = httpResponse.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
 }
@@ -30,6 +30,8 @@ import org.wso2.carbon.identity.oauth2.cache.JWKSCache;
 import org.wso2.carbon.identity.oauth2.cache.JWKSCacheEntry;
 import org.wso2.carbon.identity.oauth2.cache.JWKSCacheKey;
 import org.wso2.carbon.identity.oauth2.device.constants.Constants;
+import org.wso2.carbon.identity.oauth2.util.HttpClientUtil;
+import org.wso2.carbon.identity.oauth2.util.RemoteResourceCache;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -104,6 +106,8 @@ public class JWKSourceDataProvider {
         try {
             JWKSCacheKey jwksCacheKey = new JWKSCacheKey(jwksUri);
             JWKSCache.getInstance().clearCacheEntry(jwksCacheKey);
+            // Make sure the keys are fetched again instead of being served from the response cache.
+            RemoteResourceCache.getInstance().clear(jwksUri);
             RemoteJWKSet<SecurityContext> jwkSet = retrieveJWKSFromJWKSEndpoint(jwksUri);
             JWKSCache.getInstance().addToCache(jwksCacheKey, new JWKSCacheEntry(jwkSet));
         } catch (MalformedURLException e) {
@@ -136,7 +140,7 @@ public class JWKSourceDataProvider {
             sizeLimit = RemoteJWKSet.DEFAULT_HTTP_SIZE_LIMIT;
         }
 
-        if (Boolean.parseBoolean(proxyEnabled)) {
+        if (Boolean.parseBoolean(proxyEnabled) || HttpClientUtil.isSharedHttpClientEnabled()) {
             ExtendedDefaultResourceRetriever resourceRetriever = new ExtendedDefaultResourceRetriever(
                     connectionTimeout,
                     readTimeout,
@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators.jwt;
+
+import com.nimbusds.jwt.JWTParser;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.application.authentication.framework.exception.UserIdNotFoundException;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.model.TokenRevocationEntry;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registry of revoked access tokens, kept in memory on every node.
+ * <p>
+ * When JWT access tokens are introspected locally, the token table is not read to find out whether a token was
+ * revoked. Instead, the hashes of the revoked token identifiers, as matched against the {@code ACCESS_TOKEN_HASH}
+ * column on revocation, are kept here and the hash of the {@code jti} of an introspected token is looked up.
+ * <p>
+ * When the revoked token denylist is enabled, the registry also keeps "revoked-before" watermarks of users and
+ * clients, which deny every token of the user or client issued before the time of revocation. Every entry is
+ * appended to the {@code IDN_OAUTH2_TOKEN_REVOCATION} table, and the entries added by other nodes are read from the
+ * table at most once per sync interval when the registry is consulted. This lets tokens that are not persisted be
+ * revoked without a token table lookup. Entries of revoked tokens are kept until the token expires, or for the
+ * configured retention if the expiry is not known, and watermarks are kept for the configured retention, which
+ * should not be shorter than the lifetime of the access tokens.
+ */
+public class RevokedJWTRegistry {
+
+    private static final Log log = LogFactory.getLog(RevokedJWTRegistry.class);
+    // Entries committed by other nodes shortly before the last sync are read again in the next sync.
+    private static final long SYNC_OVERLAP = TimeUnit.MINUTES.toMillis(1);
+    private static final RevokedJWTRegistry instance = new RevokedJWTRegistry();
+
+    private final Map<String, Long> revokedTokenHashes = new ConcurrentHashMap<>();
+    private final Map<String, TokenRevocationEntry> userWatermarks = new ConcurrentHashMap<>();
+    private final Map<String, TokenRevocationEntry> clientWatermarks = new ConcurrentHashMap<>();
+    private final TokenPersistenceProcessor hashingPersistenceProcessor = new HashingPersistenceProcessor();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile long nextPurgeTime;
+    private volatile long lastSyncTime;
+    private volatile long nextSyncTime;
+
+    private RevokedJWTRegistry() {
+
+    }
+
+    public static RevokedJWTRegistry getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether self-issued JWT access tokens are introspected locally.
+     *
+     * @return True if enabled.
+     */
+    public static boolean isLocalIntrospectionEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.JWT_LOCAL_INTROSPECTION_ENABLE));
+    }
+
+    /**
+     * Check whether the revoked token denylist, which is shared between the nodes, is enabled.
+     *
+     * @return True if enabled.
+     */
+    public static boolean isDenylistEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.REVOKED_TOKEN_DENYLIST_ENABLE));
+    }
+
+    /**
+     * Check whether revoked tokens are recorded in the registry.
+     *
+     * @return True if local introspection or the denylist is enabled.
+     */
+    public static boolean isEnabled() {
+
+        return isLocalIntrospectionEnabled() || isDenylistEnabled();
+    }
+
+    /**
+     * Record revoked access tokens.
+     *
+     * @param tokenHashes Hashes of the revoked token identifiers.
+     * @throws IdentityOAuth2Exception If the tokens could not be added to the denylist.
+     */
+    public void addRevokedTokenHashes(Collection<String> tokenHashes) throws IdentityOAuth2Exception {
+
+        long now = System.currentTimeMillis();
+        long expiryTime = now + TimeUnit.SECONDS.toMillis(getRetention());
+        for (String tokenHash : tokenHashes) {
+            if (tokenHash != null) {
+                addEntry(new TokenRevocationEntry(TokenRevocationEntry.EntryType.TOKEN, tokenHash, now,
+                        expiryTime));
+            }
+        }
+        purgeIfRequired(now);
+    }
+
+    /**
+     * Record a revoked access token, which is kept until the token expires.
+     *
+     * @param tokenIdentifier Token identifier, which is the {@code jti} of a JWT access token.
+     * @param expiryTime      Expiry time of the token in milliseconds.
+     * @throws IdentityOAuth2Exception If the token could not be added to the denylist.
+     */
+    public void addRevokedToken(String tokenIdentifier, long expiryTime) throws IdentityOAuth2Exception {
+
+        long now = System.currentTimeMillis();
+        if (StringUtils.isBlank(tokenIdentifier) || expiryTime <= now || isRevoked(tokenIdentifier)) {
+            return;
+        }
+        addEntry(new TokenRevocationEntry(TokenRevocationEntry.EntryType.TOKEN,
+                hashingPersistenceProcessor.getProcessedAccessTokenIdentifier(tokenIdentifier), now, expiryTime));
+        purgeIfRequired(now);
+    }
+
+    /**
+     * Record a revoked access token, which is kept until the token expires.
+     *
+     * @param accessTokenDO Access token.
+     * @throws IdentityOAuth2Exception If the token could not be added to the denylist.
+     */
+    public void addRevokedToken(AccessTokenDO accessTokenDO) throws IdentityOAuth2Exception {
+
+        long expiryTime;
+        if (accessTokenDO.getIssuedTime() == null || accessTokenDO.getValidityPeriodInMillis() < 0) {
+            expiryTime = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(getRetention());
+        } else {
+            expiryTime = accessTokenDO.getIssuedTime().getTime() + accessTokenDO.getValidityPeriodInMillis();
+        }
+        addRevokedToken(getTokenIdentifier(accessTokenDO), expiryTime);
+    }
+
+    /**
+     * Revoke every token of a user issued up to now.
+     *
+     * @param userId User id.
+     * @throws IdentityOAuth2Exception If the watermark could not be added to the denylist.
+     */
+    public void revokeTokensOfUser(String userId) throws IdentityOAuth2Exception {
+
+        addWatermark(TokenRevocationEntry.EntryType.USER, userId);
+    }
+
+    /**
+     * Revoke every token of a client issued up to now.
+     *
+     * @param consumerKey Consumer key of the client.
+     * @throws IdentityOAuth2Exception If the watermark could not be added to the denylist.
+     */
+    public void revokeTokensOfClient(String consumerKey) throws IdentityOAuth2Exception {
+
+        addWatermark(TokenRevocationEntry.EntryType.CLIENT, consumerKey);
+    }
+
+    /**
+     * Check whether a JWT access token was revoked.
+     *
+     * @param jwtId Value of the {@code jti} claim of the token.
+     * @return True if the token was revoked.
+     * @throws IdentityOAuth2Exception If the token identifier could not be hashed.
+     */
+    public boolean isRevoked(String jwtId) throws IdentityOAuth2Exception {
+
+        syncIfRequired();
+        if (StringUtils.isBlank(jwtId) || revokedTokenHashes.isEmpty()) {
+            return false;
+        }
+        Long expiryTime = revokedTokenHashes.get(hashingPersistenceProcessor.getProcessedAccessTokenIdentifier(jwtId));
+        return expiryTime != null && expiryTime > System.currentTimeMillis();
+    }
+
+    /**
+     * Check whether an access token was revoked, either by itself or by a watermark of its user or client.
+     *
+     * @param tokenIdentifier Token identifier, which is the {@code jti} of a JWT access token.
+     * @param consumerKey     Consumer key of the client the token was issued to, or null.
+     * @param userId          Id of the user the token was issued to, or null.
+     * @param issuedTime      Issued time of the token in milliseconds.
+     * @return True if the token was revoked.
+     * @throws IdentityOAuth2Exception If the token identifier could not be hashed.
+     */
+    public boolean isRevoked(String tokenIdentifier, String consumerKey, String userId, long issuedTime)
+            throws IdentityOAuth2Exception {
+
+        if (isRevoked(tokenIdentifier)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        return isRevokedBefore(userWatermarks, userId, issuedTime, now) ||
+                isRevokedBefore(clientWatermarks, consumerKey, issuedTime, now);
+    }
+
+    /**
+     * Check whether an access token was revoked, either by itself or by a watermark of its user or client.
+     *
+     * @param accessTokenDO Access token.
+     * @return True if the token was revoked.
+     * @throws IdentityOAuth2Exception If the token identifier could not be hashed.
+     */
+    public boolean isRevoked(AccessTokenDO accessTokenDO) throws IdentityOAuth2Exception {
+
+        String userId = null;
+        if (accessTokenDO.getAuthzUser() != null) {
+            try {
+                userId = accessTokenDO.getAuthzUser().getUserId();
+            } catch (UserIdNotFoundException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Unable to resolve the user id of the access token. Skipping the user watermark.", e);
+                }
+            }
+        }
+        long issuedTime = accessTokenDO.getIssuedTime() != null ? accessTokenDO.getIssuedTime().getTime() : 0;
+        return isRevoked(getTokenIdentifier(accessTokenDO), accessTokenDO.getConsumerKey(), userId, issuedTime);
+    }
+
+    private String getTokenIdentifier(AccessTokenDO accessTokenDO) {
+
+        String tokenIdentifier = accessTokenDO.getAccessToken();
+        if (OAuth2Util.isJWT(tokenIdentifier)) {
+            try {
+                return JWTParser.parse(tokenIdentifier).getJWTClaimsSet().getJWTID();
+            } catch (ParseException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Unable to read the jti of the access token. Using the token as the identifier.", e);
+                }
+            }
+        }
+        return tokenIdentifier;
+    }
+
+    private boolean isRevokedBefore(Map<String, TokenRevocationEntry> watermarks, String key, long issuedTime,
+                                    long now) {
+
+        if (key == null || watermarks.isEmpty()) {
+            return false;
+        }
+        TokenRevocationEntry watermark = watermarks.get(key);
+        return watermark != null && watermark.getExpiryTime() > now && issuedTime < watermark.getRevokedTime();
+    }
+
+    private void addWatermark(TokenRevocationEntry.EntryType entryType, String key) throws IdentityOAuth2Exception {
+
+        if (StringUtils.isBlank(key)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        addEntry(new TokenRevocationEntry(entryType, key, now, now + TimeUnit.SECONDS.toMillis(getRetention())));
+        purgeIfRequired(now);
+    }
+
+    private void addEntry(TokenRevocationEntry entry) throws IdentityOAuth2Exception {
+
+        applyEntry(entry);
+        if (isDenylistEnabled()) {
+            OAuthTokenPersistenceFactory.getInstance().getTokenRevocationDAO().addRevocationEntry(entry);
+        }
+    }
+
+    private void applyEntry(TokenRevocationEntry entry) {
+
+        switch (entry.getEntryType()) {
+            case TOKEN:
+                revokedTokenHashes.merge(entry.getEntryKey(), entry.getExpiryTime(), Math::max);
+                break;
+            case USER:
+                userWatermarks.merge(entry.getEntryKey(), entry, RevokedJWTRegistry::getLatest);
+                break;
+            case CLIENT:
+                clientWatermarks.merge(entry.getEntryKey(), entry, RevokedJWTRegistry::getLatest);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static TokenRevocationEntry getLatest(TokenRevocationEntry entry, TokenRevocationEntry otherEntry) {
+
+        return entry.getRevokedTime() >= otherEntry.getRevokedTime() ? entry : otherEntry;
+    }
+
+    private void syncIfRequired() {
+
+        if (System.currentTimeMillis() < nextSyncTime || !isDenylistEnabled() || !syncLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            if (now < nextSyncTime) {
+                return;
+            }
+            nextSyncTime = now + TimeUnit.SECONDS.toMillis(getSyncInterval());
+            long revokedAfter = lastSyncTime == 0 ? 0 : lastSyncTime - SYNC_OVERLAP;
+            for (TokenRevocationEntry entry : OAuthTokenPersistenceFactory.getInstance().getTokenRevocationDAO()
+                    .getRevocationEntries(revokedAfter, now)) {
+                applyEntry(entry);
+            }
+            lastSyncTime = now;
+            purgeIfRequired(now);
+        } catch (IdentityOAuth2Exception e) {
+            log.error("Error while reading the revoked token denylist. Retrying in the next sync interval.", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void purgeIfRequired(long now) {
+
+        if (now < nextPurgeTime) {
+            return;
+        }
+        nextPurgeTime = now + TimeUnit.SECONDS.toMillis(getRetention()) / 10;
+        revokedTokenHashes.values().removeIf(revokedTokenExpiryTime -> revokedTokenExpiryTime <= now);
+        userWatermarks.values().removeIf(watermark -> watermark.getExpiryTime() <= now);
+        clientWatermarks.values().removeIf(watermark -> watermark.getExpiryTime() <= now);
+        if (isDenylistEnabled()) {
+            try {
+                OAuthTokenPersistenceFactory.getInstance().getTokenRevocationDAO().removeExpiredRevocationEntries(now);
+            } catch (IdentityOAuth2Exception e) {
+                log.warn("Error while removing the expired entries of the revoked token denylist.", e);
+            }
+        }
+    }
+
+    private static long getRetention() {
+
+        String retention = IdentityUtil.getProperty(OAuth2Constants.JWT_LOCAL_INTROSPECTION_REVOKED_TOKEN_RETENTION);
+        if (StringUtils.isNotBlank(retention)) {
+            try {
+                return Long.parseLong(retention.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid revoked token retention: " + retention + ". Using the default value: " +
+                        OAuth2Constants.DEFAULT_JWT_LOCAL_INTROSPECTION_REVOKED_TOKEN_RETENTION);
+            }
+        }
+        return OAuth2Constants.DEFAULT_JWT_LOCAL_INTROSPECTION_REVOKED_TOKEN_RETENTION;
+    }
+
+    private static long getSyncInterval() {
+
+        String syncInterval = IdentityUtil.getProperty(OAuth2Constants.REVOKED_TOKEN_DENYLIST_SYNC_INTERVAL);
+        if (StringUtils.isNotBlank(syncInterval)) {
+            try {
+                return Long.parseLong(syncInterval.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid revoked token denylist sync interval: " + syncInterval +
+                        ". Using the default value: " + OAuth2Constants.DEFAULT_REVOKED_TOKEN_DENYLIST_SYNC_INTERVAL);
+            }
+        }
+        return OAuth2Constants.DEFAULT_REVOKED_TOKEN_DENYLIST_SYNC_INTERVAL;
+    }
+}
@@ -39,9 +39,7 @@ import org.wso2.carbon.identity.application.common.util.IdentityApplicationManag
 import org.wso2.carbon.identity.base.IdentityConstants;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
-import org.wso2.carbon.identity.oauth.cache.CacheEntry;
-import org.wso2.carbon.identity.oauth.cache.OAuthCache;
-import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
+import org.wso2.carbon.identity.oauth.cache.UserRoleCache;
 import org.wso2.carbon.identity.oauth.callback.OAuthCallback;
 import org.wso2.carbon.identity.oauth.common.GrantType;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
@@ -51,15 +49,14 @@ import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.authz.OAuthAuthzReqMessageContext;
-import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationRequestDTO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.RequestParameter;
-import org.wso2.carbon.identity.oauth2.model.ResourceScopeCacheEntry;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.validators.OAuth2TokenValidationMessageContext;
+import org.wso2.carbon.identity.oauth2.validators.ResourceScopeResolver;
 import org.wso2.carbon.idp.mgt.IdentityProviderManagementException;
 import org.wso2.carbon.idp.mgt.IdentityProviderManager;
 import org.wso2.carbon.user.api.UserStoreException;
@@ -157,31 +154,9 @@ public class RoleBasedScopeIssuer extends AbstractRoleBasedScopeIssuer implement
             return true;
         }
         String resourceScope = null;
-        int resourceTenantId = -1;
-        boolean cacheHit = false;
-        // Check the cache, if caching is enabled.
-        OAuthCacheKey cacheKey = new OAuthCacheKey(resource);
-        CacheEntry result = OAuthCache.getInstance().getValueFromCache(cacheKey);
-        // Cache hit
-        if (result instanceof ResourceScopeCacheEntry) {
-            resourceScope = ((ResourceScopeCacheEntry) result).getScope();
-            resourceTenantId = ((ResourceScopeCacheEntry) result).getTenantId();
-            cacheHit = true;
-        }
-        // Cache was not hit. So retrieve from database.
-        if (!cacheHit) {
-            Pair<String, Integer> scopeMap = OAuthTokenPersistenceFactory.getInstance()
-                    .getTokenManagementDAO().findTenantAndScopeOfResource(resource);
-            if (scopeMap != null) {
-                resourceScope = scopeMap.getLeft();
-                resourceTenantId = scopeMap.getRight();
-            }
-            cacheKey = new OAuthCacheKey(resource);
-            ResourceScopeCacheEntry cacheEntry = new ResourceScopeCacheEntry(resourceScope);
-            cacheEntry.setTenantId(resourceTenantId);
-            // Store resourceScope in cache even if it is null (to avoid database calls when accessing resources for
-            // which scopes haven't been defined).
-            OAuthCache.getInstance().addToCache(cacheKey, cacheEntry);
+        Pair<String, Integer> scopeMap = ResourceScopeResolver.getInstance().findTenantAndScopeOfResource(resource);
+        if (scopeMap != null) {
+            resourceScope = scopeMap.getLeft();
         }
         // Return TRUE if - There does not exist a scope definition for the resource.
         if (resourceScope == null) {
@@ -190,9 +165,8 @@ public class RoleBasedScopeIssuer extends AbstractRoleBasedScopeIssuer implement
             }
             return true;
         }
-        List<String> scopeList = new ArrayList<>(Arrays.asList(scopes));
         // If the access token does not bear the scope required for accessing the Resource.
-        if (!scopeList.contains(resourceScope)) {
+        if (!accessTokenDO.getScopeSet().contains(resourceScope)) {
             if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
                 log.debug("Access token '" + accessTokenDO.getAccessToken() + "' does not bear the scope '"
                         + resourceScope + "'");
@@ -456,7 +430,11 @@ public class RoleBasedScopeIssuer extends AbstractRoleBasedScopeIssuer implement
             }
             UserStoreManager userStoreManager = realmService.getTenantUserRealm(tenantId).getUserStoreManager();
             String endUsernameWithDomain = addDomainToName(username, userStoreDomain);
-            userRoles = userStoreManager.getRoleListOfUser(endUsernameWithDomain);
+            // Roles of federated users are looked up by their subject identifier, hence are not cached.
+            String userIdentifier = authenticatedUser.isFederatedUser() ? null :
+                    UserRoleCache.getUserIdentifier(authenticatedUser);
+            userRoles = UserRoleCache.getInstance().getValue(userIdentifier, UserRoleCache.USER_STORE_ROLES,
+                    tenantId, () -> userStoreManager.getRoleListOfUser(endUsernameWithDomain));
 
         } catch (UserStoreException e) {
             // Log and return since we do not want to stop issuing the token in case of scope validation failures.
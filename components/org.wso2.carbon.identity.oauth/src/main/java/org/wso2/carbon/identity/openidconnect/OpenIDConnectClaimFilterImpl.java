@@ -35,11 +35,11 @@ import org.wso2.carbon.identity.claim.metadata.mgt.model.ExternalClaim;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
-import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.openidconnect.internal.OpenIDConnectServiceComponentHolder;
+import org.wso2.carbon.identity.openidconnect.model.OIDCScopeClaimIndex;
 import org.wso2.carbon.identity.openidconnect.model.RequestedClaim;
 import org.wso2.carbon.user.core.UserCoreConstants;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
@@ -48,6 +48,7 @@ import org.wso2.carbon.utils.DiagnosticLog;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -100,30 +101,17 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
         Map<String, Object> claimsToBeReturned = new HashMap<>();
         Map<String, Object> addressScopeClaims = new HashMap<>();
 
-        Map<String, List<String>> scopeClaimsMap = getOIDCScopeClaimMap(spTenantDomain);
+        OIDCScopeClaimIndex scopeClaimIndex = getOIDCScopeClaimIndex(spTenantDomain);
 
-        if (MapUtils.isNotEmpty(scopeClaimsMap)) {
-            List<String> addressScopeClaimUris = getAddressScopeClaimUris(scopeClaimsMap);
-            // Iterate through scopes requested in the OAuth2/OIDC request to filter claims
-            for (String requestedScope : requestedScopes) {
-                // Check if requested scope is a supported OIDC scope value
-
-                if (scopeClaimsMap.containsKey(requestedScope)) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Requested scope: " + requestedScope + " is a defined OIDC Scope in tenantDomain: " +
-                                spTenantDomain + ". Filtering claims based on the permitted claims in the scope.");
-                    }
-                    // Requested scope is an registered OIDC scope. Filter and return the claims belonging to the scope.
-                    Map<String, Object> filteredClaims =
-                            handleRequestedOIDCScope(userClaims, addressScopeClaims, scopeClaimsMap,
-                                    addressScopeClaimUris, requestedScope);
-                    claimsToBeReturned.putAll(filteredClaims);
-                } else {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Requested scope: " + requestedScope + " is not a defined OIDC Scope in " +
-                                "tenantDomain: " + spTenantDomain + ".");
-                    }
-                }
+        if (!scopeClaimIndex.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                logRequestedOIDCScopes(scopeClaimIndex, Arrays.asList(requestedScopes), spTenantDomain);
+            }
+            // Claims permitted by the requested scopes which are registered OIDC scopes.
+            BitSet permittedClaims = scopeClaimIndex.getClaimBits(Arrays.asList(requestedScopes));
+            for (int i = permittedClaims.nextSetBit(0); i >= 0; i = permittedClaims.nextSetBit(i + 1)) {
+                handlePermittedClaim(userClaims, claimsToBeReturned, addressScopeClaims, scopeClaimIndex,
+                        scopeClaimIndex.getClaim(i));
             }
         } else {
             if (log.isDebugEnabled()) {
@@ -148,25 +136,16 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
     public List<String> getClaimsFilteredByOIDCScopes(Set<String> requestedScopes, String spTenantDomain) {
 
         List<String> filteredClaims = new ArrayList<>();
-        Map<String, List<String>> scopeClaimsMap = getOIDCScopeClaimMap(spTenantDomain);
+        OIDCScopeClaimIndex scopeClaimIndex = getOIDCScopeClaimIndex(spTenantDomain);
 
-        if (MapUtils.isNotEmpty(scopeClaimsMap)) {
+        if (!scopeClaimIndex.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                logRequestedOIDCScopes(scopeClaimIndex, requestedScopes, spTenantDomain);
+            }
             // Iterate through scopes requested in the OAuth2/OIDC request to filter claims
             for (String requestedScope : requestedScopes) {
-                // Check if requested scope is a supported OIDC scope value
-                if (scopeClaimsMap.containsKey(requestedScope)) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Requested scope: " + requestedScope + " is a defined OIDC Scope in tenantDomain: " +
-                                spTenantDomain + ". Filtering claims based on the permitted claims in the scope.");
-                    }
-                    // Requested scope is an registered OIDC scope. Filter and return the claims belonging to the scope.
-                    filteredClaims.addAll(getClaimUrisInSupportedOIDCScope(scopeClaimsMap, requestedScope));
-                } else {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Requested scope: " + requestedScope + " is not a defined OIDC Scope in " +
-                                "tenantDomain: " + spTenantDomain + ".");
-                    }
-                }
+                // Claims belonging to the scope, which are empty if the scope is not a registered OIDC scope.
+                filteredClaims.addAll(scopeClaimIndex.getClaims(requestedScope));
             }
         } else {
             if (log.isDebugEnabled()) {
@@ -242,10 +221,10 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
 
         boolean hasAddressClaims = false;
         JSONObject consentedAddressClaims = new JSONObject();
-        Map<String, List<String>> scopeClaimsMap = getOIDCScopeClaimMap(spTenantDomain);
+        OIDCScopeClaimIndex scopeClaimIndex = getOIDCScopeClaimIndex(spTenantDomain);
 
-        if (userClaims.containsKey(ADDRESS) && MapUtils.isNotEmpty(scopeClaimsMap)) {
-            List<String> addressScopeClaimUris = getAddressScopeClaimUris(scopeClaimsMap);
+        if (userClaims.containsKey(ADDRESS) && !scopeClaimIndex.isEmpty()) {
+            List<String> addressScopeClaimUris = scopeClaimIndex.getClaims(ADDRESS_SCOPE);
             consentedAddressClaims = (JSONObject) userClaims.get(ADDRESS);
             for (String addressScopeClaimEntry : addressScopeClaimUris) {
                 if (userConsentClaimUrisInOIDCDialect.contains(addressScopeClaimEntry)) {
@@ -273,23 +252,36 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
     }
 
     /**
-     * Retrieve the OIDC scope claim map for the given SP tenant domain.
+     * Retrieve the OIDC scope claim index for the given SP tenant domain.
      *
      * @param spTenantDomain Tenant domain of the SP.
-     * @return OIDC scope claim map for the tenant.
+     * @return OIDC scope claim index for the tenant.
      */
-    private Map<String, List<String>> getOIDCScopeClaimMap(String spTenantDomain) {
+    private OIDCScopeClaimIndex getOIDCScopeClaimIndex(String spTenantDomain) {
 
-        // Map<"openid", "first_name,last_name,username">
-        Map<String, List<String>> scopeClaimsMap = new HashMap<>();
         int tenantId = IdentityTenantUtil.getTenantId(spTenantDomain);
-
         // Load OIDC scopes and mapped claims from the cache or db.
-        List<ScopeDTO> oidcScopesList = getOIDCScopes(tenantId);
-        for (ScopeDTO scope : oidcScopesList) {
-            scopeClaimsMap.put(scope.getName(), Arrays.asList(scope.getClaim()));
+        try {
+            return OAuthTokenPersistenceFactory.getInstance().getScopeClaimMappingDAO().getScopeClaimIndex(tenantId);
+        } catch (IdentityOAuth2Exception e) {
+            log.error("Error while loading oidc scopes and claims for the tenant: " + tenantId);
+        }
+        return new OIDCScopeClaimIndex(Collections.emptyList());
+    }
+
+    private void logRequestedOIDCScopes(OIDCScopeClaimIndex scopeClaimIndex, Iterable<String> requestedScopes,
+                                        String spTenantDomain) {
+
+        for (String requestedScope : requestedScopes) {
+            // Check if requested scope is a supported OIDC scope value
+            if (scopeClaimIndex.isOIDCScope(requestedScope)) {
+                log.debug("Requested scope: " + requestedScope + " is a defined OIDC Scope in tenantDomain: " +
+                        spTenantDomain + ". Filtering claims based on the permitted claims in the scope.");
+            } else {
+                log.debug("Requested scope: " + requestedScope + " is not a defined OIDC Scope in " +
+                        "tenantDomain: " + spTenantDomain + ".");
+            }
         }
-        return scopeClaimsMap;
     }
 
     private boolean isConsentManagementServiceDisabled(ServiceProvider serviceProvider) {
@@ -346,55 +338,39 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
         return essentialClaims;
     }
 
-    private List<ScopeDTO> getOIDCScopes(int tenantId) {
+    private void handlePermittedClaim(Map<String, Object> userClaimsInOIDCDialect,
+                                      Map<String, Object> filteredClaims,
+                                      Map<String, Object> addressScopeClaims,
+                                      OIDCScopeClaimIndex scopeClaimIndex,
+                                      String scopeClaim) {
 
-        List<ScopeDTO> oidcScopesList = new ArrayList<>();
-        try {
-            oidcScopesList = OAuthTokenPersistenceFactory.getInstance().getScopeClaimMappingDAO().getScopes(tenantId);
-        } catch (IdentityOAuth2Exception e) {
-            log.error("Error while loading oidc scopes and claims for the tenant: " + tenantId);
+        String oidcClaimUri = scopeClaim;
+        boolean isAddressClaim = false;
+        if (isAddressClaim(scopeClaim, scopeClaimIndex)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Identified an address claim: " + scopeClaim + ". Removing \"address.\" prefix from " +
+                        "the claimUri");
+            }
+            oidcClaimUri = removeAddressPrefix(scopeClaim);
+            isAddressClaim = true;
         }
-        return oidcScopesList;
-    }
-
-    private Map<String, Object> handleRequestedOIDCScope(Map<String, Object> userClaimsInOIDCDialect,
-                                                         Map<String, Object> addressScopeClaims,
-                                                         Map<String, List<String>> scopeClaimsMap,
-                                                         List<String> addressScopeClaimUris,
-                                                         String oidcScope) {
-
-        Map<String, Object> filteredClaims = new HashMap<>();
-        List<String> claimUrisInRequestedScope = getClaimUrisInSupportedOIDCScope(scopeClaimsMap, oidcScope);
-        for (String scopeClaim : claimUrisInRequestedScope) {
-            String oidcClaimUri = scopeClaim;
-            boolean isAddressClaim = false;
-            if (isAddressClaim(scopeClaim, addressScopeClaimUris)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Identified an address claim: " + scopeClaim + ". Removing \"address.\" prefix from " +
-                            "the claimUri");
-                }
-                oidcClaimUri = removeAddressPrefix(scopeClaim);
-                isAddressClaim = true;
+        // Check whether the user claims contain the permitted claim uri
+        if (userClaimsInOIDCDialect.containsKey(oidcClaimUri)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Adding claim:" + oidcClaimUri + " into the filtered claims");
             }
-            // Check whether the user claims contain the permitted claim uri
-            if (userClaimsInOIDCDialect.containsKey(oidcClaimUri)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Adding claim:" + oidcClaimUri + " into the filtered claims");
-                }
-                Object claimValue = userClaimsInOIDCDialect.get(oidcClaimUri);
-                // User claim is allowed for this scope.
-                if (isAddressClaim) {
-                    addressScopeClaims.put(oidcClaimUri, claimValue);
-                } else {
-                    filteredClaims.put(oidcClaimUri, claimValue);
-                }
+            Object claimValue = userClaimsInOIDCDialect.get(oidcClaimUri);
+            // User claim is allowed for this scope.
+            if (isAddressClaim) {
+                addressScopeClaims.put(oidcClaimUri, claimValue);
             } else {
-                if (log.isDebugEnabled()) {
-                    log.debug("No valid user claim value found for the claimUri:" + oidcClaimUri);
-                }
+                filteredClaims.put(oidcClaimUri, claimValue);
+            }
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("No valid user claim value found for the claimUri:" + oidcClaimUri);
             }
         }
-        return filteredClaims;
     }
 
     /**
@@ -424,24 +400,9 @@ public class OpenIDConnectClaimFilterImpl implements OpenIDConnectClaimFilter {
         }
     }
 
-    private List<String> getAddressScopeClaimUris(Map<String, List<String>> scopeClaimsMap) {
+    private boolean isAddressClaim(String scopeClaim, OIDCScopeClaimIndex scopeClaimIndex) {
 
-        return getClaimUrisInSupportedOIDCScope(scopeClaimsMap, ADDRESS_SCOPE);
-    }
-
-    private boolean isAddressClaim(String scopeClaim, List<String> addressScopeClaims) {
-
-        return StringUtils.startsWith(scopeClaim, ADDRESS_PREFIX) || addressScopeClaims.contains(scopeClaim);
-    }
-
-    private List<String> getClaimUrisInSupportedOIDCScope(Map<String, List<String>> scopeClaimsMap,
-                                                          String requestedScope) {
-
-        List<String> requestedScopeClaimsList = new ArrayList<>();
-        if (scopeClaimsMap.containsKey(requestedScope)) {
-            requestedScopeClaimsList = scopeClaimsMap.get(requestedScope);
-        }
-        return requestedScopeClaimsList;
+        return StringUtils.startsWith(scopeClaim, ADDRESS_PREFIX) || scopeClaimIndex.isAddressScopeClaim(scopeClaim);
     }
 
     private void handleUpdateAtClaim(Map<String, Object> returnClaims) {
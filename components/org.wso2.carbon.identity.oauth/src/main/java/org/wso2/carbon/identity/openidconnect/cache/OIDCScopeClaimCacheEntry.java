@@ -20,6 +20,7 @@ package org.wso2.carbon.identity.openidconnect.cache;
 
 import org.wso2.carbon.identity.core.cache.CacheEntry;
 import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
+import org.wso2.carbon.identity.openidconnect.model.OIDCScopeClaimIndex;
 
 import java.util.List;
 
@@ -29,6 +30,7 @@ import java.util.List;
 public class OIDCScopeClaimCacheEntry extends CacheEntry {
 
     private List<ScopeDTO> scopeList;
+    private transient volatile OIDCScopeClaimIndex scopeClaimIndex;
 
     public List<ScopeDTO> getScopeClaimMapping() {
 
@@ -38,5 +40,21 @@ public class OIDCScopeClaimCacheEntry extends CacheEntry {
     public void setScopeClaimMapping(List<ScopeDTO> scopeList) {
 
         this.scopeList = scopeList;
+        this.scopeClaimIndex = null;
+    }
+
+    /**
+     * Get the index of the scope claim mapping. The index is built on first use and kept along with the entry.
+     *
+     * @return Scope claim index.
+     */
+    public OIDCScopeClaimIndex getScopeClaimIndex() {
+
+        OIDCScopeClaimIndex index = scopeClaimIndex;
+        if (index == null) {
+            index = new OIDCScopeClaimIndex(scopeList);
+            scopeClaimIndex = index;
+        }
+        return index;
     }
 }
@@ -22,11 +22,13 @@ package org.wso2.carbon.identity.openidconnect.dao;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.oauth.cache.ScopeCatalogCache;
 import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCache;
 import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCacheEntry;
+import org.wso2.carbon.identity.openidconnect.model.OIDCScopeClaimIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -46,6 +48,7 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
     public void initScopeClaimMapping(int tenantId, List<ScopeDTO> scopeClaims) throws IdentityOAuth2Exception {
 
         scopeClaimMappingDAOImpl.initScopeClaimMapping(tenantId, scopeClaims);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantId);
         OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = new OIDCScopeClaimCacheEntry();
         oidcScopeClaimCacheEntry.setScopeClaimMapping(scopeClaims);
         oidcScopeClaimCache.addScopeClaimMap(tenantId, oidcScopeClaimCacheEntry);
@@ -58,6 +61,7 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
     public void addScopes(int tenantId, List<ScopeDTO> scopeClaimsMap) throws IdentityOAuth2Exception {
 
         scopeClaimMappingDAOImpl.addScopes(tenantId, scopeClaimsMap);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantId);
         OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = new OIDCScopeClaimCacheEntry();
         oidcScopeClaimCacheEntry.setScopeClaimMapping(scopeClaimsMap);
         oidcScopeClaimCache.addScopeClaimMap(tenantId, oidcScopeClaimCacheEntry);
@@ -71,6 +75,7 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
 
         oidcScopeClaimCache.clearScopeClaimMap(tenantId);
         scopeClaimMappingDAOImpl.addScope(tenantId, scope, claimsList);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantId);
         if (log.isDebugEnabled()) {
             log.debug("The cache oidcScopeClaimCache is cleared for the tenant : " + tenantId);
         }
@@ -81,6 +86,7 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
 
         oidcScopeClaimCache.clearScopeClaimMap(tenantId);
         scopeClaimMappingDAOImpl.addScope(scope, tenantId);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantId);
         if (log.isDebugEnabled()) {
             log.debug("The cache oidcScopeClaimCache is cleared for the tenant : " + tenantId);
         }
@@ -94,10 +100,19 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
         return oidcScopeClaimCacheEntry.getScopeClaimMapping();
     }
 
+    @Override
+    public OIDCScopeClaimIndex getScopeClaimIndex(int tenantId) throws IdentityOAuth2Exception {
+
+        OIDCScopeClaimCacheEntry oidcScopeClaimCacheEntry = oidcScopeClaimCache.getScopeClaimMap(tenantId);
+        oidcScopeClaimCacheEntry = loadOIDCScopeClaims(tenantId, oidcScopeClaimCacheEntry);
+        return oidcScopeClaimCacheEntry.getScopeClaimIndex();
+    }
+
     @Override
     public void deleteScope(String scope, int tenantId) throws IdentityOAuth2Exception {
 
         scopeClaimMappingDAOImpl.deleteScope(scope, tenantId);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantId);
         oidcScopeClaimCache.clearScopeClaimMap(tenantId);
         if (log.isDebugEnabled()) {
             log.debug("OIDC scope claims mapping deleted from the oidcScopeClaimCache for tenant: " + tenantId);
@@ -109,6 +124,7 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
             throws IdentityOAuth2Exception {
 
         scopeClaimMappingDAOImpl.updateScope(scope, tenantId, addClaims, deleteClaims);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantId);
         oidcScopeClaimCache.clearScopeClaimMap(tenantId);
         if (log.isDebugEnabled()) {
             log.debug("The cache oidcScopeClaimCache is cleared for the tenant : " + tenantId);
@@ -119,6 +135,7 @@ public class CacheBackedScopeClaimMappingDAOImpl implements ScopeClaimMappingDAO
     public void updateScope(ScopeDTO scope, int tenantId) throws IdentityOAuth2Exception {
 
         scopeClaimMappingDAOImpl.updateScope(scope, tenantId);
+        ScopeCatalogCache.getInstance().refreshScopeCatalog(tenantId);
         oidcScopeClaimCache.clearScopeClaimMap(tenantId);
         if (log.isDebugEnabled()) {
             log.debug("The cache oidcScopeClaimCache is cleared for the tenant : " + tenantId);
@@ -24,6 +24,7 @@ import org.wso2.carbon.identity.oauth.IdentityOAuthAdminException;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.openidconnect.model.RequestedClaim;
 
+import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -126,4 +127,19 @@ public interface RequestObjectDAO {
      * @throws IdentityOAuth2Exception
      */
     void updateRequestObjectReferenceCodeToToken(String codeId, String tokenId) throws IdentityOAuth2Exception;
+
+    /**
+     * Updates code to token once a token is issued, as a part of the transaction of the given connection. The
+     * connection is neither committed nor closed.
+     *
+     * @param codeId     code id
+     * @param tokenId    token id
+     * @param connection database connection
+     * @throws IdentityOAuth2Exception
+     */
+    default void updateRequestObjectReferenceCodeToToken(String codeId, String tokenId, Connection connection)
+            throws IdentityOAuth2Exception {
+
+        updateRequestObjectReferenceCodeToToken(codeId, tokenId);
+    }
 }
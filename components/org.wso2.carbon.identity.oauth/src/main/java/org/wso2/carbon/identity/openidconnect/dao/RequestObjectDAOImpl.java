@@ -405,27 +405,35 @@ public class RequestObjectDAOImpl implements RequestObjectDAO {
     @Override
     public void updateRequestObjectReferenceCodeToToken(String codeId, String tokenId) throws IdentityOAuth2Exception {
 
-        Connection connection = null;
-        PreparedStatement ps = null;
+        Connection connection = IdentityDatabaseUtil.getDBConnection();
         try {
-            connection = IdentityDatabaseUtil.getDBConnection();
-            deleteRequestObjectReferenceforCode(connection, tokenId);
-            String sql = SQLQueries.UPDATE_REQUEST_OBJECT_TOKEN_FOR_CODE;
-            ps = connection.prepareStatement(sql);
-            ps.setString(1, tokenId);
-            ps.setString(2, codeId);
-            ps.execute();
+            updateRequestObjectReferenceCodeToToken(codeId, tokenId, connection);
             IdentityDatabaseUtil.commitTransaction(connection);
-        } catch (SQLException e) {
+        } catch (IdentityOAuth2Exception e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw e;
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public void updateRequestObjectReferenceCodeToToken(String codeId, String tokenId, Connection connection)
+            throws IdentityOAuth2Exception {
+
+        try {
+            deleteRequestObjectReferenceforCode(connection, tokenId);
+            try (PreparedStatement ps = connection.prepareStatement(SQLQueries.UPDATE_REQUEST_OBJECT_TOKEN_FOR_CODE)) {
+                ps.setString(1, tokenId);
+                ps.setString(2, codeId);
+                ps.execute();
+            }
+        } catch (SQLException e) {
             String errorMsg = "Can not update token id for code id: " + codeId;
             throw new IdentityOAuth2Exception(errorMsg, e);
-
         } catch (IdentityOAuthAdminException e) {
             String errorMsg = "Can not delete existing entry for the same token id" + tokenId;
             throw new IdentityOAuth2Exception(errorMsg, e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(connection, null, ps);
         }
     }
 
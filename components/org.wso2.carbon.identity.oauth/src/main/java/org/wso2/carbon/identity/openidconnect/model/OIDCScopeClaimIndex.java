@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.openidconnect.model;
+
+import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index of the OIDC scope to claim mappings of a tenant.
+ * <p>
+ * Every claim URI is assigned a position, and the claims of each scope are kept as a {@link BitSet} of those
+ * positions, so that the claims permitted by a set of requested scopes can be resolved with a few bitwise
+ * operations instead of scanning the scope and claim lists.
+ */
+public class OIDCScopeClaimIndex {
+
+    private static final String ADDRESS_SCOPE = "address";
+
+    private final Map<String, List<String>> scopeClaims;
+    private final Map<String, BitSet> scopeClaimBits;
+    private final Map<String, Set<String>> claimScopes;
+    private final List<String> claims;
+
+    /**
+     * Build the index from the OIDC scopes of a tenant.
+     *
+     * @param scopes OIDC scopes along with the mapped claims.
+     */
+    public OIDCScopeClaimIndex(List<ScopeDTO> scopes) {
+
+        Map<String, List<String>> scopeClaims = new HashMap<>();
+        Map<String, BitSet> scopeClaimBits = new HashMap<>();
+        Map<String, Set<String>> claimScopes = new HashMap<>();
+        Map<String, Integer> claimPositions = new HashMap<>();
+        List<String> claims = new ArrayList<>();
+        if (scopes != null) {
+            for (ScopeDTO scope : scopes) {
+                if (scope == null || scope.getName() == null) {
+                    continue;
+                }
+                List<String> claimsOfScope = scope.getClaim() == null ? Collections.emptyList() :
+                        Collections.unmodifiableList(new ArrayList<>(Arrays.asList(scope.getClaim())));
+                BitSet claimBits = new BitSet();
+                for (String claim : claimsOfScope) {
+                    if (claim == null) {
+                        continue;
+                    }
+                    Integer position = claimPositions.get(claim);
+                    if (position == null) {
+                        position = claims.size();
+                        claimPositions.put(claim, position);
+                        claims.add(claim);
+                    }
+                    claimBits.set(position);
+                    claimScopes.computeIfAbsent(claim, key -> new LinkedHashSet<>()).add(scope.getName());
+                }
+                scopeClaims.put(scope.getName(), claimsOfScope);
+                scopeClaimBits.put(scope.getName(), claimBits);
+            }
+        }
+        for (Map.Entry<String, Set<String>> entry : claimScopes.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+        this.scopeClaims = Collections.unmodifiableMap(scopeClaims);
+        this.scopeClaimBits = scopeClaimBits;
+        this.claimScopes = Collections.unmodifiableMap(claimScopes);
+        this.claims = Collections.unmodifiableList(claims);
+    }
+
+    /**
+     * Check whether there are no OIDC scopes in the index.
+     *
+     * @return True if there are no OIDC scopes.
+     */
+    public boolean isEmpty() {
+
+        return scopeClaims.isEmpty();
+    }
+
+    /**
+     * Check whether the given scope is an OIDC scope.
+     *
+     * @param scope Scope name.
+     * @return True if the scope is an OIDC scope.
+     */
+    public boolean isOIDCScope(String scope) {
+
+        return scope != null && scopeClaims.containsKey(scope);
+    }
+
+    /**
+     * Get the claims mapped to a scope in the order they were defined.
+     *
+     * @param scope Scope name.
+     * @return Unmodifiable list of claim URIs, which is empty if the scope is not an OIDC scope.
+     */
+    public List<String> getClaims(String scope) {
+
+        if (scope == null) {
+            return Collections.emptyList();
+        }
+        return scopeClaims.getOrDefault(scope, Collections.emptyList());
+    }
+
+    /**
+     * Get the OIDC scopes a claim is mapped to.
+     *
+     * @param claimUri Claim URI.
+     * @return Unmodifiable set of scope names, which is empty if the claim is not mapped to any scope.
+     */
+    public Set<String> getScopes(String claimUri) {
+
+        if (claimUri == null) {
+            return Collections.emptySet();
+        }
+        return claimScopes.getOrDefault(claimUri, Collections.emptySet());
+    }
+
+    /**
+     * Get the positions of the claims permitted by the given scopes. Scopes that are not OIDC scopes are ignored.
+     *
+     * @param scopes Scope names.
+     * @return New bit set with the positions of the permitted claims, resolved through {@link #getClaim(int)}.
+     */
+    public BitSet getClaimBits(Iterable<String> scopes) {
+
+        BitSet claimBits = new BitSet(claims.size());
+        if (scopes != null) {
+            for (String scope : scopes) {
+                BitSet claimBitsOfScope = scope == null ? null : scopeClaimBits.get(scope);
+                if (claimBitsOfScope != null) {
+                    claimBits.or(claimBitsOfScope);
+                }
+            }
+        }
+        return claimBits;
+    }
+
+    /**
+     * Get the claims permitted by the given scopes, without duplicates.
+     *
+     * @param scopes Scope names.
+     * @return Claim URIs permitted by the scopes.
+     */
+    public Set<String> getPermittedClaims(Iterable<String> scopes) {
+
+        BitSet claimBits = getClaimBits(scopes);
+        Set<String> permittedClaims = new HashSet<>();
+        for (int i = claimBits.nextSetBit(0); i >= 0; i = claimBits.nextSetBit(i + 1)) {
+            permittedClaims.add(claims.get(i));
+        }
+        return permittedClaims;
+    }
+
+    /**
+     * Get the claim URI at the given position.
+     *
+     * @param position Position of the claim, as set in the bit sets returned by {@link #getClaimBits(Iterable)}.
+     * @return Claim URI.
+     */
+    public String getClaim(int position) {
+
+        return claims.get(position);
+    }
+
+    /**
+     * Check whether a claim is mapped to the address scope.
+     *
+     * @param claimUri Claim URI.
+     * @return True if the claim belongs to the address scope.
+     */
+    public boolean isAddressScopeClaim(String claimUri) {
+
+        return getScopes(claimUri).contains(ADDRESS_SCOPE);
+    }
+}
@@ -23,6 +23,12 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.apache.axis2.context.ConfigurationContext;
 import org.apache.axis2.engine.AxisConfiguration;
 import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpStatus;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -57,6 +63,7 @@ import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dao.TokenManagementDAOImpl;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.util.HttpClientUtil;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
 import org.wso2.carbon.user.api.RealmConfiguration;
@@ -73,7 +80,6 @@ import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
 import java.io.File;
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -98,7 +104,7 @@ import static org.powermock.reflect.Whitebox.invokeMethod;
 @PowerMockIgnore({"javax.net.*", "javax.security.*", "javax.crypto.*"})
 @PrepareForTest({OAuthAdminServiceImpl.class, IdentityCoreServiceComponent.class, ConfigurationContextService.class,
         OAuthUtil.class, OAuthAppDAO.class, OAuth2Util.class, OAuthComponentServiceHolder.class,
-        IdentityUtil.class, IdentityTenantUtil.class})
+        IdentityUtil.class, IdentityTenantUtil.class, HttpClientUtil.class})
 public class OAuthAdminServiceImplTest extends PowerMockIdentityBaseTest {
 
     private static final String CONSUMER_KEY = "consumer:key";
@@ -129,9 +135,6 @@ public class OAuthAdminServiceImplTest extends PowerMockIdentityBaseTest {
     @Mock
     OAuthComponentServiceHolder mockOAuthComponentServiceHolder;
 
-    @Mock
-    ObjectMapper objectMapper;
-
     @BeforeMethod
     public void setUp() throws Exception {
 
@@ -930,9 +933,8 @@ public class OAuthAdminServiceImplTest extends PowerMockIdentityBaseTest {
         arrNode.add("https://localhost:8080/callback");
         arrNode.add("https://localhost:8080/callback/a");
         arrNode.add("https://localhost:8080/callback/b");
-        whenNew(ObjectMapper.class).withNoArguments().thenReturn(objectMapper);
+        mockSectorIdentifierResponse(mapper.writeValueAsString(arrNode));
         String sectorIdentifierUri = "https://localhost:8080/sectors";
-        when(objectMapper.readTree(URI.create(sectorIdentifierUri).toURL())).thenReturn(arrNode);
 
         invokeMethod(oAuthAdminService, "validateSectorIdentifierURI", sectorIdentifierUri,
                 callBackURI);
@@ -954,9 +956,8 @@ public class OAuthAdminServiceImplTest extends PowerMockIdentityBaseTest {
         ArrayNode arrNode = mapper.createArrayNode();
         arrNode.add("https://localhost:8080/callback");
         arrNode.add("https://localhost:8080/callback/b");
-        whenNew(ObjectMapper.class).withNoArguments().thenReturn(objectMapper);
+        mockSectorIdentifierResponse(mapper.writeValueAsString(arrNode));
         String sectorIdentifierUri = "https://localhost:8080/sectors";
-        when(objectMapper.readTree(URI.create(sectorIdentifierUri).toURL())).thenReturn(arrNode);
         try {
             invokeMethod(oAuthAdminService, "validateSectorIdentifierURI", sectorIdentifierUri,
                     callBackURI);
@@ -967,6 +968,19 @@ public class OAuthAdminServiceImplTest extends PowerMockIdentityBaseTest {
         }
     }
 
+    private void mockSectorIdentifierResponse(String content) throws Exception {
+
+        StatusLine statusLine = mock(StatusLine.class);
+        when(statusLine.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        when(response.getEntity()).thenReturn(new StringEntity(content));
+        CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+        when(httpClient.execute(any(HttpGet.class))).thenReturn(response);
+        mockStatic(HttpClientUtil.class);
+        when(HttpClientUtil.getSharedHttpClient()).thenReturn(httpClient);
+    }
+
     @Test(description = "Test obtaining url list from regex")
     private void testGetRedirectURIList() throws Exception {
 
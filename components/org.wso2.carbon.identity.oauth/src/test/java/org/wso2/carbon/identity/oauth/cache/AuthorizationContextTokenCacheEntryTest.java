@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test class for AuthorizationContextTokenCacheEntry.
+ */
+public class AuthorizationContextTokenCacheEntryTest {
+
+    private static final String CONTEXT_KEY = "http://wso2.org/claims:RS256:*";
+    private static final String OTHER_CONTEXT_KEY = "http://wso2.org/claims:RS256:http://wso2.org/claims/role";
+    private static final String CONTEXT_TOKEN = "eyJhbGciOiJub25lIn0.eyJzdWIiOiJhZG1pbiJ9.";
+
+    @Test
+    public void testGetContextToken() {
+
+        AuthorizationContextTokenCacheEntry entry = new AuthorizationContextTokenCacheEntry();
+        entry.addContextToken(CONTEXT_KEY, CONTEXT_TOKEN, System.currentTimeMillis() + 60000);
+        assertEquals(entry.getContextToken(CONTEXT_KEY), CONTEXT_TOKEN);
+        assertNull(entry.getContextToken(OTHER_CONTEXT_KEY));
+    }
+
+    @Test
+    public void testExpiredContextToken() {
+
+        AuthorizationContextTokenCacheEntry entry = new AuthorizationContextTokenCacheEntry();
+        entry.addContextToken(CONTEXT_KEY, CONTEXT_TOKEN, System.currentTimeMillis() - 1);
+        assertNull(entry.getContextToken(CONTEXT_KEY));
+    }
+}
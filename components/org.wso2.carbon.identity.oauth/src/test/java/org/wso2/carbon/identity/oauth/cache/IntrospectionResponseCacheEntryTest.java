@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test class for IntrospectionResponseCacheEntry.
+ */
+public class IntrospectionResponseCacheEntryTest {
+
+    private static final String CLIENT_REQUEST = "admin@carbon.super:null:null";
+    private static final String OTHER_CLIENT_REQUEST = "admin@wso2.com:null:null";
+    private static final String RESPONSE = "{\"active\":true,\"client_id\":\"client\"}";
+
+    @Test
+    public void testGetResponse() {
+
+        IntrospectionResponseCacheEntry entry = new IntrospectionResponseCacheEntry();
+        entry.addResponse(CLIENT_REQUEST, RESPONSE, System.currentTimeMillis() + 60000);
+        assertEquals(entry.getResponse(CLIENT_REQUEST), RESPONSE);
+        assertNull(entry.getResponse(OTHER_CLIENT_REQUEST));
+    }
+
+    @Test
+    public void testExpiredResponse() {
+
+        IntrospectionResponseCacheEntry entry = new IntrospectionResponseCacheEntry();
+        entry.addResponse(CLIENT_REQUEST, RESPONSE, System.currentTimeMillis() - 1);
+        assertNull(entry.getResponse(CLIENT_REQUEST));
+    }
+}
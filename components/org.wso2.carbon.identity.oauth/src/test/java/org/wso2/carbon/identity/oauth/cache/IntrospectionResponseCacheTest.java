@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.IObjectFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.OAuthUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.nio.file.Paths;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test class for IntrospectionResponseCache.
+ */
+@PrepareForTest({IdentityTenantUtil.class, IdentityUtil.class})
+public class IntrospectionResponseCacheTest extends PowerMockTestCase {
+
+    private static final String REQUEST_KEY = "client1:access_token:";
+    private static final String RESPONSE = "{\"active\":true}";
+
+    @ObjectFactory
+    public IObjectFactory getObjectFactory() {
+
+        return new org.powermock.modules.testng.PowerMockObjectFactory();
+    }
+
+    @BeforeMethod
+    public void setUp() {
+
+        System.setProperty(CarbonBaseConstants.CARBON_HOME,
+                Paths.get(System.getProperty("user.dir"), "src", "test", "resources").toString());
+        mockStatic(IdentityTenantUtil.class);
+        when(IdentityTenantUtil.getTenantDomain(anyInt())).thenReturn(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        when(IdentityTenantUtil.getTenantId(anyString())).thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty(OAuth2Constants.INTROSPECTION_RESPONSE_CACHE_ENABLE)).thenReturn("true");
+    }
+
+    @Test
+    public void testResponseIsEvictedWhenTokenIsRevoked() {
+
+        IntrospectionResponseCache cache = IntrospectionResponseCache.getInstance();
+        cache.addResponse("revokedToken", "revokedTokenId", REQUEST_KEY, RESPONSE, 0, 0);
+        assertEquals(cache.getResponse("revokedToken", REQUEST_KEY), RESPONSE);
+
+        // The token revocation paths of the access token DAO clear the caches by the id of the revoked token.
+        OAuthUtil.clearOAuthCacheByTokenId("revokedTokenId");
+
+        assertNull(cache.getResponse("revokedToken", REQUEST_KEY),
+                "Introspection of a revoked token should not be served from the cache.");
+    }
+
+    @Test
+    public void testResponseIsEvictedWhenOAuthCacheOfTokenIsCleared() {
+
+        IntrospectionResponseCache cache = IntrospectionResponseCache.getInstance();
+        cache.addResponse("clearedToken", "clearedTokenId", REQUEST_KEY, RESPONSE, 0, 0);
+        assertEquals(cache.getResponse("clearedToken", REQUEST_KEY), RESPONSE);
+
+        AuthenticatedUser user = new AuthenticatedUser();
+        user.setUserName("admin");
+        user.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setAccessToken("clearedToken");
+        accessTokenDO.setTokenId("clearedTokenId");
+        accessTokenDO.setAuthzUser(user);
+        OAuthUtil.clearOAuthCache(accessTokenDO);
+
+        assertNull(cache.getResponse("clearedToken", REQUEST_KEY),
+                "Introspection of a revoked token should not be served from the cache.");
+    }
+
+    @Test
+    public void testResponseOfTokenWithoutIdIsNotCached() {
+
+        IntrospectionResponseCache cache = IntrospectionResponseCache.getInstance();
+        cache.addResponse("jwtToken", null, REQUEST_KEY, RESPONSE, 0, 0);
+        assertNull(cache.getResponse("jwtToken", REQUEST_KEY));
+    }
+
+    @Test
+    public void testExpiredTokenResponseIsNotCached() {
+
+        IntrospectionResponseCache cache = IntrospectionResponseCache.getInstance();
+        long expiredAt = System.currentTimeMillis() / 1000 - 10;
+        cache.addResponse("expiredToken", "expiredTokenId", REQUEST_KEY, RESPONSE, expiredAt, 0);
+        assertNull(cache.getResponse("expiredToken", REQUEST_KEY));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.sql.Timestamp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for TokenReuseIndexEntry.
+ */
+public class TokenReuseIndexEntryTest {
+
+    private static final String TOKEN_ID = "a1b2c3d4-token-id";
+
+    @Test
+    public void testToAccessTokenDO() {
+
+        AccessTokenDO accessTokenDO = buildAccessTokenDO(System.currentTimeMillis(), 3600000L);
+        TokenReuseIndexEntry entry = new TokenReuseIndexEntry(accessTokenDO);
+
+        AccessTokenDO indexedTokenDO = entry.toAccessTokenDO();
+        assertEquals(indexedTokenDO.getTokenId(), TOKEN_ID);
+        assertEquals(indexedTokenDO.getGrantType(), OAuthConstants.GrantTypes.CLIENT_CREDENTIALS);
+        assertEquals(indexedTokenDO.getTokenState(), OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+        assertEquals(indexedTokenDO.getIssuedTime(), accessTokenDO.getIssuedTime());
+        assertTrue(indexedTokenDO.isConsentedToken());
+        assertNull(indexedTokenDO.getAccessToken());
+        assertNull(indexedTokenDO.getRefreshToken());
+    }
+
+    @Test
+    public void testIsExpired() {
+
+        long now = System.currentTimeMillis();
+        assertFalse(new TokenReuseIndexEntry(buildAccessTokenDO(now, 3600000L)).isExpired());
+        assertTrue(new TokenReuseIndexEntry(buildAccessTokenDO(now - 7200000L, 3600000L)).isExpired());
+        assertFalse(new TokenReuseIndexEntry(buildAccessTokenDO(now - 7200000L, -1L)).isExpired());
+    }
+
+    private AccessTokenDO buildAccessTokenDO(long issuedTime, long validityPeriodInMillis) {
+
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setTokenId(TOKEN_ID);
+        accessTokenDO.setAccessToken("plain-access-token");
+        accessTokenDO.setRefreshToken("plain-refresh-token");
+        accessTokenDO.setGrantType(OAuthConstants.GrantTypes.CLIENT_CREDENTIALS);
+        accessTokenDO.setIsConsentedToken(true);
+        accessTokenDO.setIssuedTime(new Timestamp(issuedTime));
+        accessTokenDO.setValidityPeriodInMillis(validityPeriodInMillis);
+        return accessTokenDO;
+    }
+}
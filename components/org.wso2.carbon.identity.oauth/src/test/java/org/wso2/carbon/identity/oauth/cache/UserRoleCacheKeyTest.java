@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for UserRoleCacheKey and UserRoleCacheEntry.
+ */
+public class UserRoleCacheKeyTest {
+
+    private static final String USER_ID = "4b4414e1-916b-4475-aaee-6b0751c29ff6";
+
+    @Test
+    public void testEquals() {
+
+        UserRoleCacheKey key = new UserRoleCacheKey(USER_ID, UserRoleCache.ROLES);
+        assertTrue(key.equals(new UserRoleCacheKey(USER_ID, UserRoleCache.ROLES)));
+        assertFalse(key.equals(new UserRoleCacheKey(USER_ID, UserRoleCache.PERMISSIONS)));
+        assertFalse(key.equals(new UserRoleCacheKey("otherUser", UserRoleCache.ROLES)));
+        assertFalse(key.equals(new Object()));
+    }
+
+    @Test
+    public void testHashCode() {
+
+        assertEquals(new UserRoleCacheKey(USER_ID, UserRoleCache.ROLES).hashCode(),
+                new UserRoleCacheKey(USER_ID, UserRoleCache.ROLES).hashCode());
+        assertNotEquals(new UserRoleCacheKey(USER_ID, UserRoleCache.ROLES).hashCode(),
+                new UserRoleCacheKey(USER_ID, UserRoleCache.HYBRID_ROLES).hashCode());
+    }
+
+    @Test
+    public void testCacheEntry() {
+
+        String[] roles = {"Internal/everyone", "admin"};
+        UserRoleCacheEntry entry = new UserRoleCacheEntry(roles, System.currentTimeMillis() + 60000);
+        roles[0] = "modified";
+        assertEquals(entry.getValues(), new String[]{"Internal/everyone", "admin"});
+        assertFalse(entry.isExpired());
+        assertTrue(new UserRoleCacheEntry(null, System.currentTimeMillis() - 1).isExpired());
+    }
+}
@@ -586,6 +586,42 @@ public class OAuthAppDAOTest extends TestOAuthDAOBase {
         }
     }
 
+    @Test
+    public void testGetOAuthConsumerAppsOfUserWithPagination() throws Exception {
+
+        setupMocksForTest(true);
+        try (Connection connection = getConnection(DB_NAME)) {
+            mockIdentityUtilDataBaseConnection(connection);
+
+            for (String appName : new String[]{"PAGED_APP_1", "PAGED_APP_2", "PAGED_APP_3", "OTHER_APP"}) {
+                OAuthAppDO appDO = getDefaultOAuthAppDO();
+                appDO.setApplicationName(appName);
+                appDO.setOauthConsumerKey(UUID.randomUUID().toString());
+                appDO.setOauthConsumerSecret(UUID.randomUUID().toString());
+                addOAuthApplication(appDO, TENANT_ID);
+            }
+
+            OAuthAppDAO appDAO = new OAuthAppDAO();
+            String username = IdentityUtil.addDomainToName(USER_NAME, USER_STORE_DOMAIN);
+            List<OAuthAppDO> firstPage = appDAO.getOAuthConsumerAppsOfUser(username, TENANT_ID, 0, 2,
+                    "PAGED_", null);
+            assertEquals(firstPage.size(), 3);
+            assertEquals(firstPage.get(0).getApplicationName(), "PAGED_APP_1");
+            assertEquals(firstPage.get(1).getApplicationName(), "PAGED_APP_2");
+
+            List<OAuthAppDO> secondPage = appDAO.getOAuthConsumerAppsOfUser(username, TENANT_ID,
+                    firstPage.get(1).getId(), 2, "PAGED_", "password");
+            assertEquals(secondPage.size(), 1);
+            assertEquals(secondPage.get(0).getApplicationName(), "PAGED_APP_3");
+
+            assertTrue(appDAO.getOAuthConsumerAppsOfUser(username, TENANT_ID, 0, 2, "PAGED_",
+                    "urn:ietf:params:oauth:grant-type:device_code").isEmpty());
+            // Grant types are matched as whole entries of the grant type list.
+            assertEquals(appDAO.getOAuthConsumerAppsOfUser(username, TENANT_ID, 0, 2, "PAGED_", "code").size(), 3);
+            assertTrue(appDAO.getOAuthConsumerAppsOfUser(username, TENANT_ID, 0, 2, "PAGED_", "pass").isEmpty());
+        }
+    }
+
     @Test(dataProvider = "booleanTests", expectedExceptions = IdentityOAuthAdminException.class)
     public void testGetOAuthConsumerAppsOfUserWithExceptions(Boolean isUsernameCaseSensitive) throws Exception {
 
@@ -31,15 +31,21 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationResponseDTO;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.validators.TokenValidationHandler;
 
+import java.util.Arrays;
+
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.eq;
 import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.doThrow;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 
 @PrepareForTest({OAuth2Util.class, TokenValidationHandler.class, OAuthComponentServiceHolder.class,
         OAuthServerConfiguration.class})
@@ -137,6 +143,45 @@ public class OAuth2TokenValidationServiceTest extends PowerMockTestCase {
         assertNotNull(tokenValidationService.validate(mockedTokenValidationRequestDTO), "Expected to be not null");
     }
 
+    @Test
+    public void testValidateTokens() throws Exception {
+
+        OAuth2TokenValidationRequestDTO rejectedRequestDTO = new OAuth2TokenValidationRequestDTO();
+        OAuth2TokenValidationResponseDTO firstResponseDTO = new OAuth2TokenValidationResponseDTO();
+        OAuth2TokenValidationResponseDTO secondResponseDTO = new OAuth2TokenValidationResponseDTO();
+        when(mockedOAuthEventInterceptor.isEnabled()).thenReturn(true);
+        doThrow(new IdentityOAuth2Exception("dummyException")).when(mockedOAuthEventInterceptor)
+                .onPreTokenValidation(eq(rejectedRequestDTO), anyMap());
+        when(mockedValidationHandler.validate(anyList()))
+                .thenReturn(Arrays.asList(firstResponseDTO, secondResponseDTO));
+
+        OAuth2TokenValidationResponseDTO[] responseDTOs = tokenValidationService.validateTokens(
+                new OAuth2TokenValidationRequestDTO[]{mockedTokenValidationRequestDTO, rejectedRequestDTO,
+                        mockedOAuth2TokenValidationRequestDTO});
+
+        assertEquals(responseDTOs.length, 3);
+        assertSame(responseDTOs[0], firstResponseDTO);
+        assertEquals(responseDTOs[1].getErrorMsg(), "dummyException");
+        assertSame(responseDTOs[2], secondResponseDTO);
+    }
+
+    @Test
+    public void testValidateTokensWithServerError() throws Exception {
+
+        when(mockedOAuthEventInterceptor.isEnabled()).thenReturn(false);
+        when(mockedValidationHandler.validate(anyList())).thenThrow(new IdentityOAuth2Exception("dummyException"));
+
+        OAuth2TokenValidationResponseDTO[] responseDTOs = tokenValidationService.validateTokens(
+                new OAuth2TokenValidationRequestDTO[]{mockedTokenValidationRequestDTO,
+                        mockedOAuth2TokenValidationRequestDTO});
+
+        assertEquals(responseDTOs.length, 2);
+        for (OAuth2TokenValidationResponseDTO responseDTO : responseDTOs) {
+            assertFalse(responseDTO.isValid());
+            assertEquals(responseDTO.getErrorMsg(), "Server error occurred while validating the OAuth2 access token");
+        }
+    }
+
     @Test
     public void testFindOAuthConsumerIfTokenIsValid() throws Exception {
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.client.authentication;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.model.ClientAuthenticationMethodModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for ClientAuthenticatorIndex and OAuthClientAuthnRequestView.
+ */
+public class ClientAuthenticatorIndexTest {
+
+    private OAuthClientAuthenticator basicAuthenticator;
+    private OAuthClientAuthenticator jwtAuthenticator;
+    private OAuthClientAuthenticator mtlsAuthenticator;
+    private OAuthClientAuthenticator customAuthenticator;
+    private ClientAuthenticatorIndex index;
+
+    @BeforeMethod
+    public void setUp() {
+
+        basicAuthenticator = mockAuthenticator(OAuthClientAuthnRequestView.CLIENT_SECRET_BASIC,
+                OAuthClientAuthnRequestView.CLIENT_SECRET_POST);
+        jwtAuthenticator = mockAuthenticator(OAuthConstants.PRIVATE_KEY_JWT);
+        mtlsAuthenticator = mockAuthenticator(OAuthConstants.TLS_CLIENT_AUTH);
+        customAuthenticator = mockAuthenticator();
+        index = new ClientAuthenticatorIndex(Arrays.asList(basicAuthenticator, jwtAuthenticator, mtlsAuthenticator,
+                customAuthenticator));
+    }
+
+    @Test
+    public void testGetAuthenticators() {
+
+        assertEquals(index.getAuthenticators(Collections.singletonList(OAuthConstants.PRIVATE_KEY_JWT)),
+                Collections.singletonList(jwtAuthenticator));
+        assertEquals(index.getAuthenticators(Arrays.asList(OAuthConstants.TLS_CLIENT_AUTH,
+                OAuthClientAuthnRequestView.CLIENT_SECRET_POST)), Arrays.asList(basicAuthenticator, mtlsAuthenticator));
+        assertTrue(index.getAuthenticators(Collections.singletonList("unknown")).isEmpty());
+    }
+
+    @Test
+    public void testIsBuiltFor() {
+
+        List<OAuthClientAuthenticator> authenticators = new ArrayList<>(Arrays.asList(basicAuthenticator,
+                jwtAuthenticator, mtlsAuthenticator, customAuthenticator));
+        assertTrue(index.isBuiltFor(authenticators));
+        authenticators.remove(jwtAuthenticator);
+        assertFalse(index.isBuiltFor(authenticators));
+    }
+
+    @Test
+    public void testCanSkip() {
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("Authorization")).thenReturn("Basic Y2xpZW50OnNlY3JldA==");
+        OAuthClientAuthnRequestView requestView = OAuthClientAuthnRequestView.of(request, new HashMap<>());
+
+        assertEquals(requestView.getAuthenticationMethods(),
+                Collections.singleton(OAuthClientAuthnRequestView.CLIENT_SECRET_BASIC));
+        assertFalse(index.canSkip(basicAuthenticator, requestView));
+        assertTrue(index.canSkip(jwtAuthenticator, requestView));
+        // Authenticators of methods which are not recognised from the request are always evaluated.
+        assertFalse(index.canSkip(mtlsAuthenticator, requestView));
+        assertFalse(index.canSkip(customAuthenticator, requestView));
+    }
+
+    @Test
+    public void testRequestViewOfClientAssertion() {
+
+        Map<String, List> bodyParams = new HashMap<>();
+        bodyParams.put("client_assertion_type",
+                Collections.singletonList("urn:ietf:params:oauth:client-assertion-type:jwt-bearer"));
+        bodyParams.put("client_id", Collections.singletonList("client"));
+        OAuthClientAuthnRequestView requestView = OAuthClientAuthnRequestView.of(mock(HttpServletRequest.class),
+                bodyParams);
+
+        assertEquals(requestView.getAuthenticationMethods(), Collections.singleton(OAuthConstants.PRIVATE_KEY_JWT));
+        assertTrue(index.canSkip(basicAuthenticator, requestView));
+        assertFalse(index.canSkip(jwtAuthenticator, requestView));
+    }
+
+    private static OAuthClientAuthenticator mockAuthenticator(String... methods) {
+
+        List<ClientAuthenticationMethodModel> supportedMethods = new ArrayList<>();
+        for (String method : methods) {
+            supportedMethods.add(new ClientAuthenticationMethodModel(method, method));
+        }
+        OAuthClientAuthenticator authenticator = mock(OAuthClientAuthenticator.class);
+        when(authenticator.getSupportedClientAuthenticationMethods()).thenReturn(supportedMethods);
+        return authenticator;
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.doReturn;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.spy;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for reading the access tokens of a tenant or of a client page by page, for redeeming authorization
+ * codes, and for moving the access tokens of a renamed user store domain between partitions, with AccessTokenDAOImpl.
+ */
+@WithCarbonHome
+@PrepareForTest({IdentityDatabaseUtil.class, IdentityUtil.class, OAuthServerConfiguration.class, OAuth2Util.class,
+        IdentityTenantUtil.class})
+public class AccessTokenDAOImplTest extends PowerMockIdentityBaseTest {
+
+    private static final String DB_NAME = "AccessTokenStreamingDB";
+
+    @Mock
+    private OAuthServerConfiguration mockedServerConfig;
+
+    @Mock
+    private RealmService realmService;
+
+    @Mock
+    private TenantManager tenantManager;
+
+    private Connection connection;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        DAOUtils.initializeDataSource(DB_NAME, DAOUtils.getFilePath("identity.sql"));
+        persistApp("clientA");
+        persistApp("clientB");
+
+        // The three scope rows of token1 do not fit into a page of two rows.
+        persistToken("token1", "clientA", "PRIMARY", "ACTIVE", "openid", "profile", "email");
+        persistToken("token2", "clientA", "PRIMARY", "EXPIRED", "openid");
+        // Revoked tokens are not read.
+        persistToken("token3", "clientB", "PRIMARY", "REVOKED", "openid");
+        persistToken("token4", "clientB", "PRIMARY", "ACTIVE");
+        // The scope rows of token5 are split over two pages.
+        persistToken("token5", "clientB", "SECONDARY", "ACTIVE", "openid", "address");
+        persistToken("token6", "clientA", "PRIMARY", "ACTIVE", "phone");
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        connection = DAOUtils.getConnection(DB_NAME);
+        mockStatic(IdentityDatabaseUtil.class);
+        when(IdentityDatabaseUtil.getDBConnection(anyBoolean())).thenReturn(connection);
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty(anyString())).thenReturn(null);
+        when(IdentityUtil.getProperty("OAuth.TokenStreaming.PageSize")).thenReturn("2");
+        when(IdentityUtil.getPrimaryDomainName()).thenReturn("PRIMARY");
+
+        mockStatic(OAuthServerConfiguration.class);
+        when(OAuthServerConfiguration.getInstance()).thenReturn(mockedServerConfig);
+        when(mockedServerConfig.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+
+        OAuthComponentServiceHolder.getInstance().setRealmService(realmService);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getDomain(MultitenantConstants.SUPER_TENANT_ID))
+                .thenReturn(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        OAuth2ServiceComponentHolder.setIDPIdColumnEnabled(false);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        connection.close();
+    }
+
+    @Test
+    public void testForEachAccessToken() throws Exception {
+
+        List<AccessTokenDO> accessTokenDOs = new ArrayList<>();
+        new AccessTokenDAOImpl().forEachAccessToken(MultitenantConstants.SUPER_TENANT_ID, null,
+                accessTokenDOs::add);
+
+        assertEquals(getTokenIds(accessTokenDOs), Arrays.asList("token1", "token2", "token4", "token5", "token6"));
+        assertEquals(getScopes(accessTokenDOs.get(0)), new HashSet<>(Arrays.asList("openid", "profile", "email")));
+        assertEquals(getScopes(accessTokenDOs.get(1)), new HashSet<>(Arrays.asList("openid")));
+        assertEquals(getScopes(accessTokenDOs.get(3)), new HashSet<>(Arrays.asList("openid", "address")));
+        assertEquals(getScopes(accessTokenDOs.get(4)), new HashSet<>(Arrays.asList("phone")));
+        assertEquals(accessTokenDOs.get(0).getConsumerKey(), "clientA");
+        assertEquals(accessTokenDOs.get(1).getTokenState(), "EXPIRED");
+        assertEquals(accessTokenDOs.get(3).getAccessToken(), "token5Value");
+    }
+
+    @Test
+    public void testForEachAccessTokenOfUserStore() throws Exception {
+
+        List<AccessTokenDO> accessTokenDOs = new ArrayList<>();
+        new AccessTokenDAOImpl().forEachAccessToken(MultitenantConstants.SUPER_TENANT_ID, "secondary",
+                accessTokenDOs::add);
+
+        assertEquals(getTokenIds(accessTokenDOs), Arrays.asList("token5"));
+        assertEquals(getScopes(accessTokenDOs.get(0)), new HashSet<>(Arrays.asList("openid", "address")));
+        assertEquals(accessTokenDOs.get(0).getAuthzUser().getUserStoreDomain(), "SECONDARY");
+    }
+
+    @Test
+    public void testForEachAccessTokenPage() throws Exception {
+
+        List<Integer> pageSizes = new ArrayList<>();
+        List<AccessTokenDO> accessTokenDOs = new ArrayList<>();
+        new AccessTokenDAOImpl().forEachAccessTokenPage(MultitenantConstants.SUPER_TENANT_ID, null, page -> {
+            pageSizes.add(page.size());
+            accessTokenDOs.addAll(page);
+        });
+
+        assertEquals(getTokenIds(accessTokenDOs), Arrays.asList("token1", "token2", "token4", "token5", "token6"));
+        for (int pageSize : pageSizes) {
+            assertTrue(pageSize > 0 && pageSize <= 2);
+        }
+    }
+
+    @Test
+    public void testForEachAccessTokenOfConsumerKey() throws Exception {
+
+        List<AccessTokenDO> accessTokenDOs = new ArrayList<>();
+        new AccessTokenDAOImpl().forEachAccessTokenOfConsumerKey(MultitenantConstants.SUPER_TENANT_ID, "clientB",
+                accessTokenDOs::add);
+
+        assertEquals(getTokenIds(accessTokenDOs), Arrays.asList("token4", "token5"));
+        assertEquals(getScopes(accessTokenDOs.get(1)), new HashSet<>(Arrays.asList("openid", "address")));
+    }
+
+    @Test
+    public void testInsertAccessTokenAndRedeemRedeemedAuthorizationCode() throws Exception {
+
+        // The code was already redeemed for token1 by another token request.
+        persistAuthorizationCode("code1", "clientA", "INACTIVE", "token1");
+
+        connection.setAutoCommit(false);
+        when(IdentityDatabaseUtil.getDBConnection()).thenReturn(connection);
+        when(IdentityDatabaseUtil.class, "rollbackTransaction", connection).thenCallRealMethod();
+        spy(OAuth2Util.class);
+        doReturn(mock(OauthTokenIssuer.class)).when(OAuth2Util.class, "getOAuthTokenIssuerForOAuthApp", "clientA");
+        spy(IdentityTenantUtil.class);
+        doReturn(MultitenantConstants.SUPER_TENANT_ID).when(IdentityTenantUtil.class, "getLoginTenantId");
+        when(tenantManager.getTenantId(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME))
+                .thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+
+        AuthenticatedUser user = new AuthenticatedUser();
+        user.setUserName("alice");
+        user.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        user.setUserStoreDomain("PRIMARY");
+        Timestamp issuedTime = new Timestamp(System.currentTimeMillis());
+        AccessTokenDO accessTokenDO = new AccessTokenDO("clientA", user, new String[]{"openid"}, issuedTime,
+                issuedTime, 3600000L, 3600000L, "APPLICATION_USER");
+        accessTokenDO.setTokenId("token7");
+        accessTokenDO.setAccessToken("token7Value");
+        accessTokenDO.setTokenState("ACTIVE");
+        accessTokenDO.setGrantType("authorization_code");
+        AuthzCodeDO authzCodeDO = new AuthzCodeDO();
+        authzCodeDO.setAuthzCodeId("code1");
+        authzCodeDO.setAuthorizationCode("code1Value");
+
+        assertFalse(new AccessTokenDAOImpl().insertAccessTokenAndRedeemAuthorizationCode("token7Value", "clientA",
+                accessTokenDO, null, "PRIMARY", authzCodeDO));
+        // The token inserted before the code was found to be inactive is rolled back.
+        try (PreparedStatement prepStmt = connection.prepareStatement(
+                "SELECT COUNT(*) FROM IDN_OAUTH2_ACCESS_TOKEN WHERE TOKEN_ID = ?")) {
+            prepStmt.setString(1, "token7");
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                resultSet.next();
+                assertEquals(resultSet.getInt(1), 0);
+            }
+        }
+        try (PreparedStatement prepStmt = connection.prepareStatement(
+                "SELECT STATE, TOKEN_ID FROM IDN_OAUTH2_AUTHORIZATION_CODE WHERE CODE_ID = ?")) {
+            prepStmt.setString(1, "code1");
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                resultSet.next();
+                assertEquals(resultSet.getString(1), "INACTIVE");
+                assertEquals(resultSet.getString(2), "token1");
+            }
+        }
+    }
+
+    @Test
+    public void testUpdateUserStoreDomainMovesTokenAttributesAndRequestObjects() throws Exception {
+
+        createPartitionedTables("SECONDARY");
+        createPartitionedTables("NEW");
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             Statement statement = connection.createStatement()) {
+            // The request object references of partitioned tokens cannot refer to the access token table.
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS IDN_OIDC_REQ_OBJECT_REFERENCE (ID INTEGER NOT " +
+                    "NULL AUTO_INCREMENT, CONSUMER_KEY_ID INTEGER, CODE_ID VARCHAR(255), TOKEN_ID VARCHAR(255), " +
+                    "SESSION_DATA_KEY VARCHAR(255), PRIMARY KEY (ID))");
+            statement.executeUpdate("INSERT INTO IDN_OAUTH2_ACCESS_TOKEN_SECONDARY (TOKEN_ID, ACCESS_TOKEN, " +
+                    "CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, VALIDITY_PERIOD, " +
+                    "TOKEN_SCOPE_HASH, TOKEN_STATE, IDP_ID) SELECT 'token8', 'token8Value', ID, 'bob', -1234, " +
+                    "'SECONDARY', 'APPLICATION_USER', 'password', 3600000, 'token8', 'ACTIVE', 1 FROM " +
+                    "IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY = 'clientA'");
+            statement.executeUpdate("INSERT INTO IDN_OAUTH2_ACCESS_TOKEN_SCOPE_SECONDARY (TOKEN_ID, TOKEN_SCOPE, " +
+                    "TENANT_ID) VALUES ('token8', 'openid', -1234)");
+            statement.executeUpdate("INSERT INTO IDN_OAUTH2_ACCESS_TOKEN_ATTRIBUTES_SECONDARY (TOKEN_ATTR_NAME, " +
+                    "TOKEN_ATTR_VALUE, TOKEN_ID) VALUES ('acr', 'mfa', 'token8')");
+            statement.executeUpdate("INSERT INTO IDN_OIDC_REQ_OBJECT_REFERENCE (TOKEN_ID, SESSION_DATA_KEY) " +
+                    "VALUES ('token8', 'session8')");
+        }
+        when(mockedServerConfig.isAccessTokenPartitioningEnabled()).thenReturn(true);
+        when(mockedServerConfig.isUserNameAssertionEnabled()).thenReturn(true);
+        OAuth2ServiceComponentHolder.setTokenExtendedTableExist(true);
+        try {
+            assertEquals(new AccessTokenDAOImpl().updateUserStoreDomain(MultitenantConstants.SUPER_TENANT_ID,
+                    "SECONDARY", "NEW", 10), 1);
+        } finally {
+            OAuth2ServiceComponentHolder.setTokenExtendedTableExist(false);
+            when(mockedServerConfig.isAccessTokenPartitioningEnabled()).thenReturn(false);
+            when(mockedServerConfig.isUserNameAssertionEnabled()).thenReturn(false);
+        }
+
+        assertEquals(getSingleValue("SELECT USER_DOMAIN FROM IDN_OAUTH2_ACCESS_TOKEN_NEW WHERE TOKEN_ID = " +
+                "'token8'"), "NEW");
+        assertEquals(getSingleValue("SELECT TOKEN_SCOPE FROM IDN_OAUTH2_ACCESS_TOKEN_SCOPE_NEW WHERE TOKEN_ID = " +
+                "'token8'"), "openid");
+        assertEquals(getSingleValue("SELECT TOKEN_ATTR_VALUE FROM IDN_OAUTH2_ACCESS_TOKEN_ATTRIBUTES_NEW WHERE " +
+                "TOKEN_ID = 'token8' AND TOKEN_ATTR_NAME = 'acr'"), "mfa");
+        assertEquals(getSingleValue("SELECT TOKEN_ID FROM IDN_OIDC_REQ_OBJECT_REFERENCE WHERE SESSION_DATA_KEY = " +
+                "'session8'"), "token8");
+        assertEquals(getSingleValue("SELECT COUNT(*) FROM IDN_OAUTH2_ACCESS_TOKEN_SECONDARY"), "0");
+    }
+
+    private static List<String> getTokenIds(List<AccessTokenDO> accessTokenDOs) {
+
+        List<String> tokenIds = new ArrayList<>();
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            tokenIds.add(accessTokenDO.getTokenId());
+        }
+        return tokenIds;
+    }
+
+    private static HashSet<String> getScopes(AccessTokenDO accessTokenDO) {
+
+        return new HashSet<>(Arrays.asList(accessTokenDO.getScope()));
+    }
+
+    private static void createPartitionedTables(String userStoreDomain) throws Exception {
+
+        String tokenTable = "IDN_OAUTH2_ACCESS_TOKEN_" + userStoreDomain;
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE " + tokenTable + " AS SELECT * FROM IDN_OAUTH2_ACCESS_TOKEN " +
+                    "WHERE 1 = 0");
+            statement.executeUpdate("ALTER TABLE " + tokenTable + " ADD PRIMARY KEY (TOKEN_ID)");
+            statement.executeUpdate("CREATE TABLE IDN_OAUTH2_ACCESS_TOKEN_SCOPE_" + userStoreDomain + " (TOKEN_ID " +
+                    "VARCHAR (255), TOKEN_SCOPE VARCHAR (60), TENANT_ID INTEGER DEFAULT -1, PRIMARY KEY (TOKEN_ID, " +
+                    "TOKEN_SCOPE), FOREIGN KEY (TOKEN_ID) REFERENCES " + tokenTable + "(TOKEN_ID) ON DELETE CASCADE)");
+            statement.executeUpdate("CREATE TABLE IDN_OAUTH2_ACCESS_TOKEN_ATTRIBUTES_" + userStoreDomain + " (ID " +
+                    "INTEGER NOT NULL AUTO_INCREMENT, TOKEN_ID VARCHAR (255), TOKEN_ATTR_NAME VARCHAR (255) NOT " +
+                    "NULL, TOKEN_ATTR_VALUE VARCHAR (2048), PRIMARY KEY (ID), FOREIGN KEY (TOKEN_ID) REFERENCES " +
+                    tokenTable + "(TOKEN_ID) ON DELETE CASCADE)");
+        }
+    }
+
+    private static String getSingleValue(String sql) throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    private static void persistApp(String consumerKey) throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH_CONSUMER_APPS " +
+                     "(CONSUMER_KEY, CONSUMER_SECRET, USERNAME, TENANT_ID, USER_DOMAIN, APP_NAME, OAUTH_VERSION) " +
+                     "VALUES (?, 'secret', 'admin', -1234, 'PRIMARY', ?, 'OAuth-2.0')")) {
+            prepStmt.setString(1, consumerKey);
+            prepStmt.setString(2, consumerKey + "App");
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private static void persistAuthorizationCode(String codeId, String consumerKey, String state, String tokenId)
+            throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH2_AUTHORIZATION_CODE " +
+                     "(CODE_ID, AUTHORIZATION_CODE, CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, STATE, " +
+                     "TOKEN_ID, AUTHORIZATION_CODE_HASH) SELECT ?, ?, ID, 'alice', -1234, 'PRIMARY', ?, ?, ? FROM " +
+                     "IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY = ?")) {
+            prepStmt.setString(1, codeId);
+            prepStmt.setString(2, codeId + "Value");
+            prepStmt.setString(3, state);
+            prepStmt.setString(4, tokenId);
+            prepStmt.setString(5, codeId + "Value");
+            prepStmt.setString(6, consumerKey);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private static void persistToken(String tokenId, String consumerKey, String userDomain, String tokenState,
+                                     String... scopes) throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH2_ACCESS_TOKEN " +
+                    "(TOKEN_ID, ACCESS_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, " +
+                    "GRANT_TYPE, TIME_CREATED, VALIDITY_PERIOD, TOKEN_SCOPE_HASH, TOKEN_STATE, IDP_ID) SELECT ?, " +
+                    "?, ID, 'bob', -1234, ?, 'APPLICATION_USER', 'password', ?, 3600000, ?, ?, 1 FROM " +
+                    "IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY = ?")) {
+                prepStmt.setString(1, tokenId);
+                prepStmt.setString(2, tokenId + "Value");
+                prepStmt.setString(3, userDomain);
+                prepStmt.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                prepStmt.setString(5, tokenId);
+                prepStmt.setString(6, tokenState);
+                prepStmt.setString(7, consumerKey);
+                prepStmt.executeUpdate();
+            }
+            for (String scope : scopes) {
+                try (PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO " +
+                        "IDN_OAUTH2_ACCESS_TOKEN_SCOPE (TOKEN_ID, TOKEN_SCOPE, TENANT_ID) VALUES (?, ?, -1234)")) {
+                    prepStmt.setString(1, tokenId);
+                    prepStmt.setString(2, scope);
+                    prepStmt.executeUpdate();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for SessionTokenIndex.
+ */
+public class SessionTokenIndexTest {
+
+    @Test
+    public void testIsTokenMapped() {
+
+        SessionTokenIndex sessionTokenIndex = SessionTokenIndex.getInstance();
+        sessionTokenIndex.addToken("session-1", "token-id-1");
+        sessionTokenIndex.addTokens("session-1", Arrays.asList("token-id-2", "token-id-3"));
+
+        assertTrue(sessionTokenIndex.isTokenMapped("session-1", "token-id-1"));
+        assertTrue(sessionTokenIndex.isTokenMapped("session-1", "token-id-3"));
+        assertFalse(sessionTokenIndex.isTokenMapped("session-1", "token-id-4"));
+        assertFalse(sessionTokenIndex.isTokenMapped("session-2", "token-id-1"));
+        assertFalse(sessionTokenIndex.isTokenMapped(null, "token-id-1"));
+    }
+
+    @Test
+    public void testRemoveSession() {
+
+        SessionTokenIndex sessionTokenIndex = SessionTokenIndex.getInstance();
+        sessionTokenIndex.addToken("session-3", "token-id-5");
+        sessionTokenIndex.removeSession("session-3");
+        assertFalse(sessionTokenIndex.isTokenMapped("session-3", "token-id-5"));
+    }
+}
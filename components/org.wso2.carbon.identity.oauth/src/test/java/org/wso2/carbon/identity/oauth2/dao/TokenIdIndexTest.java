@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test class for TokenIdIndex.
+ */
+public class TokenIdIndexTest {
+
+    @Test
+    public void testAddToken() {
+
+        TokenIdIndex tokenIdIndex = TokenIdIndex.getInstance();
+        tokenIdIndex.addToken("token-id-1", "persisted-token-1", "token-hash-1");
+
+        assertEquals(tokenIdIndex.getTokenId("token-hash-1"), "token-id-1");
+        assertEquals(tokenIdIndex.getPersistedToken("token-id-1"), "persisted-token-1");
+        assertNull(tokenIdIndex.getTokenId("unknown-token-hash"));
+        assertNull(tokenIdIndex.getPersistedToken(null));
+    }
+
+    @Test
+    public void testCompleteIndexedToken() {
+
+        TokenIdIndex tokenIdIndex = TokenIdIndex.getInstance();
+        tokenIdIndex.addToken("token-id-2", null, "token-hash-2");
+        assertNull(tokenIdIndex.getPersistedToken("token-id-2"));
+
+        tokenIdIndex.addToken("token-id-2", "persisted-token-2", null);
+        assertEquals(tokenIdIndex.getPersistedToken("token-id-2"), "persisted-token-2");
+        assertEquals(tokenIdIndex.getTokenId("token-hash-2"), "token-id-2");
+    }
+
+    @Test
+    public void testRemoveToken() {
+
+        TokenIdIndex tokenIdIndex = TokenIdIndex.getInstance();
+        tokenIdIndex.addToken("token-id-3", "persisted-token-3", "token-hash-3");
+        tokenIdIndex.removeToken("token-id-3");
+        assertNull(tokenIdIndex.getTokenId("token-hash-3"));
+        assertNull(tokenIdIndex.getPersistedToken("token-id-3"));
+
+        tokenIdIndex.addToken("token-id-4", "persisted-token-4", "token-hash-4");
+        tokenIdIndex.removeTokensByHash(Collections.singletonList("token-hash-4"));
+        assertNull(tokenIdIndex.getTokenId("token-hash-4"));
+        assertNull(tokenIdIndex.getPersistedToken("token-id-4"));
+    }
+}
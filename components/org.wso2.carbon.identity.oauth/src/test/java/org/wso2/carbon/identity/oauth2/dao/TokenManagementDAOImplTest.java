@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+import org.wso2.carbon.identity.oauth2.model.AuthorizedClientDO;
+import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for the retrieval of the clients authorized by a user in TokenManagementDAOImpl.
+ */
+@WithCarbonHome
+@PrepareForTest({IdentityDatabaseUtil.class, IdentityUtil.class, OAuthServerConfiguration.class})
+public class TokenManagementDAOImplTest extends PowerMockIdentityBaseTest {
+
+    private static final String DB_NAME = "TokenManagementDB";
+    private static final String USER = "bob";
+
+    @Mock
+    private OAuthServerConfiguration mockedServerConfig;
+
+    @Mock
+    private RealmService realmService;
+
+    @Mock
+    private TenantManager tenantManager;
+
+    private Connection connection;
+    private TokenManagementDAOImpl tokenManagementDAO;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        DAOUtils.initializeDataSource(DB_NAME, DAOUtils.getFilePath("identity.sql"));
+        // Apps are inserted out of the order of their names, which is the order of the listing.
+        persistApp("clientC", "appC");
+        persistApp("clientA", "appA");
+        persistApp("clientD", "appD");
+        persistApp("clientB", "appB");
+
+        persistToken("tokenA1", "clientA", USER, "ACTIVE", 1000L, "openid");
+        // Tokens of the same client with different scopes are grouped into a single client.
+        persistToken("tokenB1", "clientB", USER, "EXPIRED", 2000L, "openid", "profile");
+        persistToken("tokenB2", "clientB", USER, "ACTIVE", 3000L, "email");
+        // Revoked tokens and tokens of other users do not authorize a client.
+        persistToken("tokenC1", "clientC", USER, "REVOKED", 4000L, "openid");
+        persistToken("tokenC2", "clientC", "alice", "ACTIVE", 5000L, "openid");
+        persistToken("tokenD1", "clientD", USER, "ACTIVE", 6000L);
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        connection = DAOUtils.getConnection(DB_NAME);
+        mockStatic(IdentityDatabaseUtil.class);
+        when(IdentityDatabaseUtil.getDBConnection(anyBoolean())).thenReturn(connection);
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty(anyString())).thenReturn(null);
+        when(IdentityUtil.getPrimaryDomainName()).thenReturn("PRIMARY");
+        when(IdentityUtil.isUserStoreInUsernameCaseSensitive(anyString())).thenReturn(true);
+
+        mockStatic(OAuthServerConfiguration.class);
+        when(OAuthServerConfiguration.getInstance()).thenReturn(mockedServerConfig);
+        when(mockedServerConfig.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+
+        OAuthComponentServiceHolder.getInstance().setRealmService(realmService);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getTenantId(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME))
+                .thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+
+        tokenManagementDAO = new TokenManagementDAOImpl();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        connection.close();
+    }
+
+    @Test
+    public void testGetAuthorizedClients() throws Exception {
+
+        List<AuthorizedClientDO> authorizedClients = tokenManagementDAO.getAuthorizedClients(getUser(), 0, 10);
+
+        assertEquals(getConsumerKeys(authorizedClients), Arrays.asList("clientA", "clientB", "clientD"));
+        AuthorizedClientDO clientB = authorizedClients.get(1);
+        assertEquals(clientB.getApplicationName(), "appB");
+        assertEquals(clientB.getLatestIssuedTime(), 3000L);
+        assertEquals(clientB.getScopes(), new HashSet<>(Arrays.asList("email", "openid", "profile")));
+        assertTrue(authorizedClients.get(2).getScopes().isEmpty());
+    }
+
+    @Test
+    public void testGetAuthorizedClientsByPage() throws Exception {
+
+        AuthenticatedUser user = getUser();
+        assertEquals(getConsumerKeys(tokenManagementDAO.getAuthorizedClients(user, 0, 2)),
+                Arrays.asList("clientA", "clientB"));
+        // A client whose tokens span several rows is counted once when the page is taken.
+        assertEquals(getConsumerKeys(tokenManagementDAO.getAuthorizedClients(user, 1, 1)),
+                Collections.singletonList("clientB"));
+        assertEquals(getConsumerKeys(tokenManagementDAO.getAuthorizedClients(user, 2, 2)),
+                Collections.singletonList("clientD"));
+        assertTrue(tokenManagementDAO.getAuthorizedClients(user, 3, 2).isEmpty());
+    }
+
+    private static AuthenticatedUser getUser() {
+
+        AuthenticatedUser user = new AuthenticatedUser();
+        user.setUserName(USER);
+        user.setUserStoreDomain("PRIMARY");
+        user.setTenantDomain(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        return user;
+    }
+
+    private static List<String> getConsumerKeys(List<AuthorizedClientDO> authorizedClients) {
+
+        String[] consumerKeys = new String[authorizedClients.size()];
+        for (int i = 0; i < consumerKeys.length; i++) {
+            consumerKeys[i] = authorizedClients.get(i).getConsumerKey();
+        }
+        return Arrays.asList(consumerKeys);
+    }
+
+    private static void persistApp(String consumerKey, String appName) throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH_CONSUMER_APPS " +
+                     "(CONSUMER_KEY, CONSUMER_SECRET, USERNAME, TENANT_ID, USER_DOMAIN, APP_NAME, OAUTH_VERSION) " +
+                     "VALUES (?, 'secret', 'admin', -1234, 'PRIMARY', ?, 'OAuth-2.0')")) {
+            prepStmt.setString(1, consumerKey);
+            prepStmt.setString(2, appName);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private static void persistToken(String tokenId, String consumerKey, String user, String tokenState,
+                                     long timeCreated, String... scopes) throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            try (PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH2_ACCESS_TOKEN " +
+                    "(TOKEN_ID, ACCESS_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, " +
+                    "GRANT_TYPE, TIME_CREATED, TOKEN_SCOPE_HASH, TOKEN_STATE, IDP_ID) SELECT ?, ?, ID, ?, -1234, " +
+                    "'PRIMARY', 'APPLICATION_USER', 'password', ?, ?, ?, 1 FROM IDN_OAUTH_CONSUMER_APPS WHERE " +
+                    "CONSUMER_KEY = ?")) {
+                prepStmt.setString(1, tokenId);
+                prepStmt.setString(2, tokenId + "Value");
+                prepStmt.setString(3, user);
+                prepStmt.setTimestamp(4, new Timestamp(timeCreated));
+                prepStmt.setString(5, tokenId);
+                prepStmt.setString(6, tokenState);
+                prepStmt.setString(7, consumerKey);
+                prepStmt.executeUpdate();
+            }
+            for (String scope : scopes) {
+                try (PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO " +
+                        "IDN_OAUTH2_ACCESS_TOKEN_SCOPE (TOKEN_ID, TOKEN_SCOPE, TENANT_ID) VALUES (?, ?, -1234)")) {
+                    prepStmt.setString(1, tokenId);
+                    prepStmt.setString(2, scope);
+                    prepStmt.executeUpdate();
+                }
+            }
+        }
+    }
+}
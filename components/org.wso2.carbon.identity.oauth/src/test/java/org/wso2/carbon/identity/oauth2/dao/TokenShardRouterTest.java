@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test class for TokenShardRouter.
+ */
+public class TokenShardRouterTest {
+
+    @DataProvider(name = "tableSuffixDataProvider")
+    public Object[][] tableSuffixDataProvider() {
+
+        return new Object[][]{
+                {null, ""},
+                {0, ""},
+                {1, "_S1"},
+                {12, "_S12"},
+        };
+    }
+
+    @Test(dataProvider = "tableSuffixDataProvider")
+    public void testGetTableSuffix(Integer shard, String expectedSuffix) {
+
+        assertEquals(TokenShardRouter.getTableSuffix(shard), expectedSuffix);
+    }
+
+    @Test
+    public void testCallInShard() throws Exception {
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        assertNull(tokenShardRouter.getCurrentShard());
+
+        int shard = tokenShardRouter.callInShard(3, () -> {
+            assertEquals(tokenShardRouter.callInShard(1, tokenShardRouter::getCurrentShard), Integer.valueOf(1));
+            return tokenShardRouter.getCurrentShard();
+        });
+        assertEquals(shard, 3);
+        assertNull(tokenShardRouter.getCurrentShard(), "Shard should be cleared after the call.");
+    }
+
+    @Test
+    public void testCallInEachShardWithinShard() throws Exception {
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        List<Integer> shards = tokenShardRouter.callInShard(2, () ->
+                tokenShardRouter.callInEachShard(tokenShardRouter::getCurrentShard));
+        assertEquals(shards.size(), 1, "Operation running in a shard should not be routed again.");
+        assertEquals(shards.get(0), Integer.valueOf(2));
+    }
+}
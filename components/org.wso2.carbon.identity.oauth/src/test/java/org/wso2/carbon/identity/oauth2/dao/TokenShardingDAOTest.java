@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test class for the routing of access tokens to the shard tables, using the shard tables of token_shards.sql.
+ */
+@WithCarbonHome
+@PrepareForTest({IdentityDatabaseUtil.class, IdentityUtil.class, OAuthServerConfiguration.class})
+public class TokenShardingDAOTest extends PowerMockIdentityBaseTest {
+
+    private static final String DB_NAME = "TokenShardingDB";
+    private static final String CONSUMER_KEY = "shardedClient";
+
+    @Mock
+    private OAuthServerConfiguration mockedServerConfig;
+
+    private Connection connection;
+    private AccessTokenDAOImpl accessTokenDAO;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        DAOUtils.initializeBatchDataSource(DB_NAME, "identity.sql", "token_shards.sql");
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH_CONSUMER_APPS " +
+                     "(CONSUMER_KEY, CONSUMER_SECRET, USERNAME, TENANT_ID, USER_DOMAIN, APP_NAME, OAUTH_VERSION) " +
+                     "VALUES (?, 'secret', 'admin', -1234, 'PRIMARY', 'shardedApp', 'OAuth-2.0')")) {
+            prepStmt.setString(1, CONSUMER_KEY);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        connection = DAOUtils.getConnection(DB_NAME);
+        mockStatic(IdentityDatabaseUtil.class);
+        when(IdentityDatabaseUtil.getDBConnection(anyBoolean())).thenReturn(connection);
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty(anyString())).thenReturn(null);
+        when(IdentityUtil.getProperty(OAuth2Constants.TOKEN_SHARDING_ENABLE)).thenReturn("true");
+        when(IdentityUtil.getProperty(OAuth2Constants.TOKEN_SHARDING_SHARD_COUNT)).thenReturn("2");
+        when(IdentityUtil.getPrimaryDomainName()).thenReturn("PRIMARY");
+
+        mockStatic(OAuthServerConfiguration.class);
+        when(OAuthServerConfiguration.getInstance()).thenReturn(mockedServerConfig);
+        when(mockedServerConfig.getHashAlgorithm()).thenReturn("SHA-256");
+        when(mockedServerConfig.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+
+        accessTokenDAO = new AccessTokenDAOImpl();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        connection.close();
+    }
+
+    @Test
+    public void testTokensAreLookedUpInTheirShards() throws Exception {
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        String shard0Token = getTokenOfShard(tokenShardRouter, 0);
+        String shard1Token = getTokenOfShard(tokenShardRouter, 1);
+        persistToken("IDN_OAUTH2_ACCESS_TOKEN", "shard0TokenId", shard0Token);
+        persistToken("IDN_OAUTH2_ACCESS_TOKEN_S1", "shard1TokenId", shard1Token);
+
+        // Lookups by token are routed to the shard of the token.
+        assertEquals(accessTokenDAO.getTokenIdByAccessToken(shard0Token), "shard0TokenId");
+        assertEquals(accessTokenDAO.getTokenIdByAccessToken(shard1Token), "shard1TokenId");
+
+        // Lookups by token id are run in every shard.
+        assertEquals(accessTokenDAO.getAccessTokenByTokenId("shard0TokenId"), shard0Token);
+        assertEquals(accessTokenDAO.getAccessTokenByTokenId("shard1TokenId"), shard1Token);
+        assertNull(accessTokenDAO.getAccessTokenByTokenId("unknownTokenId"));
+    }
+
+    @Test
+    public void testTokenInAnotherShardIsNotFound() throws Exception {
+
+        TokenShardRouter tokenShardRouter = TokenShardRouter.getInstance();
+        String misplacedToken = getTokenOfShard(tokenShardRouter, 1, "misplaced");
+        persistToken("IDN_OAUTH2_ACCESS_TOKEN", "misplacedTokenId", misplacedToken);
+
+        assertNull(accessTokenDAO.getTokenIdByAccessToken(misplacedToken),
+                "Token should only be looked up in the tables of its shard.");
+    }
+
+    private static String getTokenOfShard(TokenShardRouter tokenShardRouter, int shard) {
+
+        return getTokenOfShard(tokenShardRouter, shard, "token");
+    }
+
+    private static String getTokenOfShard(TokenShardRouter tokenShardRouter, int shard, String prefix) {
+
+        for (int i = 0; ; i++) {
+            String token = prefix + i;
+            if (tokenShardRouter.getShard(token) == shard) {
+                return token;
+            }
+        }
+    }
+
+    private void persistToken(String table, String tokenId, String token) throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO " + table + " (TOKEN_ID, " +
+                     "ACCESS_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, " +
+                     "TOKEN_SCOPE_HASH, ACCESS_TOKEN_HASH, IDP_ID) SELECT ?, ?, ID, ?, -1234, 'PRIMARY', " +
+                     "'APPLICATION_USER', 'password', ?, ?, 1 FROM IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY = ?")) {
+            prepStmt.setString(1, tokenId);
+            prepStmt.setString(2, token);
+            prepStmt.setString(3, tokenId + "User");
+            prepStmt.setString(4, tokenId);
+            prepStmt.setString(5, new HashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token));
+            prepStmt.setString(6, CONSUMER_KEY);
+            prepStmt.executeUpdate();
+        }
+    }
+}
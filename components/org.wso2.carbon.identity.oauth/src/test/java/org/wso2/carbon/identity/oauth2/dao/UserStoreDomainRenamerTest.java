@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.model.UserStoreDomainRenameStatus;
+import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+/**
+ * Test class for UserStoreDomainRenamer.
+ */
+@PrepareForTest({IdentityUtil.class})
+public class UserStoreDomainRenamerTest extends PowerMockIdentityBaseTest {
+
+    private static final int TENANT_ID = 1;
+    private static final String CURRENT_USER_STORE_DOMAIN = "CURRENT";
+    private static final String NEW_USER_STORE_DOMAIN = "NEW";
+
+    private AccessTokenDAO accessTokenDAO;
+    private AuthorizationCodeDAO authorizationCodeDAO;
+    private UserStoreDomainRenamer userStoreDomainRenamer;
+
+    @BeforeMethod
+    public void setUp() {
+
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty(anyString())).thenReturn(null);
+        when(IdentityUtil.getProperty("OAuth.UserStoreDomainRename.ChunkSize")).thenReturn("2");
+        accessTokenDAO = mock(AccessTokenDAO.class);
+        authorizationCodeDAO = mock(AuthorizationCodeDAO.class);
+        userStoreDomainRenamer = new UserStoreDomainRenamer(accessTokenDAO, authorizationCodeDAO);
+    }
+
+    @Test
+    public void testRename() throws Exception {
+
+        when(accessTokenDAO.updateUserStoreDomain(TENANT_ID, CURRENT_USER_STORE_DOMAIN, NEW_USER_STORE_DOMAIN, 2))
+                .thenReturn(2, 2, 1, 0);
+        when(authorizationCodeDAO.updateUserStoreDomain(TENANT_ID, CURRENT_USER_STORE_DOMAIN, NEW_USER_STORE_DOMAIN,
+                2)).thenReturn(1, 0);
+
+        assertNull(userStoreDomainRenamer.getStatus(TENANT_ID, CURRENT_USER_STORE_DOMAIN));
+        UserStoreDomainRenameStatus status = userStoreDomainRenamer.rename(TENANT_ID, CURRENT_USER_STORE_DOMAIN,
+                NEW_USER_STORE_DOMAIN);
+
+        assertEquals(status.getState(), UserStoreDomainRenameStatus.State.COMPLETED);
+        assertEquals(status.getRenamedAccessTokenCount(), 5);
+        assertEquals(status.getRenamedAuthorizationCodeCount(), 1);
+        assertEquals(userStoreDomainRenamer.getStatus(TENANT_ID, "current"), status);
+        verify(accessTokenDAO, times(4)).updateUserStoreDomain(eq(TENANT_ID), eq(CURRENT_USER_STORE_DOMAIN),
+                eq(NEW_USER_STORE_DOMAIN), anyInt());
+    }
+
+    @Test
+    public void testResumeFailedRename() throws Exception {
+
+        when(accessTokenDAO.updateUserStoreDomain(TENANT_ID, CURRENT_USER_STORE_DOMAIN, NEW_USER_STORE_DOMAIN, 2))
+                .thenReturn(2).thenThrow(new IdentityOAuth2Exception("Database error.")).thenReturn(1, 0);
+
+        try {
+            userStoreDomainRenamer.rename(TENANT_ID, CURRENT_USER_STORE_DOMAIN, NEW_USER_STORE_DOMAIN);
+            fail("The rename should fail when a chunk could not be renamed.");
+        } catch (IdentityOAuth2Exception e) {
+            UserStoreDomainRenameStatus status = userStoreDomainRenamer.getStatus(TENANT_ID,
+                    CURRENT_USER_STORE_DOMAIN);
+            assertEquals(status.getState(), UserStoreDomainRenameStatus.State.FAILED);
+            assertEquals(status.getRenamedAccessTokenCount(), 2);
+            assertEquals(status.getErrorMessage(), "Database error.");
+        }
+
+        UserStoreDomainRenameStatus status = userStoreDomainRenamer.resume(TENANT_ID, CURRENT_USER_STORE_DOMAIN);
+        assertEquals(status.getState(), UserStoreDomainRenameStatus.State.COMPLETED);
+        assertEquals(status.getNewUserStoreDomain(), NEW_USER_STORE_DOMAIN);
+        assertEquals(status.getRenamedAccessTokenCount(), 1);
+    }
+
+    @Test(expectedExceptions = IdentityOAuth2Exception.class)
+    public void testResumeWithoutFailedRename() throws Exception {
+
+        userStoreDomainRenamer.resume(TENANT_ID, CURRENT_USER_STORE_DOMAIN);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.model;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for AppPolicy.
+ */
+public class AppPolicyTest {
+
+    @DataProvider(name = "callbackUriDataProvider")
+    public Object[][] callbackUriDataProvider() {
+
+        return new Object[][]{
+                {"https://localhost:8080/callback", "https://localhost:8080/callback", true, true},
+                {"https://localhost:8080/callback", "https://localhost:8080/other", false, false},
+                {"regexp=https://localhost:8080/(callback|redirect)", "https://localhost:8080/redirect", true, true},
+                {"regexp=https://localhost:8080/(callback|redirect)", "https://localhost:8080/other", false, false},
+                {"http://127.0.0.1:8080/callback", "http://127.0.0.1:9090/callback", false, true},
+                {"http://[::1]:8080/callback", "http://[::1]:9090/callback", false, true},
+                {"regexp=http://127.0.0.1:8080/(callback|redirect)", "http://127.0.0.1:9090/redirect", false, true},
+                {"regexp=http://127.0.0.1:8080/(callback|redirect)", "http://127.0.0.1:9090/other", false, false},
+                {"regexp=https://localhost:8080/(callback", "https://localhost:8080/callback", false, false},
+                {"https://localhost:8080/callback", null, false, false},
+                {null, "https://localhost:8080/callback", false, false},
+        };
+    }
+
+    @Test(dataProvider = "callbackUriDataProvider")
+    public void testCallbackUri(String registeredCallbackUrl, String callbackUri, boolean expected,
+                                boolean expectedIgnoringLoopbackPort) {
+
+        OAuthAppDO oAuthAppDO = new OAuthAppDO();
+        oAuthAppDO.setCallbackUrl(registeredCallbackUrl);
+        AppPolicy appPolicy = AppPolicy.of(oAuthAppDO);
+        assertEquals(appPolicy.isValidCallbackUri(callbackUri), expected);
+        assertEquals(appPolicy.isValidCallbackUriIgnoringLoopbackPort(callbackUri), expectedIgnoringLoopbackPort);
+    }
+
+    @Test
+    public void testGrantTypes() {
+
+        OAuthAppDO oAuthAppDO = new OAuthAppDO();
+        oAuthAppDO.setGrantTypes("authorization_code refresh_token urn:ietf:params:oauth:grant-type:jwt-bearer");
+        AppPolicy appPolicy = AppPolicy.of(oAuthAppDO);
+        assertTrue(appPolicy.isGrantTypeAllowed("authorization_code"));
+        assertTrue(appPolicy.isGrantTypeAllowed("urn:ietf:params:oauth:grant-type:jwt-bearer"));
+        assertFalse(appPolicy.isGrantTypeAllowed("code"));
+        assertFalse(appPolicy.isGrantTypeAllowed("jwt-bearer"));
+        assertFalse(appPolicy.isGrantTypeAllowed(null));
+        assertEquals(appPolicy.getGrantTypes().size(), 3);
+
+        assertTrue(AppPolicy.of(new OAuthAppDO()).getGrantTypes().isEmpty());
+    }
+
+    @Test
+    public void testPolicyRecompiledOnChange() {
+
+        OAuthAppDO oAuthAppDO = new OAuthAppDO();
+        oAuthAppDO.setGrantTypes("password");
+        AppPolicy appPolicy = AppPolicy.of(oAuthAppDO);
+        assertSame(AppPolicy.of(oAuthAppDO), appPolicy);
+
+        oAuthAppDO.setGrantTypes("client_credentials");
+        AppPolicy updatedAppPolicy = AppPolicy.of(oAuthAppDO);
+        assertNotSame(updatedAppPolicy, appPolicy);
+        assertTrue(updatedAppPolicy.isGrantTypeAllowed("client_credentials"));
+        assertFalse(updatedAppPolicy.isGrantTypeAllowed("password"));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.model;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for AuthorizedClientDO.
+ */
+public class AuthorizedClientDOTest {
+
+    @Test
+    public void testAddToken() {
+
+        AuthorizedClientDO authorizedClient = new AuthorizedClientDO("client", "app");
+        authorizedClient.addToken(2000L, "read");
+        authorizedClient.addToken(1000L, "write");
+        authorizedClient.addToken(1500L, null);
+
+        assertEquals(authorizedClient.getConsumerKey(), "client");
+        assertEquals(authorizedClient.getApplicationName(), "app");
+        assertEquals(authorizedClient.getLatestIssuedTime(), 2000L);
+        assertEquals(authorizedClient.getScopes(), new HashSet<>(Arrays.asList("read", "write")));
+    }
+
+    @Test
+    public void testMerge() {
+
+        AuthorizedClientDO authorizedClient = new AuthorizedClientDO("client", "app");
+        authorizedClient.addToken(1000L, "read");
+        AuthorizedClientDO shardClient = new AuthorizedClientDO("client", "app");
+        shardClient.addToken(3000L, "openid");
+        authorizedClient.merge(shardClient);
+
+        assertEquals(authorizedClient.getLatestIssuedTime(), 3000L);
+        assertTrue(authorizedClient.getScopes().containsAll(Arrays.asList("read", "openid")));
+        assertEquals(authorizedClient.getScopes().size(), 2);
+    }
+}
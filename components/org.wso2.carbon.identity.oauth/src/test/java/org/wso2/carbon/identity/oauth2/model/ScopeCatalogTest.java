@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.model;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.bean.Scope;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for ScopeCatalog.
+ */
+public class ScopeCatalogTest {
+
+    private ScopeCatalog scopeCatalog;
+
+    @BeforeClass
+    public void setUp() {
+
+        Scope readScope = new Scope("read", "Read", new ArrayList<>(), "Read access");
+        readScope.addScopeBinding("DEFAULT", "admin");
+        readScope.addScopeBinding("DEFAULT", "reader");
+        readScope.addScopeBinding("ROLE", "viewer");
+        Scope writeScope = new Scope("write", "Write", new ArrayList<>(), "Write access");
+        Scope emailScope = new Scope("email", "Email", new ArrayList<>(), "Email claims");
+        scopeCatalog = new ScopeCatalog(3, Arrays.asList(readScope, writeScope), Collections.singletonList(emailScope));
+    }
+
+    @Test
+    public void testGetScope() {
+
+        assertEquals(scopeCatalog.getScope("read", false).getDisplayName(), "Read");
+        assertEquals(scopeCatalog.getScope("email", true).getDisplayName(), "Email");
+        assertNull(scopeCatalog.getScope("email", false));
+        assertNull(scopeCatalog.getScope("unknown", true));
+        assertNull(scopeCatalog.getScope(null, true));
+    }
+
+    @Test
+    public void testGetScopeReturnsCopy() {
+
+        Scope readScope = scopeCatalog.getScope("read", false);
+        readScope.setDisplayName("Modified");
+        readScope.addScopeBinding("DEFAULT", "writer");
+        scopeCatalog.getScopes(true).iterator().next().getScopeBindings().clear();
+
+        assertEquals(scopeCatalog.getScope("read", false).getDisplayName(), "Read");
+        assertEquals(scopeCatalog.getScope("read", false).getBindings(), Arrays.asList("admin", "reader"));
+    }
+
+    @Test
+    public void testIsScopeExists() {
+
+        assertTrue(scopeCatalog.isScopeExists("write", false));
+        assertTrue(scopeCatalog.isScopeExists("email", true));
+        assertFalse(scopeCatalog.isScopeExists("email", false));
+        assertFalse(scopeCatalog.isScopeExists("unknown", true));
+    }
+
+    @Test
+    public void testOIDCScopes() {
+
+        assertTrue(scopeCatalog.isOIDCScope("email"));
+        assertFalse(scopeCatalog.isOIDCScope("read"));
+        assertEquals(scopeCatalog.getOIDCScopeNames(), Collections.singleton("email"));
+    }
+
+    @Test
+    public void testGetBindings() {
+
+        assertEquals(scopeCatalog.getBindings("read").size(), 3);
+        assertTrue(scopeCatalog.getBindings("read").contains("viewer"));
+        assertTrue(scopeCatalog.getBindings("write").isEmpty());
+        assertTrue(scopeCatalog.getBindings("unknown").isEmpty());
+    }
+
+    @Test
+    public void testGetScopes() {
+
+        assertEquals(scopeCatalog.getScopes(false).size(), 2);
+        assertEquals(scopeCatalog.getScopes(true).size(), 3);
+        assertEquals(scopeCatalog.getScopes(Arrays.asList("read", "email", "unknown"), false).size(), 1);
+        assertEquals(scopeCatalog.getScopes(Arrays.asList("read", "email", "unknown"), true).size(), 2);
+        assertEquals(scopeCatalog.size(), 3);
+        assertEquals(scopeCatalog.getVersion(), 3);
+    }
+}
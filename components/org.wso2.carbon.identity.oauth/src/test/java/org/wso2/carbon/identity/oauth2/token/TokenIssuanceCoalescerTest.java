@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.token;
+
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
+
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for TokenIssuanceCoalescer.
+ */
+@PrepareForTest({IdentityUtil.class})
+public class TokenIssuanceCoalescerTest extends PowerMockIdentityBaseTest {
+
+    @BeforeMethod
+    public void setUp() {
+
+        mockStatic(IdentityUtil.class);
+    }
+
+    @Test
+    public void testIsEnabled() {
+
+        when(IdentityUtil.getProperty(OAuth2Constants.TOKEN_ISSUANCE_COALESCING_ENABLE)).thenReturn("true");
+        assertTrue(TokenIssuanceCoalescer.isEnabled());
+        when(IdentityUtil.getProperty(OAuth2Constants.TOKEN_ISSUANCE_COALESCING_ENABLE)).thenReturn(null);
+        assertFalse(TokenIssuanceCoalescer.isEnabled());
+    }
+
+    @Test
+    public void testGetIssuedToken() {
+
+        TokenIssuanceCoalescer coalescer = TokenIssuanceCoalescer.getInstance();
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setAccessToken("issued-token");
+        coalescer.addIssuedToken("client:scope", accessTokenDO);
+
+        assertEquals(coalescer.getIssuedToken("client:scope"), accessTokenDO);
+        assertNull(coalescer.getIssuedToken("client:other-scope"));
+
+        coalescer.clearIssuedToken("client:scope");
+        assertNull(coalescer.getIssuedToken("client:scope"));
+    }
+
+    @Test
+    public void testRevokedTokenIsNotShared() {
+
+        TokenIssuanceCoalescer coalescer = TokenIssuanceCoalescer.getInstance();
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setAccessToken("revoked-token");
+        accessTokenDO.setTokenId("revoked-token-id");
+        coalescer.addIssuedToken("client:revoked", accessTokenDO);
+        assertEquals(coalescer.getIssuedToken("client:revoked"), accessTokenDO);
+
+        // The token revocation paths of the access token DAO clear the caches by the id of the revoked token.
+        coalescer.clearIssuedTokenById("revoked-token-id");
+        assertNull(coalescer.getIssuedToken("client:revoked"));
+    }
+
+    @Test
+    public void testIssuedTokenExpiry() {
+
+        when(IdentityUtil.getProperty(OAuth2Constants.TOKEN_ISSUANCE_COALESCING_RESULT_TIMEOUT)).thenReturn("0");
+        TokenIssuanceCoalescer coalescer = TokenIssuanceCoalescer.getInstance();
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setAccessToken("expiring-token");
+        coalescer.addIssuedToken("client:expiring", accessTokenDO);
+
+        // Let the result timeout of zero seconds elapse.
+        long issuedTime = System.currentTimeMillis();
+        while (System.currentTimeMillis() <= issuedTime) {
+            Thread.yield();
+        }
+        assertNull(coalescer.getIssuedToken("client:expiring"));
+    }
+}
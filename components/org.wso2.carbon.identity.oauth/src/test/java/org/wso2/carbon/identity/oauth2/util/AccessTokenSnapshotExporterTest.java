@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.io.StringWriter;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Test class for AccessTokenSnapshotExporter.
+ */
+public class AccessTokenSnapshotExporterTest {
+
+    private static final int TENANT_ID = 1;
+
+    private AccessTokenDAO accessTokenDAO;
+    private AccessTokenSnapshotExporter exporter;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        long now = System.currentTimeMillis();
+        List<AccessTokenDO> tokens = Arrays.asList(
+                createToken("id-1", "client-a", "alice", new String[]{"openid", "profile"}, now - 1000, 3600000L,
+                        OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE),
+                createToken("id-2", "client-a", "bob,\"jr\"", new String[]{"openid"}, now - 500, 3600000L,
+                        OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE),
+                createToken("id-3", "client-b", "carol", new String[]{"openid"}, now - 7200000L, 3600000L,
+                        OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE),
+                createToken("id-4", "client-b", "dave", new String[]{"openid"}, now - 100, 3600000L,
+                        OAuthConstants.TokenStates.TOKEN_STATE_REVOKED),
+                createToken("id-5", "client-c", "erin", new String[]{"openid"}, now - 100, -1L,
+                        OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE));
+
+        accessTokenDAO = mock(AccessTokenDAO.class);
+        doAnswer(invocation -> {
+            AccessTokenDAO.AccessTokenConsumer consumer = invocation.getArgument(2);
+            for (AccessTokenDO token : tokens) {
+                consumer.accept(token);
+            }
+            return null;
+        }).when(accessTokenDAO).forEachAccessToken(anyInt(), isNull(), any(AccessTokenDAO.AccessTokenConsumer.class));
+        doAnswer(invocation -> {
+            String consumerKey = invocation.getArgument(1);
+            AccessTokenDAO.AccessTokenConsumer consumer = invocation.getArgument(2);
+            for (AccessTokenDO token : tokens) {
+                if (consumerKey.equals(token.getConsumerKey())) {
+                    consumer.accept(token);
+                }
+            }
+            return null;
+        }).when(accessTokenDAO).forEachAccessTokenOfConsumerKey(anyInt(), anyString(),
+                any(AccessTokenDAO.AccessTokenConsumer.class));
+        exporter = new AccessTokenSnapshotExporter(accessTokenDAO);
+    }
+
+    @Test
+    public void testExportActiveTokens() throws Exception {
+
+        StringWriter writer = new StringWriter();
+        assertEquals(exporter.exportActiveTokens(TENANT_ID, null, writer), 3);
+
+        String[] lines = writer.toString().split("\n");
+        assertEquals(lines.length, 4);
+        assertEquals(lines[0], AccessTokenSnapshotExporter.TOKEN_HEADER);
+        List<String> firstRow = parseCsvRow(lines[1]);
+        assertEquals(firstRow.size(), 10);
+        assertEquals(firstRow.get(2), "id-1");
+        assertEquals(firstRow.get(7), "openid profile");
+        List<String> secondRow = parseCsvRow(lines[2]);
+        assertEquals(secondRow.size(), 10);
+        assertEquals(secondRow.get(3), "bob,\"jr\"");
+        List<String> lastRow = parseCsvRow(lines[3]);
+        assertEquals(lastRow.get(2), "id-5");
+        assertEquals(lastRow.get(9), "");
+        assertFalse(writer.toString().contains("access-token"));
+    }
+
+    @Test
+    public void testExportActiveTokensOfClient() throws Exception {
+
+        StringWriter writer = new StringWriter();
+        assertEquals(exporter.exportActiveTokens(TENANT_ID, "client-b", writer), 0);
+        assertEquals(writer.toString(), AccessTokenSnapshotExporter.TOKEN_HEADER + "\n");
+
+        writer = new StringWriter();
+        assertEquals(exporter.exportActiveTokens(TENANT_ID, "client-a", writer), 2);
+        verify(accessTokenDAO, never()).forEachAccessToken(anyInt(), any(),
+                any(AccessTokenDAO.AccessTokenConsumer.class));
+    }
+
+    @Test
+    public void testExportActiveTokenSummary() throws Exception {
+
+        StringWriter writer = new StringWriter();
+        assertEquals(exporter.exportActiveTokenSummary(TENANT_ID, writer), 2);
+
+        String[] lines = writer.toString().split("\n");
+        assertEquals(lines.length, 3);
+        assertEquals(lines[0], AccessTokenSnapshotExporter.SUMMARY_HEADER);
+        assertEquals(parseCsvRow(lines[1]).subList(0, 3), Arrays.asList(String.valueOf(TENANT_ID), "client-a", "2"));
+        assertEquals(parseCsvRow(lines[2]).subList(0, 3), Arrays.asList(String.valueOf(TENANT_ID), "client-c", "1"));
+    }
+
+    private static List<String> parseCsvRow(String row) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    field.append(c);
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private AccessTokenDO createToken(String tokenId, String consumerKey, String userName, String[] scopes,
+                                      long issuedTime, long validityPeriod, String tokenState) {
+
+        AuthenticatedUser user = new AuthenticatedUser();
+        user.setUserName(userName);
+        AccessTokenDO accessTokenDO = new AccessTokenDO(consumerKey, user, scopes, new Timestamp(issuedTime),
+                new Timestamp(issuedTime), validityPeriod, validityPeriod, "APPLICATION_USER");
+        accessTokenDO.setTokenId(tokenId);
+        accessTokenDO.setAccessToken("access-token-" + tokenId);
+        accessTokenDO.setTokenState(tokenState);
+        return accessTokenDO;
+    }
+}
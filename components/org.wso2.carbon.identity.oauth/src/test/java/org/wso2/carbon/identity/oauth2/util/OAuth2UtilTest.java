@@ -80,6 +80,7 @@ import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthenti
 import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthnException;
 import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.dao.SQLQueries;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.ClientAuthenticationMethodModel;
@@ -768,6 +769,11 @@ public class OAuth2UtilTest extends PowerMockIdentityBaseTest {
     public Object[][] tokenPartitionedSqlByUserStoreData() {
         String sql = "SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN = ?";
         String partitionedSql = "SELECT TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN_A WHERE ACCESS_TOKEN = ?";
+        String scopeSql = "SELECT TOKEN_SCOPE FROM IDN_OAUTH2_ACCESS_TOKEN_SCOPE WHERE TOKEN_ID = ?";
+        String partitionedScopeSql = "SELECT TOKEN_SCOPE FROM IDN_OAUTH2_ACCESS_TOKEN_SCOPE_A WHERE TOKEN_ID = ?";
+        String partitionedQuery = SQLQueries.RETRIEVE_ACTIVE_ACCESS_TOKEN_BY_CLIENT_ID_USER
+                .replaceAll("\\bIDN_OAUTH2_ACCESS_TOKEN\\b", "IDN_OAUTH2_ACCESS_TOKEN_A")
+                .replaceAll("\\bIDN_OAUTH2_ACCESS_TOKEN_SCOPE\\b", "IDN_OAUTH2_ACCESS_TOKEN_SCOPE_A");
         return new Object[][]{
                 // accessTokenPartitioningEnabled
                 // assertionsUserNameEnabled
@@ -776,7 +782,9 @@ public class OAuth2UtilTest extends PowerMockIdentityBaseTest {
                 {false, false, sql, sql},
                 {true, false, sql, sql},
                 {false, true, sql, sql},
-                {true, true, sql, partitionedSql}
+                {true, true, sql, partitionedSql},
+                {true, true, scopeSql, partitionedScopeSql},
+                {true, true, SQLQueries.RETRIEVE_ACTIVE_ACCESS_TOKEN_BY_CLIENT_ID_USER, partitionedQuery}
         };
     }
 
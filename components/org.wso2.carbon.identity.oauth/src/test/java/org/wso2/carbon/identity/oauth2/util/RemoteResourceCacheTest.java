@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for RemoteResourceCache.
+ */
+public class RemoteResourceCacheTest {
+
+    private static final String JWKS_URL = "https://idp.example.com/jwks";
+    private static final String JWKS = "{\"keys\":[]}";
+    private static final String CONTENT_TYPE = "application/json";
+
+    @DataProvider(name = "maxAgeProvider")
+    public Object[][] maxAgeProvider() {
+
+        return new Object[][]{
+                {null, -1L},
+                {"no-cache", -1L},
+                {"max-age=300", 300L},
+                {"public, MAX-AGE = 60, must-revalidate", 60L},
+                {"max-age=\"120\"", 120L},
+                {"max-age=abc", -1L}
+        };
+    }
+
+    @Test(dataProvider = "maxAgeProvider")
+    public void testGetMaxAge(String cacheControl, long expected) {
+
+        assertEquals(RemoteResourceCache.getMaxAge(cacheControl), expected);
+    }
+
+    @Test
+    public void testHasDirective() {
+
+        assertTrue(RemoteResourceCache.hasDirective("private, No-Store", "no-store"));
+        assertFalse(RemoteResourceCache.hasDirective("max-age=60", "no-store"));
+        assertFalse(RemoteResourceCache.hasDirective(null, "no-cache"));
+    }
+
+    @Test
+    public void testFreshnessIsCapped() {
+
+        RemoteResourceCache cache = new RemoteResourceCache(10, 0);
+        cache.put(JWKS_URL, JWKS, CONTENT_TYPE, "max-age=300", "\"v1\"", null);
+        RemoteResourceCache.CachedResource cached = cache.get(JWKS_URL);
+        assertNotNull(cached);
+        assertFalse(cached.isFresh(), "Resource should be revalidated when freshness is disabled.");
+        assertEquals(cached.getETag(), "\"v1\"");
+
+        cache = new RemoteResourceCache(10, 60);
+        cache.put(JWKS_URL, JWKS, CONTENT_TYPE, "max-age=300", null, null);
+        assertTrue(cache.get(JWKS_URL).isFresh());
+        assertEquals(cache.get(JWKS_URL).getContent(), JWKS);
+    }
+
+    @Test
+    public void testResponsesNotCached() {
+
+        RemoteResourceCache cache = new RemoteResourceCache(10, 60);
+        cache.put(JWKS_URL, JWKS, CONTENT_TYPE, "no-store", "\"v1\"", null);
+        assertNull(cache.get(JWKS_URL));
+
+        // Neither revalidatable nor fresh.
+        cache.put(JWKS_URL, JWKS, CONTENT_TYPE, "no-cache", null, null);
+        assertNull(cache.get(JWKS_URL));
+
+        cache.put(JWKS_URL, JWKS, CONTENT_TYPE, null, null, "Mon, 19 Oct 2026 10:00:00 GMT");
+        assertNotNull(cache.get(JWKS_URL));
+        cache.put(JWKS_URL, JWKS, CONTENT_TYPE, "no-store", null, null);
+        assertNull(cache.get(JWKS_URL), "A no-store response should evict the previous entry.");
+    }
+
+    @Test
+    public void testRevalidated() {
+
+        RemoteResourceCache cache = new RemoteResourceCache(10, 60);
+        cache.put(JWKS_URL, JWKS, CONTENT_TYPE, null, "\"v1\"", null);
+        RemoteResourceCache.CachedResource cached = cache.get(JWKS_URL);
+        assertFalse(cached.isFresh());
+
+        cache.revalidated(JWKS_URL, cached, "max-age=30");
+        RemoteResourceCache.CachedResource revalidated = cache.get(JWKS_URL);
+        assertTrue(revalidated.isFresh());
+        assertEquals(revalidated.getETag(), "\"v1\"");
+        assertEquals(revalidated.getContentType(), CONTENT_TYPE);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+
+        RemoteResourceCache cache = new RemoteResourceCache(2, 0);
+        cache.put("https://a/jwks", JWKS, CONTENT_TYPE, null, "\"a\"", null);
+        cache.put("https://b/jwks", JWKS, CONTENT_TYPE, null, "\"b\"", null);
+        cache.get("https://a/jwks");
+        cache.put("https://c/jwks", JWKS, CONTENT_TYPE, null, "\"c\"", null);
+
+        assertEquals(cache.size(), 2);
+        assertNotNull(cache.get("https://a/jwks"));
+        assertNull(cache.get("https://b/jwks"));
+        assertNotNull(cache.get("https://c/jwks"));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Test class for ResourceScopeMatcher.
+ */
+public class ResourceScopeMatcherTest {
+
+    private ResourceScopeMatcher matcher;
+
+    @BeforeClass
+    public void setUp() {
+
+        Map<String, Pair<String, Integer>> resourceScopes = new HashMap<>();
+        resourceScopes.put("/pets/1.0.0/pets:GET", Pair.of("pets_list", -1234));
+        resourceScopes.put("/pets/1.0.0/pets/{petId}:GET", Pair.of("pets_read", -1234));
+        resourceScopes.put("/pets/1.0.0/pets/{petId}:DELETE", Pair.of("pets_delete", -1234));
+        resourceScopes.put("/pets/1.0.0/pets/owner:GET", Pair.of("owner_read", -1234));
+        resourceScopes.put("/store/1.0.0/*:GET", Pair.of("store_read", 1));
+        resourceScopes.put("/store/1.0.0/*/items/{itemId}", Pair.of("item_read", 1));
+        resourceScopes.put("/orders", Pair.of("orders", 2));
+        matcher = ResourceScopeMatcher.compile(resourceScopes);
+    }
+
+    @DataProvider(name = "resourceProvider")
+    public Object[][] resourceProvider() {
+
+        return new Object[][]{
+                {"/pets/1.0.0/pets:GET", "pets_list", -1234},
+                {"/pets/1.0.0/pets/123:GET", "pets_read", -1234},
+                {"/pets/1.0.0/pets/123:DELETE", "pets_delete", -1234},
+                {"/pets/1.0.0/pets/owner:GET", "owner_read", -1234},
+                {"/pets/1.0.0/pets/123?fields=name:GET", "pets_read", -1234},
+                {"/store/1.0.0/inventory:GET", "store_read", 1},
+                {"/store/1.0.0/inventory/2024/summary:GET", "store_read", 1},
+                {"/store/1.0.0/warehouse/items/42", "item_read", 1},
+                {"/orders?page=2", "orders", 2},
+                {"/orders#top", "orders", 2},
+        };
+    }
+
+    @Test(dataProvider = "resourceProvider")
+    public void testMatch(String resource, String expectedScope, int expectedTenantId) {
+
+        Pair<String, Integer> result = matcher.match(resource);
+        assertEquals(result.getLeft(), expectedScope);
+        assertEquals(result.getRight().intValue(), expectedTenantId);
+    }
+
+    @DataProvider(name = "unprotectedResourceProvider")
+    public Object[][] unprotectedResourceProvider() {
+
+        return new Object[][]{
+                {null},
+                {"/pets/1.0.0/pets/123:PUT"},
+                {"/pets/1.0.0/pets/123/photos:GET"},
+                {"/store/1.0.0:GET"},
+                {"/store/1.0.0/inventory:POST"},
+                {"/orders/1"},
+                {"/unknown"},
+        };
+    }
+
+    @Test(dataProvider = "unprotectedResourceProvider")
+    public void testNoMatch(String resource) {
+
+        assertNull(matcher.match(resource));
+    }
+
+    @Test
+    public void testSize() {
+
+        assertEquals(matcher.size(), 7);
+        assertEquals(ResourceScopeMatcher.compile(null).size(), 0);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.dao.TokenManagementDAO;
+import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Test class for ResourceScopeResolver.
+ */
+@PrepareForTest({IdentityUtil.class, OAuthTokenPersistenceFactory.class})
+public class ResourceScopeResolverTest extends PowerMockIdentityBaseTest {
+
+    @Mock
+    private OAuthTokenPersistenceFactory mockedPersistenceFactory;
+
+    @Mock
+    private TokenManagementDAO mockedTokenManagementDAO;
+
+    @BeforeMethod
+    public void setUp() {
+
+        initMocks(this);
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty(OAuth2Constants.RESOURCE_SCOPE_MATCHER_ENABLE)).thenReturn("true");
+        mockStatic(OAuthTokenPersistenceFactory.class);
+        when(OAuthTokenPersistenceFactory.getInstance()).thenReturn(mockedPersistenceFactory);
+        when(mockedPersistenceFactory.getTokenManagementDAO()).thenReturn(mockedTokenManagementDAO);
+        ResourceScopeResolver.getInstance().invalidate();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        ResourceScopeResolver.getInstance().invalidate();
+    }
+
+    @Test
+    public void testFindTenantAndScopeOfResourceAfterInvalidation() throws Exception {
+
+        when(mockedTokenManagementDAO.getAllResourceScopes()).thenReturn(Collections.singletonMap("/pets:GET",
+                Pair.of("pets_list", -1234)));
+        ResourceScopeResolver resolver = ResourceScopeResolver.getInstance();
+        assertEquals(resolver.findTenantAndScopeOfResource("/pets:GET"), Pair.of("pets_list", -1234));
+
+        // A scope was added, so the resources are loaded again.
+        when(mockedTokenManagementDAO.getAllResourceScopes()).thenReturn(Collections.singletonMap("/pets:GET",
+                Pair.of("pets_read", -1234)));
+        resolver.invalidate();
+        assertEquals(resolver.findTenantAndScopeOfResource("/pets:GET"), Pair.of("pets_read", -1234));
+        verify(mockedTokenManagementDAO, times(2)).getAllResourceScopes();
+    }
+
+    @Test
+    public void testFindTenantAndScopeOfResourceAfterLoadFailure() throws Exception {
+
+        when(mockedTokenManagementDAO.getAllResourceScopes())
+                .thenThrow(new IdentityOAuth2Exception("Database unavailable."));
+        ResourceScopeResolver resolver = ResourceScopeResolver.getInstance();
+        for (int i = 0; i < 3; i++) {
+            try {
+                resolver.findTenantAndScopeOfResource("/pets:GET");
+                fail("The resource scopes are expected to be unavailable.");
+            } catch (IdentityOAuth2Exception e) {
+                // Expected.
+            }
+        }
+        // The failed load is remembered, hence the database is not queried again within the retry interval.
+        verify(mockedTokenManagementDAO, times(1)).getAllResourceScopes();
+    }
+}
@@ -47,6 +47,7 @@ import org.wso2.carbon.identity.oauth.cache.AppInfoCache;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
+import org.wso2.carbon.identity.oauth.tokenprocessor.DefaultTokenProvider;
 import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
 import org.wso2.carbon.identity.oauth.tokenprocessor.TokenProvider;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
@@ -87,6 +88,7 @@ import static org.powermock.api.mockito.PowerMockito.when;
 import static org.powermock.api.support.membermodification.MemberMatcher.method;
 import static org.powermock.api.support.membermodification.MemberModifier.stub;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
@@ -198,6 +200,166 @@ public class TokenValidationHandlerTest extends PowerMockTestCase {
         assertNotNull(response);
     }
 
+    @DataProvider(name = "batchSizeProvider")
+    public Object[][] batchSizeProvider() {
+
+        return new Object[][]{
+                {1},
+                {10},
+                {100}
+        };
+    }
+
+    @Test(dataProvider = "batchSizeProvider")
+    public void testValidateBatch(int batchSize) throws Exception {
+
+        List<OAuth2TokenValidationRequestDTO> requestDTOs = new ArrayList<>();
+        Map<String, AccessTokenDO> prefetchedAccessTokens = new HashMap<>();
+        for (int i = 0; i < batchSize; i++) {
+            OAuth2TokenValidationRequestDTO requestDTO = new OAuth2TokenValidationRequestDTO();
+            OAuth2TokenValidationRequestDTO.OAuth2AccessToken accessToken = requestDTO.new OAuth2AccessToken();
+            accessToken.setIdentifier("token-" + i);
+            accessToken.setTokenType("test");
+            requestDTO.setAccessToken(accessToken);
+            requestDTOs.add(requestDTO);
+            // Every other token is found by the bulk lookup. The rest are not active.
+            if (i % 2 == 0) {
+                AuthenticatedUser user = new AuthenticatedUser();
+                user.setFederatedUser(true);
+                user.setAuthenticatedSubjectIdentifier("user-" + i);
+                AccessTokenDO accessTokenDO = new AccessTokenDO(clientId, user, scopeArraySorted, issuedTime,
+                        refreshTokenIssuedTime, validityPeriodInMillis, refreshTokenValidityPeriodInMillis,
+                        tokenType);
+                prefetchedAccessTokens.put("token-" + i, accessTokenDO);
+            }
+        }
+
+        mockStatic(OAuth2ServiceComponentHolder.class);
+        OAuth2ServiceComponentHolder oAuth2ServiceComponentHolderInstance =
+                Mockito.mock(OAuth2ServiceComponentHolder.class);
+        DefaultTokenProvider tokenProvider = Mockito.mock(DefaultTokenProvider.class);
+        when(OAuth2ServiceComponentHolder.getInstance()).thenReturn(oAuth2ServiceComponentHolderInstance);
+        when(oAuth2ServiceComponentHolderInstance.getTokenProvider()).thenReturn(tokenProvider);
+        when(tokenProvider.getVerifiedAccessToken(Mockito.anyString(), Mockito.anyBoolean()))
+                .thenThrow(new IllegalArgumentException("Invalid Access Token. ACTIVE access token is not found."));
+
+        mockStatic(OAuth2Util.class);
+        when(OAuth2Util.getActiveAccessTokenDOsFromTokenIdentifiers(Mockito.anyCollection()))
+                .thenReturn(prefetchedAccessTokens);
+        when(OAuth2Util.getAccessTokenExpireMillis(Mockito.any(), Mockito.anyBoolean())).thenReturn(1000L);
+        when(tokenValidator.validateAccessDelegation(Mockito.any())).thenReturn(true);
+        when(tokenValidator.validateScope(Mockito.any())).thenReturn(true);
+        when(tokenValidator.validateAccessToken(Mockito.any())).thenReturn(true);
+
+        List<OAuth2TokenValidationResponseDTO> responseDTOs = tokenValidationHandler.validate(requestDTOs);
+
+        assertEquals(responseDTOs.size(), batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            OAuth2TokenValidationResponseDTO responseDTO = responseDTOs.get(i);
+            if (i % 2 == 0) {
+                assertTrue(responseDTO.isValid());
+                assertEquals(responseDTO.getAuthorizedUser(), "user-" + i);
+            } else {
+                assertFalse(responseDTO.isValid());
+            }
+        }
+        // Only the tokens missed by the bulk lookup are looked up one by one.
+        Mockito.verify(tokenProvider, Mockito.times(batchSize / 2))
+                .getVerifiedAccessToken(Mockito.anyString(), Mockito.anyBoolean());
+    }
+
+    @Test
+    public void testValidateBatchWithUnexpectedError() throws Exception {
+
+        List<OAuth2TokenValidationRequestDTO> requestDTOs = new ArrayList<>();
+        Map<String, AccessTokenDO> prefetchedAccessTokens = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            OAuth2TokenValidationRequestDTO requestDTO = new OAuth2TokenValidationRequestDTO();
+            OAuth2TokenValidationRequestDTO.OAuth2AccessToken accessToken = requestDTO.new OAuth2AccessToken();
+            accessToken.setIdentifier("token-" + i);
+            accessToken.setTokenType("test");
+            requestDTO.setAccessToken(accessToken);
+            requestDTOs.add(requestDTO);
+            AuthenticatedUser user = new AuthenticatedUser();
+            user.setFederatedUser(true);
+            user.setAuthenticatedSubjectIdentifier("user-" + i);
+            prefetchedAccessTokens.put("token-" + i, new AccessTokenDO(clientId, user, scopeArraySorted, issuedTime,
+                    refreshTokenIssuedTime, validityPeriodInMillis, refreshTokenValidityPeriodInMillis, tokenType));
+        }
+
+        mockStatic(OAuth2ServiceComponentHolder.class);
+        OAuth2ServiceComponentHolder oAuth2ServiceComponentHolderInstance =
+                Mockito.mock(OAuth2ServiceComponentHolder.class);
+        when(OAuth2ServiceComponentHolder.getInstance()).thenReturn(oAuth2ServiceComponentHolderInstance);
+        when(oAuth2ServiceComponentHolderInstance.getTokenProvider())
+                .thenReturn(Mockito.mock(DefaultTokenProvider.class));
+
+        mockStatic(OAuth2Util.class);
+        when(OAuth2Util.getActiveAccessTokenDOsFromTokenIdentifiers(Mockito.anyCollection()))
+                .thenReturn(prefetchedAccessTokens);
+        when(OAuth2Util.getAccessTokenExpireMillis(Mockito.any(), Mockito.anyBoolean())).thenReturn(1000L);
+        when(tokenValidator.validateAccessDelegation(Mockito.any())).thenReturn(true);
+        when(tokenValidator.validateScope(Mockito.any())).thenReturn(true);
+        // The prefetched tokens are validated in request order, so only the second token fails.
+        when(tokenValidator.validateAccessToken(Mockito.any())).thenReturn(true)
+                .thenThrow(new IllegalStateException("Unexpected error.")).thenReturn(true);
+
+        List<OAuth2TokenValidationResponseDTO> responseDTOs = tokenValidationHandler.validate(requestDTOs);
+
+        assertEquals(responseDTOs.size(), 3);
+        assertTrue(responseDTOs.get(0).isValid());
+        assertFalse(responseDTOs.get(1).isValid());
+        assertEquals(responseDTOs.get(1).getErrorMsg(),
+                "Server error occurred while validating the OAuth2 access token");
+        assertTrue(responseDTOs.get(2).isValid());
+    }
+
+    @Test
+    public void testValidateBatchWithSaturatedWorkers() throws Exception {
+
+        List<OAuth2TokenValidationRequestDTO> requestDTOs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            OAuth2TokenValidationRequestDTO requestDTO = new OAuth2TokenValidationRequestDTO();
+            OAuth2TokenValidationRequestDTO.OAuth2AccessToken accessToken = requestDTO.new OAuth2AccessToken();
+            accessToken.setIdentifier("token-" + i);
+            accessToken.setTokenType("test");
+            requestDTO.setAccessToken(accessToken);
+            requestDTOs.add(requestDTO);
+        }
+
+        mockStatic(OAuth2ServiceComponentHolder.class);
+        OAuth2ServiceComponentHolder oAuth2ServiceComponentHolderInstance =
+                Mockito.mock(OAuth2ServiceComponentHolder.class);
+        DefaultTokenProvider tokenProvider = Mockito.mock(DefaultTokenProvider.class);
+        when(OAuth2ServiceComponentHolder.getInstance()).thenReturn(oAuth2ServiceComponentHolderInstance);
+        when(oAuth2ServiceComponentHolderInstance.getTokenProvider()).thenReturn(tokenProvider);
+        when(tokenProvider.getVerifiedAccessToken(Mockito.anyString(), Mockito.anyBoolean()))
+                .thenThrow(new IllegalArgumentException("Invalid Access Token. ACTIVE access token is not found."));
+
+        mockStatic(OAuth2Util.class);
+        when(OAuth2Util.getActiveAccessTokenDOsFromTokenIdentifiers(Mockito.anyCollection()))
+                .thenReturn(new HashMap<>());
+        mockStatic(IdentityUtil.class);
+        when(IdentityUtil.getProperty("OAuth.TokenValidation.Batch.Parallelism")).thenReturn("1");
+        when(IdentityUtil.getProperty("OAuth.TokenValidation.Batch.QueueSize")).thenReturn("1");
+
+        // A single worker with a queue of one token is used, so the tokens rejected by the worker are validated by
+        // the calling thread.
+        tokenValidationHandler.shutdown();
+        try {
+            List<OAuth2TokenValidationResponseDTO> responseDTOs = tokenValidationHandler.validate(requestDTOs);
+
+            assertEquals(responseDTOs.size(), 20);
+            for (OAuth2TokenValidationResponseDTO responseDTO : responseDTOs) {
+                assertFalse(responseDTO.isValid());
+            }
+            Mockito.verify(tokenProvider, Mockito.times(20))
+                    .getVerifiedAccessToken(Mockito.anyString(), Mockito.anyBoolean());
+        } finally {
+            tokenValidationHandler.shutdown();
+        }
+    }
+
     /**
      * This data provider is added to enable affected test cases to be tested in both
      * where the IDP_ID column is available and not available in the relevant tables.
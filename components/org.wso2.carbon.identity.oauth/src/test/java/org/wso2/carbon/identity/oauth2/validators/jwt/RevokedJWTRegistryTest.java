@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators.jwt;
+
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
+import org.wso2.carbon.identity.oauth2.dao.TokenRevocationDAO;
+import org.wso2.carbon.identity.oauth2.model.TokenRevocationEntry;
+import org.wso2.carbon.identity.testutil.powermock.PowerMockIdentityBaseTest;
+
+import java.util.Collections;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for RevokedJWTRegistry.
+ */
+@PrepareForTest({IdentityUtil.class, OAuthServerConfiguration.class, OAuthTokenPersistenceFactory.class})
+public class RevokedJWTRegistryTest extends PowerMockIdentityBaseTest {
+
+    @Mock
+    private OAuthServerConfiguration mockedServerConfig;
+
+    @Mock
+    private OAuthTokenPersistenceFactory mockedPersistenceFactory;
+
+    @Mock
+    private TokenRevocationDAO mockedTokenRevocationDAO;
+
+    @BeforeMethod
+    public void setUp() {
+
+        initMocks(this);
+        mockStatic(OAuthServerConfiguration.class);
+        when(OAuthServerConfiguration.getInstance()).thenReturn(mockedServerConfig);
+        when(mockedServerConfig.getHashAlgorithm()).thenReturn("SHA-256");
+        mockStatic(IdentityUtil.class);
+    }
+
+    @Test
+    public void testIsLocalIntrospectionEnabled() {
+
+        when(IdentityUtil.getProperty(OAuth2Constants.JWT_LOCAL_INTROSPECTION_ENABLE)).thenReturn("true");
+        assertTrue(RevokedJWTRegistry.isLocalIntrospectionEnabled());
+        when(IdentityUtil.getProperty(OAuth2Constants.JWT_LOCAL_INTROSPECTION_ENABLE)).thenReturn(null);
+        assertFalse(RevokedJWTRegistry.isLocalIntrospectionEnabled());
+    }
+
+    @Test
+    public void testIsRevoked() throws Exception {
+
+        RevokedJWTRegistry registry = RevokedJWTRegistry.getInstance();
+        String tokenHash = new HashingPersistenceProcessor().getProcessedAccessTokenIdentifier("revoked-jti");
+        registry.addRevokedTokenHashes(Collections.singletonList(tokenHash));
+
+        assertTrue(registry.isRevoked("revoked-jti"));
+        assertFalse(registry.isRevoked("active-jti"));
+        assertFalse(registry.isRevoked(null));
+    }
+
+    @Test
+    public void testIsRevokedAfterRetention() throws Exception {
+
+        when(IdentityUtil.getProperty(OAuth2Constants.JWT_LOCAL_INTROSPECTION_REVOKED_TOKEN_RETENTION))
+                .thenReturn("0");
+        RevokedJWTRegistry registry = RevokedJWTRegistry.getInstance();
+        String tokenHash = new HashingPersistenceProcessor().getProcessedAccessTokenIdentifier("expired-jti");
+        registry.addRevokedTokenHashes(Collections.singletonList(tokenHash));
+
+        assertFalse(registry.isRevoked("expired-jti"));
+    }
+
+    @Test
+    public void testIsRevokedByWatermark() throws Exception {
+
+        RevokedJWTRegistry registry = RevokedJWTRegistry.getInstance();
+        long issuedTime = System.currentTimeMillis() - 1000;
+        registry.revokeTokensOfUser("revoked-user");
+        registry.revokeTokensOfClient("revoked-client");
+
+        assertTrue(registry.isRevoked("jti", "active-client", "revoked-user", issuedTime));
+        assertTrue(registry.isRevoked("jti", "revoked-client", "active-user", issuedTime));
+        assertFalse(registry.isRevoked("jti", "active-client", "active-user", issuedTime));
+        assertFalse(registry.isRevoked("jti", "revoked-client", "revoked-user",
+                System.currentTimeMillis() + 1000));
+    }
+
+    @Test
+    public void testSyncWithDenylist() throws Exception {
+
+        when(IdentityUtil.getProperty(OAuth2Constants.REVOKED_TOKEN_DENYLIST_ENABLE)).thenReturn("true");
+        mockStatic(OAuthTokenPersistenceFactory.class);
+        when(OAuthTokenPersistenceFactory.getInstance()).thenReturn(mockedPersistenceFactory);
+        when(mockedPersistenceFactory.getTokenRevocationDAO()).thenReturn(mockedTokenRevocationDAO);
+        long now = System.currentTimeMillis();
+        String tokenHash = new HashingPersistenceProcessor().getProcessedAccessTokenIdentifier("synced-jti");
+        when(mockedTokenRevocationDAO.getRevocationEntries(anyLong(), anyLong())).thenReturn(
+                Collections.singletonList(new TokenRevocationEntry(TokenRevocationEntry.EntryType.TOKEN, tokenHash,
+                        now, now + 60000)));
+
+        RevokedJWTRegistry registry = RevokedJWTRegistry.getInstance();
+        assertTrue(registry.isRevoked("synced-jti"));
+
+        registry.revokeTokensOfClient("denylisted-client");
+        verify(mockedTokenRevocationDAO).addRevocationEntry(any(TokenRevocationEntry.class));
+    }
+}
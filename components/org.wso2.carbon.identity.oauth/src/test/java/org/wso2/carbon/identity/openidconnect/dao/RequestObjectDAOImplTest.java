@@ -183,6 +183,32 @@ public class RequestObjectDAOImplTest extends PowerMockTestCase {
         }
     }
 
+    @Test
+    public void testUpdateRequestObjectReferenceCodeToTokenInTransaction() throws Exception {
+
+        String transactionSessionDataKey = "e54f9eb435b44cde052c0c06dbe7b7b3";
+        String transactionCodeId = "b6fc0c06db9fb435b74ced022e7b7b3";
+        String transactionTokenId = "3tb0b789g901988967z77f86g716e567";
+        requestObjectDAO.insertRequestObjectData(consumerKey, transactionSessionDataKey,
+                requestedEssentialClaims);
+        insertCodeId(transactionCodeId, 1);
+        requestObjectDAO.updateRequestObjectReferencebyCodeId(transactionSessionDataKey, transactionCodeId);
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection()) {
+            requestObjectDAO.updateRequestObjectReferenceCodeToToken(transactionCodeId, transactionTokenId,
+                    connection);
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+        }
+        Assert.assertNull(getData(transactionSessionDataKey).tokenId);
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection()) {
+            requestObjectDAO.updateRequestObjectReferenceCodeToToken(transactionCodeId, transactionTokenId,
+                    connection);
+            IdentityDatabaseUtil.commitTransaction(connection);
+        }
+        Assert.assertEquals(transactionTokenId, getData(transactionSessionDataKey).tokenId);
+    }
+
     private void insertCodeId(String codeId, int consumerKeyId) throws Exception {
 
         try (Connection connection = IdentityDatabaseUtil.getDBConnection()) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.openidconnect.model;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.dto.ScopeDTO;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for OIDCScopeClaimIndex.
+ */
+public class OIDCScopeClaimIndexTest {
+
+    private OIDCScopeClaimIndex scopeClaimIndex;
+
+    @BeforeClass
+    public void setUp() {
+
+        scopeClaimIndex = new OIDCScopeClaimIndex(Arrays.asList(
+                new ScopeDTO("openid", "openid", "openid", new String[]{"sub"}),
+                new ScopeDTO("profile", "profile", "profile", new String[]{"name", "given_name", "email"}),
+                new ScopeDTO("email", "email", "email", new String[]{"email", "email_verified"}),
+                new ScopeDTO("address", "address", "address", new String[]{"country", "locality"}),
+                new ScopeDTO("phone", "phone", "phone", null)));
+    }
+
+    @Test
+    public void testGetClaims() {
+
+        assertEquals(scopeClaimIndex.getClaims("profile"), Arrays.asList("name", "given_name", "email"));
+        assertTrue(scopeClaimIndex.getClaims("phone").isEmpty());
+        assertTrue(scopeClaimIndex.getClaims("unknown").isEmpty());
+        assertTrue(scopeClaimIndex.isOIDCScope("phone"));
+        assertFalse(scopeClaimIndex.isOIDCScope("unknown"));
+        assertFalse(scopeClaimIndex.isEmpty());
+    }
+
+    @Test
+    public void testGetScopes() {
+
+        assertEquals(scopeClaimIndex.getScopes("email"), new HashSet<>(Arrays.asList("profile", "email")));
+        assertTrue(scopeClaimIndex.getScopes("unknown").isEmpty());
+        assertTrue(scopeClaimIndex.isAddressScopeClaim("country"));
+        assertFalse(scopeClaimIndex.isAddressScopeClaim("email"));
+    }
+
+    @Test
+    public void testGetPermittedClaims() {
+
+        assertEquals(scopeClaimIndex.getPermittedClaims(Arrays.asList("profile", "email", "unknown")),
+                new HashSet<>(Arrays.asList("name", "given_name", "email", "email_verified")));
+        assertTrue(scopeClaimIndex.getPermittedClaims(Collections.singletonList("unknown")).isEmpty());
+
+        BitSet claimBits = scopeClaimIndex.getClaimBits(Arrays.asList("openid", "address"));
+        assertEquals(claimBits.cardinality(), 3);
+        assertEquals(scopeClaimIndex.getClaim(claimBits.nextSetBit(0)), "sub");
+    }
+
+    @Test
+    public void testEmptyIndex() {
+
+        OIDCScopeClaimIndex emptyIndex = new OIDCScopeClaimIndex(null);
+        assertTrue(emptyIndex.isEmpty());
+        assertTrue(emptyIndex.getClaimBits(Collections.singletonList("openid")).isEmpty());
+    }
+}
@@ -99,6 +99,17 @@ CREATE TABLE IF NOT EXISTS IDN_OAUTH2_TOKEN_BINDING (
             FOREIGN KEY (TOKEN_ID) REFERENCES IDN_OAUTH2_ACCESS_TOKEN(TOKEN_ID) ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS IDN_OAUTH2_TOKEN_REVOCATION (
+            ID INTEGER NOT NULL AUTO_INCREMENT,
+            ENTRY_TYPE VARCHAR (16) NOT NULL,
+            ENTRY_KEY VARCHAR (512) NOT NULL,
+            REVOKED_TIME BIGINT NOT NULL,
+            EXPIRY_TIME BIGINT NOT NULL,
+            PRIMARY KEY (ID)
+);
+
+CREATE INDEX IDX_TR_RT ON IDN_OAUTH2_TOKEN_REVOCATION(REVOKED_TIME);
+
 CREATE INDEX IDX_AT_CK_AU ON IDN_OAUTH2_ACCESS_TOKEN(CONSUMER_KEY_ID, AUTHZ_USER, TOKEN_STATE, USER_TYPE);
 
 CREATE INDEX IDX_TC ON IDN_OAUTH2_ACCESS_TOKEN(TIME_CREATED);
@@ -0,0 +1,41 @@
+CREATE TABLE IF NOT EXISTS IDN_OAUTH2_ACCESS_TOKEN_S1 (
+            TOKEN_ID VARCHAR (255),
+            ACCESS_TOKEN VARCHAR (512),
+            REFRESH_TOKEN VARCHAR (512),
+            CONSUMER_KEY_ID INTEGER,
+            AUTHZ_USER VARCHAR (100),
+            TENANT_ID INTEGER,
+            USER_DOMAIN VARCHAR(50),
+            USER_TYPE VARCHAR (25),
+            GRANT_TYPE VARCHAR (50),
+            TIME_CREATED TIMESTAMP DEFAULT 0,
+            REFRESH_TOKEN_TIME_CREATED TIMESTAMP DEFAULT 0,
+            VALIDITY_PERIOD BIGINT,
+            REFRESH_TOKEN_VALIDITY_PERIOD BIGINT,
+            TOKEN_SCOPE_HASH VARCHAR (32),
+            TOKEN_STATE VARCHAR (25) DEFAULT 'ACTIVE',
+            TOKEN_STATE_ID VARCHAR (128) DEFAULT 'NONE',
+            SUBJECT_IDENTIFIER VARCHAR(255),
+            ACCESS_TOKEN_HASH VARCHAR (255),
+            REFRESH_TOKEN_HASH VARCHAR (255),
+            IDP_ID INTEGER,
+            TOKEN_BINDING_REF VARCHAR (32) DEFAULT 'NONE',
+            AUTHORIZED_ORGANIZATION VARCHAR(36) DEFAULT 'NONE',
+            PRIMARY KEY (TOKEN_ID),
+            FOREIGN KEY (CONSUMER_KEY_ID) REFERENCES IDN_OAUTH_CONSUMER_APPS(ID) ON DELETE CASCADE,
+            CONSTRAINT CON_APP_KEY_S1 UNIQUE (CONSUMER_KEY_ID,AUTHZ_USER,TENANT_ID,USER_DOMAIN,USER_TYPE,
+                                              TOKEN_SCOPE_HASH,TOKEN_STATE,TOKEN_STATE_ID,IDP_ID,TOKEN_BINDING_REF,
+                                              AUTHORIZED_ORGANIZATION)
+);
+
+CREATE TABLE IF NOT EXISTS IDN_OAUTH2_ACCESS_TOKEN_SCOPE_S1 (
+            TOKEN_ID VARCHAR (255),
+            TOKEN_SCOPE VARCHAR (60),
+            TENANT_ID INTEGER DEFAULT -1,
+            PRIMARY KEY (TOKEN_ID, TOKEN_SCOPE),
+            FOREIGN KEY (TOKEN_ID) REFERENCES IDN_OAUTH2_ACCESS_TOKEN_S1(TOKEN_ID) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_AT_CK_AU_S1 ON IDN_OAUTH2_ACCESS_TOKEN_S1(CONSUMER_KEY_ID, AUTHZ_USER, TOKEN_STATE, USER_TYPE);
+
+CREATE INDEX IDX_TC_S1 ON IDN_OAUTH2_ACCESS_TOKEN_S1(TIME_CREATED);